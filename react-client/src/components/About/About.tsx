@@ -133,6 +133,27 @@ const About = () => {
                   <Table.Td>{i18n.get('JVMMemoryMax')}</Table.Td>
                   <Table.Td>{aboutDatas.jvmMemoryMax}</Table.Td>
                 </Table.Tr>
+                {aboutDatas.startupTasks &&
+                  <Table.Tr>
+                    <Table.Td>{i18n.get('StartupTime')}</Table.Td>
+                    <Table.Td>
+                      <Text>{aboutDatas.startupTime} ms</Text>
+                      {aboutDatas.startupTasks.map((task: { name: string, start: number, duration: number }) => (
+                        <Text key={task.name} size='xs' c='dimmed'>{task.name}: {task.duration} ms (+{task.start} ms)</Text>
+                      ))}
+                    </Table.Td>
+                  </Table.Tr>
+                }
+                {aboutDatas.diskCache &&
+                  <Table.Tr>
+                    <Table.Td>{i18n.get('DiskCache')}</Table.Td>
+                    <Table.Td>
+                      {aboutDatas.diskCache.map((region: { name: string, used: string, quota: string, files: number }) => (
+                        <Text key={region.name} size='sm'>{region.name}: {region.used} / {region.quota} ({region.files})</Text>
+                      ))}
+                    </Table.Td>
+                  </Table.Tr>
+                }
                 {memory &&
                   <Table.Tr>
                     <Table.Td>{i18n.get('JVMMemoryUsage')}</Table.Td>
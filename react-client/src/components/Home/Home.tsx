@@ -275,6 +275,7 @@ export interface Renderer {
   id: number,
   name: string,
   address: string,
+  throughput: number,
   uuid: string,
   icon: string,
   playing: string,
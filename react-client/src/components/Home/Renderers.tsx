@@ -199,7 +199,7 @@ const Renderers = (
         </Card.Section>
         {renderer.address &&
           <Text ta='center' size='sm' c='dimmed'>
-            {renderer.address}
+            {renderer.address}{renderer.throughput > 0 && ' - ' + renderer.throughput + ' Mb/s'}
           </Text>
         }
         {renderer.playing &&
@@ -122,11 +122,8 @@ export const ServerEventProvider = ({ children }: Props) => {
             }
             setRendererAction(true);
             break;
-          case 'log_line':
-            newLogLines.push(datas.value);
-            if (newLogLines.length > 20) {
-              newLogLines.slice(0, newLogLines.length - 20);
-            }
+          case 'log_lines':
+            newLogLines.push(...datas.value);
             setNewLogLine(true);
             break;
           case 'set_status_line':
@@ -0,0 +1,111 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.configuration;
+
+import java.util.concurrent.TimeUnit;
+import net.pms.PMS;
+import net.pms.util.SortedHeaderMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the renderer recognition against all the bundled renderer
+ * configurations, with request headers and UPnP details of known and unknown
+ * renderers. Unknown renderers are the worst case, since every configuration
+ * is tried.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RendererConfigurationBenchmark {
+
+	private static final String[][] HEADERS = {
+		{"User-Agent: AirPlayer/1.0.09 CFNetwork/485.13.9 Darwin/11.0.0"},
+		{"User-Agent: DLNADOC/1.50 INTEL_NMPR/2.1"},
+		{"User-Agent: Linux/3.10.19-32.afro.4 UPnP/1.0 LGE WebOS TV LGE_DLNA_SDK/1.6.0/04.30.13 DLNADOC/1.50"},
+		{"User-Agent: 50PUS6523/12"},
+		{"User-Agent: Microsoft-Windows/6.2 UPnP/1.0 Microsoft-DLNA DLNADOC/1.50", "X-Unknown-Header: Unknown Content"},
+		{"User-Agent: Unknown Renderer"}
+	};
+
+	private static final String[] UPNP_DETAILS = {
+		"manufacturer=DENON, modelName=AVR-4311",
+		"friendlyName=LG-BP350",
+		"manufacturer=Unknown, modelName=Unknown Renderer"
+	};
+
+	private SortedHeaderMap[] headers;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		PMS.setConfiguration(new UmsConfiguration(false));
+		RendererConfigurations.loadRendererConfigurations();
+		headers = new SortedHeaderMap[HEADERS.length];
+		for (int i = 0; i < HEADERS.length; i++) {
+			headers[i] = new SortedHeaderMap();
+			for (String header : HEADERS[i]) {
+				headers[i].put(header);
+			}
+		}
+	}
+
+	@Benchmark
+	public int matchHeaders() {
+		int matched = 0;
+		for (SortedHeaderMap sortedHeaders : headers) {
+			if (RendererConfigurations.getRendererConfigurationByHeaders(sortedHeaders) != null) {
+				matched++;
+			}
+		}
+		return matched;
+	}
+
+	@Benchmark
+	public int matchUpnpDetails() {
+		int matched = 0;
+		for (String details : UPNP_DETAILS) {
+			if (RendererConfigurations.getRendererConfigurationByUPNPDetails(details) != null) {
+				matched++;
+			}
+		}
+		return matched;
+	}
+
+	@Benchmark
+	public String sortHeaders() {
+		SortedHeaderMap sortedHeaders = new SortedHeaderMap();
+		for (String[] lines : HEADERS) {
+			for (String line : lines) {
+				sortedHeaders.put(line);
+			}
+		}
+		return sortedHeaders.joined();
+	}
+
+}
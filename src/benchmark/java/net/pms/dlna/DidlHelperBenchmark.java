@@ -0,0 +1,102 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.dlna;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.pms.PMS;
+import net.pms.configuration.RendererConfigurations;
+import net.pms.configuration.UmsConfiguration;
+import net.pms.formats.Format;
+import net.pms.network.mediaserver.jupnp.support.contentdirectory.result.Result;
+import net.pms.network.mediaserver.jupnp.support.contentdirectory.result.StoreResourceHelper;
+import net.pms.store.StoreResource;
+import net.pms.store.item.WebStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the DIDL-Lite generators of the browse and search responses.
+ * <p>
+ * Run with {@code -prof gc} to compare the allocation rates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DidlHelperBenchmark {
+
+	@Param({"50", "500"})
+	public int items;
+
+	private List<StoreResource> resources;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		PMS.setConfiguration(new UmsConfiguration(false));
+		RendererConfigurations.loadRendererConfigurations();
+		resources = new ArrayList<>(items);
+		for (int i = 0; i < items; i++) {
+			int type = switch (i % 3) {
+				case 0 -> Format.AUDIO;
+				case 1 -> Format.VIDEO;
+				default -> Format.IMAGE;
+			};
+			WebStream resource = new WebStream(RendererConfigurations.getDefaultRenderer(), "Item " + i + " - Tom & Jerry <Remastered>",
+				"http://example.com/media/" + i, "", type, null);
+			resource.isValid();
+			resources.add(resource);
+		}
+	}
+
+	@Benchmark
+	public String didlWriter() {
+		return DidlHelper.getDidlResults(resources);
+	}
+
+	@Benchmark
+	public String embeddedStrings() {
+		StringBuilder sb = new StringBuilder();
+		for (StoreResource resource : resources) {
+			sb.append(DidlHelper.getDidlString(resource));
+		}
+		return sb.toString();
+	}
+
+	@Benchmark
+	public String jupnpResult() {
+		Result didlResult = new Result();
+		for (StoreResource resource : resources) {
+			didlResult.addObject(StoreResourceHelper.getBaseObject(resource, null));
+		}
+		return didlResult.toString();
+	}
+
+}
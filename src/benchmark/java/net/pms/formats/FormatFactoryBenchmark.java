@@ -0,0 +1,102 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.formats;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the matching of filenames to their {@link Format}, as done for
+ * every file found while browsing and scanning the shared folders.
+ * <p>
+ * The filenames are a mix of videos, music, pictures, subtitles and other
+ * files found in a media library, with upper case extensions, unknown
+ * extensions and a few URLs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormatFactoryBenchmark {
+
+	private static final String[] FILENAMES = {
+		"/media/Movies/The Movie (2019)/The.Movie.2019.1080p.BluRay.x264.mkv",
+		"/media/Movies/Another Movie (2001).mp4",
+		"/media/Movies/Old Movie/VIDEO_TS/VTS_01_1.VOB",
+		"/media/Series/Show/Season 01/Show.S01E01.720p.HDTV.x264.mkv",
+		"/media/Series/Show/Season 01/Show.S01E01.720p.HDTV.x264.en.srt",
+		"/media/Series/Show/Season 01/Show.S01E02.avi",
+		"/media/Series/Show/Season 01/Show.S01E02.ass",
+		"/media/Recordings/News 2023-01-01.ts",
+		"/media/Music/Artist/Album/01 - First Track.flac",
+		"/media/Music/Artist/Album/02 - Second Track.flac",
+		"/media/Music/Artist/Album/03 - Third Track.MP3",
+		"/media/Music/Artist/Album/cover.jpg",
+		"/media/Music/Artist/Album/Album.m3u",
+		"/media/Music/Other/Song.m4a",
+		"/media/Music/Other/Song.opus",
+		"/media/Pictures/2022/IMG_0001.JPG",
+		"/media/Pictures/2022/IMG_0002.HEIC",
+		"/media/Pictures/2022/Screenshot.png",
+		"/media/Pictures/2022/Animation.gif",
+		"/media/Pictures/2022/Thumbs.db",
+		"/media/Movies/The Movie (2019)/movie.nfo",
+		"/media/Movies/The Movie (2019)/desktop.ini",
+		"http://example.com/radio/stream.mp3",
+		"https://example.com/live/playlist.m3u8",
+	};
+
+	@Benchmark
+	public int getAssociatedFormat() {
+		int matched = 0;
+		for (String filename : FILENAMES) {
+			if (FormatFactory.getAssociatedFormat(filename) != null) {
+				matched++;
+			}
+		}
+		return matched;
+	}
+
+	/**
+	 * Asks every format to match in registration order, as the lookup did
+	 * before the extension index.
+	 */
+	@Benchmark
+	public int matchLoop() {
+		int matched = 0;
+		for (String filename : FILENAMES) {
+			for (Format format : FormatFactory.FORMATS) {
+				if (format.match(filename)) {
+					matched++;
+					break;
+				}
+			}
+		}
+		return matched;
+	}
+
+}
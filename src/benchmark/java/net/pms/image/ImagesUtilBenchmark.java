@@ -0,0 +1,106 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.image;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import net.coobird.thumbnailator.Thumbnails;
+import net.pms.dlna.DLNAImageProfile;
+import net.pms.image.ImagesUtil.ScaleType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares decoding a large image at full resolution with decoding it near
+ * the thumbnail size, for the source formats commonly found in libraries.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+@State(Scope.Benchmark)
+public class ImagesUtilBenchmark {
+
+	@Param({"jpg", "png", "tiff", "webp"})
+	public String format;
+
+	@Param({"6000x4000"})
+	public String resolution;
+
+	private byte[] source;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		String[] dimensions = resolution.split("x");
+		int width = Integer.parseInt(dimensions[0]);
+		int height = Integer.parseInt(dimensions[1]);
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+		Graphics2D graphics = image.createGraphics();
+		graphics.setPaint(new GradientPaint(0, 0, Color.BLUE, width, height, Color.ORANGE));
+		graphics.fillRect(0, 0, width, height);
+		graphics.dispose();
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		if (!ImageIO.write(image, format, outputStream)) {
+			throw new IllegalStateException("No ImageIO writer available for " + format);
+		}
+		source = outputStream.toByteArray();
+	}
+
+	/**
+	 * The previous behavior: a full resolution decode followed by scaling.
+	 */
+	@Benchmark
+	public BufferedImage fullDecode() throws IOException {
+		BufferedImage image = ImageIOTools.read(new ByteArrayInputStream(source)).bufferedImage;
+		return Thumbnails.of(image).size(160, 160).asBufferedImage();
+	}
+
+	@Benchmark
+	public BufferedImage subsampledDecode() throws IOException {
+		BufferedImage image = ImageIOTools.read(
+			ImageIOTools.createImageInputStream(new ByteArrayInputStream(source)),
+			160,
+			160,
+			ScaleType.MAX
+		).bufferedImage;
+		return Thumbnails.of(image).size(160, 160).asBufferedImage();
+	}
+
+	@Benchmark
+	public Image transcodeThumbnail() throws IOException {
+		return ImagesUtil.transcodeImage(source, 0, 0, null, DLNAImageProfile.JPEG_TN, true, true, false, null);
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.pms.PMS;
+import net.pms.configuration.UmsConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of the transcoding buffer: a transcoder output
+ * written in chunks, then read by the HTTP response in chunks of the stream
+ * copy size.
+ * <p>
+ * The whole output is written before it is read, so the buffer never waits
+ * for the reader nor the writer and only the copies are measured. The
+ * {@code timeSeek} variant enables the MPEG timestamp shifting done on the
+ * written packets when seeking.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx1g"})
+@State(Scope.Benchmark)
+public class BufferedOutputFileImplBenchmark {
+
+	private static final int READ_CHUNK_SIZE = 32 * 1024;
+
+	@Param({"32"})
+	public int megabytes;
+
+	@Param({"65536"})
+	public int writeChunkSize;
+
+	@Param({"false", "true"})
+	public boolean timeSeek;
+
+	private byte[] chunk;
+	private byte[] readBuffer;
+	private OutputParams params;
+	private BufferedOutputFileImpl bufferedOutputFile;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		PMS.setConfiguration(new UmsConfiguration(false));
+		params = new OutputParams(PMS.getConfiguration());
+		params.setHideBuffer(true);
+		params.setMaxBufferSize(100);
+		if (timeSeek) {
+			params.setTimeSeek(60);
+			params.setShiftScr(true);
+		}
+		// Random bytes, with MPEG-TS sync bytes at the packet boundaries
+		chunk = new byte[writeChunkSize];
+		new Random(42).nextBytes(chunk);
+		for (int i = 0; i < chunk.length; i += 188) {
+			chunk[i] = 0x47;
+		}
+		readBuffer = new byte[READ_CHUNK_SIZE];
+	}
+
+	@Setup(Level.Invocation)
+	public void createBuffer() {
+		bufferedOutputFile = new BufferedOutputFileImpl(params);
+	}
+
+	@TearDown(Level.Invocation)
+	public void destroyBuffer() {
+		bufferedOutputFile.reset();
+	}
+
+	@Benchmark
+	public long writeThenRead() throws IOException {
+		InputStream inputStream = bufferedOutputFile.getInputStream(0);
+		long total = (long) megabytes * 1024 * 1024;
+		for (long written = 0; written < total; written += chunk.length) {
+			bufferedOutputFile.write(chunk, 0, chunk.length);
+		}
+		bufferedOutputFile.close();
+		long read = 0;
+		int bytes;
+		while ((bytes = inputStream.read(readBuffer)) != -1) {
+			read += bytes;
+		}
+		return read;
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.network.mediaserver.handlers;
+
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+import net.pms.PMS;
+import net.pms.configuration.UmsConfiguration;
+import net.pms.database.MediaDatabase;
+import net.pms.database.MediaTableFiles;
+import net.pms.formats.Format;
+import net.pms.network.mediaserver.handlers.message.SearchRequest;
+import net.pms.store.DbIdMediaType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the translation of the UPnP search criteria to SQL, and the count
+ * queries on a synthetic library.
+ * <p>
+ * The library is created in the test profile database, which is emptied
+ * first.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchRequestHandlerBenchmark {
+
+	/**
+	 * Search criteria sent by common control points.
+	 */
+	private static final String[] SEARCH_CRITERIA = {
+		"( upnp:class derivedfrom \"object.item.videoItem\" )",
+		"upnp:class derivedfrom \"object.item.audioItem\" and dc:title contains \"love don't\"",
+		"upnp:class derivedfrom \"object.container.person.musicArtist\" and upnp:artist[@role=\"Composer\"] contains \"tchaikovsky\"",
+		"upnp:class derivedfrom \"object.container.album.musicAlbum\" and upnp:album contains \"greatest\"",
+		"upnp:class derivedfrom \"object.item.imageItem\" and dc:title contains \"holiday\""
+	};
+
+	@Param({"10000"})
+	public int files;
+
+	private SearchRequest[] requests;
+	private DbIdMediaType[] requestTypes;
+	private String[] countQueries;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		PMS.get();
+		PMS.setConfiguration(new UmsConfiguration(false));
+		requests = new SearchRequest[SEARCH_CRITERIA.length];
+		requestTypes = new DbIdMediaType[SEARCH_CRITERIA.length];
+		countQueries = new String[SEARCH_CRITERIA.length];
+		for (int i = 0; i < SEARCH_CRITERIA.length; i++) {
+			requests[i] = new SearchRequest();
+			requests[i].setSearchCriteria(SEARCH_CRITERIA[i]);
+			requests[i].setSortCriteria("+dc:title");
+			requests[i].setStartingIndex(0);
+			requests[i].setRequestedCount(50);
+			requestTypes[i] = SearchRequestHandler.getRequestType(SEARCH_CRITERIA[i]);
+			countQueries[i] = SearchRequestHandler.convertToCountSql(SEARCH_CRITERIA[i], requestTypes[i]);
+		}
+		createLibrary();
+	}
+
+	private void createLibrary() throws Exception {
+		MediaDatabase.init();
+		MediaDatabase database = MediaDatabase.get();
+		try (Connection connection = database.getConnection()) {
+			MediaDatabase.dropAllTables(connection);
+			database.checkTables(true);
+			connection.setAutoCommit(false);
+			int[] types = {Format.VIDEO, Format.AUDIO, Format.IMAGE};
+			for (int i = 0; i < files; i++) {
+				String filename = "/library/folder " + (i / 100) + "/holiday love don't " + i + ".media";
+				MediaTableFiles.insertOrUpdateData(connection, filename, i, types[i % types.length], null);
+			}
+			connection.commit();
+			connection.setAutoCommit(true);
+		}
+	}
+
+	@Benchmark
+	public int generateSql() {
+		int length = 0;
+		for (int i = 0; i < requests.length; i++) {
+			DbIdMediaType requestType = SearchRequestHandler.getRequestType(SEARCH_CRITERIA[i]);
+			length += SearchRequestHandler.convertToCountSql(SEARCH_CRITERIA[i], requestType).length();
+			length += SearchRequestHandler.convertToFilesSql(requests[i], requestType).length();
+		}
+		return length;
+	}
+
+	@Benchmark
+	public int countQueries() {
+		int count = 0;
+		for (String countQuery : countQueries) {
+			count += SearchRequestHandler.getLibraryResourceCountFromSQL(countQuery);
+		}
+		return count;
+	}
+
+}
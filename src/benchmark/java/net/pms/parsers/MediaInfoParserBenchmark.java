@@ -0,0 +1,104 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.parsers;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import net.pms.media.MediaInfo;
+import net.pms.media.audio.MediaAudio;
+import net.pms.media.video.MediaVideo;
+import net.pms.parsers.mediainfo.StreamKind;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the extraction of the fields from the values returned by the
+ * MediaInfo library, without the library itself, so it runs on any machine.
+ * <p>
+ * The sample values are the ones MediaInfo returns for the common containers
+ * and codecs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MediaInfoParserBenchmark {
+
+	/**
+	 * The file whose extension is used when the container is not recognized.
+	 */
+	private static final File FILE = new File("sample.mkv");
+	private static final String[] CONTAINERS = {"MPEG-4", "Matroska", "mp42 (mp42/isom)", "MPEG-TS", "AVI", "WebM", "Wave", "FLAC", "MPEG Audio", "JPEG"};
+	private static final String[] VIDEO_CODECS = {"AVC", "HEVC", "MPEG Video", "XVID", "VP9", "AV1"};
+	private static final String[] AUDIO_CODECS = {"AAC LC", "AC-3", "E-AC-3", "DTS", "MPEG Audio", "FLAC", "Opus", "PCM"};
+	private static final String[] FORMAT_PROFILES = {"High@L4.1", "Main 10@L5@Main", "Main@L2.0", "LC", "Baseline@L3.0"};
+	private static final String[] IDS = {"256", "189 (0xBD)-32 (0x80)", "4113 (0x1011)", "2"};
+	private static final String[] PIXELS = {"1 920 pixels", "1920", "512 / 512", "3840 pixels"};
+	private static final String[] DURATIONS = {"5400123", "15658.000", "1234 / 5678"};
+
+	@Benchmark
+	public MediaInfo setFormat() {
+		MediaInfo media = new MediaInfo();
+		MediaVideo video = new MediaVideo();
+		MediaAudio audio = new MediaAudio();
+		for (String container : CONTAINERS) {
+			media.setContainer(null);
+			MediaInfoParser.setFormat(StreamKind.GENERAL, media, video, audio, container, FILE);
+		}
+		for (String codec : VIDEO_CODECS) {
+			video.setCodec(null);
+			MediaInfoParser.setFormat(StreamKind.VIDEO, media, video, audio, codec, FILE);
+		}
+		for (String codec : AUDIO_CODECS) {
+			audio.setCodec(null);
+			MediaInfoParser.setFormat(StreamKind.AUDIO, media, video, audio, codec, FILE);
+		}
+		return media;
+	}
+
+	@Benchmark
+	public long extractValues() {
+		long result = 0;
+		for (String profile : FORMAT_PROFILES) {
+			result += MediaInfoParser.getFormatProfile(profile).length;
+		}
+		for (String id : IDS) {
+			result += MediaInfoParser.getSpecificID(id);
+		}
+		for (String pixels : PIXELS) {
+			result += MediaInfoParser.getPixelValue(pixels);
+		}
+		for (String duration : DURATIONS) {
+			Double value = MediaInfoParser.parseDuration(duration);
+			result += value == null ? 0 : value.longValue();
+		}
+		result += MediaInfoParser.getReferenceFrameCount("4 frames");
+		result += MediaInfoParser.getVideoBitrate("5000000");
+		result += MediaInfoParser.getFrameRateModeValue("CBR/VBR").length();
+		return result;
+	}
+
+}
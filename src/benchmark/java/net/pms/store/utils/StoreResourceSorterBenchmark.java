@@ -0,0 +1,107 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.store.utils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.pms.PMS;
+import net.pms.configuration.RendererConfigurations;
+import net.pms.configuration.UmsConfiguration;
+import net.pms.renderers.Renderer;
+import net.pms.store.StoreContainer;
+import net.pms.store.StoreResource;
+import net.pms.store.item.RealFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the sort of a large folder by title and by modified date, as done
+ * on every browse of a folder.
+ * <p>
+ * The folder is shuffled before each sort, so every sort starts from the
+ * same kind of unordered list.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StoreResourceSorterBenchmark {
+
+	private static final String[] TITLES = {"The Matrix", "A Bug's Life", "Am\u00e9lie", "\u00c6gir", "\u00e9cole", "Zo\u00eb", "the  office", "\u00c5ngstr\u00f6m", "\uff26\uff55\uff4c\uff4c", "Star Wars"};
+
+	@Param({"50000"})
+	public int entries;
+
+	@Param({"false", "true"})
+	public boolean ignoreArticles;
+
+	private final Random random = new Random(42);
+	private List<StoreResource> titleResources;
+	private List<StoreResource> fileResources;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		PMS.setConfiguration(new UmsConfiguration(false));
+		PMS.getConfiguration().setIgnoreTheWordAandThe(ignoreArticles);
+		RendererConfigurations.loadRendererConfigurations();
+		Renderer renderer = RendererConfigurations.getDefaultRenderer();
+		titleResources = new ArrayList<>(entries);
+		fileResources = new ArrayList<>(entries);
+		for (int i = 0; i < entries; i++) {
+			String title = TITLES[i % TITLES.length] + " " + i;
+			StoreContainer folder = new StoreContainer(renderer, title, null);
+			folder.setSortable(true);
+			titleResources.add(folder);
+			fileResources.add(new RealFile(renderer, new File("library", title + ".mkv")));
+		}
+	}
+
+	@Setup(Level.Invocation)
+	public void shuffle() {
+		Collections.shuffle(titleResources, random);
+		Collections.shuffle(fileResources, random);
+	}
+
+	@Benchmark
+	public List<StoreResource> sortByTitle() {
+		StoreResourceSorter.sortResourcesByTitle(titleResources);
+		return titleResources;
+	}
+
+	@Benchmark
+	public List<StoreResource> sortByModifiedDate() {
+		StoreResourceSorter.sortResourcesByModifiedDate(fileResources, false);
+		return fileResources;
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.util;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the {@link Rational} operations used on the media information,
+ * like the frame rates and the aspect ratios read from the parsers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RationalBenchmark {
+
+	/**
+	 * Frame rates and aspect ratios as written by MediaInfo and FFmpeg.
+	 */
+	private static final String[] VALUES = {"23.976", "24000/1001", "30000/1001", "25", "50", "16:9", "4:3", "1.778", "2.35", "0.9"};
+
+	private Rational[] rationals;
+	private Rational ntsc;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		rationals = new Rational[VALUES.length];
+		for (int i = 0; i < VALUES.length; i++) {
+			rationals[i] = Rational.valueOf(VALUES[i]);
+		}
+		ntsc = Rational.valueOf(24000, 1001);
+	}
+
+	@Benchmark
+	public Rational parse() {
+		Rational result = null;
+		for (String value : VALUES) {
+			result = Rational.valueOf(value);
+		}
+		return result;
+	}
+
+	@Benchmark
+	public Rational arithmetic() {
+		Rational result = Rational.ONE;
+		for (Rational rational : rationals) {
+			result = result.multiply(rational).add(ntsc).divide(rational).subtract(1);
+		}
+		return result;
+	}
+
+	@Benchmark
+	public int compare() {
+		int result = 0;
+		for (Rational rational : rationals) {
+			result += rational.compareTo(ntsc);
+			if (rational.equals(ntsc)) {
+				result++;
+			}
+		}
+		return result;
+	}
+
+	@Benchmark
+	public double toDouble() {
+		double result = 0;
+		for (Rational rational : rationals) {
+			result += rational.doubleValue();
+		}
+		return result;
+	}
+
+	@Benchmark
+	public String format() {
+		String result = null;
+		for (Rational rational : rationals) {
+			result = rational.toDecimalString();
+		}
+		return result;
+	}
+
+}
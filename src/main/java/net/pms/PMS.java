@@ -56,7 +56,9 @@ import net.pms.configuration.RendererConfigurations;
 import net.pms.configuration.UmsConfiguration;
 import net.pms.database.MediaDatabase;
 import net.pms.database.UserDatabase;
+import net.pms.dlna.DidlFragmentCache;
 import net.pms.encoders.EngineFactory;
+import net.pms.external.tmdb.TMDB;
 import net.pms.external.umsapi.APIUtils;
 import net.pms.external.update.AutoUpdater;
 import net.pms.gui.EConnectionState;
@@ -80,9 +82,11 @@ import net.pms.renderers.Renderer;
 import net.pms.renderers.RendererFilter;
 import net.pms.renderers.RendererUser;
 import net.pms.service.Services;
+import net.pms.service.StartupTasks;
 import net.pms.store.MediaInfoStore;
 import net.pms.store.MediaScanner;
 import net.pms.store.MediaStatusStore;
+import net.pms.store.MediaStatusWriter;
 import net.pms.store.ThumbnailStore;
 import net.pms.store.container.CodeEnter;
 import net.pms.swing.LanguageSelection;
@@ -95,6 +99,7 @@ import net.pms.swing.gui.JavaGui;
 import net.pms.util.CodeDb;
 import net.pms.util.CredMgr;
 import net.pms.util.DbgPacker;
+import net.pms.util.DiskCache;
 import net.pms.util.FileUtil;
 import net.pms.util.Languages;
 import net.pms.util.LogSystemInformationMode;
@@ -103,7 +108,6 @@ import net.pms.util.PropertiesUtil;
 import net.pms.util.SystemErrWrapper;
 import net.pms.util.SystemInformation;
 import net.pms.util.TaskRunner;
-import net.pms.util.TempFileMgr;
 import net.pms.util.UMSUtils;
 import org.apache.commons.configuration.ConfigurationException;
 import org.apache.commons.configuration.event.ConfigurationEvent;
@@ -128,6 +132,14 @@ public class PMS {
 	 * The logger used for all logging.
 	 */
 	private static final Logger LOGGER = LoggerFactory.getLogger(PMS.class);
+	private static final String MILESTONE_GUI = "Gui";
+	private static final String MILESTONE_CODE_DB = "CodeDb";
+	private static final String MILESTONE_FONTCONFIG = "Fontconfig";
+	private static final String MILESTONE_SYSTEM_ERR = "SystemErr";
+	/**
+	 * The startup tasks that must be done before the wizard and the GUI.
+	 */
+	private static final String[] TASKS_BEFORE_GUI = {"Network", "Filters", "PostUpgrade", "MediaScanner"};
 	/**
 	 * The lock for {@link locale}.
 	 */
@@ -205,7 +217,6 @@ public class PMS {
 	private CodeDb codes;
 	private CodeEnter masterCode;
 	private CredMgr credMgr;
-	private TempFileMgr tfm;
 
 	private PMS() {
 	}
@@ -251,22 +262,12 @@ public class PMS {
 		// Call this as early as possible
 		displayBanner();
 
-		// Start network scanner
-		Splash.setStatusMessage("StartingNetwork");
-		NetworkConfiguration.start();
-		// Initialize databases
-		Splash.setStatusMessage("InitMediaDb");
-		MediaDatabase.init();
-		Splash.setStatusMessage("InitUserDb");
-		UserDatabase.init();
-		//Post Upgrading
-		PostUpgrade.proceed();
-		Splash.setStatusMessage("InitFilters");
-		NetworkDeviceFilter.reset();
-		RendererFilter.reset();
-		RendererUser.reset();
-		Splash.setStatusMessage("InitMediaScanner");
-		MediaScanner.init();
+		// Start the network scanner, databases, renderer configurations and
+		// engines, in parallel where they don't depend on each other
+		StartupTasks startupTasks = getStartupTasks(umsConfiguration);
+		startupTasks.start(Runtime.getRuntime().availableProcessors());
+		// The dialogs and the GUI need the network and the databases
+		startupTasks.await(TASKS_BEFORE_GUI);
 
 		// Log registered ImageIO plugins
 		if (LOGGER.isTraceEnabled()) {
@@ -325,9 +326,12 @@ public class PMS {
 
 		// Close splash screen
 		Splash.disposeSplash();
+		startupTasks.reach(MILESTONE_GUI);
 
 		umsConfiguration.addConfigurationListener((ConfigurationEvent event) -> {
 			if (!event.isBeforeUpdate()) {
+				// Cached DIDL-Lite fragments may depend on the changed setting
+				DidlFragmentCache.clear();
 				if (UmsConfiguration.NEED_MEDIA_SERVER_RELOAD_FLAGS.contains(event.getPropertyName())) {
 					GuiManager.setReloadable(true);
 				} else if (UmsConfiguration.NEED_RENDERERS_RELOAD_FLAGS.contains(event.getPropertyName())) {
@@ -356,8 +360,7 @@ public class PMS {
 		// init dbs
 		codes = new CodeDb();
 		masterCode = null;
-
-		RendererConfigurations.loadRendererConfigurations();
+		startupTasks.reach(MILESTONE_CODE_DB);
 
 		// Initialize MPlayer and FFmpeg to let them generate fontconfig cache/s
 		if (!umsConfiguration.isDisableSubtitles()) {
@@ -391,8 +394,7 @@ public class PMS {
 			}
 		}
 
-		// Check available GPU HW decoding acceleration methods used in FFmpeg
-		UMSUtils.checkGPUDecodingAccelerationMethodsForFFmpeg(umsConfiguration);
+		startupTasks.reach(MILESTONE_FONTCONFIG);
 
 		GuiManager.setConnectionState(EConnectionState.SEARCHING);
 
@@ -424,9 +426,10 @@ public class PMS {
 
 		// Wrap System.err
 		System.setErr(new PrintStream(new SystemErrWrapper(), true, StandardCharsets.UTF_8.name()));
+		startupTasks.reach(MILESTONE_SYSTEM_ERR);
 
-		// Initialize a engine factory to register all transcoding engines
-		EngineFactory.initialize();
+		// Wait for the renderer configurations and the engines
+		startupTasks.await();
 
 		// Any plugin-defined engines are now registered, create the gui view.
 		GuiManager.addEngines();
@@ -488,9 +491,64 @@ public class PMS {
 			MediaScanner.startMediaScan();
 		}
 
+		// Finish the metadata lookups queued before UMS was closed.
+		TMDB.resumeQueuedLookups();
+
 		return true;
 	}
 
+	/**
+	 * Returns the startup tasks with their dependencies.
+	 * <p>
+	 * The steps run by {@link #init()} itself are milestones: the GUI (after
+	 * the wizard), the code database, the fontconfig cache check and the
+	 * {@code System.err} redirection. The renderer configurations and the
+	 * engines wait for all of them, and the tasks changing the configuration
+	 * run one after the other.
+	 *
+	 * @param umsConfiguration the configuration.
+	 * @return The startup tasks graph.
+	 */
+	public static StartupTasks getStartupTasks(UmsConfiguration umsConfiguration) {
+		return new StartupTasks("Startup")
+			.addMilestone(MILESTONE_GUI)
+			.addMilestone(MILESTONE_CODE_DB)
+			.addMilestone(MILESTONE_FONTCONFIG)
+			.addMilestone(MILESTONE_SYSTEM_ERR)
+			.add("Network", () -> {
+				Splash.setStatusMessage("StartingNetwork");
+				NetworkConfiguration.start();
+			})
+			.add("MediaDatabase", () -> {
+				Splash.setStatusMessage("InitMediaDb");
+				MediaDatabase.init();
+			})
+			.add("UserDatabase", () -> {
+				Splash.setStatusMessage("InitUserDb");
+				UserDatabase.init();
+			})
+			.add("PostUpgrade", PostUpgrade::proceed, "MediaDatabase", "UserDatabase")
+			.add("Filters", () -> {
+				Splash.setStatusMessage("InitFilters");
+				NetworkDeviceFilter.reset();
+				RendererFilter.reset();
+				RendererUser.reset();
+			}, "Network")
+			.add("MediaScanner", () -> {
+				Splash.setStatusMessage("InitMediaScanner");
+				MediaScanner.init();
+			}, "PostUpgrade")
+			.add("RendererConfigurations", RendererConfigurations::loadRendererConfigurations,
+				"PostUpgrade", MILESTONE_GUI, MILESTONE_CODE_DB, MILESTONE_FONTCONFIG, MILESTONE_SYSTEM_ERR)
+			// Check available GPU HW decoding acceleration methods used in FFmpeg,
+			// once the upgrade and the wizard are done changing the configuration
+			.add("GPUAcceleration", () -> UMSUtils.checkGPUDecodingAccelerationMethodsForFFmpeg(umsConfiguration),
+				"PostUpgrade", MILESTONE_GUI)
+			// Initialize a engine factory to register all transcoding engines
+			.add("Engines", EngineFactory::initialize,
+				"GPUAcceleration", "RendererConfigurations", MILESTONE_GUI, MILESTONE_CODE_DB, MILESTONE_FONTCONFIG, MILESTONE_SYSTEM_ERR);
+	}
+
 	private void displayBanner() throws IOException {
 		LOGGER.debug("");
 		LOGGER.info("Starting {} {}", NAME, getVersion());
@@ -590,10 +648,9 @@ public class PMS {
 		}
 
 		dbgPacker = new DbgPacker();
-		tfm = new TempFileMgr();
 
 		// Start this here to let the conversion work
-		tfm.schedule();
+		DiskCache.schedule();
 	}
 
 	/**
@@ -790,14 +847,6 @@ public class PMS {
 		return dbgPacker;
 	}
 
-	public void addTempFile(File f) {
-		tfm.add(f);
-	}
-
-	public void addTempFile(File f, int cleanTime) {
-		tfm.add(f, cleanTime);
-	}
-
 	public CodeDb codeDb() {
 		return codes;
 	}
@@ -1103,6 +1152,9 @@ public class PMS {
 		// Destroy services
 		Services.destroy();
 
+		// Write the queued playback status changes
+		MediaStatusWriter.flush();
+
 		LOGGER.info("Stopping {} {}", PropertiesUtil.getProjectProperties().get("project.name"), getVersion());
 		/**
 		 * Stopping logging gracefully (flushing logs) No logging is available
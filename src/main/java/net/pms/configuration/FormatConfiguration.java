@@ -17,12 +17,16 @@
 package net.pms.configuration;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.StringTokenizer;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 import net.pms.encoders.EngineFactory;
@@ -173,8 +177,39 @@ public class FormatConfiguration {
 	public static final String MIMETYPE_AUTO = "MIMETYPE_AUTO";
 	public static final String UND = "und";
 
+	/**
+	 * The maximum number of media signatures whose result is kept, per
+	 * renderer configuration.
+	 */
+	private static final int MAX_CACHED_MATCHES = 1000;
+
+	/**
+	 * The maximum number of distinct containers that are indexed.
+	 */
+	private static final int MAX_INDEXED_CONTAINERS = 256;
+
 	private final ArrayList<SupportSpec> supportSpecs;
 
+	/**
+	 * The support lines whose format matches a container, in the order of the
+	 * configuration.
+	 */
+	private final Map<String, List<SupportSpec>> supportSpecsByContainer = new ConcurrentHashMap<>();
+
+	/**
+	 * The matched MIME types by media signature. The lines do not change once
+	 * parsed, and a new instance is created when the renderer configuration is
+	 * reloaded.
+	 */
+	private final Map<List<Object>, String> matchedMimeTypes = new LinkedHashMap<>(64, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<List<Object>, String> eldest) {
+			return size() > MAX_CACHED_MATCHES;
+		}
+	};
+
 	private static class SupportSpec {
 		private int iMaxBitrate = Integer.MAX_VALUE;
 		private int iMaxFramerate = Integer.MAX_VALUE;
@@ -186,6 +221,8 @@ public class FormatConfiguration {
 		private Pattern pAudioCodec;
 		private Pattern pFormat;
 		private Pattern pVideoCodec;
+		private Pattern pSupportedEmbeddedSubtitlesFormats;
+		private Pattern pSupportedExternalSubtitlesFormats;
 		private String audioCodec;
 		private String format;
 		private String maxBitrate;
@@ -252,6 +289,36 @@ public class FormatConfiguration {
 				}
 			}
 
+			if (supportedEmbeddedSubtitlesFormats != null) {
+				try {
+					pSupportedEmbeddedSubtitlesFormats = Pattern.compile(supportedEmbeddedSubtitlesFormats);
+				} catch (PatternSyntaxException pse) {
+					LOGGER.error(
+						"Error parsing embedded subtitles formats \"{}\" from line \"{}\": {}",
+						supportedEmbeddedSubtitlesFormats,
+						supportLine,
+						pse.getMessage()
+					);
+					LOGGER.trace("", pse);
+					return false;
+				}
+			}
+
+			if (supportedExternalSubtitlesFormats != null) {
+				try {
+					pSupportedExternalSubtitlesFormats = Pattern.compile(supportedExternalSubtitlesFormats);
+				} catch (PatternSyntaxException pse) {
+					LOGGER.error(
+						"Error parsing external subtitles formats \"{}\" from line \"{}\": {}",
+						supportedExternalSubtitlesFormats,
+						supportLine,
+						pse.getMessage()
+					);
+					LOGGER.trace("", pse);
+					return false;
+				}
+			}
+
 			if (StringUtils.isNotBlank(maxNbChannels)) {
 				try {
 					iMaxNbChannels = Integer.parseInt(maxNbChannels);
@@ -529,7 +596,7 @@ public class FormatConfiguration {
 
 			if (subsFormat != null) {
 				if (isExternalSubs) {
-					if (supportedExternalSubtitlesFormats == null || !subsFormat.matches(supportedExternalSubtitlesFormats)) {
+					if (pSupportedExternalSubtitlesFormats == null || !pSupportedExternalSubtitlesFormats.matcher(subsFormat).matches()) {
 						LOGGER.trace("External subtitles format \"{}\" failed to match support line {}", subsFormat, supportLine);
 						if (renderer == null || !renderer.isExternalSubtitlesFormatSupportedForAllFiletypes(subsFormat)) {
 							LOGGER.trace("And did not match any formats in the SupportedExternalSubtitlesFormats renderer configuration setting");
@@ -539,7 +606,7 @@ public class FormatConfiguration {
 						}
 					}
 				} else {
-					if (supportedEmbeddedSubtitlesFormats == null || !subsFormat.matches(supportedEmbeddedSubtitlesFormats)) {
+					if (pSupportedEmbeddedSubtitlesFormats == null || !pSupportedEmbeddedSubtitlesFormats.matcher(subsFormat).matches()) {
 						LOGGER.trace("Internal subtitles format \"{}\" failed to match support line {}", subsFormat, supportLine);
 						if (renderer == null || !renderer.isEmbeddedSubtitlesFormatSupportedForAllFiletypes(subsFormat)) {
 							LOGGER.trace("And did not match any formats in the SupportedInternalSubtitlesFormats renderer configuration setting");
@@ -800,9 +867,38 @@ public class FormatConfiguration {
 		boolean isInternal,
 		RendererConfiguration renderer
 	) {
+		// The result only depends on the parameters, except for the HDR
+		// special case which depends on tsMuxeR being active
+		List<Object> signature = Arrays.asList(
+			container,
+			videoCodec,
+			audioCodec,
+			nbAudioChannels,
+			frequency,
+			bitrate,
+			framerate,
+			videoWidth,
+			videoHeight,
+			videoBitDepth,
+			videoHdrFormatInRendererFormat,
+			videoHdrFormatCompatibilityInRendererFormat,
+			extras == null ? null : new TreeMap<>(extras),
+			subsFormat,
+			isInternal,
+			renderer,
+			videoHdrFormatInRendererFormat != null && EngineFactory.isEngineActive(TsMuxeRVideo.ID)
+		);
+		synchronized (matchedMimeTypes) {
+			String cached = matchedMimeTypes.get(signature);
+			if (cached != null || matchedMimeTypes.containsKey(signature)) {
+				LOGGER.trace("Using the cached support line match for {}", signature);
+				return cached;
+			}
+		}
+
 		String matchedMimeType = null;
 
-		for (SupportSpec supportSpec : supportSpecs) {
+		for (SupportSpec supportSpec : getSupportSpecs(container)) {
 			if (supportSpec.match(
 				container,
 				videoCodec,
@@ -826,9 +922,41 @@ public class FormatConfiguration {
 			}
 		}
 
+		synchronized (matchedMimeTypes) {
+			matchedMimeTypes.put(signature, matchedMimeType);
+		}
 		return matchedMimeType;
 	}
 
+	/**
+	 * Returns the support lines that can match the specified container, so
+	 * the format of the other lines isn't evaluated on every match.
+	 *
+	 * @param container the container, or {@code null} for all the lines.
+	 * @return The support lines in the order of the configuration.
+	 */
+	private List<SupportSpec> getSupportSpecs(String container) {
+		if (container == null) {
+			return supportSpecs;
+		}
+		List<SupportSpec> result = supportSpecsByContainer.get(container);
+		if (result == null) {
+			result = new ArrayList<>();
+			for (SupportSpec supportSpec : supportSpecs) {
+				if (supportSpec.pFormat.matcher(container).matches()) {
+					result.add(supportSpec);
+				}
+			}
+			if (result.isEmpty()) {
+				LOGGER.trace("Format \"{}\" failed to match all support lines", container);
+			}
+			if (supportSpecsByContainer.size() < MAX_INDEXED_CONTAINERS) {
+				supportSpecsByContainer.put(container, result);
+			}
+		}
+		return result;
+	}
+
 	private static SupportSpec parseSupportLine(String line) {
 		StringTokenizer st = new StringTokenizer(line, "\t ");
 		SupportSpec supportSpec = new SupportSpec();
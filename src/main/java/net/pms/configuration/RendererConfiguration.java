@@ -29,6 +29,7 @@ import java.util.StringTokenizer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import net.pms.PMS;
+import net.pms.dlna.DidlFragmentCache;
 import net.pms.encoders.EncodingFormat;
 import net.pms.formats.Format;
 import net.pms.formats.Format.Identifier;
@@ -389,6 +390,7 @@ public class RendererConfiguration extends BaseConfiguration {
 			LOGGER.info("Reloading renderer configuration: {}", f);
 			loaded = false;
 			init(f);
+			DidlFragmentCache.clear();
 		} catch (ConfigurationException e) {
 			LOGGER.debug("Error reloading renderer configuration {}: {}", f, e);
 		}
@@ -27,15 +27,21 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import net.pms.PMS;
 import net.pms.renderers.ConnectedRenderers;
 import net.pms.renderers.Renderer;
 import net.pms.util.FileWatcher;
 import net.pms.util.PropertiesUtil;
+import net.pms.util.SimpleThreadFactory;
 import net.pms.util.SortedHeaderMap;
 import org.apache.commons.configuration.ConfigurationException;
 import org.apache.commons.configuration.PropertiesConfiguration;
@@ -414,21 +420,34 @@ public class RendererConfigurations {
 			File[] files = renderersDir.listFiles();
 			Arrays.sort(files);
 
+			// Parse the files in parallel, then register them in order
+			ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), new SimpleThreadFactory("Renderer Configuration Loader"));
+			Map<File, Future<RendererConfiguration>> parsed = new LinkedHashMap<>();
 			for (File file : files) {
 				if (file.getName().endsWith(".conf")) {
-					try {
-						RendererConfiguration rendererConf = new RendererConfiguration(file);
-						if (rendererConf.hasDeviceId()) {
-							//device specific conf
-							loadDeviceConfiguration(rendererConf);
-						} else {
-							//renderer specific conf
-							loadRendererConfiguration(rendererConf, profile);
-						}
-						FileWatcher.add(new FileWatcher.Watch(file.getPath(), RELOADER));
-					} catch (ConfigurationException ce) {
-						LOGGER.info("Error in loading configuration of: " + file.getAbsolutePath());
+					parsed.put(file, executor.submit(() -> new RendererConfiguration(file)));
+				}
+			}
+			executor.shutdown();
+			for (Map.Entry<File, Future<RendererConfiguration>> entry : parsed.entrySet()) {
+				File file = entry.getKey();
+				try {
+					RendererConfiguration rendererConf = entry.getValue().get();
+					if (rendererConf.hasDeviceId()) {
+						//device specific conf
+						loadDeviceConfiguration(rendererConf);
+					} else {
+						//renderer specific conf
+						loadRendererConfiguration(rendererConf, profile);
 					}
+					FileWatcher.add(new FileWatcher.Watch(file.getPath(), RELOADER));
+				} catch (ExecutionException e) {
+					LOGGER.info("Error in loading configuration of: " + file.getAbsolutePath());
+					LOGGER.trace("", e.getCause());
+				} catch (InterruptedException e) {
+					executor.shutdownNow();
+					Thread.currentThread().interrupt();
+					return;
 				}
 			}
 		}
@@ -223,6 +223,7 @@ public class UmsConfiguration extends BaseConfiguration {
 	private static final String KEY_ALTERNATE_THUMB_FOLDER = "alternate_thumb_folder";
 	private static final String KEY_ANONYMOUS_DEVICES_WRITE = "anonymous_devices_write";
 	private static final String KEY_APPEND_PROFILE_NAME = "append_profile_name";
+	private static final String KEY_ARCHIVE_EXTRACTION_CACHE_SIZE = "archive_extraction_cache_size";
 	private static final String KEY_ATZ_LIMIT = "atz_limit";
 	private static final String KEY_AUTOMATIC_DISCOVER = "automatic_discover";
 	private static final String KEY_AUTOMATIC_MAXIMUM_BITRATE = "automatic_maximum_bitrate";
@@ -267,6 +268,8 @@ public class UmsConfiguration extends BaseConfiguration {
 	private static final String KEY_DISABLE_SUBTITLES = "disable_subtitles";
 	private static final String KEY_DISABLE_TRANSCODE_FOR_EXTENSIONS = "disable_transcode_for_extensions";
 	private static final String KEY_DISABLE_TRANSCODING = "disable_transcoding";
+	private static final String KEY_DISK_CACHE_SUBTITLES_SIZE = "disk_cache_subtitles_size";
+	private static final String KEY_DISK_CACHE_THUMBNAILS_SIZE = "disk_cache_thumbnails_size";
 	private static final String KEY_DVDISO_THUMBNAILS = "dvd_isos_thumbnails";
 	private static final String KEY_DYNAMIC_PLS = "dynamic_playlist";
 	private static final String KEY_DYNAMIC_PLS_AUTO_SAVE = "dynamic_playlist_auto_save";
@@ -394,7 +397,11 @@ public class UmsConfiguration extends BaseConfiguration {
 	private static final String KEY_RESUME_REWIND = "resume_rewind";
 	private static final String KEY_ROOT_LOG_LEVEL = "log_level";
 	private static final String KEY_RUN_WIZARD = "run_wizard";
+	private static final String KEY_SCAN_EXTRACT_SUBTITLES = "scan_extract_subtitles";
+	private static final String KEY_SCAN_GENERATE_THUMBNAILS = "scan_generate_thumbnails";
+	private static final String KEY_SCAN_INCREMENTAL = "scan_incremental";
 	private static final String KEY_SCAN_SHARED_FOLDERS_ON_STARTUP = "scan_shared_folders_on_startup";
+	private static final String KEY_SCAN_THREADS = "scan_threads";
 	private static final String KEY_SCRIPT_DIR = "script_dir";
 	private static final String KEY_SEARCH_FOLDER = "search_folder";
 	private static final String KEY_SEARCH_IN_FOLDER = "search_in_folder";
@@ -428,6 +435,7 @@ public class UmsConfiguration extends BaseConfiguration {
 	private static final String KEY_TEMP_FOLDER_PATH = "temp_directory";
 	private static final String KEY_THUMBNAIL_GENERATION_ENABLED = "generate_thumbnails";
 	private static final String KEY_THUMBNAIL_SEEK_POS = "thumbnail_seek_position";
+	private static final String KEY_THUMBNAIL_THREADS = "thumbnail_threads";
 	private static final String KEY_TMDB_API_KEY = "tmdb_api_key";
 	private static final String KEY_TRANSCODE_BLOCKS_MULTIPLE_CONNECTIONS = "transcode_block_multiple_connections";
 	private static final String KEY_TRANSCODE_FOLDER_NAME = "transcode_folder_name";
@@ -444,6 +452,7 @@ public class UmsConfiguration extends BaseConfiguration {
 	private static final String KEY_USE_TMDB_INFO = "use_tmdb_info";
 	private static final String KEY_USE_MPLAYER_FOR_THUMBS = "use_mplayer_for_video_thumbs";
 	private static final String KEY_USE_SYMLINKS_TARGET_FILE = "use_symlinks_target_file";
+	private static final String KEY_USE_VIRTUAL_THREADS = "use_virtual_threads";
 	private static final String KEY_UUID = "uuid";
 	private static final String KEY_VIDEOTRANSCODE_START_DELAY = "videotranscode_start_delay";
 	private static final String KEY_VLC_AUDIO_SYNC_ENABLED = "vlc_audio_sync_enabled";
@@ -474,6 +483,7 @@ public class UmsConfiguration extends BaseConfiguration {
 	private static final String KEY_WEB_PLAYER_PORT = "web_player_port";
 	private static final String KEY_WEB_PLAYER_SUB_LANG = "web_use_browser_sub_lang";
 	private static final String KEY_WEB_PLAYER_SUBS_TRANS = "web_subtitles_transcoded";
+	private static final String KEY_WEB_STREAM_PROBE_CACHE_TIME = "web_stream_probe_cache_time";
 	private static final String KEY_WEB_THREADS = "web_threads";
 	private static final String KEY_X264_CONSTANT_RATE_FACTOR = "x264_constant_rate_factor";
 
@@ -2350,6 +2360,66 @@ public class UmsConfiguration extends BaseConfiguration {
 		configuration.setProperty(KEY_OPEN_ARCHIVES, value);
 	}
 
+	/**
+	 * Returns the maximum size in megabytes of the on-disk cache of extracted
+	 * compressed archive entries, 0 to disable it.
+	 *
+	 * @return The archive extraction cache size in megabytes.
+	 */
+	public int getArchiveExtractionCacheSize() {
+		return Math.max(0, getInt(KEY_ARCHIVE_EXTRACTION_CACHE_SIZE, 2048));
+	}
+
+	/**
+	 * Returns the maximum size in megabytes of the converted subtitles kept
+	 * on disk, 0 for no limit.
+	 *
+	 * @return The subtitles disk cache size in megabytes.
+	 */
+	public int getDiskCacheSubtitlesSize() {
+		return Math.max(0, getInt(KEY_DISK_CACHE_SUBTITLES_SIZE, 256));
+	}
+
+	/**
+	 * Returns the maximum size in megabytes of the thumbnails kept on disk, 0
+	 * for no limit.
+	 *
+	 * @return The thumbnails disk cache size in megabytes.
+	 */
+	public int getDiskCacheThumbnailsSize() {
+		return Math.max(0, getInt(KEY_DISK_CACHE_THUMBNAILS_SIZE, 256));
+	}
+
+	/**
+	 * Sets the maximum size in megabytes of the thumbnails kept on disk, 0 for
+	 * no limit.
+	 *
+	 * @param value The thumbnails disk cache size in megabytes.
+	 */
+	public void setDiskCacheThumbnailsSize(int value) {
+		configuration.setProperty(KEY_DISK_CACHE_THUMBNAILS_SIZE, value);
+	}
+
+	/**
+	 * Returns the number of hours the probed media information of the web
+	 * streams is kept before they are probed again.
+	 *
+	 * @return The web streams probe cache time in hours.
+	 */
+	public int getWebStreamProbeCacheTime() {
+		return Math.max(0, getInt(KEY_WEB_STREAM_PROBE_CACHE_TIME, 168));
+	}
+
+	/**
+	 * Sets the number of hours the probed media information of the web
+	 * streams is kept before they are probed again.
+	 *
+	 * @param value The web streams probe cache time in hours.
+	 */
+	public void setWebStreamProbeCacheTime(int value) {
+		configuration.setProperty(KEY_WEB_STREAM_PROBE_CACHE_TIME, value);
+	}
+
 	/**
 	 * Returns true if MEncoder should use the deinterlace filter, false
 	 * otherwise.
@@ -2599,6 +2669,16 @@ public class UmsConfiguration extends BaseConfiguration {
 		configuration.setProperty(KEY_THUMBNAIL_SEEK_POS, value);
 	}
 
+	/**
+	 * Returns the maximum number of thumbnails generated at the same time.
+	 * Each one may run an external process.
+	 *
+	 * @return The number of thumbnail generation threads.
+	 */
+	public int getThumbnailThreads() {
+		return Math.max(1, getInt(KEY_THUMBNAIL_THREADS, 2));
+	}
+
 	/**
 	 * Returns true if UMS should generate thumbnails for images. Default value
 	 * is true.
@@ -4206,6 +4286,21 @@ public class UmsConfiguration extends BaseConfiguration {
 		this.configuration.setProperty(UmsConfiguration.KEY_USE_SYMLINKS_TARGET_FILE, value);
 	}
 
+	/**
+	 * Whether the blocking network and background tasks run on virtual
+	 * threads, when the Java runtime supports them. This is read once at
+	 * startup.
+	 *
+	 * @return {@code true} if virtual threads should be used.
+	 */
+	public boolean isUseVirtualThreads() {
+		return getBoolean(KEY_USE_VIRTUAL_THREADS, false);
+	}
+
+	public void setUseVirtualThreads(final boolean value) {
+		this.configuration.setProperty(KEY_USE_VIRTUAL_THREADS, value);
+	}
+
 	/**
 	 * Whether to show the "Media Library" folder on the renderer.
 	 *
@@ -4380,6 +4475,79 @@ public class UmsConfiguration extends BaseConfiguration {
 		this.configuration.setProperty(KEY_SCAN_SHARED_FOLDERS_ON_STARTUP, value);
 	}
 
+	/**
+	 * Whether the media scanner should skip folders that did not change since
+	 * they were last scanned.
+	 *
+	 * @return whether the media scan is incremental
+	 */
+	public boolean isScanIncremental() {
+		return getBoolean(KEY_SCAN_INCREMENTAL, true);
+	}
+
+	/**
+	 * Whether the media scanner should skip folders that did not change since
+	 * they were last scanned.
+	 *
+	 * @param value whether the media scan is incremental
+	 */
+	public void setScanIncremental(final boolean value) {
+		this.configuration.setProperty(KEY_SCAN_INCREMENTAL, value);
+	}
+
+	/**
+	 * Whether the media scanner should extract the embedded text subtitles of
+	 * the videos in the preferred languages to the subtitles cache, so they
+	 * are not extracted when the video is played.
+	 *
+	 * @return whether the embedded subtitles are extracted during the scan
+	 */
+	public boolean isScanExtractSubtitles() {
+		return getBoolean(KEY_SCAN_EXTRACT_SUBTITLES, false);
+	}
+
+	/**
+	 * Whether the media scanner should extract the embedded text subtitles of
+	 * the videos in the preferred languages to the subtitles cache, so they
+	 * are not extracted when the video is played.
+	 *
+	 * @param value whether the embedded subtitles are extracted during the scan
+	 */
+	public void setScanExtractSubtitles(final boolean value) {
+		this.configuration.setProperty(KEY_SCAN_EXTRACT_SUBTITLES, value);
+	}
+
+	/**
+	 * Whether the media scanner should generate the missing thumbnails of the
+	 * videos at low priority, so they are not generated when a renderer
+	 * browses them.
+	 *
+	 * @return whether the thumbnails are generated during the scan
+	 */
+	public boolean isScanGenerateThumbnails() {
+		return getBoolean(KEY_SCAN_GENERATE_THUMBNAILS, false);
+	}
+
+	/**
+	 * Whether the media scanner should generate the missing thumbnails of the
+	 * videos at low priority, so they are not generated when a renderer
+	 * browses them.
+	 *
+	 * @param value whether the thumbnails are generated during the scan
+	 */
+	public void setScanGenerateThumbnails(final boolean value) {
+		this.configuration.setProperty(KEY_SCAN_GENERATE_THUMBNAILS, value);
+	}
+
+	/**
+	 * Returns the number of folders the media scanner may scan in parallel.
+	 *
+	 * @return the number of media scanner threads
+	 */
+	public int getScanThreads() {
+		return Math.max(1, getInt(KEY_SCAN_THREADS, Math.max(1, getNumberOfCpuCores() / 2)));
+	}
+
 	/**
 	 * Whether to show the "Recently Played" folder on the renderer.
 	 *
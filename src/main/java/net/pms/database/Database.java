@@ -17,9 +17,13 @@
 package net.pms.database;
 
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import java.sql.*;
+import java.util.function.ToIntFunction;
 import net.pms.Messages;
 import net.pms.gui.GuiManager;
+import net.pms.metrics.Metrics;
+import net.pms.metrics.Timer;
 import net.pms.util.UMSUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +40,7 @@ public abstract class Database extends DatabaseHelper {
 	private final boolean embedded;
 	private final HikariDataSource ds;
 	private final String dbName;
+	private final Timer connectionTimer;
 
 	protected DatabaseStatus status;
 
@@ -56,6 +61,9 @@ public abstract class Database extends DatabaseHelper {
 		ds = new HikariDataSource();
 		ds.setJdbcUrl(jdbcUrl);
 		ds.setUsername(DatabaseEmbedded.getDbUser());
+		connectionTimer = Metrics.timer("ums_db_connection_wait_seconds", "Time waited for a database connection from the pool", "database", name);
+		Metrics.gauge("ums_db_connections_active", "Database connections in use", "database", name, () -> getPoolValue(HikariPoolMXBean::getActiveConnections));
+		Metrics.gauge("ums_db_connections_pending", "Threads waiting for a database connection", "database", name, () -> getPoolValue(HikariPoolMXBean::getThreadsAwaitingConnection));
 	}
 
 	/**
@@ -68,13 +76,24 @@ public abstract class Database extends DatabaseHelper {
 	 * @throws SQLException
 	 */
 	public Connection getConnection() throws SQLException {
-		return ds.getConnection();
+		long start = connectionTimer.start();
+		try {
+			return ds.getConnection();
+		} finally {
+			connectionTimer.stop(start);
+		}
 	}
 
 	public int getActiveConnections() throws SQLException {
 		return ds.isRegisterMbeans() ? ds.getHikariPoolMXBean().getActiveConnections() : 0;
 	}
 
+	private int getPoolValue(ToIntFunction<HikariPoolMXBean> getter) {
+		// The pool is available once the first connection was requested
+		HikariPoolMXBean pool = ds.getHikariPoolMXBean();
+		return pool == null ? 0 : getter.applyAsInt(pool);
+	}
+
 	public boolean isOpened() {
 		return status == DatabaseStatus.OPENED;
 	}
@@ -99,6 +99,7 @@ public class MediaDatabase extends Database {
 
 				MediaTableTVSeries.checkTable(connection);
 				MediaTableFailedLookups.checkTable(connection);
+				MediaTableMetadataLookups.checkTable(connection);
 
 				// Video metadata tables
 				MediaTableVideoMetadataActors.checkTable(connection);
@@ -109,6 +110,10 @@ public class MediaDatabase extends Database {
 				MediaTableVideoMetadataRatings.checkTable(connection);
 				MediaTableVideoMetadataLocalized.checkTable(connection);
 
+				// Media library summaries, filled from the tables above
+				MediaTableTVSeriesSeasons.checkTable(connection);
+				MediaTableTVSeriesFacets.checkTable(connection);
+
 				// Audio Metadata
 				MediaTableAudioMetadata.checkTable(connection);
 				MediaTableAudiotracks.checkTable(connection);
@@ -118,6 +123,12 @@ public class MediaDatabase extends Database {
 				MediaTableContainerFiles.checkTable(connection);
 
 				MediaTableStoreIds.checkTable(connection);
+
+				// Media scanner checkpoints
+				MediaTableScannedFolders.checkTable(connection);
+
+				// Web streams probe times
+				MediaTableWebStreamProbes.checkTable(connection);
 			}
 			tablesChecked = true;
 		}
@@ -151,8 +162,13 @@ public class MediaDatabase extends Database {
 		dropTableAndConstraint(connection, MediaTableThumbnails.TABLE_NAME);
 		dropTableAndConstraint(connection, MediaTableChapters.TABLE_NAME);
 
+		// Media library summaries
+		dropTableAndConstraint(connection, MediaTableTVSeriesSeasons.TABLE_NAME);
+		dropTableAndConstraint(connection, MediaTableTVSeriesFacets.TABLE_NAME);
+
 		dropTableAndConstraint(connection, MediaTableTVSeries.TABLE_NAME);
 		dropTableAndConstraint(connection, MediaTableFailedLookups.TABLE_NAME);
+		dropTableAndConstraint(connection, MediaTableMetadataLookups.TABLE_NAME);
 
 		// Video metadata tables
 		dropTableAndConstraint(connection, MediaTableVideoMetadataActors.TABLE_NAME);
@@ -168,6 +184,12 @@ public class MediaDatabase extends Database {
 
 		//Container Files
 		dropTableAndConstraint(connection, MediaTableContainerFiles.TABLE_NAME);
+
+		// Media scanner checkpoints
+		dropTableAndConstraint(connection, MediaTableScannedFolders.TABLE_NAME);
+
+		// Web streams probe times
+		dropTableAndConstraint(connection, MediaTableWebStreamProbes.TABLE_NAME);
 	}
 
 	/**
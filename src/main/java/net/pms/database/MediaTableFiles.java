@@ -21,8 +21,11 @@ import java.io.File;
 import java.io.IOException;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import net.pms.Messages;
@@ -86,8 +89,9 @@ public class MediaTableFiles extends MediaTable {
 	 * - 40: added thumbnail source
 	 * - 41: ID as BIGINT
 	 * - 42: ID as IDENTITY
+	 * - 44: added FINGERPRINT column
 	 */
-	private static final int TABLE_VERSION = 43;
+	private static final int TABLE_VERSION = 44;
 
 	/**
 	 * COLUMNS NAMES
@@ -110,6 +114,7 @@ public class MediaTableFiles extends MediaTable {
 	private static final String COL_ASPECTRATIODVD = "ASPECTRATIODVD";
 	private static final String COL_IMAGEINFO = "IMAGEINFO";
 	private static final String COL_IMAGECOUNT = "IMAGECOUNT";
+	private static final String COL_FINGERPRINT = "FINGERPRINT";
 
 	/**
 	 * COLUMNS with table name
@@ -120,6 +125,7 @@ public class MediaTableFiles extends MediaTable {
 	public static final String TABLE_COL_MODIFIED = TABLE_NAME + "." + COL_MODIFIED;
 	public static final String TABLE_COL_THUMBID = TABLE_NAME + "." + COL_THUMBID;
 	public static final String TABLE_COL_DURATION = TABLE_NAME + "." + COL_DURATION;
+	private static final String TABLE_COL_FINGERPRINT = TABLE_NAME + "." + COL_FINGERPRINT;
 
 	/**
 	 * SQL Jointures
@@ -142,6 +148,7 @@ public class MediaTableFiles extends MediaTable {
 	private static final String SQL_GET_ALL_BY_FILENAME = SELECT_ALL + FROM + TABLE_NAME + WHERE + TABLE_COL_FILENAME + EQUAL + PARAMETER + LIMIT_1;
 	private static final String SQL_GET_ALL_FILENAME_MODIFIED = SELECT_ALL + FROM + TABLE_NAME + SQL_LEFT_JOIN_TABLE_THUMBNAILS + WHERE + TABLE_COL_FILENAME + EQUAL + PARAMETER + AND + TABLE_COL_MODIFIED + EQUAL + PARAMETER + LIMIT_1;
 	private static final String SQL_GET_FILENAME_BY_ID = SELECT + TABLE_COL_FILENAME + FROM + TABLE_NAME + WHERE + TABLE_COL_ID + EQUAL + PARAMETER;
+	private static final String SQL_GET_FILENAME_MODIFIED_IN_FOLDER = SELECT + TABLE_COL_FILENAME + COMMA + TABLE_COL_MODIFIED + FROM + TABLE_NAME + WHERE + TABLE_COL_FILENAME + LIKE + LIKE_STARTING_WITH_PARAMETER + AND + TABLE_COL_FILENAME + " NOT" + LIKE + LIKE_STARTING_WITH_PARAMETER + " || " + LIKE_STARTING_WITH_PARAMETER;
 	private static final String SQL_GET_FILENAME_LIKE = SELECT + TABLE_COL_FILENAME + FROM + TABLE_NAME + WHERE + TABLE_COL_FILENAME + LIKE + LIKE_STARTING_WITH_PARAMETER;
 	private static final String SQL_GET_ID_FILENAME = SELECT + TABLE_COL_ID + FROM + TABLE_NAME + WHERE + TABLE_COL_FILENAME + EQUAL + PARAMETER + LIMIT_1;
 	private static final String SQL_GET_FORMAT_TYPE_BY_FILENAME = SELECT + TABLE_COL_FORMAT_TYPE + FROM + TABLE_NAME + WHERE + TABLE_COL_FILENAME + EQUAL + PARAMETER + LIMIT_1;
@@ -151,6 +158,8 @@ public class MediaTableFiles extends MediaTable {
 	private static final String SQL_DELETE_BY_ID = DELETE_FROM + TABLE_NAME + WHERE + TABLE_COL_ID + EQUAL + PARAMETER;
 	private static final String SQL_DELETE_BY_FILENAME = DELETE_FROM + TABLE_NAME + WHERE + TABLE_COL_FILENAME + EQUAL + PARAMETER;
 	private static final String SQL_DELETE_BY_FILENAME_LIKE = DELETE_FROM + TABLE_NAME + WHERE + TABLE_COL_FILENAME + LIKE + LIKE_STARTING_WITH_PARAMETER;
+	private static final String SQL_GET_ID_FILENAME_BY_FINGERPRINT = SELECT + TABLE_COL_ID + COMMA + TABLE_COL_FILENAME + FROM + TABLE_NAME + WHERE + TABLE_COL_FINGERPRINT + EQUAL + PARAMETER;
+	private static final String SQL_UPDATE_FILENAME_MODIFIED_BY_ID = UPDATE + TABLE_NAME + SET + COL_FILENAME + EQUAL + PARAMETER + COMMA + COL_MODIFIED + EQUAL + PARAMETER + WHERE + TABLE_COL_ID + EQUAL + PARAMETER;
 	private static final String SQL_GET_THUMBNAIL_BY_TITLE = SELECT + TABLE_COL_THUMBID + FROM + TABLE_NAME + SQL_LEFT_JOIN_TABLE_VIDEO_METADATA + WHERE + MediaTableVideoMetadata.TABLE_COL_TITLE + EQUAL + PARAMETER + LIMIT_1;
 
 	/**
@@ -477,6 +486,10 @@ public class MediaTableFiles extends MediaTable {
 						}
 						LOGGER.trace(LOG_UPGRADED_TABLE, DATABASE_NAME, TABLE_NAME, currentVersion, version);
 					}
+					case 43 -> {
+						executeUpdate(connection, ALTER_TABLE + TABLE_NAME + ADD + COLUMN + IF_NOT_EXISTS + COL_FINGERPRINT + VARCHAR_32);
+						executeUpdate(connection, CREATE_INDEX + IF_NOT_EXISTS + TABLE_NAME + CONSTRAINT_SEPARATOR + COL_FINGERPRINT + IDX_MARKER + ON + TABLE_NAME + "(" + COL_FINGERPRINT + ")");
+					}
 					default -> {
 						// Do the dumb way
 						force = true;
@@ -543,7 +556,8 @@ public class MediaTableFiles extends MediaTable {
 				//all columns here are not file (container) related but media related
 				COL_ASPECTRATIODVD          + VARCHAR_SIZE_MAX                               + COMMA +
 				COL_IMAGECOUNT              + INTEGER                                        + COMMA +
-				COL_IMAGEINFO               + OTHER                                          +
+				COL_IMAGEINFO               + OTHER                                          + COMMA +
+				COL_FINGERPRINT             + VARCHAR_32                                     +
 			")"
 		);
 
@@ -558,6 +572,9 @@ public class MediaTableFiles extends MediaTable {
 
 		LOGGER.trace("Creating index on " + COL_THUMBID);
 		execute(connection, CREATE_INDEX + IF_NOT_EXISTS + TABLE_NAME + CONSTRAINT_SEPARATOR + COL_THUMBID + IDX_MARKER + ON + TABLE_NAME + "(" + COL_THUMBID + ")");
+
+		LOGGER.trace("Creating index on " + COL_FINGERPRINT);
+		execute(connection, CREATE_INDEX + IF_NOT_EXISTS + TABLE_NAME + CONSTRAINT_SEPARATOR + COL_FINGERPRINT + IDX_MARKER + ON + TABLE_NAME + "(" + COL_FINGERPRINT + ")");
 	}
 
 	/**
@@ -739,6 +756,92 @@ public class MediaTableFiles extends MediaTable {
 		return media;
 	}
 
+	/**
+	 * Re-links the stored data of a file that was renamed or moved to its new
+	 * path, so it doesn't have to be parsed again.
+	 * <p>
+	 * A row is considered to belong to the file when it has the same content
+	 * fingerprint and its own file is gone from a mounted disk. The parsed
+	 * metadata, tracks, thumbnail and play status follow the row.
+	 *
+	 * @param connection the db connection
+	 * @param file the file found at a new path.
+	 * @return {@code true} if an existing row was moved to the file path.
+	 */
+	public static boolean relinkMovedFile(final Connection connection, File file) {
+		String filename = file.getAbsolutePath();
+		if (getFileId(connection, filename) != null) {
+			// Known path, it is only modified
+			return false;
+		}
+		String fingerprint = FileUtil.getFingerprint(file);
+		if (fingerprint == null) {
+			return false;
+		}
+		try {
+			Long fileId = null;
+			String oldFilename = null;
+			try (PreparedStatement statement = connection.prepareStatement(SQL_GET_ID_FILENAME_BY_FINGERPRINT)) {
+				statement.setString(1, fingerprint);
+				try (ResultSet rs = statement.executeQuery()) {
+					while (rs.next()) {
+						String candidate = rs.getString(2);
+						if (isGone(candidate)) {
+							fileId = rs.getLong(1);
+							oldFilename = candidate;
+							break;
+						}
+					}
+				}
+			}
+			if (fileId == null) {
+				return false;
+			}
+			try (PreparedStatement statement = connection.prepareStatement(SQL_UPDATE_FILENAME_MODIFIED_BY_ID)) {
+				statement.setString(1, filename);
+				statement.setTimestamp(2, new Timestamp(file.lastModified()));
+				statement.setLong(3, fileId);
+				statement.executeUpdate();
+			}
+			MediaTableFilesStatus.moveOnFileMoved(connection, oldFilename, filename);
+			LOGGER.debug("Stored data of \"{}\" was moved to \"{}\"", oldFilename, filename);
+			return true;
+		} catch (SQLException se) {
+			LOGGER.error(LOG_ERROR_WHILE_IN_FOR, DATABASE_NAME, "relinking", TABLE_NAME, filename, se.getMessage());
+			LOGGER.trace("", se);
+		}
+		return false;
+	}
+
+	/**
+	 * Checks whether the file of a stored row was really removed or moved,
+	 * rather than being on a disk that is not mounted at the moment.
+	 * <p>
+	 * The closest existing folder of its path must have entries, as an
+	 * unmounted disk usually leaves an empty mount point or nothing at all.
+	 *
+	 * @param filename the stored file path.
+	 * @return {@code true} if the file is gone from a mounted disk.
+	 */
+	private static boolean isGone(String filename) {
+		if (FileUtil.isUrl(filename)) {
+			return false;
+		}
+		File file = new File(filename);
+		if (file.exists()) {
+			return false;
+		}
+		File folder = file.getParentFile();
+		while (folder != null && !folder.exists()) {
+			folder = folder.getParentFile();
+		}
+		if (folder == null) {
+			return false;
+		}
+		String[] entries = folder.list();
+		return entries != null && entries.length > 0;
+	}
+
 	/**
 	 * Stores the file in the database if it doesn't already exist.
 	 *
@@ -810,11 +913,17 @@ public class MediaTableFiles extends MediaTable {
 				ps.setString(1, name);
 				try (ResultSet result = ps.executeQuery()) {
 					boolean isCreatingNewRecord = !result.next();
+					// Only new or changed files need their content to be read
+					boolean isFingerprintNeeded = !FileUtil.isUrl(name);
 					if (isCreatingNewRecord) {
 						result.moveToInsertRow();
 						result.updateString(COL_FILENAME, name);
 					} else {
 						fileId = result.getLong(COL_ID);
+						Timestamp storedModified = result.getTimestamp(COL_MODIFIED);
+						if (storedModified != null && storedModified.getTime() == modified && result.getString(COL_FINGERPRINT) != null) {
+							isFingerprintNeeded = false;
+						}
 					}
 					result.updateTimestamp(COL_MODIFIED, new Timestamp(modified));
 					result.updateInt(COL_FORMAT_TYPE, type);
@@ -835,6 +944,9 @@ public class MediaTableFiles extends MediaTable {
 						result.updateInt(COL_IMAGECOUNT, media.getImageCount());
 						updateString(result, COL_ASPECTRATIODVD, media.getAspectRatioDvdIso(), SIZE_MAX);
 						updateObject(result, COL_IMAGEINFO, media.getImageInfo());
+						if (isFingerprintNeeded) {
+							updateString(result, COL_FINGERPRINT, FileUtil.getFingerprint(new File(name)), 32);
+						}
 					}
 					if (isCreatingNewRecord) {
 						result.insertRow();
@@ -930,7 +1042,14 @@ public class MediaTableFiles extends MediaTable {
 			return;
 		}
 
+		Set<Long> tvSeriesIds = MediaTableTVSeriesSeasons.getTvSeriesIds(connection, filename, useLike);
 		deleteRowsInFilesTable(connection, filename, useLike);
+		MediaTableTVSeriesSeasons.refresh(connection, tvSeriesIds);
+		// The folder must be scanned again by the next incremental scan
+		String folderName = useLike ? filename : new File(filename).getParent();
+		if (StringUtils.isNotEmpty(folderName) && !FileUtil.isUrl(filename)) {
+			MediaTableScannedFolders.remove(connection, folderName);
+		}
 		if (removeStatus) {
 			MediaTableFilesStatus.remove(connection, filename, useLike);
 		}
@@ -1019,6 +1138,7 @@ public class MediaTableFiles extends MediaTable {
 		}
 		//remove the itself relation if any
 		MediaTableContainerFiles.deleteEntry(connection, fileId);
+		Long tvSeriesId = MediaTableTVSeriesSeasons.getTvSeriesId(connection, fileId);
 		try {
 			try (
 				PreparedStatement ps = connection.prepareStatement(SQL_DELETE_BY_ID);
@@ -1026,6 +1146,7 @@ public class MediaTableFiles extends MediaTable {
 				ps.setLong(1, fileId);
 				ps.executeUpdate();
 			}
+			MediaTableTVSeriesSeasons.refresh(connection, tvSeriesId);
 		} catch (SQLException se) {
 			LOGGER.error("An error occurred while trying to remove \"{}\" from the database: {}", fileId, se.getMessage());
 			LOGGER.trace("", se);
@@ -1114,6 +1235,7 @@ public class MediaTableFiles extends MediaTable {
 					ResultSet rs = ps.executeQuery()) {
 					List<File> sharedFolders = SharedContentConfiguration.getSharedFolders();
 					List<Long> removedIds = new ArrayList<>();
+					Set<String> removedFolders = new HashSet<>();
 					int oldpercent = 0;
 					int i = 0;
 					while (rs.next()) {
@@ -1128,6 +1250,7 @@ public class MediaTableFiles extends MediaTable {
 									LOGGER.trace("Removing the file {} from our database because it is no longer on the hard drive", filename);
 									rs.deleteRow();
 									removedIds.add(id);
+									removedFolders.add(file.getParent());
 								} else {
 									// the file exists on the hard drive, but now check if we are still sharing it
 									boolean isFileStillShared = false;
@@ -1159,6 +1282,12 @@ public class MediaTableFiles extends MediaTable {
 					for (Long id : removedIds) {
 						removeEntry(connection, id);
 					}
+					//folders must be scanned again if they come back
+					for (String folderName : removedFolders) {
+						if (folderName != null) {
+							MediaTableScannedFolders.remove(connection, folderName);
+						}
+					}
 				}
 				GuiManager.setStatusLine(null);
 			}
@@ -1179,6 +1308,13 @@ public class MediaTableFiles extends MediaTable {
 				ps.execute();
 			}
 
+			/*
+			 * Cleanup of TV_SERIES_SEASONS table
+			 *
+			 * Counts again the episodes left.
+			 */
+			MediaTableTVSeriesSeasons.rebuild(connection);
+
 			/*
 			 * Cleanup of TV_SERIES table
 			 *
@@ -1238,6 +1374,44 @@ public class MediaTableFiles extends MediaTable {
 		return result;
 	}
 
+	/**
+	 * Gets the stored modification times of the files located directly in
+	 * the given folder.
+	 *
+	 * @param connection the db connection
+	 * @param fullPathToFolder the full path of the folder.
+	 * @return a {@link Map} of full file paths to their stored
+	 *         {@code lastModified} value.
+	 */
+	public static Map<String, Long> getModifiedInFolder(final Connection connection, final String fullPathToFolder) {
+		Map<String, Long> result = new HashMap<>();
+		if (StringUtils.isBlank(fullPathToFolder)) {
+			return result;
+		}
+		String prefix = fullPathToFolder.endsWith(File.separator) ? fullPathToFolder : fullPathToFolder + File.separator;
+		try (PreparedStatement ps = connection.prepareStatement(SQL_GET_FILENAME_MODIFIED_IN_FOLDER)) {
+			ps.setString(1, prefix);
+			// Leave the files of the subfolders out
+			ps.setString(2, prefix);
+			ps.setString(3, File.separator);
+			try (
+				ResultSet rs = ps.executeQuery();
+			) {
+				while (rs.next()) {
+					String filename = rs.getString(COL_FILENAME);
+					// LIKE wildcards may be part of the folder name
+					if (filename.startsWith(prefix) && filename.indexOf(File.separatorChar, prefix.length()) == -1) {
+						Timestamp modified = rs.getTimestamp(COL_MODIFIED);
+						result.put(filename, modified == null ? 0 : modified.getTime());
+					}
+				}
+			}
+		} catch (SQLException se) {
+			LOGGER.error(null, se);
+		}
+		return result;
+	}
+
 	/**
 	 * @param connection the db connection
 	 * @param title
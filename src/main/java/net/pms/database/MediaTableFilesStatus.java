@@ -82,6 +82,7 @@ public final class MediaTableFilesStatus extends MediaTable {
 	private static final String SQL_DELETE_LIKE = DELETE_FROM + TABLE_NAME + WHERE + TABLE_COL_FILENAME + LIKE + LIKE_STARTING_WITH_PARAMETER;
 	private static final String SQL_DELETE_USER = DELETE_FROM + TABLE_NAME + WHERE + TABLE_COL_USERID + EQUAL + PARAMETER;
 	private static final String SQL_INSERT_MOVED = INSERT_INTO + TABLE_NAME + "(" + COL_FILENAME + COMMA + COL_USERID + COMMA + COL_BOOKMARK + COMMA + COL_ISFULLYPLAYED + COMMA + COL_PLAYCOUNT + COMMA + COL_DATELASTPLAY + ") " + SQL_GET_MOVED;
+	private static final String SQL_UPDATE_FILENAME = UPDATE + TABLE_NAME + SET + COL_FILENAME + EQUAL + PARAMETER + WHERE + TABLE_COL_FILENAME + EQUAL + PARAMETER;
 	private static final String SQL_INSERT_USERCOPY = INSERT_INTO + TABLE_NAME + "(" + COL_FILENAME + COMMA + COL_USERID + COMMA + COL_BOOKMARK + COMMA + COL_ISFULLYPLAYED + COMMA + COL_PLAYCOUNT + COMMA + COL_DATELASTPLAY + ") " + SQL_GET_USER;
 
 	/**
@@ -410,6 +411,58 @@ public final class MediaTableFilesStatus extends MediaTable {
 		}
 	}
 
+	/**
+	 * Applies several status changes to a file in one statement.
+	 *
+	 * @param connection the db connection
+	 * @param fullPathToFile the full path to the file.
+	 * @param userId the user id.
+	 * @param isFullyPlayed the fully played status, or {@code null} to leave
+	 *            it unchanged.
+	 * @param playbackCount the number of playbacks to add to the play count.
+	 * @param lastPlaybackPosition how many seconds were played last, or
+	 *            {@code null} to leave it unchanged.
+	 * @param bookmark the bookmark, or {@code null} to leave it unchanged.
+	 * @throws SQLException if an SQL error occurs during the operation.
+	 */
+	public static void setStatus(final Connection connection, final String fullPathToFile, final int userId, final Boolean isFullyPlayed, final int playbackCount, final Double lastPlaybackPosition, final Integer bookmark) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement(SQL_GET_ALL, ResultSet.TYPE_SCROLL_SENSITIVE, ResultSet.CONCUR_UPDATABLE)) {
+			statement.setString(1, fullPathToFile);
+			statement.setInt(2, userId);
+			if (LOGGER.isTraceEnabled()) {
+				LOGGER.trace("Searching for file in {} with \"{}\" before setStatus", TABLE_NAME, statement);
+			}
+			try (ResultSet result = statement.executeQuery()) {
+				boolean isCreatingNewRecord = !result.next();
+				Timestamp now = new Timestamp(System.currentTimeMillis());
+				if (isCreatingNewRecord) {
+					result.moveToInsertRow();
+					result.updateString(COL_FILENAME, fullPathToFile);
+					result.updateInt(COL_USERID, userId);
+					result.updateBoolean(COL_ISFULLYPLAYED, isFullyPlayed != null && isFullyPlayed);
+				} else if (isFullyPlayed != null) {
+					result.updateBoolean(COL_ISFULLYPLAYED, isFullyPlayed);
+				}
+				result.updateTimestamp(COL_MODIFIED, now);
+				if (playbackCount > 0) {
+					result.updateTimestamp(COL_DATELASTPLAY, now);
+					result.updateInt(COL_PLAYCOUNT, (isCreatingNewRecord ? 0 : result.getInt(COL_PLAYCOUNT)) + playbackCount);
+				}
+				if (lastPlaybackPosition != null) {
+					result.updateDouble(COL_LASTPLAYBACKPOSITION, lastPlaybackPosition);
+				}
+				if (bookmark != null) {
+					result.updateInt(COL_BOOKMARK, bookmark);
+				}
+				if (isCreatingNewRecord) {
+					result.insertRow();
+				} else {
+					result.updateRow();
+				}
+			}
+		}
+	}
+
 	/**
 	 * Removes an entry or entries based on its FILENAME. If {@code useLike} is
 	 * {@code true}, {@code filename} must be properly escaped.
@@ -454,6 +507,32 @@ public final class MediaTableFilesStatus extends MediaTable {
 		}
 	}
 
+	/**
+	 * Moves the entries of the old filename to the new filename, replacing
+	 * the ones it may already have.
+	 *
+	 * @param connection the db connection
+	 * @param fullPathToFile the old filename
+	 * @param fullPathToNewFile the new filename
+	 */
+	public static void moveOnFileMoved(final Connection connection, final String fullPathToFile, final String fullPathToNewFile) {
+		try {
+			try (PreparedStatement statement = connection.prepareStatement(SQL_DELETE)) {
+				statement.setString(1, fullPathToNewFile);
+				statement.executeUpdate();
+			}
+			try (PreparedStatement statement = connection.prepareStatement(SQL_UPDATE_FILENAME)) {
+				statement.setString(1, fullPathToNewFile);
+				statement.setString(2, fullPathToFile);
+				int rows = statement.executeUpdate();
+				LOGGER.trace("Moved entries {} in " + TABLE_NAME + " for filename \"{}\"", rows, fullPathToNewFile);
+			}
+		} catch (SQLException e) {
+			LOGGER.error(LOG_ERROR_WHILE_IN_FOR, DATABASE_NAME, "moving entries", TABLE_NAME, fullPathToNewFile, e.getMessage());
+			LOGGER.trace("", e);
+		}
+	}
+
 	//used only from test class
 	protected static Boolean isFullyPlayed(final Connection connection, final String fullPathToFile, final int userId) {
 		try {
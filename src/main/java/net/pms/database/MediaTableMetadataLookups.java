@@ -0,0 +1,259 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class is responsible for the files waiting for an external metadata
+ * lookup, so that the lookups queued before a restart are not lost.
+ * <p>
+ * The files sharing a group (the episodes of a TV series) are looked up
+ * together, in the order they were queued.
+ */
+public final class MediaTableMetadataLookups extends MediaTable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(MediaTableMetadataLookups.class);
+	public static final String TABLE_NAME = "METADATA_LOOKUPS";
+
+	/**
+	 * Table version must be increased every time a change is done to the table
+	 * definition. Table upgrade SQL must also be added to
+	 * {@link #upgradeTable(Connection, int)}
+	 */
+	private static final int TABLE_VERSION = 1;
+
+	/**
+	 * COLUMNS NAMES
+	 */
+	private static final String COL_ID = "ID";
+	private static final String COL_FILENAME = "FILENAME";
+	private static final String COL_GROUPKEY = "GROUPKEY";
+
+	/**
+	 * COLUMNS with table name
+	 */
+	private static final String TABLE_COL_ID = TABLE_NAME + "." + COL_ID;
+	private static final String TABLE_COL_FILENAME = TABLE_NAME + "." + COL_FILENAME;
+	private static final String TABLE_COL_GROUPKEY = TABLE_NAME + "." + COL_GROUPKEY;
+
+	/**
+	 * SQL Queries
+	 */
+	private static final String SQL_MERGE = MERGE_INTO + TABLE_NAME + " (" + COL_FILENAME + COMMA + COL_GROUPKEY + ") KEY (" + COL_FILENAME + ")" + VALUES + "(" + PARAMETER + COMMA + PARAMETER + ")";
+	private static final String SQL_GET_GROUPS = SELECT + TABLE_COL_GROUPKEY + FROM + TABLE_NAME + " GROUP BY " + TABLE_COL_GROUPKEY + ORDER_BY + "MIN(" + TABLE_COL_ID + ")" + LIMIT + PARAMETER;
+	private static final String SQL_GET_FILENAMES_BY_GROUPKEY = SELECT + TABLE_COL_FILENAME + FROM + TABLE_NAME + WHERE + TABLE_COL_GROUPKEY + EQUAL + PARAMETER + ORDER_BY + TABLE_COL_ID;
+	private static final String SQL_COUNT = SELECT + "COUNT(*)" + FROM + TABLE_NAME;
+	private static final String SQL_COUNT_GROUPS = SELECT + "COUNT(DISTINCT " + TABLE_COL_GROUPKEY + ")" + FROM + TABLE_NAME;
+	private static final String SQL_DELETE_BY_FILENAME = DELETE_FROM + TABLE_NAME + WHERE + TABLE_COL_FILENAME + EQUAL + PARAMETER;
+
+	/**
+	 * Checks and creates or upgrades the table as needed.
+	 *
+	 * @param connection the {@link Connection} to use
+	 *
+	 * @throws SQLException
+	 */
+	protected static void checkTable(final Connection connection) throws SQLException {
+		if (tableExists(connection, TABLE_NAME)) {
+			Integer version = MediaTableTablesVersions.getTableVersion(connection, TABLE_NAME);
+			if (version != null) {
+				if (version < TABLE_VERSION) {
+					upgradeTable(connection, version);
+				} else if (version > TABLE_VERSION) {
+					LOGGER.warn(LOG_TABLE_NEWER_VERSION_DELETEDB,
+							DATABASE_NAME,
+							TABLE_NAME,
+							DATABASE.getDatabaseFilename()
+					);
+				}
+			} else {
+				LOGGER.warn(LOG_TABLE_UNKNOWN_VERSION_RECREATE, DATABASE_NAME, TABLE_NAME);
+				dropTable(connection, TABLE_NAME);
+				createTable(connection);
+				MediaTableTablesVersions.setTableVersion(connection, TABLE_NAME, TABLE_VERSION);
+			}
+		} else {
+			createTable(connection);
+			MediaTableTablesVersions.setTableVersion(connection, TABLE_NAME, TABLE_VERSION);
+		}
+	}
+
+	/**
+	 * This method <strong>MUST</strong> be updated if the table definition are
+	 * altered. The changes for each version in the form of
+	 * <code>ALTER TABLE</code> must be implemented here.
+	 *
+	 * @param connection the {@link Connection} to use
+	 * @param currentVersion the version to upgrade <strong>from</strong>
+	 *
+	 * @throws SQLException
+	 */
+	private static void upgradeTable(final Connection connection, final int currentVersion) throws SQLException {
+		LOGGER.info(LOG_UPGRADING_TABLE, DATABASE_NAME, TABLE_NAME, currentVersion, TABLE_VERSION);
+		for (int version = currentVersion; version < TABLE_VERSION; version++) {
+			LOGGER.trace(LOG_UPGRADING_TABLE, DATABASE_NAME, TABLE_NAME, version, version + 1);
+			switch (version) {
+				default ->
+					throw new IllegalStateException(
+							getMessage(LOG_UPGRADING_TABLE_MISSING, DATABASE_NAME, TABLE_NAME, version, TABLE_VERSION)
+					);
+			}
+		}
+		MediaTableTablesVersions.setTableVersion(connection, TABLE_NAME, TABLE_VERSION);
+	}
+
+	private static void createTable(final Connection connection) throws SQLException {
+		LOGGER.info(LOG_CREATING_TABLE, DATABASE_NAME, TABLE_NAME);
+		execute(connection,
+				CREATE_TABLE + TABLE_NAME + "(" +
+					COL_ID +               IDENTITY                 + PRIMARY_KEY    + COMMA +
+					COL_FILENAME +         VARCHAR_1024             + NOT_NULL       + COMMA +
+					COL_GROUPKEY +         VARCHAR_1024             + NOT_NULL       +
+				")",
+				CREATE_UNIQUE_INDEX + TABLE_NAME + CONSTRAINT_SEPARATOR + COL_FILENAME + IDX_MARKER + ON + TABLE_NAME + "(" + COL_FILENAME + ")",
+				CREATE_INDEX + TABLE_NAME + CONSTRAINT_SEPARATOR + COL_GROUPKEY + IDX_MARKER + ON + TABLE_NAME + "(" + COL_GROUPKEY + COMMA + COL_ID + ")"
+		);
+	}
+
+	/**
+	 * Queues the lookup of a file. A file already queued keeps its place.
+	 *
+	 * @param connection the db connection
+	 * @param filename the full path of the file
+	 * @param groupKey the key of the files to look up together
+	 */
+	public static void add(final Connection connection, final String filename, final String groupKey) {
+		try (PreparedStatement statement = connection.prepareStatement(SQL_MERGE)) {
+			statement.setString(1, filename);
+			statement.setString(2, groupKey);
+			statement.executeUpdate();
+		} catch (SQLException e) {
+			LOGGER.error(LOG_ERROR_WHILE_IN_FOR, DATABASE_NAME, "writing", TABLE_NAME, filename, e.getMessage());
+			LOGGER.trace("", e);
+		}
+	}
+
+	/**
+	 * Returns the next group to look up, skipping the given ones.
+	 *
+	 * @param connection the db connection
+	 * @param excluded the groups being looked up
+	 * @return the key of the first group queued, or {@code null} if none.
+	 */
+	public static String getNextGroup(final Connection connection, final Collection<String> excluded) {
+		try (PreparedStatement statement = connection.prepareStatement(SQL_GET_GROUPS)) {
+			statement.setInt(1, excluded.size() + 1);
+			try (ResultSet rs = statement.executeQuery()) {
+				while (rs.next()) {
+					String groupKey = rs.getString(1);
+					if (!excluded.contains(groupKey)) {
+						return groupKey;
+					}
+				}
+			}
+		} catch (SQLException e) {
+			LOGGER.error(LOG_ERROR_WHILE_IN, DATABASE_NAME, "reading", TABLE_NAME, e.getMessage());
+			LOGGER.trace("", e);
+		}
+		return null;
+	}
+
+	/**
+	 * @param connection the db connection
+	 * @param groupKey the key of the group
+	 * @return the files of the group, in the order they were queued.
+	 */
+	public static List<String> getFilenames(final Connection connection, final String groupKey) {
+		List<String> result = new ArrayList<>();
+		try (PreparedStatement statement = connection.prepareStatement(SQL_GET_FILENAMES_BY_GROUPKEY)) {
+			statement.setString(1, groupKey);
+			try (ResultSet rs = statement.executeQuery()) {
+				while (rs.next()) {
+					result.add(rs.getString(1));
+				}
+			}
+		} catch (SQLException e) {
+			LOGGER.error(LOG_ERROR_WHILE_IN_FOR, DATABASE_NAME, "reading", TABLE_NAME, groupKey, e.getMessage());
+			LOGGER.trace("", e);
+		}
+		return result;
+	}
+
+	/**
+	 * @param connection the db connection
+	 * @return the number of files waiting for a lookup.
+	 */
+	public static int getCount(final Connection connection) {
+		try (
+			PreparedStatement statement = connection.prepareStatement(SQL_COUNT);
+			ResultSet rs = statement.executeQuery()
+		) {
+			if (rs.next()) {
+				return rs.getInt(1);
+			}
+		} catch (SQLException e) {
+			LOGGER.error(LOG_ERROR_WHILE_IN, DATABASE_NAME, "counting", TABLE_NAME, e.getMessage());
+			LOGGER.trace("", e);
+		}
+		return 0;
+	}
+
+	/**
+	 * @param connection the db connection
+	 * @return the number of groups waiting for a lookup.
+	 */
+	public static int getGroupCount(final Connection connection) {
+		try (
+			PreparedStatement statement = connection.prepareStatement(SQL_COUNT_GROUPS);
+			ResultSet rs = statement.executeQuery()
+		) {
+			if (rs.next()) {
+				return rs.getInt(1);
+			}
+		} catch (SQLException e) {
+			LOGGER.error(LOG_ERROR_WHILE_IN, DATABASE_NAME, "counting", TABLE_NAME, e.getMessage());
+			LOGGER.trace("", e);
+		}
+		return 0;
+	}
+
+	/**
+	 * Removes a file from the queue.
+	 *
+	 * @param connection the db connection
+	 * @param filename the full path of the file
+	 */
+	public static void remove(final Connection connection, final String filename) {
+		try (PreparedStatement statement = connection.prepareStatement(SQL_DELETE_BY_FILENAME)) {
+			statement.setString(1, filename);
+			statement.executeUpdate();
+		} catch (SQLException e) {
+			LOGGER.error(LOG_ERROR_WHILE_IN_FOR, DATABASE_NAME, "removing entry", TABLE_NAME, filename, e.getMessage());
+			LOGGER.trace("", e);
+		}
+	}
+
+}
@@ -0,0 +1,239 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.database;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class is responsible for the media scanner checkpoints: the folders
+ * that were fully scanned, with their modification time and number of entries
+ * at that time.
+ */
+public final class MediaTableScannedFolders extends MediaTable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(MediaTableScannedFolders.class);
+	public static final String TABLE_NAME = "SCANNED_FOLDERS";
+
+	/**
+	 * Table version must be increased every time a change is done to the table
+	 * definition. Table upgrade SQL must also be added to
+	 * {@link #upgradeTable(Connection, int)}
+	 */
+	private static final int TABLE_VERSION = 1;
+
+	/**
+	 * COLUMNS NAMES
+	 */
+	private static final String COL_ID = "ID";
+	private static final String COL_FOLDERNAME = "FOLDERNAME";
+	private static final String COL_MODIFIED = "MODIFIED";
+	private static final String COL_CHILDREN = "CHILDREN";
+	private static final String COL_SCANNED = "SCANNED";
+
+	/**
+	 * COLUMNS with table name
+	 */
+	private static final String TABLE_COL_FOLDERNAME = TABLE_NAME + "." + COL_FOLDERNAME;
+	private static final String TABLE_COL_MODIFIED = TABLE_NAME + "." + COL_MODIFIED;
+	private static final String TABLE_COL_CHILDREN = TABLE_NAME + "." + COL_CHILDREN;
+
+	/**
+	 * SQL Queries
+	 */
+	private static final String SQL_GET_BY_FOLDERNAME = SELECT + TABLE_COL_MODIFIED + COMMA + TABLE_COL_CHILDREN + FROM + TABLE_NAME + WHERE + TABLE_COL_FOLDERNAME + EQUAL + PARAMETER + LIMIT_1;
+	private static final String SQL_GET_TOTAL_CHILDREN = SELECT + "SUM(" + TABLE_COL_CHILDREN + ")" + FROM + TABLE_NAME;
+	private static final String SQL_MERGE = MERGE_INTO + TABLE_NAME + " (" + COL_FOLDERNAME + COMMA + COL_MODIFIED + COMMA + COL_CHILDREN + COMMA + COL_SCANNED + ") KEY (" + COL_FOLDERNAME + ")" + VALUES + "(" + PARAMETER + COMMA + PARAMETER + COMMA + PARAMETER + COMMA + CURRENT_TIMESTAMP + ")";
+	private static final String SQL_DELETE_FOLDERNAME_AND_SUBFOLDERS = DELETE_FROM + TABLE_NAME + WHERE + TABLE_COL_FOLDERNAME + EQUAL + PARAMETER + OR + TABLE_COL_FOLDERNAME + LIKE + LIKE_STARTING_WITH_PARAMETER;
+	private static final String SQL_DELETE_ALL = DELETE_FROM + TABLE_NAME;
+
+	/**
+	 * Checks and creates or upgrades the table as needed.
+	 *
+	 * @param connection the {@link Connection} to use
+	 *
+	 * @throws SQLException
+	 */
+	protected static void checkTable(final Connection connection) throws SQLException {
+		if (tableExists(connection, TABLE_NAME)) {
+			Integer version = MediaTableTablesVersions.getTableVersion(connection, TABLE_NAME);
+			if (version != null) {
+				if (version < TABLE_VERSION) {
+					upgradeTable(connection, version);
+				} else if (version > TABLE_VERSION) {
+					LOGGER.warn(LOG_TABLE_NEWER_VERSION_DELETEDB,
+							DATABASE_NAME,
+							TABLE_NAME,
+							DATABASE.getDatabaseFilename()
+					);
+				}
+			} else {
+				LOGGER.warn(LOG_TABLE_UNKNOWN_VERSION_RECREATE, DATABASE_NAME, TABLE_NAME);
+				dropTable(connection, TABLE_NAME);
+				createTable(connection);
+				MediaTableTablesVersions.setTableVersion(connection, TABLE_NAME, TABLE_VERSION);
+			}
+		} else {
+			createTable(connection);
+			MediaTableTablesVersions.setTableVersion(connection, TABLE_NAME, TABLE_VERSION);
+		}
+	}
+
+	/**
+	 * This method <strong>MUST</strong> be updated if the table definition are
+	 * altered. The changes for each version in the form of
+	 * <code>ALTER TABLE</code> must be implemented here.
+	 *
+	 * @param connection the {@link Connection} to use
+	 * @param currentVersion the version to upgrade <strong>from</strong>
+	 *
+	 * @throws SQLException
+	 */
+	private static void upgradeTable(final Connection connection, final int currentVersion) throws SQLException {
+		LOGGER.info(LOG_UPGRADING_TABLE, DATABASE_NAME, TABLE_NAME, currentVersion, TABLE_VERSION);
+		for (int version = currentVersion; version < TABLE_VERSION; version++) {
+			LOGGER.trace(LOG_UPGRADING_TABLE, DATABASE_NAME, TABLE_NAME, version, version + 1);
+			switch (version) {
+				default ->
+					throw new IllegalStateException(
+							getMessage(LOG_UPGRADING_TABLE_MISSING, DATABASE_NAME, TABLE_NAME, version, TABLE_VERSION)
+					);
+			}
+		}
+		MediaTableTablesVersions.setTableVersion(connection, TABLE_NAME, TABLE_VERSION);
+	}
+
+	private static void createTable(final Connection connection) throws SQLException {
+		LOGGER.info(LOG_CREATING_TABLE, DATABASE_NAME, TABLE_NAME);
+		execute(connection,
+				CREATE_TABLE + TABLE_NAME + "(" +
+					COL_ID +               IDENTITY                 + PRIMARY_KEY    + COMMA +
+					COL_FOLDERNAME +       VARCHAR_1024             + NOT_NULL       + COMMA +
+					COL_MODIFIED +         TIMESTAMP                + NOT_NULL       + COMMA +
+					COL_CHILDREN +         INTEGER                  + NOT_NULL       + COMMA +
+					COL_SCANNED +          TIMESTAMP_WITH_TIME_ZONE + DEFAULT + CURRENT_TIMESTAMP +
+				")",
+				CREATE_UNIQUE_INDEX + TABLE_NAME + CONSTRAINT_SEPARATOR + COL_FOLDERNAME + IDX_MARKER + ON + TABLE_NAME + "(" + COL_FOLDERNAME + ")"
+		);
+	}
+
+	/**
+	 * Checks whether the folder was fully scanned with the same modification
+	 * time and number of entries.
+	 *
+	 * @param connection the db connection
+	 * @param folderName the full path of the folder
+	 * @param modified the current {@code lastModified} value of the folder
+	 * @param children the current number of entries of the folder
+	 * @return {@code true} if the folder did not change since its last scan.
+	 */
+	public static boolean isUnchanged(final Connection connection, final String folderName, final long modified, final int children) {
+		try (PreparedStatement statement = connection.prepareStatement(SQL_GET_BY_FOLDERNAME)) {
+			statement.setString(1, folderName);
+			try (ResultSet rs = statement.executeQuery()) {
+				if (rs.next()) {
+					return rs.getTimestamp(1).getTime() == modified && rs.getInt(2) == children;
+				}
+			}
+		} catch (SQLException e) {
+			LOGGER.error(LOG_ERROR_WHILE_IN_FOR, DATABASE_NAME, "reading", TABLE_NAME, folderName, e.getMessage());
+			LOGGER.trace("", e);
+		}
+		return false;
+	}
+
+	/**
+	 * Stores the checkpoint of a fully scanned folder.
+	 *
+	 * @param connection the db connection
+	 * @param folderName the full path of the folder
+	 * @param modified the {@code lastModified} value of the folder
+	 * @param children the number of entries of the folder
+	 */
+	public static void set(final Connection connection, final String folderName, final long modified, final int children) {
+		try (PreparedStatement statement = connection.prepareStatement(SQL_MERGE)) {
+			statement.setString(1, folderName);
+			statement.setTimestamp(2, new Timestamp(modified));
+			statement.setInt(3, children);
+			statement.executeUpdate();
+		} catch (SQLException e) {
+			LOGGER.error(LOG_ERROR_WHILE_IN_FOR, DATABASE_NAME, "writing", TABLE_NAME, folderName, e.getMessage());
+			LOGGER.trace("", e);
+		}
+	}
+
+	/**
+	 * @param connection the db connection
+	 * @return the number of entries found in all folders during their last
+	 * scan, used as an estimate of the amount of work of a full scan.
+	 */
+	public static long getTotalChildren(final Connection connection) {
+		try (
+			PreparedStatement statement = connection.prepareStatement(SQL_GET_TOTAL_CHILDREN);
+			ResultSet rs = statement.executeQuery()
+		) {
+			if (rs.next()) {
+				return rs.getLong(1);
+			}
+		} catch (SQLException e) {
+			LOGGER.error(LOG_ERROR_WHILE_IN, DATABASE_NAME, "reading", TABLE_NAME, e.getMessage());
+			LOGGER.trace("", e);
+		}
+		return 0;
+	}
+
+	/**
+	 * Removes the checkpoints of a folder and all its subfolders.
+	 *
+	 * @param connection the db connection
+	 * @param folderName the full path of the folder
+	 */
+	public static void remove(final Connection connection, final String folderName) {
+		// Siblings sharing the same name prefix are left alone
+		String folder = StringUtils.removeEnd(folderName, File.separator);
+		try (PreparedStatement statement = connection.prepareStatement(SQL_DELETE_FOLDERNAME_AND_SUBFOLDERS)) {
+			statement.setString(1, folder);
+			statement.setString(2, folder + File.separator);
+			statement.executeUpdate();
+		} catch (SQLException e) {
+			LOGGER.error(LOG_ERROR_WHILE_IN_FOR, DATABASE_NAME, "removing entries", TABLE_NAME, folderName, e.getMessage());
+			LOGGER.trace("", e);
+		}
+	}
+
+	/**
+	 * Removes all checkpoints, so the next scan is a full scan.
+	 *
+	 * @param connection the db connection
+	 */
+	public static void clear(final Connection connection) {
+		try {
+			executeUpdate(connection, SQL_DELETE_ALL);
+		} catch (SQLException e) {
+			LOGGER.error(LOG_ERROR_WHILE_IN, DATABASE_NAME, "removing entries", TABLE_NAME, e.getMessage());
+			LOGGER.trace("", e);
+		}
+	}
+
+}
@@ -536,7 +536,9 @@ public final class MediaTableTVSeries extends MediaTable {
 							result.updateInt(COL_STARTYEAR, startYear);
 						}
 						result.insertRow();
-						return set(connection, title, startYear);
+						Long tvSeriesId = set(connection, title, startYear);
+						MediaTableTVSeriesFacets.refresh(connection, tvSeriesId);
+						return tvSeriesId;
 					}
 				}
 			}
@@ -649,6 +651,7 @@ public final class MediaTableTVSeries extends MediaTable {
 			MediaTableVideoMetadataDirectors.set(connection, null, seriesMetadata.getDirectors(), tvSeriesId);
 			MediaTableVideoMetadataGenres.set(connection, null, seriesMetadata.getGenres(), tvSeriesId);
 			MediaTableVideoMetadataRatings.set(connection, null, seriesMetadata.getRatings(), tvSeriesId);
+			MediaTableTVSeriesFacets.refresh(connection, tvSeriesId);
 			connection.commit();
 		} catch (SQLException e) {
 			LOGGER.error(LOG_ERROR_WHILE_VAR_IN, DATABASE_NAME, "inserting API data to TV series entry", title, TABLE_NAME, e.getMessage());
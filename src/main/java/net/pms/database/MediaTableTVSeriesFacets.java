@@ -0,0 +1,232 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class is responsible for the values the TV series of the library can
+ * be filtered by: actors, countries, directors, genres, rated, rating and
+ * release year, with one row per TV series and value.
+ * <p>
+ * The rows are copied from the TV_SERIES table and the video metadata tables,
+ * so the media library can list the values and the TV series having one from
+ * a single indexed table. They must be refreshed whenever the metadata of a
+ * TV series change.
+ */
+public final class MediaTableTVSeriesFacets extends MediaTable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(MediaTableTVSeriesFacets.class);
+	public static final String TABLE_NAME = "TV_SERIES_FACETS";
+
+	/**
+	 * Table version must be increased every time a change is done to the table
+	 * definition. Table upgrade SQL must also be added to
+	 * {@link #upgradeTable(Connection, int)}
+	 */
+	private static final int TABLE_VERSION = 1;
+
+	/**
+	 * FACETS
+	 */
+	public static final String FACET_ACTOR = "ACTOR";
+	public static final String FACET_COUNTRY = "COUNTRY";
+	public static final String FACET_DIRECTOR = "DIRECTOR";
+	public static final String FACET_GENRE = "GENRE";
+	public static final String FACET_RATED = "RATED";
+	public static final String FACET_RATING = "RATING";
+	public static final String FACET_RELEASED = "RELEASED";
+
+	/**
+	 * COLUMNS NAMES
+	 */
+	private static final String COL_TVSERIESID = MediaTableTVSeries.CHILD_ID;
+	private static final String COL_FACET = "FACET";
+	private static final String COL_VAL = "VAL";
+
+	/**
+	 * COLUMNS with table name
+	 */
+	public static final String TABLE_COL_TVSERIESID = TABLE_NAME + "." + COL_TVSERIESID;
+	public static final String TABLE_COL_FACET = TABLE_NAME + "." + COL_FACET;
+	public static final String TABLE_COL_VAL = TABLE_NAME + "." + COL_VAL;
+
+	/**
+	 * SQL Joins
+	 */
+	public static final String SQL_LEFT_JOIN_TABLE_TV_SERIES = LEFT_JOIN + MediaTableTVSeries.TABLE_NAME + ON + TABLE_COL_TVSERIESID + EQUAL + MediaTableTVSeries.TABLE_COL_ID;
+
+	/**
+	 * SQL Queries
+	 */
+	private static final String SQL_INSERT = INSERT_INTO + TABLE_NAME + " (" + COL_TVSERIESID + COMMA + COL_FACET + COMMA + COL_VAL + ") ";
+	private static final String SQL_INSERT_SELECT_ACTORS = getInsertFromMetadataTable(FACET_ACTOR, MediaTableVideoMetadataActors.TABLE_NAME, MediaTableVideoMetadataActors.TABLE_COL_TVSERIESID, MediaTableVideoMetadataActors.TABLE_COL_ACTOR);
+	private static final String SQL_INSERT_SELECT_COUNTRIES = getInsertFromMetadataTable(FACET_COUNTRY, MediaTableVideoMetadataCountries.TABLE_NAME, MediaTableVideoMetadataCountries.TABLE_COL_TVSERIESID, MediaTableVideoMetadataCountries.TABLE_COL_COUNTRY);
+	private static final String SQL_INSERT_SELECT_DIRECTORS = getInsertFromMetadataTable(FACET_DIRECTOR, MediaTableVideoMetadataDirectors.TABLE_NAME, MediaTableVideoMetadataDirectors.TABLE_COL_TVSERIESID, MediaTableVideoMetadataDirectors.TABLE_COL_DIRECTOR);
+	private static final String SQL_INSERT_SELECT_GENRES = getInsertFromMetadataTable(FACET_GENRE, MediaTableVideoMetadataGenres.TABLE_NAME, MediaTableVideoMetadataGenres.TABLE_COL_TVSERIESID, MediaTableVideoMetadataGenres.TABLE_COL_GENRE);
+	private static final String SQL_INSERT_SELECT_RATED = getInsertFromTVSeriesTable(FACET_RATED, MediaTableTVSeries.TABLE_COL_RATED);
+	private static final String SQL_INSERT_SELECT_RATING = getInsertFromTVSeriesTable(FACET_RATING, "CAST(" + MediaTableTVSeries.FLOOR_RATING + AS + "VARCHAR)");
+	private static final String SQL_INSERT_SELECT_RELEASED = getInsertFromTVSeriesTable(FACET_RELEASED, MediaTableTVSeries.FIRSTAIRDATE_FORMATED);
+	private static final String[] SQL_INSERT_SELECTS = {
+		SQL_INSERT_SELECT_ACTORS,
+		SQL_INSERT_SELECT_COUNTRIES,
+		SQL_INSERT_SELECT_DIRECTORS,
+		SQL_INSERT_SELECT_GENRES,
+		SQL_INSERT_SELECT_RATED,
+		SQL_INSERT_SELECT_RATING,
+		SQL_INSERT_SELECT_RELEASED
+	};
+	private static final String SQL_DELETE_BY_TVSERIESID = DELETE_FROM + TABLE_NAME + WHERE + TABLE_COL_TVSERIESID + EQUAL + PARAMETER;
+	private static final String SQL_DELETE_ALL = DELETE_FROM + TABLE_NAME;
+
+	/**
+	 * Checks and creates or upgrades the table as needed.
+	 *
+	 * @param connection the {@link Connection} to use
+	 *
+	 * @throws SQLException
+	 */
+	protected static void checkTable(final Connection connection) throws SQLException {
+		if (tableExists(connection, TABLE_NAME)) {
+			Integer version = MediaTableTablesVersions.getTableVersion(connection, TABLE_NAME);
+			if (version != null) {
+				if (version < TABLE_VERSION) {
+					upgradeTable(connection, version);
+				} else if (version > TABLE_VERSION) {
+					LOGGER.warn(LOG_TABLE_NEWER_VERSION_DELETEDB,
+							DATABASE_NAME,
+							TABLE_NAME,
+							DATABASE.getDatabaseFilename()
+					);
+				}
+			} else {
+				LOGGER.warn(LOG_TABLE_UNKNOWN_VERSION_RECREATE, DATABASE_NAME, TABLE_NAME);
+				dropTable(connection, TABLE_NAME);
+				createTable(connection);
+				MediaTableTablesVersions.setTableVersion(connection, TABLE_NAME, TABLE_VERSION);
+			}
+		} else {
+			createTable(connection);
+			MediaTableTablesVersions.setTableVersion(connection, TABLE_NAME, TABLE_VERSION);
+		}
+	}
+
+	/**
+	 * This method <strong>MUST</strong> be updated if the table definition are
+	 * altered. The changes for each version in the form of
+	 * <code>ALTER TABLE</code> must be implemented here.
+	 *
+	 * @param connection the {@link Connection} to use
+	 * @param currentVersion the version to upgrade <strong>from</strong>
+	 *
+	 * @throws SQLException
+	 */
+	private static void upgradeTable(final Connection connection, final int currentVersion) throws SQLException {
+		LOGGER.info(LOG_UPGRADING_TABLE, DATABASE_NAME, TABLE_NAME, currentVersion, TABLE_VERSION);
+		for (int version = currentVersion; version < TABLE_VERSION; version++) {
+			LOGGER.trace(LOG_UPGRADING_TABLE, DATABASE_NAME, TABLE_NAME, version, version + 1);
+			switch (version) {
+				default ->
+					throw new IllegalStateException(
+							getMessage(LOG_UPGRADING_TABLE_MISSING, DATABASE_NAME, TABLE_NAME, version, TABLE_VERSION)
+					);
+			}
+		}
+		MediaTableTablesVersions.setTableVersion(connection, TABLE_NAME, TABLE_VERSION);
+	}
+
+	private static void createTable(final Connection connection) throws SQLException {
+		LOGGER.info(LOG_CREATING_TABLE, DATABASE_NAME, TABLE_NAME);
+		execute(connection,
+				CREATE_TABLE + TABLE_NAME + "(" +
+					COL_TVSERIESID +       BIGINT                   + NOT_NULL       + COMMA +
+					COL_FACET +            VARCHAR_16               + NOT_NULL       + COMMA +
+					COL_VAL +              VARCHAR_1024                              + COMMA +
+					CONSTRAINT + TABLE_NAME + CONSTRAINT_SEPARATOR + COL_TVSERIESID + FK_MARKER + FOREIGN_KEY + "(" + COL_TVSERIESID + ")" + REFERENCES + MediaTableTVSeries.REFERENCE_TABLE_COL_ID + ON_DELETE_CASCADE +
+				")",
+				CREATE_INDEX + TABLE_NAME + CONSTRAINT_SEPARATOR + COL_FACET + CONSTRAINT_SEPARATOR + COL_VAL + IDX_MARKER + ON + TABLE_NAME + "(" + COL_FACET + COMMA + COL_VAL + ")",
+				CREATE_INDEX + TABLE_NAME + CONSTRAINT_SEPARATOR + COL_TVSERIESID + IDX_MARKER + ON + TABLE_NAME + "(" + COL_TVSERIESID + ")"
+		);
+		// Fill it from the existing library
+		rebuild(connection);
+	}
+
+	/**
+	 * Copies again the values of a TV series from its metadata.
+	 *
+	 * @param connection the db connection
+	 * @param tvSeriesId the TV series id
+	 */
+	public static void refresh(final Connection connection, final Long tvSeriesId) {
+		if (connection == null || tvSeriesId == null) {
+			return;
+		}
+		try {
+			try (PreparedStatement statement = connection.prepareStatement(SQL_DELETE_BY_TVSERIESID)) {
+				statement.setLong(1, tvSeriesId);
+				statement.executeUpdate();
+			}
+			for (String sql : SQL_INSERT_SELECTS) {
+				try (PreparedStatement statement = connection.prepareStatement(sql + EQUAL + PARAMETER)) {
+					statement.setLong(1, tvSeriesId);
+					statement.executeUpdate();
+				}
+			}
+		} catch (SQLException e) {
+			LOGGER.error(LOG_ERROR_WHILE_IN_FOR, DATABASE_NAME, "writing", TABLE_NAME, tvSeriesId, e.getMessage());
+			LOGGER.trace("", e);
+		}
+	}
+
+	/**
+	 * Copies again the values of all TV series.
+	 *
+	 * @param connection the db connection
+	 */
+	public static void rebuild(final Connection connection) {
+		try {
+			executeUpdate(connection, SQL_DELETE_ALL);
+			for (String sql : SQL_INSERT_SELECTS) {
+				executeUpdate(connection, sql + IS_NOT_NULL);
+			}
+		} catch (SQLException e) {
+			LOGGER.error(LOG_ERROR_WHILE_IN, DATABASE_NAME, "rebuilding", TABLE_NAME, e.getMessage());
+			LOGGER.trace("", e);
+		}
+	}
+
+	/**
+	 * @return the insert of the values of a video metadata table, to be
+	 * completed with the TV series id condition.
+	 */
+	private static String getInsertFromMetadataTable(String facet, String tableName, String tvSeriesIdColumn, String valueColumn) {
+		return SQL_INSERT + SELECT + tvSeriesIdColumn + COMMA + "'" + facet + "'" + COMMA + valueColumn + FROM + tableName + WHERE + tvSeriesIdColumn;
+	}
+
+	/**
+	 * @return the insert of a value of the TV_SERIES table, to be completed
+	 * with the TV series id condition.
+	 */
+	private static String getInsertFromTVSeriesTable(String facet, String value) {
+		return SQL_INSERT + SELECT + MediaTableTVSeries.TABLE_COL_ID + COMMA + "'" + facet + "'" + COMMA + value + FROM + MediaTableTVSeries.TABLE_NAME + WHERE + MediaTableTVSeries.TABLE_COL_ID;
+	}
+
+}
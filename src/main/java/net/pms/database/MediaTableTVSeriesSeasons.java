@@ -0,0 +1,332 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import net.pms.formats.Format;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class is responsible for the seasons of the TV series found in the
+ * library, with the number of episodes of each season.
+ * <p>
+ * The rows are computed from the FILES and VIDEO_METADATA tables, so the
+ * media library can list the TV series and their seasons without going
+ * through all the files. They must be refreshed whenever the episodes of a
+ * TV series change.
+ */
+public final class MediaTableTVSeriesSeasons extends MediaTable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(MediaTableTVSeriesSeasons.class);
+	public static final String TABLE_NAME = "TV_SERIES_SEASONS";
+
+	/**
+	 * Table version must be increased every time a change is done to the table
+	 * definition. Table upgrade SQL must also be added to
+	 * {@link #upgradeTable(Connection, int)}
+	 */
+	private static final int TABLE_VERSION = 1;
+
+	/**
+	 * COLUMNS NAMES
+	 */
+	private static final String COL_TVSERIESID = MediaTableTVSeries.CHILD_ID;
+	private static final String COL_TVSEASON = "TVSEASON";
+	private static final String COL_EPISODES = "EPISODES";
+
+	/**
+	 * COLUMNS with table name
+	 */
+	public static final String TABLE_COL_TVSERIESID = TABLE_NAME + "." + COL_TVSERIESID;
+	public static final String TABLE_COL_TVSEASON = TABLE_NAME + "." + COL_TVSEASON;
+	public static final String TABLE_COL_EPISODES = TABLE_NAME + "." + COL_EPISODES;
+
+	/**
+	 * SQL Joins
+	 */
+	public static final String SQL_LEFT_JOIN_TABLE_TV_SERIES = LEFT_JOIN + MediaTableTVSeries.TABLE_NAME + ON + TABLE_COL_TVSERIESID + EQUAL + MediaTableTVSeries.TABLE_COL_ID;
+
+	/**
+	 * SQL Queries
+	 */
+	private static final String SQL_INSERT_SEASONS = INSERT_INTO + TABLE_NAME + " (" + COL_TVSERIESID + COMMA + COL_TVSEASON + COMMA + COL_EPISODES + ") " +
+		SELECT + MediaTableVideoMetadata.TABLE_COL_TVSERIESID + COMMA + MediaTableVideoMetadata.TABLE_COL_TVSEASON + COMMA + "COUNT(*)" +
+		FROM + MediaTableVideoMetadata.TABLE_NAME +
+		JOIN + MediaTableFiles.TABLE_NAME + ON + MediaTableVideoMetadata.TABLE_COL_FILEID + EQUAL + MediaTableFiles.TABLE_COL_ID +
+		JOIN + MediaTableTVSeries.TABLE_NAME + ON + MediaTableVideoMetadata.TABLE_COL_TVSERIESID + EQUAL + MediaTableTVSeries.TABLE_COL_ID +
+		WHERE + MediaTableFiles.TABLE_COL_FORMAT_TYPE + EQUAL + Format.VIDEO + AND + MediaTableVideoMetadata.TABLE_COL_ISTVEPISODE;
+	private static final String SQL_GROUP_BY_SEASON = " GROUP BY " + MediaTableVideoMetadata.TABLE_COL_TVSERIESID + COMMA + MediaTableVideoMetadata.TABLE_COL_TVSEASON;
+	private static final String SQL_INSERT_BY_TVSERIESID = SQL_INSERT_SEASONS + AND + MediaTableVideoMetadata.TABLE_COL_TVSERIESID + EQUAL + PARAMETER + SQL_GROUP_BY_SEASON;
+	private static final String SQL_INSERT_ALL = SQL_INSERT_SEASONS + SQL_GROUP_BY_SEASON;
+	private static final String SQL_DELETE_BY_TVSERIESID = DELETE_FROM + TABLE_NAME + WHERE + TABLE_COL_TVSERIESID + EQUAL + PARAMETER;
+	private static final String SQL_DELETE_ALL = DELETE_FROM + TABLE_NAME;
+	private static final String SQL_GET_TVSERIESID_BY_FILEID = SELECT + MediaTableVideoMetadata.TABLE_COL_TVSERIESID + FROM + MediaTableVideoMetadata.TABLE_NAME + WHERE + MediaTableVideoMetadata.TABLE_COL_FILEID + EQUAL + PARAMETER + AND + MediaTableVideoMetadata.TABLE_COL_TVSERIESID + IS_NOT_NULL;
+	private static final String SQL_GET_TVSERIESIDS_BY_FILENAME = SELECT + "DISTINCT " + MediaTableVideoMetadata.TABLE_COL_TVSERIESID + FROM + MediaTableVideoMetadata.TABLE_NAME +
+		JOIN + MediaTableFiles.TABLE_NAME + ON + MediaTableVideoMetadata.TABLE_COL_FILEID + EQUAL + MediaTableFiles.TABLE_COL_ID +
+		WHERE + MediaTableVideoMetadata.TABLE_COL_TVSERIESID + IS_NOT_NULL + AND + MediaTableFiles.TABLE_COL_FILENAME;
+	private static final String SQL_GET_TVSERIESIDS_BY_FILENAME_EQUAL = SQL_GET_TVSERIESIDS_BY_FILENAME + EQUAL + PARAMETER;
+	private static final String SQL_GET_TVSERIESIDS_BY_FILENAME_LIKE = SQL_GET_TVSERIESIDS_BY_FILENAME + LIKE + LIKE_STARTING_WITH_PARAMETER;
+
+	/**
+	 * The TV series to refresh at the end of the batch of the current thread.
+	 */
+	private static final ThreadLocal<Set<Long>> DEFERRED_REFRESHES = new ThreadLocal<>();
+
+	/**
+	 * Checks and creates or upgrades the table as needed.
+	 *
+	 * @param connection the {@link Connection} to use
+	 *
+	 * @throws SQLException
+	 */
+	protected static void checkTable(final Connection connection) throws SQLException {
+		if (tableExists(connection, TABLE_NAME)) {
+			Integer version = MediaTableTablesVersions.getTableVersion(connection, TABLE_NAME);
+			if (version != null) {
+				if (version < TABLE_VERSION) {
+					upgradeTable(connection, version);
+				} else if (version > TABLE_VERSION) {
+					LOGGER.warn(LOG_TABLE_NEWER_VERSION_DELETEDB,
+							DATABASE_NAME,
+							TABLE_NAME,
+							DATABASE.getDatabaseFilename()
+					);
+				}
+			} else {
+				LOGGER.warn(LOG_TABLE_UNKNOWN_VERSION_RECREATE, DATABASE_NAME, TABLE_NAME);
+				dropTable(connection, TABLE_NAME);
+				createTable(connection);
+				MediaTableTablesVersions.setTableVersion(connection, TABLE_NAME, TABLE_VERSION);
+			}
+		} else {
+			createTable(connection);
+			MediaTableTablesVersions.setTableVersion(connection, TABLE_NAME, TABLE_VERSION);
+		}
+	}
+
+	/**
+	 * This method <strong>MUST</strong> be updated if the table definition are
+	 * altered. The changes for each version in the form of
+	 * <code>ALTER TABLE</code> must be implemented here.
+	 *
+	 * @param connection the {@link Connection} to use
+	 * @param currentVersion the version to upgrade <strong>from</strong>
+	 *
+	 * @throws SQLException
+	 */
+	private static void upgradeTable(final Connection connection, final int currentVersion) throws SQLException {
+		LOGGER.info(LOG_UPGRADING_TABLE, DATABASE_NAME, TABLE_NAME, currentVersion, TABLE_VERSION);
+		for (int version = currentVersion; version < TABLE_VERSION; version++) {
+			LOGGER.trace(LOG_UPGRADING_TABLE, DATABASE_NAME, TABLE_NAME, version, version + 1);
+			switch (version) {
+				default ->
+					throw new IllegalStateException(
+							getMessage(LOG_UPGRADING_TABLE_MISSING, DATABASE_NAME, TABLE_NAME, version, TABLE_VERSION)
+					);
+			}
+		}
+		MediaTableTablesVersions.setTableVersion(connection, TABLE_NAME, TABLE_VERSION);
+	}
+
+	private static void createTable(final Connection connection) throws SQLException {
+		LOGGER.info(LOG_CREATING_TABLE, DATABASE_NAME, TABLE_NAME);
+		execute(connection,
+				CREATE_TABLE + TABLE_NAME + "(" +
+					COL_TVSERIESID +       BIGINT                   + NOT_NULL       + COMMA +
+					COL_TVSEASON +         INTEGER                                   + COMMA +
+					COL_EPISODES +         INTEGER                  + NOT_NULL       + COMMA +
+					CONSTRAINT + TABLE_NAME + CONSTRAINT_SEPARATOR + COL_TVSERIESID + FK_MARKER + FOREIGN_KEY + "(" + COL_TVSERIESID + ")" + REFERENCES + MediaTableTVSeries.REFERENCE_TABLE_COL_ID + ON_DELETE_CASCADE +
+				")",
+				CREATE_INDEX + TABLE_NAME + CONSTRAINT_SEPARATOR + COL_TVSERIESID + CONSTRAINT_SEPARATOR + COL_TVSEASON + IDX_MARKER + ON + TABLE_NAME + "(" + COL_TVSERIESID + COMMA + COL_TVSEASON + ")"
+		);
+		// Fill it from the existing library
+		rebuild(connection);
+	}
+
+	/**
+	 * Computes again the seasons of a TV series from its episodes.
+	 *
+	 * @param connection the db connection
+	 * @param tvSeriesId the TV series id
+	 */
+	public static void refresh(final Connection connection, final Long tvSeriesId) {
+		if (connection == null || tvSeriesId == null) {
+			return;
+		}
+		try {
+			try (PreparedStatement statement = connection.prepareStatement(SQL_DELETE_BY_TVSERIESID)) {
+				statement.setLong(1, tvSeriesId);
+				statement.executeUpdate();
+			}
+			try (PreparedStatement statement = connection.prepareStatement(SQL_INSERT_BY_TVSERIESID)) {
+				statement.setLong(1, tvSeriesId);
+				statement.executeUpdate();
+			}
+		} catch (SQLException e) {
+			LOGGER.error(LOG_ERROR_WHILE_IN_FOR, DATABASE_NAME, "writing", TABLE_NAME, tvSeriesId, e.getMessage());
+			LOGGER.trace("", e);
+		}
+	}
+
+	/**
+	 * Computes again the seasons of the given TV series.
+	 *
+	 * @param connection the db connection
+	 * @param tvSeriesIds the TV series ids
+	 */
+	public static void refresh(final Connection connection, final Collection<Long> tvSeriesIds) {
+		for (Long tvSeriesId : tvSeriesIds) {
+			refresh(connection, tvSeriesId);
+		}
+	}
+
+	/**
+	 * Computes again the seasons of a TV series now, or at the end of the
+	 * batch of the current thread if one was started.
+	 *
+	 * @param connection the db connection
+	 * @param tvSeriesId the TV series id
+	 * @see #beginBatch()
+	 */
+	public static void refreshOrDefer(final Connection connection, final Long tvSeriesId) {
+		if (tvSeriesId == null) {
+			return;
+		}
+		Set<Long> deferred = DEFERRED_REFRESHES.get();
+		if (deferred != null) {
+			deferred.add(tvSeriesId);
+		} else {
+			refresh(connection, tvSeriesId);
+		}
+	}
+
+	/**
+	 * Starts a batch on the current thread: the TV series given to
+	 * {@link #refreshOrDefer(Connection, Long)} are refreshed once, by
+	 * {@link #endBatch()}, instead of once per episode.
+	 *
+	 * @return {@code true} if a batch was started, {@code false} if the
+	 *         thread is already in one. Only the caller that started the
+	 *         batch must end it.
+	 */
+	public static boolean beginBatch() {
+		if (DEFERRED_REFRESHES.get() != null) {
+			return false;
+		}
+		DEFERRED_REFRESHES.set(new LinkedHashSet<>());
+		return true;
+	}
+
+	/**
+	 * Ends the batch of the current thread, refreshing the TV series whose
+	 * episodes changed during it.
+	 */
+	public static void endBatch() {
+		Set<Long> tvSeriesIds = DEFERRED_REFRESHES.get();
+		DEFERRED_REFRESHES.remove();
+		if (tvSeriesIds == null || tvSeriesIds.isEmpty()) {
+			return;
+		}
+		Connection connection = null;
+		try {
+			connection = MediaDatabase.getConnectionIfAvailable();
+			if (connection != null) {
+				connection.setAutoCommit(false);
+				refresh(connection, tvSeriesIds);
+				connection.commit();
+			}
+		} catch (SQLException e) {
+			LOGGER.error(LOG_ERROR_WHILE_IN, DATABASE_NAME, "writing", TABLE_NAME, e.getMessage());
+			LOGGER.trace("", e);
+		} finally {
+			MediaDatabase.close(connection);
+		}
+	}
+
+	/**
+	 * Computes again the seasons of all TV series.
+	 *
+	 * @param connection the db connection
+	 */
+	public static void rebuild(final Connection connection) {
+		try {
+			executeUpdate(connection, SQL_DELETE_ALL);
+			executeUpdate(connection, SQL_INSERT_ALL);
+		} catch (SQLException e) {
+			LOGGER.error(LOG_ERROR_WHILE_IN, DATABASE_NAME, "rebuilding", TABLE_NAME, e.getMessage());
+			LOGGER.trace("", e);
+		}
+	}
+
+	/**
+	 * Returns the TV series a file is an episode of, to refresh it once the
+	 * file changed or was removed.
+	 *
+	 * @param connection the db connection
+	 * @param fileId the file id
+	 * @return the TV series id, or {@code null}.
+	 */
+	public static Long getTvSeriesId(final Connection connection, final long fileId) {
+		try (PreparedStatement statement = connection.prepareStatement(SQL_GET_TVSERIESID_BY_FILEID)) {
+			statement.setLong(1, fileId);
+			try (ResultSet rs = statement.executeQuery()) {
+				if (rs.next()) {
+					return toLong(rs, MediaTableTVSeries.CHILD_ID);
+				}
+			}
+		} catch (SQLException e) {
+			LOGGER.error(LOG_ERROR_WHILE_IN_FOR, DATABASE_NAME, "reading", MediaTableVideoMetadata.TABLE_NAME, fileId, e.getMessage());
+			LOGGER.trace("", e);
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the TV series the matching files are episodes of, to refresh
+	 * them once the files were removed. If {@code useLike} is {@code true},
+	 * {@code filename} must be properly escaped.
+	 *
+	 * @param connection the db connection
+	 * @param filename the filename(s)
+	 * @param useLike {@code true} if {@code LIKE} should be used as the compare
+	 *            operator, {@code false} if {@code =} should be used.
+	 * @return the TV series ids.
+	 */
+	public static Set<Long> getTvSeriesIds(final Connection connection, final String filename, final boolean useLike) {
+		Set<Long> result = new LinkedHashSet<>();
+		try (PreparedStatement statement = connection.prepareStatement(useLike ? SQL_GET_TVSERIESIDS_BY_FILENAME_LIKE : SQL_GET_TVSERIESIDS_BY_FILENAME_EQUAL)) {
+			statement.setString(1, filename);
+			try (ResultSet rs = statement.executeQuery()) {
+				while (rs.next()) {
+					result.add(rs.getLong(1));
+				}
+			}
+		} catch (SQLException e) {
+			LOGGER.error(LOG_ERROR_WHILE_IN_FOR, DATABASE_NAME, "reading", MediaTableVideoMetadata.TABLE_NAME, filename, e.getMessage());
+			LOGGER.trace("", e);
+		}
+		return result;
+	}
+
+}
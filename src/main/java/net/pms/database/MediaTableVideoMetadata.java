@@ -392,6 +392,7 @@ public class MediaTableVideoMetadata extends MediaTable {
 			return;
 		}
 		MediaVideoMetadata videoMetadata = media.getVideoMetadata();
+		Long oldTvSeriesId = null;
 		try (
 			PreparedStatement updateStatement = connection.prepareStatement(
 				fromApi ? SQL_GET_VIDEO_ALL_METADATA_BY_FILEID : SQL_GET_VIDEO_METADATA_BY_FILEID,
@@ -405,6 +406,8 @@ public class MediaTableVideoMetadata extends MediaTable {
 				if (isCreatingNewRecord) {
 					rs.moveToInsertRow();
 					rs.updateLong(COL_FILEID, fileId);
+				} else {
+					oldTvSeriesId = toLong(rs, COL_TVSERIESID);
 				}
 				videoMetadata.setFileId(fileId);
 				rs.updateString(COL_IMDBID, StringUtils.left(videoMetadata.getIMDbID(), SIZE_IMDBID));
@@ -482,6 +485,13 @@ public class MediaTableVideoMetadata extends MediaTable {
 			MediaTableVideoMetadataGenres.set(connection, fileId, videoMetadata.getGenres(), null);
 			MediaTableVideoMetadataRatings.set(connection, fileId, videoMetadata.getRatings(), null);
 		}
+		// Keep the seasons of the TV series the episode moved from and to,
+		// once per batch when scanning
+		Long tvSeriesId = videoMetadata.getTvSeriesId();
+		if (oldTvSeriesId != null && !oldTvSeriesId.equals(tvSeriesId)) {
+			MediaTableTVSeriesSeasons.refreshOrDefer(connection, oldTvSeriesId);
+		}
+		MediaTableTVSeriesSeasons.refreshOrDefer(connection, tvSeriesId);
 		connection.commit();
 	}
 
@@ -53,7 +53,7 @@ public final class MediaTableVideoMetadataDirectors extends MediaTable {
 	 * COLUMNS with table name
 	 */
 	public static final String TABLE_COL_FILEID = TABLE_NAME + "." + COL_FILEID;
-	private static final String TABLE_COL_TVSERIESID = TABLE_NAME + "." + COL_TVSERIESID;
+	protected static final String TABLE_COL_TVSERIESID = TABLE_NAME + "." + COL_TVSERIESID;
 	public static final String TABLE_COL_DIRECTOR = TABLE_NAME + "." + COL_DIRECTOR;
 
 	/**
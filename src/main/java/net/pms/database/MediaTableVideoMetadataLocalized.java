@@ -22,6 +22,8 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import net.pms.external.tmdb.TMDB;
 import net.pms.media.video.metadata.VideoMetadataLocalized;
 import org.apache.commons.lang3.StringUtils;
@@ -74,6 +76,12 @@ public final class MediaTableVideoMetadataLocalized extends MediaTable {
 	private static final String SQL_DELETE_FILEID = DELETE_FROM + TABLE_NAME + WHERE + TABLE_COL_FILEID + EQUAL + PARAMETER;
 	private static final String SQL_DELETE_TVSERIESID = DELETE_FROM + TABLE_NAME + WHERE + TABLE_COL_TVSERIESID + EQUAL + PARAMETER;
 
+	/**
+	 * The localized metadata being looked up, by id and language, so that
+	 * concurrent requests share the lookup and store a single row.
+	 */
+	private static final Map<String, CompletableFuture<VideoMetadataLocalized>> LOOKUPS_IN_PROGRESS = new ConcurrentHashMap<>();
+
 	/**
 	 * Database column sizes
 	 */
@@ -272,6 +280,34 @@ public final class MediaTableVideoMetadataLocalized extends MediaTable {
 			LOGGER.trace("", e);
 		}
 		//here we now we do not have the language in db, let search it.
+		String key = (fromTvSeries ? "tv:" : "file:") + id + ":" + language;
+		CompletableFuture<VideoMetadataLocalized> lookup = new CompletableFuture<>();
+		CompletableFuture<VideoMetadataLocalized> inProgress = LOOKUPS_IN_PROGRESS.putIfAbsent(key, lookup);
+		if (inProgress != null) {
+			// Already looked up and stored by another thread
+			return inProgress.join();
+		}
+		VideoMetadataLocalized result = null;
+		try {
+			result = lookupVideoMetadataLocalized(connection, id, fromTvSeries, language, imdbId, mediaType, tmdbId, season, episode);
+			return result;
+		} finally {
+			LOOKUPS_IN_PROGRESS.remove(key, lookup);
+			lookup.complete(result);
+		}
+	}
+
+	private static VideoMetadataLocalized lookupVideoMetadataLocalized(
+		final Connection connection,
+		final Long id,
+		final boolean fromTvSeries,
+		final String language,
+		final String imdbId,
+		final String mediaType,
+		final Long tmdbId,
+		final Integer season,
+		final String episode
+	) {
 		LOGGER.trace("Looking for localized metadata for \"{}\": {}", mediaType, id);
 		VideoMetadataLocalized result = TMDB.getVideoMetadataLocalized(language, mediaType, imdbId, tmdbId, season, episode);
 		//remove not translated fields from base data
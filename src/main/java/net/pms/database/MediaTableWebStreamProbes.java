@@ -0,0 +1,184 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class is responsible for the time the web streams were last probed,
+ * so that their media information is only probed again once it expired.
+ */
+public final class MediaTableWebStreamProbes extends MediaTable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(MediaTableWebStreamProbes.class);
+	public static final String TABLE_NAME = "WEBSTREAM_PROBES";
+
+	/**
+	 * Table version must be increased every time a change is done to the table
+	 * definition. Table upgrade SQL must also be added to
+	 * {@link #upgradeTable(Connection, int)}
+	 */
+	private static final int TABLE_VERSION = 1;
+
+	/**
+	 * COLUMNS NAMES
+	 */
+	private static final String COL_ID = "ID";
+	private static final String COL_URL = "URL";
+	private static final String COL_PROBED = "PROBED";
+
+	/**
+	 * COLUMNS with table name
+	 */
+	private static final String TABLE_COL_URL = TABLE_NAME + "." + COL_URL;
+	private static final String TABLE_COL_PROBED = TABLE_NAME + "." + COL_PROBED;
+
+	/**
+	 * SQL Queries
+	 */
+	private static final String SQL_GET_PROBED = SELECT + TABLE_COL_PROBED + FROM + TABLE_NAME + WHERE + TABLE_COL_URL + EQUAL + PARAMETER + LIMIT_1;
+	private static final String SQL_MERGE = MERGE_INTO + TABLE_NAME + " (" + COL_URL + COMMA + COL_PROBED + ") KEY (" + COL_URL + ")" + VALUES + "(" + PARAMETER + COMMA + PARAMETER + ")";
+	private static final String SQL_DELETE_ALL = DELETE_FROM + TABLE_NAME;
+
+	/**
+	 * Checks and creates or upgrades the table as needed.
+	 *
+	 * @param connection the {@link Connection} to use
+	 *
+	 * @throws SQLException
+	 */
+	protected static void checkTable(final Connection connection) throws SQLException {
+		if (tableExists(connection, TABLE_NAME)) {
+			Integer version = MediaTableTablesVersions.getTableVersion(connection, TABLE_NAME);
+			if (version != null) {
+				if (version < TABLE_VERSION) {
+					upgradeTable(connection, version);
+				} else if (version > TABLE_VERSION) {
+					LOGGER.warn(LOG_TABLE_NEWER_VERSION_DELETEDB,
+							DATABASE_NAME,
+							TABLE_NAME,
+							DATABASE.getDatabaseFilename()
+					);
+				}
+			} else {
+				LOGGER.warn(LOG_TABLE_UNKNOWN_VERSION_RECREATE, DATABASE_NAME, TABLE_NAME);
+				dropTable(connection, TABLE_NAME);
+				createTable(connection);
+				MediaTableTablesVersions.setTableVersion(connection, TABLE_NAME, TABLE_VERSION);
+			}
+		} else {
+			createTable(connection);
+			MediaTableTablesVersions.setTableVersion(connection, TABLE_NAME, TABLE_VERSION);
+		}
+	}
+
+	/**
+	 * This method <strong>MUST</strong> be updated if the table definition are
+	 * altered. The changes for each version in the form of
+	 * <code>ALTER TABLE</code> must be implemented here.
+	 *
+	 * @param connection the {@link Connection} to use
+	 * @param currentVersion the version to upgrade <strong>from</strong>
+	 *
+	 * @throws SQLException
+	 */
+	private static void upgradeTable(final Connection connection, final int currentVersion) throws SQLException {
+		LOGGER.info(LOG_UPGRADING_TABLE, DATABASE_NAME, TABLE_NAME, currentVersion, TABLE_VERSION);
+		for (int version = currentVersion; version < TABLE_VERSION; version++) {
+			LOGGER.trace(LOG_UPGRADING_TABLE, DATABASE_NAME, TABLE_NAME, version, version + 1);
+			switch (version) {
+				default ->
+					throw new IllegalStateException(
+							getMessage(LOG_UPGRADING_TABLE_MISSING, DATABASE_NAME, TABLE_NAME, version, TABLE_VERSION)
+					);
+			}
+		}
+		MediaTableTablesVersions.setTableVersion(connection, TABLE_NAME, TABLE_VERSION);
+	}
+
+	private static void createTable(final Connection connection) throws SQLException {
+		LOGGER.info(LOG_CREATING_TABLE, DATABASE_NAME, TABLE_NAME);
+		execute(connection,
+				CREATE_TABLE + TABLE_NAME + "(" +
+					COL_ID +               IDENTITY                 + PRIMARY_KEY    + COMMA +
+					COL_URL +              VARCHAR_1024             + NOT_NULL       + COMMA +
+					COL_PROBED +           TIMESTAMP                + NOT_NULL       +
+				")",
+				CREATE_UNIQUE_INDEX + TABLE_NAME + CONSTRAINT_SEPARATOR + COL_URL + IDX_MARKER + ON + TABLE_NAME + "(" + COL_URL + ")"
+		);
+	}
+
+	/**
+	 * @param connection the db connection
+	 * @param url the web stream url
+	 * @return the time the web stream was last probed, or {@code null} if it
+	 * was never probed.
+	 */
+	public static Long getProbed(final Connection connection, final String url) {
+		try (PreparedStatement statement = connection.prepareStatement(SQL_GET_PROBED)) {
+			statement.setString(1, url);
+			try (ResultSet rs = statement.executeQuery()) {
+				if (rs.next()) {
+					return rs.getTimestamp(1).getTime();
+				}
+			}
+		} catch (SQLException e) {
+			LOGGER.error(LOG_ERROR_WHILE_IN_FOR, DATABASE_NAME, "reading", TABLE_NAME, url, e.getMessage());
+			LOGGER.trace("", e);
+		}
+		return null;
+	}
+
+	/**
+	 * Stores the time a web stream was probed.
+	 *
+	 * @param connection the db connection
+	 * @param url the web stream url
+	 * @param probed the time of the probe
+	 */
+	public static void set(final Connection connection, final String url, final long probed) {
+		try (PreparedStatement statement = connection.prepareStatement(SQL_MERGE)) {
+			statement.setString(1, url);
+			statement.setTimestamp(2, new Timestamp(probed));
+			statement.executeUpdate();
+		} catch (SQLException e) {
+			LOGGER.error(LOG_ERROR_WHILE_IN_FOR, DATABASE_NAME, "writing", TABLE_NAME, url, e.getMessage());
+			LOGGER.trace("", e);
+		}
+	}
+
+	/**
+	 * Removes all the probe times, so all web streams are probed again.
+	 *
+	 * @param connection the db connection
+	 */
+	public static void clear(final Connection connection) {
+		try {
+			executeUpdate(connection, SQL_DELETE_ALL);
+		} catch (SQLException e) {
+			LOGGER.error(LOG_ERROR_WHILE_IN, DATABASE_NAME, "removing entries", TABLE_NAME, e.getMessage());
+			LOGGER.trace("", e);
+		}
+	}
+
+}
@@ -0,0 +1,244 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.dlna;
+
+import java.net.InetAddress;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.concurrent.GuardedBy;
+import net.pms.media.subtitle.MediaSubtitle;
+import net.pms.metrics.Metrics;
+import net.pms.network.mediaserver.MediaServer;
+import net.pms.renderers.Renderer;
+import net.pms.store.MediaStoreIds;
+import net.pms.store.StoreItem;
+import net.pms.store.StoreResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded memory cache of the DIDL-Lite fragments of the items.
+ * <p>
+ * Fragments are keyed by the renderer id, the user of the renderer account,
+ * the resource id and its object update id, so any change to the item that
+ * increments its update id, including its play status, is a cache miss. The
+ * media server URL, the transcoding settings and the streamed subtitles are
+ * part of the key too, since they are written in the fragment without
+ * incrementing the update id. Containers and resume items are not cached,
+ * their fragment depends on state that has no update id.
+ * <p>
+ * The least recently used fragments are evicted when the cache is full, and
+ * the whole cache is cleared when the configuration changes.
+ */
+public class DidlFragmentCache {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(DidlFragmentCache.class);
+
+	/**
+	 * The maximum number of characters of all the cached fragments.
+	 */
+	private static final long MAX_SIZE = 8L * 1024 * 1024;
+
+	@GuardedBy("FRAGMENTS")
+	private static final Map<Key, String> FRAGMENTS = new LinkedHashMap<>(256, 0.75f, true);
+	@GuardedBy("FRAGMENTS")
+	private static long size;
+	private static final AtomicLong HITS = new AtomicLong();
+	private static final AtomicLong MISSES = new AtomicLong();
+
+	static {
+		Metrics.counter("ums_didl_fragment_cache_hits_total", "DIDL-Lite fragments served from the cache", HITS::get);
+		Metrics.counter("ums_didl_fragment_cache_misses_total", "DIDL-Lite fragments generated", MISSES::get);
+		Metrics.gauge("ums_didl_fragment_cache_fragments", "DIDL-Lite fragments in the cache", DidlFragmentCache::getCount);
+	}
+
+	/**
+	 * This class is not meant to be instantiated.
+	 */
+	private DidlFragmentCache() {
+	}
+
+	/**
+	 * Returns the cache key of the DIDL-Lite fragment of a resource.
+	 *
+	 * @param resource the {@link StoreResource}.
+	 * @param embedded whether the fragment is escaped for embedding in another
+	 *            XML document.
+	 * @return The key, or {@code null} if the fragment can't be cached.
+	 */
+	static Key getKey(StoreResource resource, boolean embedded) {
+		if (!(resource instanceof StoreItem item) || item.isResume()) {
+			return null;
+		}
+		Long id = item.getLongId();
+		Renderer renderer = item.getDefaultRenderer();
+		if (id == null || renderer == null) {
+			return null;
+		}
+		String updateId = MediaStoreIds.getObjectUpdateIdAsString(id);
+		if (updateId == null) {
+			return null;
+		}
+		MediaSubtitle subtitle = item.getMediaSubtitle();
+		String variant = MediaServer.getURL() + "|" +
+			embedded + "|" +
+			(item.isTranscoded() ? item.getTranscodingSettings().getId() : "") + "|" +
+			(subtitle != null ? subtitle.toString() : "");
+		return new Key(getRendererId(renderer), renderer.getAccountUserId(), id, updateId, variant);
+	}
+
+	private static String getRendererId(Renderer renderer) {
+		if (renderer.getUUID() != null) {
+			return renderer.getUUID();
+		}
+		InetAddress address = renderer.getAddress();
+		if (address != null) {
+			return address.getHostAddress();
+		}
+		// Not a connected renderer, like the default one
+		return "@" + System.identityHashCode(renderer);
+	}
+
+	/**
+	 * Returns the cached fragment for a key.
+	 *
+	 * @param key the key from {@link #getKey}.
+	 * @return The fragment or {@code null} if not cached.
+	 */
+	static String get(Key key) {
+		String fragment;
+		synchronized (FRAGMENTS) {
+			fragment = FRAGMENTS.get(key);
+		}
+		if (fragment != null) {
+			HITS.incrementAndGet();
+		} else {
+			MISSES.incrementAndGet();
+		}
+		return fragment;
+	}
+
+	/**
+	 * Stores a fragment, evicting the least recently used fragments if the
+	 * cache is full.
+	 *
+	 * @param key the key from {@link #getKey}.
+	 * @param fragment the DIDL-Lite fragment.
+	 */
+	static void put(Key key, String fragment) {
+		if (fragment.length() > MAX_SIZE / 16) {
+			return;
+		}
+		synchronized (FRAGMENTS) {
+			String previous = FRAGMENTS.put(key, fragment);
+			if (previous != null) {
+				size -= previous.length();
+			}
+			size += fragment.length();
+			Iterator<String> iterator = FRAGMENTS.values().iterator();
+			while (size > MAX_SIZE && iterator.hasNext()) {
+				size -= iterator.next().length();
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Forgets all the cached fragments.
+	 */
+	public static void clear() {
+		synchronized (FRAGMENTS) {
+			FRAGMENTS.clear();
+			size = 0;
+		}
+		LOGGER.trace("DIDL-Lite fragment cache cleared, hit rate so far: {}%", Math.round(getHitRate() * 100));
+	}
+
+	/**
+	 * @return The number of fragments served from the cache.
+	 */
+	public static long getHits() {
+		return HITS.get();
+	}
+
+	/**
+	 * @return The number of fragments that had to be generated.
+	 */
+	public static long getMisses() {
+		return MISSES.get();
+	}
+
+	/**
+	 * @return The ratio of the lookups served from the cache, between 0 and 1.
+	 */
+	public static double getHitRate() {
+		long hits = HITS.get();
+		long total = hits + MISSES.get();
+		return total == 0 ? 0 : (double) hits / total;
+	}
+
+	/**
+	 * @return The number of cached fragments.
+	 */
+	public static int getCount() {
+		synchronized (FRAGMENTS) {
+			return FRAGMENTS.size();
+		}
+	}
+
+	static final class Key {
+
+		private final String rendererId;
+		private final int userId;
+		private final long id;
+		private final String updateId;
+		private final String variant;
+		private final int hashCode;
+
+		private Key(String rendererId, int userId, long id, String updateId, String variant) {
+			this.rendererId = rendererId;
+			this.userId = userId;
+			this.id = id;
+			this.updateId = updateId;
+			this.variant = variant;
+			this.hashCode = Objects.hash(rendererId, userId, id, updateId, variant);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			return obj instanceof Key other &&
+				rendererId.equals(other.rendererId) &&
+				userId == other.userId &&
+				id == other.id &&
+				updateId.equals(other.updateId) &&
+				variant.equals(other.variant);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+	}
+
+}
@@ -56,6 +56,7 @@ import org.slf4j.LoggerFactory;
 public class DidlHelper extends DlnaHelper {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(DidlHelper.class);
+	private static final String DIDL_LITE_HEADER = StringEscapeUtils.unescapeXml(HTTPXMLHelper.DIDL_HEADER);
 	private static final SimpleDateFormat DIDL_DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.US);
 
 	/**
@@ -64,26 +65,103 @@ public class DidlHelper extends DlnaHelper {
 	protected DidlHelper() {
 	}
 
+	/**
+	 * The initial capacity of the DIDL-Lite buffers.
+	 */
+	private static final int BUFFER_CAPACITY = 64 * 1024;
+
+	/**
+	 * The capacity above which a buffer is not kept for reuse, to not retain
+	 * the memory of an unusually large response.
+	 */
+	private static final int MAX_REUSED_BUFFER_CAPACITY = 4 * 1024 * 1024;
+
+	private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(BUFFER_CAPACITY));
+
+	/**
+	 * Returns the DIDL-Lite document of the given resources.
+	 * <p>
+	 * The document is written in a single pass into a per thread buffer that
+	 * is reused between responses.
+	 *
+	 * @param resultResources the resources to describe.
+	 * @return The DIDL-Lite XML.
+	 */
 	public static final String getDidlResults(List<StoreResource> resultResources) {
-		StringBuilder filesData = new StringBuilder();
-		filesData.append(HTTPXMLHelper.DIDL_HEADER);
+		StringBuilder sb = BUFFER.get();
+		sb.setLength(0);
+		try {
+			appendDidlResults(sb, resultResources);
+			return sb.toString();
+		} finally {
+			if (sb.capacity() > MAX_REUSED_BUFFER_CAPACITY) {
+				BUFFER.remove();
+			} else {
+				sb.setLength(0);
+			}
+		}
+	}
+
+	/**
+	 * Appends the DIDL-Lite document of the given resources.
+	 *
+	 * @param sb the {@link StringBuilder} to append the document to.
+	 * @param resultResources the resources to describe.
+	 */
+	public static void appendDidlResults(StringBuilder sb, List<StoreResource> resultResources) {
+		DidlWriter writer = new DidlWriter(sb, false);
+		writer.append(DIDL_LITE_HEADER);
 		for (StoreResource resource : resultResources) {
-			filesData.append(getDidlString(resource));
+			appendDidl(writer, resource);
 		}
-		filesData.append(HTTPXMLHelper.DIDL_FOOTER);
-		return StringEscapeUtils.unescapeXml(filesData.toString());
+		writer.closeTag("DIDL-Lite");
 	}
 
 	/**
 	 * Returns an XML (DIDL) representation of the DLNA node. It gives a
 	 * complete representation of the item, with as many tags as available.
 	 * Recommendations as per UPNP specification are followed where possible.
+	 * The markup is escaped for embedding in a SOAP response.
 	 *
 	 * @return String representing the item. An example would start like this:
 	 *         {@code <container id="0$1" childCount="1" parentID="0" restricted
 	 *         ="1">}
 	 */
 	public static final String getDidlString(StoreResource resource) {
+		StringBuilder sb = new StringBuilder();
+		appendDidlString(sb, resource);
+		return sb.toString();
+	}
+
+	/**
+	 * Appends the XML (DIDL) representation of the DLNA node, escaped for
+	 * embedding in a SOAP response.
+	 *
+	 * @param sb the {@link StringBuilder} to append the representation to.
+	 * @param resource the {@link StoreResource} to describe.
+	 * @see #getDidlString(StoreResource)
+	 */
+	public static void appendDidlString(StringBuilder sb, StoreResource resource) {
+		appendDidl(new DidlWriter(sb, true), resource);
+	}
+
+	private static void appendDidl(DidlWriter writer, StoreResource resource) {
+		DidlFragmentCache.Key key = DidlFragmentCache.getKey(resource, writer.isEmbedded());
+		if (key == null) {
+			writeDidl(writer, resource);
+			return;
+		}
+		String fragment = DidlFragmentCache.get(key);
+		if (fragment != null) {
+			writer.append(fragment);
+			return;
+		}
+		int start = writer.length();
+		writeDidl(writer, resource);
+		DidlFragmentCache.put(key, writer.substring(start));
+	}
+
+	private static void writeDidl(DidlWriter writer, StoreResource resource) {
 		final Renderer renderer = resource.getDefaultRenderer();
 		final MediaInfo mediaInfo = resource.getMediaInfo();
 		final MediaStatus mediaStatus = resource.getMediaStatus();
@@ -93,7 +171,6 @@ public class DidlHelper extends DlnaHelper {
 		final Format format = item != null ? item.getFormat() : null;
 		final MediaSubtitle mediaSubtitle = item != null ? item.getMediaSubtitle() : null;
 
-		StringBuilder sb = new StringBuilder();
 		boolean subsAreValidForStreaming = false;
 		boolean xbox360 = renderer.isXbox360();
 		if (item != null) {
@@ -123,9 +200,9 @@ public class DidlHelper extends DlnaHelper {
 				}
 			}
 
-			openTag(sb, "item");
+			writer.openTag("item");
 		} else {
-			openTag(sb, "container");
+			writer.openTag("container");
 		}
 
 		String resourceId = resource.getResourceId();
@@ -142,7 +219,7 @@ public class DidlHelper extends DlnaHelper {
 			}
 		}
 
-		addAttribute(sb, "id", resourceId);
+		writer.addAttribute("id", resourceId);
 		if (container != null) {
 			if (!container.isDiscovered() && container.childrenCount() == 0) {
 				// When a folder has not been scanned for resources, it will
@@ -154,9 +231,9 @@ public class DidlHelper extends DlnaHelper {
 				// the folder. When it is opened, its children will be
 				// discovered and childrenCount() will be
 				// set to the right value.
-				addAttribute(sb, "childCount", 1);
+				writer.addAttribute("childCount", 1);
 			} else {
-				addAttribute(sb, "childCount", container.childrenCount());
+				writer.addAttribute("childCount", container.childrenCount());
 			}
 		}
 
@@ -167,9 +244,9 @@ public class DidlHelper extends DlnaHelper {
 			resourceId += "$";
 		}
 
-		addAttribute(sb, "parentID", resourceId);
-		addAttribute(sb, "restricted", "1");
-		endTag(sb);
+		writer.addAttribute("parentID", resourceId);
+		writer.addAttribute("restricted", "1");
+		writer.endTag();
 		final MediaVideo defaultVideoTrack = mediaInfo != null ? mediaInfo.getDefaultVideoTrack() : null;
 		final MediaAudio defaultAudioTrack = mediaInfo != null ? mediaInfo.getDefaultAudioTrack() : null;
 		final MediaAudioMetadata audioMetadata = mediaInfo != null ? mediaInfo.getAudioMetadata() : null;
@@ -202,54 +279,54 @@ public class DidlHelper extends DlnaHelper {
 		if (item != null) {
 			title = item.resumeStr(title);
 		}
-		addXMLTagAndAttribute(sb, "dc:title",
-			encodeXML(renderer.getDcTitle(title, resource.getDisplayNameSuffix(), resource)));
+		writer.addTextElement("dc:title",
+			renderer.getDcTitle(title, resource.getDisplayNameSuffix(), resource));
 
 		if (renderer.isSamsung() && resource instanceof RealFile) {
-			addBookmark(resource, sb, renderer.getDcTitle(title, resource.getDisplayNameSuffix(), resource));
+			addBookmark(resource, writer, renderer.getDcTitle(title, resource.getDisplayNameSuffix(), resource));
 		}
 
 		if (audioMetadata != null && renderer.isSendDateMetadataYearForAudioTags() && audioMetadata.getYear() > 1000) {
-			addXMLTagAndAttribute(sb, "dc:date", Integer.toString(audioMetadata.getYear()));
+			writer.addElement("dc:date", Integer.toString(audioMetadata.getYear()));
 		} else if (resource.getLastModified() > 0 && renderer.isSendDateMetadata()) {
-			addXMLTagAndAttribute(sb, "dc:date", formatDate(new Date(resource.getLastModified())));
+			writer.addElement("dc:date", formatDate(new Date(resource.getLastModified())));
 		}
 
 		if (mediaInfo != null && audioMetadata != null) {
 			if (StringUtils.isNotBlank(audioMetadata.getAlbum())) {
-				addXMLTagAndAttribute(sb, "upnp:album", encodeXML(audioMetadata.getAlbum()));
+				writer.addTextElement("upnp:album", audioMetadata.getAlbum());
 			}
 
 			// TODO maciekberry: check whether it makes sense to use Album
 			// Artist
 			if (StringUtils.isNotBlank(audioMetadata.getArtist())) {
-				addXMLTagAndAttribute(sb, "upnp:artist", encodeXML(audioMetadata.getArtist()));
-				addXMLTagAndAttribute(sb, "dc:creator", encodeXML(audioMetadata.getArtist()));
+				writer.addTextElement("upnp:artist", audioMetadata.getArtist());
+				writer.addTextElement("dc:creator", audioMetadata.getArtist());
 			}
 
 			if (StringUtils.isNotBlank(audioMetadata.getComposer())) {
-				addXMLTagAndAttributeWithRole(sb, "upnp:artist role=\"Composer\"", encodeXML(audioMetadata.getComposer()));
-				addXMLTagAndAttributeWithRole(sb, "upnp:author role=\"Composer\"", encodeXML(audioMetadata.getComposer()));
+				writer.addTextElement("upnp:artist role=\"Composer\"", audioMetadata.getComposer());
+				writer.addTextElement("upnp:author role=\"Composer\"", audioMetadata.getComposer());
 				//FIXME : it break upnp standard (non existant)
-				addXMLTagAndAttribute(sb, "upnp:composer", encodeXML(audioMetadata.getComposer()));
+				writer.addTextElement("upnp:composer", audioMetadata.getComposer());
 			}
 
 			if (StringUtils.isNotBlank(audioMetadata.getConductor())) {
-				addXMLTagAndAttributeWithRole(sb, "upnp:artist role=\"Conductor\"", encodeXML(audioMetadata.getConductor()));
+				writer.addTextElement("upnp:artist role=\"Conductor\"", audioMetadata.getConductor());
 				//FIXME : it break upnp standard (non existant)
-				addXMLTagAndAttribute(sb, "upnp:conductor", encodeXML(audioMetadata.getConductor()));
+				writer.addTextElement("upnp:conductor", audioMetadata.getConductor());
 			}
 
 			if (StringUtils.isNotBlank(audioMetadata.getGenre())) {
-				addXMLTagAndAttribute(sb, "upnp:genre", encodeXML(audioMetadata.getGenre()));
+				writer.addTextElement("upnp:genre", audioMetadata.getGenre());
 			}
 
 			if (audioMetadata.getTrack() > 0) {
-				addXMLTagAndAttribute(sb, "upnp:originalTrackNumber", "" + audioMetadata.getTrack());
+				writer.addElement("upnp:originalTrackNumber", "" + audioMetadata.getTrack());
 			}
 
 			if (audioMetadata.getRating() != null) {
-				addXMLTagAndAttribute(sb, "upnp:rating", "" + audioMetadata.getRating());
+				writer.addElement("upnp:rating", "" + audioMetadata.getRating());
 			}
 		}
 
@@ -257,32 +334,32 @@ public class DidlHelper extends DlnaHelper {
 			MediaVideoMetadata videoMetadata = mediaInfo.getVideoMetadata();
 			if (videoMetadata.isTvEpisode()) {
 				if (videoMetadata.getTvSeason() != null) {
-					addXMLTagAndAttribute(sb, "upnp:episodeSeason", videoMetadata.getTvSeason());
+					writer.addElement("upnp:episodeSeason", videoMetadata.getTvSeason());
 				}
 				if (StringUtils.isNotBlank(videoMetadata.getTvEpisodeNumber())) {
-					addXMLTagAndAttribute(sb, "upnp:episodeNumber", videoMetadata.getTvEpisodeNumberUnpadded());
+					writer.addElement("upnp:episodeNumber", videoMetadata.getTvEpisodeNumberUnpadded());
 				}
 				if (StringUtils.isNotBlank(videoMetadata.getTvSeriesTitle())) {
-					addXMLTagAndAttribute(sb, "upnp:seriesTitle", encodeXML(videoMetadata.getTvSeriesTitle(null)));
+					writer.addTextElement("upnp:seriesTitle", videoMetadata.getTvSeriesTitle(null));
 				}
 				if (StringUtils.isNotBlank(videoMetadata.getTvEpisodeName())) {
-					addXMLTagAndAttribute(sb, "upnp:programTitle", encodeXML(videoMetadata.getTvEpisodeName(null)));
+					writer.addTextElement("upnp:programTitle", videoMetadata.getTvEpisodeName(null));
 				}
 			}
 			if (mediaStatus != null) {
-				addXMLTagAndAttribute(sb, "upnp:playbackCount", mediaStatus.getPlaybackCount());
+				writer.addElement("upnp:playbackCount", mediaStatus.getPlaybackCount());
 				if (StringUtils.isNotBlank(mediaStatus.getLastPlaybackTime())) {
-					addXMLTagAndAttribute(sb, "upnp:lastPlaybackTime", encodeXML(mediaStatus.getLastPlaybackTime()));
+					writer.addTextElement("upnp:lastPlaybackTime", mediaStatus.getLastPlaybackTime());
 				}
 				if (StringUtils.isNotBlank(mediaStatus.getLastPlaybackPositionForUPnP())) {
-					addXMLTagAndAttribute(sb, "upnp:lastPlaybackPosition", encodeXML(mediaStatus.getLastPlaybackPositionForUPnP()));
+					writer.addTextElement("upnp:lastPlaybackPosition", mediaStatus.getLastPlaybackPositionForUPnP());
 				}
 			}
 		}
 
 		MediaType mediaType = mediaInfo != null ? mediaInfo.getMediaType() : MediaType.UNKNOWN;
 		if (item != null && mediaType == MediaType.IMAGE) {
-			appendImage(item, sb);
+			appendImage(item, writer);
 		} else if (item != null) {
 			int indexCount = 1;
 			if (renderer.isDLNALocalizationRequired()) {
@@ -290,91 +367,91 @@ public class DidlHelper extends DlnaHelper {
 			}
 
 			for (int c = 0; c < indexCount; c++) {
-				openTag(sb, "res");
-				addAttribute(sb, "xmlns:dlna", "urn:schemas-dlna-org:metadata-1-0/");
+				writer.openTag("res");
+				writer.addAttribute("xmlns:dlna", "urn:schemas-dlna-org:metadata-1-0/");
 				String dlnaOrgPnFlags = getDlnaOrgPnFlags(item, c);
 				String dlnaOrgFlags = "*";
 				if (renderer.isSendDLNAOrgFlags()) {
 					dlnaOrgFlags = (dlnaOrgPnFlags != null ? (dlnaOrgPnFlags + ";") : "") + getDlnaOrgOpFlags(item);
 				}
 				String tempString = "http-get:*:" + item.getRendererMimeType() + ":" + dlnaOrgFlags;
-				addAttribute(sb, "protocolInfo", tempString);
+				writer.addAttribute("protocolInfo", tempString);
 				if (subsAreValidForStreaming && mediaSubtitle != null && renderer.offerSubtitlesByProtocolInfo() && !renderer.useClosedCaption()) {
-					addAttribute(sb, "pv:subtitleFileType", mediaSubtitle.getType().getExtension().toUpperCase());
-					addAttribute(sb, "pv:subtitleFileUri", resource.getSubsURL(mediaSubtitle));
+					writer.addAttribute("pv:subtitleFileType", mediaSubtitle.getType().getExtension().toUpperCase());
+					writer.addAttribute("pv:subtitleFileUri", resource.getSubsURL(mediaSubtitle));
 				}
 				if (renderer.getUmsConfiguration().isUpnpCdsWrite() &&
 						renderer.getUmsConfiguration().isAnonymousDevicesWrite() &&
 						(item.getRendererMimeType().toLowerCase().startsWith("audio") || item.getRendererMimeType().toLowerCase().startsWith("video"))) {
-					addAttribute(sb, "importUri", new StringBuilder(MediaServer.getURL()).append("/import?id=").append(item.getId()).toString());
+					writer.addAttribute("importUri", new StringBuilder(MediaServer.getURL()).append("/import?id=").append(item.getId()).toString());
 				}
 
 				if (format != null && format.isVideo() && mediaInfo != null && mediaInfo.isMediaParsed()) {
 					long transcodedSize = renderer.getTranscodedSize();
 					if (!item.isTranscoded()) {
-						addAttribute(sb, "size", mediaInfo.getSize());
+						writer.addAttribute("size", mediaInfo.getSize());
 					} else if (transcodedSize != 0) {
-						addAttribute(sb, "size", transcodedSize);
+						writer.addAttribute("size", transcodedSize);
 					}
 
 					if (mediaInfo.getDuration() != null) {
 						if (item.isResume()) {
 							long offset = item.getResume().getTimeOffset() / 1000;
 							double duration = mediaInfo.getDuration() - offset;
-							addAttribute(sb, "duration", StringUtil.formatDLNADuration(duration));
+							writer.addAttribute("duration", StringUtil.formatDLNADuration(duration));
 						} else if (item.getSplitRange().isEndLimitAvailable()) {
-							addAttribute(sb, "duration", StringUtil.formatDLNADuration(item.getSplitRange().getDuration()));
+							writer.addAttribute("duration", StringUtil.formatDLNADuration(item.getSplitRange().getDuration()));
 						} else {
-							addAttribute(sb, "duration", mediaInfo.getDurationString());
+							writer.addAttribute("duration", mediaInfo.getDurationString());
 						}
 					}
 
 					if (defaultVideoTrack != null && defaultVideoTrack.getResolution() != null) {
 						if (item.isTranscoded() && (renderer.isKeepAspectRatio() || renderer.isKeepAspectRatioTranscoding())) {
-							addAttribute(sb, "resolution", item.getResolutionForKeepAR(defaultVideoTrack.getWidth(), defaultVideoTrack.getHeight()));
+							writer.addAttribute("resolution", item.getResolutionForKeepAR(defaultVideoTrack.getWidth(), defaultVideoTrack.getHeight()));
 						} else {
-							addAttribute(sb, "resolution", defaultVideoTrack.getResolution());
+							writer.addAttribute("resolution", defaultVideoTrack.getResolution());
 						}
 					}
 
 					if (mediaInfo.getFrameRate() != null) {
-						addAttribute(sb, "framerate", mediaInfo.getFrameRate());
+						writer.addAttribute("framerate", mediaInfo.getFrameRate());
 					}
 
-					addAttribute(sb, "bitrate", mediaInfo.getRealVideoBitrate());
+					writer.addAttribute("bitrate", mediaInfo.getRealVideoBitrate());
 
 					if (defaultAudioTrack != null) {
 						if (defaultAudioTrack.getNumberOfChannels() > 0) {
 							if (!item.isTranscoded()) {
-								addAttribute(sb, "nrAudioChannels", defaultAudioTrack.getNumberOfChannels());
+								writer.addAttribute("nrAudioChannels", defaultAudioTrack.getNumberOfChannels());
 							} else {
-								addAttribute(sb, "nrAudioChannels", renderer.getUmsConfiguration().getAudioChannelCount());
+								writer.addAttribute("nrAudioChannels", renderer.getUmsConfiguration().getAudioChannelCount());
 							}
 						}
 
 						if (defaultAudioTrack.getSampleRate() > 1) {
-							addAttribute(sb, "sampleFrequency", defaultAudioTrack.getSampleRate());
+							writer.addAttribute("sampleFrequency", defaultAudioTrack.getSampleRate());
 						}
 					}
 					if (defaultVideoTrack != null && defaultVideoTrack.getBitDepth() > 0) {
-						addAttribute(sb, "colorDepth", defaultVideoTrack.getBitDepth());
+						writer.addAttribute("colorDepth", defaultVideoTrack.getBitDepth());
 					}
 				} else if (format != null && format.isImage()) {
 					if (mediaInfo != null && mediaInfo.isMediaParsed()) {
-						addAttribute(sb, "size", mediaInfo.getSize());
+						writer.addAttribute("size", mediaInfo.getSize());
 						if (mediaInfo.getImageInfo() != null && mediaInfo.getImageInfo().getResolution() != null) {
-							addAttribute(sb, "resolution", mediaInfo.getImageInfo().getResolution());
+							writer.addAttribute("resolution", mediaInfo.getImageInfo().getResolution());
 						}
 					} else {
-						addAttribute(sb, "size", resource.length());
+						writer.addAttribute("size", resource.length());
 					}
 				} else if (format != null && format.isAudio()) {
 					if (mediaInfo != null && mediaInfo.isMediaParsed()) {
 						if (mediaInfo.getBitRate() > 0) {
-							addAttribute(sb, "bitrate", mediaInfo.getBitRate());
+							writer.addAttribute("bitrate", mediaInfo.getBitRate());
 						}
 						if (mediaInfo.getDuration() != null && mediaInfo.getDuration() != 0.0) {
-							addAttribute(sb, "duration", StringUtil.formatDLNADuration(mediaInfo.getDuration()));
+							writer.addAttribute("duration", StringUtil.formatDLNADuration(mediaInfo.getDuration()));
 						}
 
 						int transcodeFrequency = -1;
@@ -382,10 +459,10 @@ public class DidlHelper extends DlnaHelper {
 						if (defaultAudioTrack != null) {
 							if (!item.isTranscoded()) {
 								if (defaultAudioTrack.getSampleRate() > 1) {
-									addAttribute(sb, "sampleFrequency", defaultAudioTrack.getSampleRate());
+									writer.addAttribute("sampleFrequency", defaultAudioTrack.getSampleRate());
 								}
 								if (defaultAudioTrack.getNumberOfChannels() > 0) {
-									addAttribute(sb, "nrAudioChannels", defaultAudioTrack.getNumberOfChannels());
+									writer.addAttribute("nrAudioChannels", defaultAudioTrack.getNumberOfChannels());
 								}
 							} else {
 								if (renderer.getUmsConfiguration().isAudioResample()) {
@@ -396,18 +473,18 @@ public class DidlHelper extends DlnaHelper {
 									transcodeNumberOfChannels = defaultAudioTrack.getNumberOfChannels();
 								}
 								if (transcodeFrequency > 0) {
-									addAttribute(sb, "sampleFrequency", transcodeFrequency);
+									writer.addAttribute("sampleFrequency", transcodeFrequency);
 								}
 								if (transcodeNumberOfChannels > 0) {
-									addAttribute(sb, "nrAudioChannels", transcodeNumberOfChannels);
+									writer.addAttribute("nrAudioChannels", transcodeNumberOfChannels);
 								}
 							}
-							addAttribute(sb, "bitsPerSample", defaultAudioTrack.getBitDepth());
+							writer.addAttribute("bitsPerSample", defaultAudioTrack.getBitDepth());
 						}
 
 						if (!item.isTranscoded()) {
 							if (mediaInfo.getSize() != 0) {
-								addAttribute(sb, "size", mediaInfo.getSize());
+								writer.addAttribute("size", mediaInfo.getSize());
 							}
 						} else {
 							// Calculate WAV size
@@ -415,23 +492,23 @@ public class DidlHelper extends DlnaHelper {
 								transcodeNumberOfChannels > 0) {
 								int finalSize = (int) (mediaInfo.getDurationInSeconds() * transcodeFrequency * 2 * transcodeNumberOfChannels);
 								LOGGER.trace("Calculated transcoded size for {}: {}", resource.getFileName(), finalSize);
-								addAttribute(sb, "size", finalSize);
+								writer.addAttribute("size", finalSize);
 							} else if (mediaInfo.getSize() > 0) {
 								LOGGER.trace("Could not calculate transcoded size for {}, using file size: {}", resource.getFileName(),
 									mediaInfo.getSize());
-								addAttribute(sb, "size", mediaInfo.getSize());
+								writer.addAttribute("size", mediaInfo.getSize());
 							}
 						}
 					} else {
-						addAttribute(sb, "size", resource.length());
+						writer.addAttribute("size", resource.length());
 					}
 				} else {
-					addAttribute(sb, "size", StoreResource.TRANS_SIZE);
-					addAttribute(sb, "duration", "09:59:59");
-					addAttribute(sb, "bitrate", "1000000");
+					writer.addAttribute("size", StoreResource.TRANS_SIZE);
+					writer.addAttribute("duration", "09:59:59");
+					writer.addAttribute("bitrate", "1000000");
 				}
 
-				endTag(sb);
+				writer.endTag();
 				// Add transcoded format extension to the output stream URL.
 				String transcodedExtension = "";
 				if (encodingFormat != null && mediaInfo != null) {
@@ -476,51 +553,52 @@ public class DidlHelper extends DlnaHelper {
 					}
 				}
 
-				sb.append(item.getMediaURL()).append(transcodedExtension);
-				closeTag(sb, "res");
+				writer.append(item.getMediaURL());
+				writer.append(transcodedExtension);
+				writer.closeTag("res");
 			}
 
 			// DESC Metadata support: add ability for control point to identify
 			// songs by MusicBrainz TrackID or audiotrack-id
 			if (mediaInfo != null && audioMetadata != null && mediaInfo.isAudio()) {
-				openTag(sb, "desc");
-				addAttribute(sb, "id", "2");
+				writer.openTag("desc");
+				writer.addAttribute("id", "2");
 				// TODO add real namespace
-				addAttribute(sb, "nameSpace", "http://ums/tags");
-				addAttribute(sb, "type", "ums-tags");
-				endTag(sb);
-				addXMLTagAndAttribute(sb, "musicbrainztrackid", audioMetadata.getMbidTrack());
-				addXMLTagAndAttribute(sb, "musicbrainzreleaseid", audioMetadata.getMbidRecord());
-				addXMLTagAndAttribute(sb, "audiotrackid", Integer.toString(audioMetadata.getAudiotrackId()));
+				writer.addAttribute("nameSpace", "http://ums/tags");
+				writer.addAttribute("type", "ums-tags");
+				writer.endTag();
+				writer.addElement("musicbrainztrackid", audioMetadata.getMbidTrack());
+				writer.addElement("musicbrainzreleaseid", audioMetadata.getMbidRecord());
+				writer.addElement("audiotrackid", Integer.toString(audioMetadata.getAudiotrackId()));
 				if (audioMetadata.getDisc() > 0) {
-					addXMLTagAndAttribute(sb, "numberOfThisDisc", Integer.toString(audioMetadata.getDisc()));
+					writer.addElement("numberOfThisDisc", Integer.toString(audioMetadata.getDisc()));
 				}
 				if (audioMetadata.getRating() != null) {
-					addXMLTagAndAttribute(sb, "rating", Integer.toString(audioMetadata.getRating()));
+					writer.addElement("rating", Integer.toString(audioMetadata.getRating()));
 				}
-				closeTag(sb, "desc");
+				writer.closeTag("desc");
 			}
 
 			if (subsAreValidForStreaming && mediaSubtitle != null) {
 				String subsURL = resource.getSubsURL(mediaSubtitle);
 				if (renderer.useClosedCaption()) {
-					openTag(sb, "sec:CaptionInfoEx");
-					addAttribute(sb, "sec:type", "srt");
-					endTag(sb);
-					sb.append(subsURL);
-					closeTag(sb, "sec:CaptionInfoEx");
+					writer.openTag("sec:CaptionInfoEx");
+					writer.addAttribute("sec:type", "srt");
+					writer.endTag();
+					writer.append(subsURL);
+					writer.closeTag("sec:CaptionInfoEx");
 					LOGGER.trace("Network debugger: sec:CaptionInfoEx: sec:type=srt " + subsURL);
 				} else if (renderer.offerSubtitlesAsResource()) {
-					openTag(sb, "res");
+					writer.openTag("res");
 					String subtitlesFormat = mediaSubtitle.getType().getExtension();
 					if (StringUtils.isBlank(subtitlesFormat)) {
 						subtitlesFormat = "plain";
 					}
 
-					addAttribute(sb, "protocolInfo", "http-get:*:text/" + subtitlesFormat + ":*");
-					endTag(sb);
-					sb.append(subsURL);
-					closeTag(sb, "res");
+					writer.addAttribute("protocolInfo", "http-get:*:text/" + subtitlesFormat + ":*");
+					writer.endTag();
+					writer.append(subsURL);
+					writer.closeTag("res");
 					LOGGER.trace("Network debugger: http-get:*:text/" + subtitlesFormat + ":*" + subsURL);
 				}
 			}
@@ -568,27 +646,25 @@ public class DidlHelper extends DlnaHelper {
 		}
 
 		if (mediaType != MediaType.IMAGE && (container == null || uclass.startsWith("object.container.album") || renderer.isSendFolderThumbnails() || resource instanceof DVDISOFile)) {
-			appendThumbnail(resource, sb, mediaType, uclass.startsWith("object.container.album"));
+			appendThumbnail(resource, writer, mediaType, uclass.startsWith("object.container.album"));
 		}
 
-		addXMLTagAndAttribute(sb, "upnp:class", uclass);
+		writer.addElement("upnp:class", uclass);
 		if (item != null) {
-			closeTag(sb, "item");
+			writer.closeTag("item");
 		} else {
-			closeTag(sb, "container");
+			writer.closeTag("container");
 		}
-
-		return sb.toString();
 	}
 
 	/**
 	 * Generate and append image and thumbnail {@code res} and
 	 * {@code upnp:albumArtURI} entries for the image.
 	 *
-	 * @param sb The {@link StringBuilder} to append the elements to.
+	 * @param writer The {@link DidlWriter} to append the elements to.
 	 */
 	@SuppressFBWarnings("SF_SWITCH_NO_DEFAULT")
-	private static void appendImage(StoreItem item, StringBuilder sb) {
+	private static void appendImage(StoreItem item, DidlWriter writer) {
 		/*
 		 * There's no technical difference between the image itself and the
 		 * thumbnail for an object.item.imageItem, they are all simply listed as
@@ -679,7 +755,7 @@ public class DidlHelper extends DlnaHelper {
 		Collections.sort(resElements, DLNAImageResElement.getComparator(imageInfo != null ? imageInfo.getFormat() : ImageFormat.JPEG));
 
 		for (DLNAImageResElement resElement : resElements) {
-			addImageResource(item, sb, resElement);
+			addImageResource(item, writer, resElement);
 		}
 
 		for (DLNAImageResElement resElement : resElements) {
@@ -691,7 +767,7 @@ public class DidlHelper extends DlnaHelper {
 					DLNAImageProfile.JPEG_TN_INT,
 					DLNAImageProfile.PNG_LRG_INT,
 					DLNAImageProfile.PNG_TN_INT
-					-> addAlbumArt(item, sb, resElement.getProfile());
+					-> addAlbumArt(item, writer, resElement.getProfile());
 			}
 		}
 	}
@@ -700,11 +776,11 @@ public class DidlHelper extends DlnaHelper {
 	 * Generate and append the thumbnail {@code res} and
 	 * {@code upnp:albumArtURI} entries for the thumbnail.
 	 *
-	 * @param sb the {@link StringBuilder} to append the response to.
+	 * @param writer the {@link DidlWriter} to append the response to.
 	 * @param mediaType the {@link MediaType} of this {@link StoreResource}.
 	 */
 	@SuppressFBWarnings("SF_SWITCH_NO_DEFAULT")
-	private static void appendThumbnail(StoreResource resource, StringBuilder sb, MediaType mediaType, boolean isAlbum) {
+	private static void appendThumbnail(StoreResource resource, DidlWriter writer, MediaType mediaType, boolean isAlbum) {
 
 		/*
 		 * JPEG_TN = Max 160 x 160; EXIF Ver.1.x or later or JFIF 1.02; SRGB or
@@ -819,7 +895,7 @@ public class DidlHelper extends DlnaHelper {
 			Collections.sort(resElements, DLNAImageResElement.getComparator(imageInfo != null ? imageInfo.getFormat() : ImageFormat.JPEG));
 
 			for (DLNAImageResElement resElement : resElements) {
-				addImageResource(resource, sb, resElement);
+				addImageResource(resource, writer, resElement);
 			}
 
 			if (isAlbum || renderer.needAlbumArtHack()) {
@@ -827,14 +903,14 @@ public class DidlHelper extends DlnaHelper {
 					// Offering AlbumArt for object other than Album container
 					// breaks the standard, but some renderers need it.
 					switch (resElement.getProfile().toInt()) {
-						case DLNAImageProfile.GIF_LRG_INT, DLNAImageProfile.JPEG_SM_INT, DLNAImageProfile.JPEG_TN_INT, DLNAImageProfile.PNG_LRG_INT, DLNAImageProfile.PNG_TN_INT -> addAlbumArt(resource, sb, resElement.getProfile());
+						case DLNAImageProfile.GIF_LRG_INT, DLNAImageProfile.JPEG_SM_INT, DLNAImageProfile.JPEG_TN_INT, DLNAImageProfile.PNG_LRG_INT, DLNAImageProfile.PNG_TN_INT -> addAlbumArt(resource, writer, resElement.getProfile());
 					}
 				}
 			}
 		}
 	}
 
-	private static void addImageResource(StoreResource resource, StringBuilder sb, DLNAImageResElement resElement) {
+	private static void addImageResource(StoreResource resource, DidlWriter writer, DLNAImageResElement resElement) {
 		if (resource == null) {
 			throw new NullPointerException("resource cannot be null");
 		}
@@ -865,18 +941,18 @@ public class DidlHelper extends DlnaHelper {
 			} else {
 				ciFlag = ";DLNA.ORG_CI=" + resElement.getCiFlag().toString();
 			}
-			openTag(sb, "res");
+			writer.openTag("res");
 			if (resElement.getSize() != null && resElement.getSize() > 0) {
-				addAttribute(sb, "size", resElement.getSize());
+				writer.addAttribute("size", resElement.getSize());
 			}
 			if (resElement.isResolutionKnown()) {
-				addAttribute(sb, "resolution", Integer.toString(resElement.getWidth()) + "x" + Integer.toString(resElement.getHeight()));
+				writer.addAttribute("resolution", Integer.toString(resElement.getWidth()) + "x" + Integer.toString(resElement.getHeight()));
 			}
 
-			addAttribute(sb, "xmlns:dlna", "urn:schemas-dlna-org:metadata-1-0/");
-			addAttribute(sb, "protocolInfo", "http-get:*:" + resElement.getProfile().getMimeType() + ":DLNA.ORG_PN=" +
+			writer.addAttribute("xmlns:dlna", "urn:schemas-dlna-org:metadata-1-0/");
+			writer.addAttribute("protocolInfo", "http-get:*:" + resElement.getProfile().getMimeType() + ":DLNA.ORG_PN=" +
 				resElement.getProfile() + ciFlag + ";DLNA.ORG_FLAGS=00900000000000000000000000000000");
-			endTag(sb);
+			writer.endTag();
 			String updateId = MediaStoreIds.getObjectUpdateIdAsString(resource.getLongId());
 			if (updateId != null && url != null) {
 				if (url.contains("?")) {
@@ -885,12 +961,12 @@ public class DidlHelper extends DlnaHelper {
 					url += "?update=" + updateId;
 				}
 			}
-			sb.append(url);
-			closeTag(sb, "res");
+			writer.append(url);
+			writer.closeTag("res");
 		}
 	}
 
-	private static void addAlbumArt(StoreResource resource, StringBuilder sb, DLNAImageProfile thumbnailProfile) {
+	private static void addAlbumArt(StoreResource resource, DidlWriter writer, DLNAImageProfile thumbnailProfile) {
 		String rendererProfile = resource.getDefaultRenderer().getAlbumArtProfile();
 		if (StringUtils.isNotBlank(rendererProfile) && !rendererProfile.equalsIgnoreCase(thumbnailProfile.toString())) {
 			return;
@@ -905,19 +981,19 @@ public class DidlHelper extends DlnaHelper {
 					albumArtURL += "?update=" + updateId;
 				}
 			}
-			openTag(sb, "upnp:albumArtURI");
-			addAttribute(sb, "dlna:profileID", thumbnailProfile);
-			addAttribute(sb, "xmlns:dlna", "urn:schemas-dlna-org:metadata-1-0/");
-			endTag(sb);
-			sb.append(albumArtURL);
-			closeTag(sb, "upnp:albumArtURI");
+			writer.openTag("upnp:albumArtURI");
+			writer.addAttribute("dlna:profileID", thumbnailProfile);
+			writer.addAttribute("xmlns:dlna", "urn:schemas-dlna-org:metadata-1-0/");
+			writer.endTag();
+			writer.append(albumArtURL);
+			writer.closeTag("upnp:albumArtURI");
 		}
 	}
 
-	private static void addBookmark(StoreResource resource, StringBuilder sb, String title) {
+	private static void addBookmark(StoreResource resource, DidlWriter writer, String title) {
 		if (resource.getMediaStatus() != null) {
 			LOGGER.debug("Setting bookmark for {} => {}", title, resource.getMediaStatus().getBookmark());
-			addXMLTagAndAttribute(sb, "sec:dcmInfo", encodeXML(String.format("CREATIONDATE=0,FOLDER=%s,BM=%d", title, resource.getMediaStatus().getBookmark())));
+			writer.addTextElement("sec:dcmInfo", String.format("CREATIONDATE=0,FOLDER=%s,BM=%d", title, resource.getMediaStatus().getBookmark()));
 		}
 	}
 
@@ -927,92 +1003,4 @@ public class DidlHelper extends DlnaHelper {
 		}
 	}
 
-	/**
-	 * Appends "&lt;<u>tag</u> " to the StringBuilder. This is a typical
-	 * HTML/DIDL/XML tag opening.
-	 *
-	 * @param sb String to append the tag beginning to.
-	 * @param tag String that represents the tag
-	 */
-	private static void openTag(StringBuilder sb, String tag) {
-		sb.append("&lt;");
-		sb.append(tag);
-	}
-
-	/**
-	 * Appends the closing symbol &gt; to the StringBuilder. This is a typical
-	 * HTML/DIDL/XML tag closing.
-	 *
-	 * @param sb String to append the ending character of a tag.
-	 */
-	private static void endTag(StringBuilder sb) {
-		sb.append("&gt;");
-	}
-
-	/**
-	 * Appends "&lt;/<u>tag</u>&gt;" to the StringBuilder. This is a typical
-	 * closing HTML/DIDL/XML tag.
-	 *
-	 * @param sb
-	 * @param tag
-	 */
-	private static void closeTag(StringBuilder sb, String tag) {
-		sb.append("&lt;/");
-		sb.append(tag);
-		sb.append("&gt;");
-	}
-
-	private static void addAttribute(StringBuilder sb, String attribute, Object value) {
-		sb.append(' ');
-		sb.append(attribute);
-		sb.append("=\"");
-		sb.append(value);
-		sb.append("\"");
-	}
-
-	private static void addXMLTagAndAttribute(StringBuilder sb, String tag, Object value) {
-		sb.append("&lt;");
-		sb.append(tag);
-		sb.append("&gt;");
-		sb.append(value);
-		sb.append("&lt;/");
-		sb.append(tag);
-		sb.append("&gt;");
-	}
-
-	private static void addXMLTagAndAttributeWithRole(StringBuilder sb, String tag, Object value) {
-		String myTagWithoutRole = tag.split(" ")[0];
-		sb.append("&lt;");
-		sb.append(tag);
-		sb.append("&gt;");
-		sb.append(value);
-		sb.append("&lt;/");
-		sb.append(myTagWithoutRole);
-		sb.append("&gt;");
-	}
-
-	/**
-	 * Does double transformations between &<> characters and their XML
-	 * representation with ampersands.
-	 *
-	 * @param s String to be encoded
-	 * @return Encoded String
-	 */
-	private static String encodeXML(String s) {
-		s = s.replace("&", "&amp;");
-		s = s.replace("<", "&lt;");
-		s = s.replace(">", "&gt;");
-		/*
-		 * Skip encoding/escaping ' and " for compatibility with some renderers
-		 * This might need to be made into a renderer option if some renderers
-		 * require them to be encoded s = s.replace("\"", "&quot;"); s =
-		 * s.replace("'", "&apos;");
-		 */
-
-		// The second encoding/escaping of & is not a bug, it's what effectively
-		// adds the second layer of encoding/escaping
-		s = s.replace("&", "&amp;");
-		return s;
-	}
-
 }
@@ -0,0 +1,181 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.dlna;
+
+/**
+ * Writes DIDL-Lite markup in a single pass into a {@link StringBuilder}.
+ * <p>
+ * Text values are escaped character by character while they are appended, so
+ * no intermediate {@link String} is created per value. The markup can either
+ * be written as plain XML, or already escaped for embedding in another XML
+ * document like a SOAP response, in which case the text values are escaped
+ * twice.
+ * <p>
+ * Only {@code &}, {@code <} and {@code >} are escaped in the text values.
+ * {@code '} and {@code "} are kept for compatibility with some renderers.
+ */
+final class DidlWriter {
+
+	private final StringBuilder sb;
+	private final boolean embedded;
+	private final String lt;
+	private final String gt;
+
+	/**
+	 * @param sb the {@link StringBuilder} to write to.
+	 * @param embedded whether the markup is escaped for embedding in another
+	 *            XML document.
+	 */
+	DidlWriter(StringBuilder sb, boolean embedded) {
+		this.sb = sb;
+		this.embedded = embedded;
+		this.lt = embedded ? "&lt;" : "<";
+		this.gt = embedded ? "&gt;" : ">";
+	}
+
+	/**
+	 * @return Whether the markup is escaped for embedding in another XML
+	 *         document.
+	 */
+	boolean isEmbedded() {
+		return embedded;
+	}
+
+	/**
+	 * @return The number of characters of the underlying buffer.
+	 */
+	int length() {
+		return sb.length();
+	}
+
+	/**
+	 * Returns the characters written since the given buffer position.
+	 *
+	 * @param start the buffer position from {@link #length()}.
+	 * @return The written characters.
+	 */
+	String substring(int start) {
+		return sb.substring(start);
+	}
+
+	/**
+	 * Appends "&lt;<u>tag</u>", the beginning of an opening tag.
+	 *
+	 * @param tag the tag name.
+	 */
+	void openTag(String tag) {
+		sb.append(lt).append(tag);
+	}
+
+	/**
+	 * Appends "&gt;", the end of an opening tag.
+	 */
+	void endTag() {
+		sb.append(gt);
+	}
+
+	/**
+	 * Appends "&lt;/<u>tag</u>&gt;", a closing tag.
+	 *
+	 * @param tag the tag name.
+	 */
+	void closeTag(String tag) {
+		sb.append(lt).append('/').append(tag).append(gt);
+	}
+
+	/**
+	 * Appends an attribute to the opened tag. The value is not escaped.
+	 *
+	 * @param attribute the attribute name.
+	 * @param value the attribute value.
+	 */
+	void addAttribute(String attribute, Object value) {
+		sb.append(' ').append(attribute).append("=\"").append(value).append('"');
+	}
+
+	/**
+	 * Appends an attribute to the opened tag. The value is not escaped.
+	 *
+	 * @param attribute the attribute name.
+	 * @param value the attribute value.
+	 */
+	void addAttribute(String attribute, long value) {
+		sb.append(' ').append(attribute).append("=\"").append(value).append('"');
+	}
+
+	/**
+	 * Appends an element whose value doesn't need escaping, like a number or
+	 * a date.
+	 *
+	 * @param tag the tag name.
+	 * @param value the element value.
+	 */
+	void addElement(String tag, Object value) {
+		sb.append(lt).append(tag).append(gt).append(value);
+		closeTag(tag);
+	}
+
+	/**
+	 * Appends an element with an escaped text value.
+	 *
+	 * @param tag the tag name, which may contain attributes.
+	 * @param value the element text.
+	 */
+	void addTextElement(String tag, String value) {
+		sb.append(lt).append(tag).append(gt);
+		appendText(value);
+		int space = tag.indexOf(' ');
+		closeTag(space < 0 ? tag : tag.substring(0, space));
+	}
+
+	/**
+	 * Appends a value without escaping, like an URL.
+	 *
+	 * @param value the value.
+	 */
+	void append(String value) {
+		sb.append(value);
+	}
+
+	/**
+	 * Appends an escaped text value.
+	 *
+	 * @param value the text.
+	 */
+	void appendText(String value) {
+		if (value == null) {
+			sb.append((String) null);
+			return;
+		}
+		int length = value.length();
+		int start = 0;
+		for (int i = 0; i < length; i++) {
+			String replacement = switch (value.charAt(i)) {
+				case '&' -> embedded ? "&amp;amp;" : "&amp;";
+				case '<' -> embedded ? "&amp;lt;" : "&lt;";
+				case '>' -> embedded ? "&amp;gt;" : "&gt;";
+				default -> null;
+			};
+			if (replacement != null) {
+				sb.append(value, start, i).append(replacement);
+				start = i + 1;
+			}
+		}
+		sb.append(value, start, length);
+	}
+
+}
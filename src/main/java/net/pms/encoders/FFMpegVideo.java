@@ -193,6 +193,7 @@ public class FFMpegVideo extends Engine {
 			if (params.getSid() != null && params.getSid().getType().isText()) {
 				boolean isSubsASS = params.getSid().getType() == SubtitleType.ASS;
 				String originalSubsFilename = null;
+				File cachedSubs = null;
 				if (is3D) {
 					if (convertedSubs != null && convertedSubs.getConvertedFile() != null) { // subs are already converted to 3D so use them
 						originalSubsFilename = convertedSubs.getConvertedFile().getAbsolutePath();
@@ -223,17 +224,24 @@ public class FFMpegVideo extends Engine {
 						LOGGER.error("External subtitles file \"{}\" is unavailable", params.getSid().getName());
 					}
 				} else {
-					originalSubsFilename = resource.getFileName();
+					// Use the subtitles extracted in the background when available,
+					// FFmpeg would otherwise read the whole container before starting
+					cachedSubs = SubtitleUtils.getCachedSubtitles(resource, mediaInfo, params.getSid(), configuration);
+					if (cachedSubs != null) {
+						originalSubsFilename = cachedSubs.getAbsolutePath();
+					} else {
+						originalSubsFilename = resource.getFileName();
+					}
 				}
 
 				if (originalSubsFilename != null) {
 					subsFilter.append("subtitles=").append(StringUtil.ffmpegEscape(originalSubsFilename));
-					if (params.getSid().isEmbedded()) {
+					if (params.getSid().isEmbedded() && cachedSubs == null) {
 						subsFilter.append(":si=").append(params.getSid().getId());
 					}
 
 					// Set the input subtitles character encoding if not UTF-8
-					if (!params.getSid().isSubsUtf8()) {
+					if (!params.getSid().isSubsUtf8() && cachedSubs == null) {
 						if (StringUtils.isNotBlank(configuration.getSubtitlesCodepage())) {
 							subsFilter.append(":charenc=").append(configuration.getSubtitlesCodepage());
 						} else if (params.getSid().getSubCharacterSet() != null) {
@@ -242,7 +250,8 @@ public class FFMpegVideo extends Engine {
 					}
 
 					// If the FFmpeg font config is enabled than we need to add settings to the filter. TODO there could be also changed the font type. See http://ffmpeg.org/ffmpeg-filters.html#subtitles-1
-					if (configuration.isFFmpegFontConfig() && !is3D && !isSubsASS) { // Do not force style for 3D videos and ASS subtitles
+					// The subtitles extracted in the background are already styled
+					if (configuration.isFFmpegFontConfig() && !is3D && !isSubsASS && cachedSubs == null) { // Do not force style for 3D videos and ASS subtitles
 						subsFilter.append(":force_style=");
 						subsFilter.append("'");
 						String fontName = configuration.getFont();
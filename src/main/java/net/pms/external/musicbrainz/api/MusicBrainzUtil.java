@@ -32,6 +32,7 @@ import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import net.pms.database.MediaDatabase;
 import net.pms.database.MediaTableMusicBrainzReleases;
+import net.pms.util.RateLimiter;
 import net.pms.util.StringUtil;
 import net.pms.util.XmlUtils;
 import static org.apache.commons.lang3.StringUtils.isBlank;
@@ -60,6 +61,11 @@ public class MusicBrainzUtil {
 	private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY = XmlUtils.xxeDisabledDocumentBuilderFactory();
 	private static final String ENCODING = StandardCharsets.UTF_8.name();
 
+	/**
+	 * MusicBrainz blocks the clients sending more than one request per second.
+	 */
+	private static final RateLimiter RATE_LIMITER = new RateLimiter(1, 1);
+
 	/**
 	 * This class is not meant to be instantiated.
 	 */
@@ -349,6 +355,7 @@ public class MusicBrainzUtil {
 					}
 
 					try {
+						RATE_LIMITER.acquire();
 						HttpURLConnection connection = (HttpURLConnection) URI.create(url).toURL().openConnection();
 						connection.setRequestProperty("Accept-Charset", StandardCharsets.UTF_8.name());
 						int status = connection.getResponseCode();
@@ -24,12 +24,8 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 import net.pms.PMS;
 import net.pms.configuration.UmsConfiguration;
-import net.pms.database.MediaDatabase;
 import net.pms.database.MediaTableFiles;
 import net.pms.dlna.DLNAThumbnail;
 import net.pms.external.JavaHttpClient;
@@ -37,10 +33,8 @@ import net.pms.formats.Format;
 import net.pms.formats.FormatFactory;
 import net.pms.media.MediaInfo;
 import net.pms.media.audio.MediaAudio;
-import net.pms.store.MediaStore;
 import net.pms.store.ThumbnailSource;
 import net.pms.store.ThumbnailStore;
-import net.pms.util.SimpleThreadFactory;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,17 +44,6 @@ public class RadioBrowser4j {
 	private static final Logger LOGGER = LoggerFactory.getLogger(RadioBrowser.class.getName());
 	private static final UmsConfiguration CONFIGURATION = PMS.getConfiguration();
 
-	// Minimum number of threads in pool
-	private static final ThreadPoolExecutor BACKGROUND_EXECUTOR = new ThreadPoolExecutor(
-			0,
-			5, // Maximum number of threads in pool
-			30, TimeUnit.SECONDS, // Number of seconds before an idle thread is terminated
-			// The queue holding the tasks waiting to be processed
-			new LinkedBlockingQueue<>(),
-			// The ThreadFactory
-			new SimpleThreadFactory("Lookup RadioBrowser Metadata background worker", "Lookup RadioBrowser Metadata background workers group", Thread.NORM_PRIORITY - 1)
-	);
-
 	private static RadioBrowser radioBrowser;
 
 	/**
@@ -69,20 +52,6 @@ public class RadioBrowser4j {
 	private RadioBrowser4j() {
 	}
 
-	private static boolean shouldLookupAndAddMetadata() {
-		if (BACKGROUND_EXECUTOR.isShutdown()) {
-			LOGGER.trace("Not doing background WebStream lookup because background executor is shutdown");
-			return false;
-		}
-
-		if (!MediaDatabase.isAvailable()) {
-			LOGGER.trace("Not doing background WebStream lookup because database is closed");
-			return false;
-		}
-
-		return true;
-	}
-
 	private static boolean isRadioBrowserExists() {
 		if (radioBrowser == null) {
 			Optional<String> endpoint = Optional.empty();
@@ -163,38 +132,4 @@ public class RadioBrowser4j {
 		return sb.toString();
 	}
 
-	/**
-	 * Enhances existing MediaInfo attached to this WebStream.
-	 *
-	 * @param uri WebStream uri
-	 * @param mediaInfo MediaInfo
-	 */
-	public static void backgroundLookupAndAddMetadata(final String uri, final String radioBrowserUUID, final MediaInfo mediaInfo) {
-		if (!shouldLookupAndAddMetadata()) {
-			return;
-		}
-		//do not try a lookup if already queued on last 5 minutes
-		long elapsed = System.currentTimeMillis() - mediaInfo.getLastExternalLookup();
-		if (elapsed < 300000) {
-			return;
-		}
-		mediaInfo.setLastExternalLookup(System.currentTimeMillis());
-		Runnable r = () -> {
-			try {
-				// wait until MediaStore Workers release before starting
-				MediaStore.waitWorkers();
-				//ensure mediaInfo is not parsing
-				mediaInfo.waitMediaParsing(10);
-			} catch (InterruptedException ex) {
-				Thread.currentThread().interrupt();
-				return;
-			}
-			if (!StringUtils.isBlank(radioBrowserUUID) && RadioBrowser4j.getWebStreamMetadata(mediaInfo, uri, radioBrowserUUID)) {
-				MediaTableFiles.insertOrUpdateData(uri, 0, Format.AUDIO, mediaInfo);
-			}
-		};
-		LOGGER.trace("Queuing background WebStream lookup for {}", uri);
-		BACKGROUND_EXECUTOR.execute(r);
-	}
-
 }
@@ -53,15 +53,25 @@ import com.universalmediaserver.tmdbapi.schema.tv.episode.TvEpisodeTypedSchema;
 import com.universalmediaserver.tmdbapi.schema.tv.season.TvSeasonDetailsSchema;
 import java.io.File;
 import java.io.IOException;
+import java.lang.ref.WeakReference;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 import net.pms.Messages;
 import net.pms.PMS;
@@ -69,6 +79,7 @@ import net.pms.configuration.UmsConfiguration;
 import net.pms.database.MediaDatabase;
 import net.pms.database.MediaTableFailedLookups;
 import net.pms.database.MediaTableFiles;
+import net.pms.database.MediaTableMetadataLookups;
 import net.pms.database.MediaTableTVSeries;
 import net.pms.database.MediaTableVideoMetadata;
 import net.pms.database.MediaTableVideoMetadataLocalized;
@@ -82,6 +93,8 @@ import net.pms.media.video.metadata.ApiStringArray;
 import net.pms.media.video.metadata.MediaVideoMetadata;
 import net.pms.media.video.metadata.TvSeriesMetadata;
 import net.pms.media.video.metadata.VideoMetadataLocalized;
+import net.pms.metrics.Counter;
+import net.pms.metrics.Metrics;
 import net.pms.store.MediaInfoStore;
 import net.pms.store.MediaStore;
 import net.pms.store.MediaStoreIds;
@@ -90,6 +103,7 @@ import net.pms.store.ThumbnailStore;
 import net.pms.util.FileNameMetadata;
 import net.pms.util.FileUtil;
 import net.pms.util.ImdbUtil;
+import net.pms.util.RateLimiter;
 import net.pms.util.SimpleThreadFactory;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -108,22 +122,42 @@ public class TMDB {
 	private static final Gson GSON = new Gson();
 	private static final DebounceTraceLogger DEBOUNCED_TRACE_LOGGER = new DebounceTraceLogger();
 
-	// Minimum number of threads in pool
-	private static final ThreadPoolExecutor BACKGROUND_EXECUTOR = new ThreadPoolExecutor(
-			0,
-			5, // Maximum number of threads in pool
+	/**
+	 * TMDB allows about 50 requests per second and per IP, keep a margin for
+	 * the other clients on the network.
+	 */
+	private static final RateLimiter RATE_LIMITER = new RateLimiter(20, 20);
+	private static final int LOOKUP_WORKERS = 4;
+	private static final ThreadPoolExecutor LOOKUP_EXECUTOR = new ThreadPoolExecutor(
+			LOOKUP_WORKERS,
+			LOOKUP_WORKERS,
 			30, TimeUnit.SECONDS, // Number of seconds before an idle thread is terminated
-			// The queue holding the tasks waiting to be processed
 			new LinkedBlockingQueue<>(),
-			// The ThreadFactory
 			new SimpleThreadFactory("Lookup TMDB Metadata background worker", "Lookup TMDB Metadata background workers group", Thread.NORM_PRIORITY - 1)
 	);
+	private static final AtomicInteger ACTIVE_LOOKUP_WORKERS = new AtomicInteger();
+
+	/**
+	 * The groups of files being looked up, guarded by itself.
+	 */
+	private static final Set<String> LOOKUP_GROUPS_IN_PROGRESS = new HashSet<>();
+
+	/**
+	 * The media information of the queued files, to update the instances in
+	 * use when they are looked up.
+	 */
+	private static final Map<String, WeakReference<MediaInfo>> QUEUED_MEDIA_INFO = new ConcurrentHashMap<>();
+	private static final AtomicInteger QUEUED_LOOKUPS = new AtomicInteger();
+	private static final Deque<Long> LOOKUP_TIMES = new ConcurrentLinkedDeque<>();
+	private static final Counter LOOKUPS = Metrics.counter("ums_metadata_lookups_total", "External metadata lookups done", "api", "tmdb");
 
 	static {
+		LOOKUP_EXECUTOR.allowCoreThreadTimeOut(true);
+		Metrics.gauge("ums_metadata_lookups_queued", "Files waiting for an external metadata lookup", "api", "tmdb", QUEUED_LOOKUPS::get);
 		Runtime.getRuntime().addShutdownHook(new Thread("TMDB Utils Executor Shutdown Hook") {
 			@Override
 			public void run() {
-				BACKGROUND_EXECUTOR.shutdownNow();
+				LOOKUP_EXECUTOR.shutdownNow();
 			}
 		});
 	}
@@ -136,6 +170,14 @@ public class TMDB {
 	private TMDB() {
 	}
 
+	/**
+	 * @return the TMDB client, once the rate limit allows a new request.
+	 */
+	private static TMDbClient client() {
+		RATE_LIMITER.acquire();
+		return CLIENT;
+	}
+
 	public static boolean isReady() {
 		if (!CONFIGURATION.isUseInfoFromTMDB() || StringUtils.isBlank(CONFIGURATION.getTmdbApiKey())) {
 			return false;
@@ -147,7 +189,7 @@ public class TMDB {
 	}
 
 	private static boolean shouldLookupAndAddMetadata(final File file, final MediaInfo mediaInfo) {
-		if (BACKGROUND_EXECUTOR.isShutdown()) {
+		if (LOOKUP_EXECUTOR.isShutdown()) {
 			DEBOUNCED_TRACE_LOGGER.log("Not doing background API lookup because background executor is shut down");
 			return false;
 		}
@@ -180,6 +222,9 @@ public class TMDB {
 
 	/**
 	 * Enhances existing MediaInfo attached to this media by querying TMDB.
+	 * <p>
+	 * The lookup is queued in the database, so it survives a restart, and done
+	 * by a background worker.
 	 *
 	 * @param file
 	 * @param mediaInfo MediaInfo
@@ -194,21 +239,196 @@ public class TMDB {
 			return;
 		}
 		mediaInfo.setLastExternalLookup(System.currentTimeMillis());
-		Runnable r = () -> {
-			try {
-				// wait until MediaStore Workers release before starting
-				MediaStore.waitWorkers();
-			} catch (InterruptedException ex) {
-				Thread.currentThread().interrupt();
+		try (Connection connection = MediaDatabase.getConnectionIfAvailable()) {
+			if (connection == null) {
 				return;
 			}
+			QUEUED_MEDIA_INFO.put(file.getAbsolutePath(), new WeakReference<>(mediaInfo));
+			MediaTableMetadataLookups.add(connection, file.getAbsolutePath(), getLookupGroup(file, mediaInfo));
+		} catch (SQLException ex) {
+			LOGGER.trace("Error in TMDB queuing:", ex);
+			return;
+		}
+		LOGGER.trace("Queuing background TMDB lookup for {}", file.getName());
+		startLookupWorkers();
+	}
 
-			if (!shouldLookupAndAddMetadata(file, mediaInfo)) {
+	/**
+	 * Starts looking up the files queued before the last shutdown.
+	 */
+	public static void resumeQueuedLookups() {
+		startLookupWorkers();
+	}
+
+	/**
+	 * Returns the key of the files to look up together: the episodes of the
+	 * same TV series, so the first one finds the TV series and the others
+	 * reuse it.
+	 */
+	private static String getLookupGroup(final File file, final MediaInfo mediaInfo) {
+		if (mediaInfo.hasVideoMetadata() && mediaInfo.getVideoMetadata().isTvEpisode()) {
+			MediaVideoMetadata videoMetadata = mediaInfo.getVideoMetadata();
+			if (videoMetadata.getTvSeriesId() != null) {
+				return "tv:" + videoMetadata.getTvSeriesId();
+			}
+			if (StringUtils.isNotBlank(videoMetadata.getMovieOrShowName())) {
+				return "tv:" + videoMetadata.getMovieOrShowName().toLowerCase(Locale.ROOT);
+			}
+		}
+		return file.getAbsolutePath();
+	}
+
+	/**
+	 * Starts a worker for each queued group, up to {@value #LOOKUP_WORKERS}
+	 * workers.
+	 */
+	private static void startLookupWorkers() {
+		int groups;
+		try (Connection connection = MediaDatabase.getConnectionIfAvailable()) {
+			if (connection == null) {
 				return;
 			}
+			groups = MediaTableMetadataLookups.getGroupCount(connection);
+		} catch (SQLException ex) {
+			LOGGER.trace("Error in TMDB queue:", ex);
+			return;
+		}
+		int maxWorkers = Math.min(LOOKUP_WORKERS, groups);
+		int workers = ACTIVE_LOOKUP_WORKERS.get();
+		while (workers < maxWorkers) {
+			if (ACTIVE_LOOKUP_WORKERS.compareAndSet(workers, workers + 1)) {
+				try {
+					LOOKUP_EXECUTOR.execute(TMDB::runLookupWorker);
+				} catch (RejectedExecutionException e) {
+					ACTIVE_LOOKUP_WORKERS.decrementAndGet();
+					return;
+				}
+			}
+			workers = ACTIVE_LOOKUP_WORKERS.get();
+		}
+	}
 
+	/**
+	 * @return the number of lookup workers started so far.
+	 */
+	//used only from test class
+	static long getStartedLookupWorkers() {
+		return LOOKUP_EXECUTOR.getTaskCount();
+	}
+
+	/**
+	 * Looks up the queued groups of files until none is left, in parallel with
+	 * the other workers.
+	 */
+	private static void runLookupWorker() {
+		try {
+			// wait until MediaStore Workers release before starting
+			MediaStore.waitWorkers();
+			String groupKey;
+			while ((groupKey = claimLookupGroup()) != null) {
+				try {
+					lookupAndAddMetadata(groupKey);
+				} finally {
+					synchronized (LOOKUP_GROUPS_IN_PROGRESS) {
+						LOOKUP_GROUPS_IN_PROGRESS.remove(groupKey);
+					}
+				}
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return;
+		} finally {
+			ACTIVE_LOOKUP_WORKERS.decrementAndGet();
+		}
+		// A lookup may have been queued after the last claim
+		if (!LOOKUP_EXECUTOR.isShutdown() && claimLookupGroup(false) != null) {
+			startLookupWorkers();
+		}
+	}
+
+	private static String claimLookupGroup() throws InterruptedException {
+		if (LOOKUP_EXECUTOR.isShutdown() || Thread.currentThread().isInterrupted()) {
+			throw new InterruptedException();
+		}
+		return claimLookupGroup(true);
+	}
+
+	private static String claimLookupGroup(boolean claim) {
+		synchronized (LOOKUP_GROUPS_IN_PROGRESS) {
 			try (Connection connection = MediaDatabase.getConnectionIfAvailable()) {
 				if (connection == null) {
+					return null;
+				}
+				QUEUED_LOOKUPS.set(MediaTableMetadataLookups.getCount(connection));
+				String groupKey = MediaTableMetadataLookups.getNextGroup(connection, LOOKUP_GROUPS_IN_PROGRESS);
+				if (groupKey != null && claim) {
+					LOOKUP_GROUPS_IN_PROGRESS.add(groupKey);
+				}
+				return groupKey;
+			} catch (SQLException ex) {
+				LOGGER.trace("Error in TMDB queue:", ex);
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Looks up the queued files of a group, one after the other.
+	 */
+	private static void lookupAndAddMetadata(final String groupKey) throws InterruptedException {
+		List<String> filenames;
+		try (Connection connection = MediaDatabase.getConnectionIfAvailable()) {
+			if (connection == null) {
+				return;
+			}
+			filenames = MediaTableMetadataLookups.getFilenames(connection, groupKey);
+		} catch (SQLException ex) {
+			LOGGER.trace("Error in TMDB queue:", ex);
+			return;
+		}
+		for (String filename : filenames) {
+			if (LOOKUP_EXECUTOR.isShutdown() || Thread.currentThread().isInterrupted()) {
+				// Keep the remaining files queued for the next start
+				throw new InterruptedException();
+			}
+			try {
+				lookupAndAddMetadata(filename, getQueuedMediaInfo(filename));
+			} catch (RuntimeException e) {
+				// Go on with the next file, do not retry this one before it is queued again
+				LOGGER.error("Unhandled exception while looking up the metadata of \"{}\": {}", filename, e.getMessage());
+				LOGGER.trace("", e);
+				removeQueuedLookup(filename);
+			}
+		}
+	}
+
+	private static void removeQueuedLookup(final String filename) {
+		try (Connection connection = MediaDatabase.getConnectionIfAvailable()) {
+			if (connection != null) {
+				MediaTableMetadataLookups.remove(connection, filename);
+			}
+		} catch (SQLException ex) {
+			LOGGER.trace("Error in TMDB queue:", ex);
+		}
+	}
+
+	private static MediaInfo getQueuedMediaInfo(final String filename) {
+		WeakReference<MediaInfo> reference = QUEUED_MEDIA_INFO.remove(filename);
+		MediaInfo mediaInfo = reference != null ? reference.get() : null;
+		if (mediaInfo == null && new File(filename).exists()) {
+			mediaInfo = MediaInfoStore.getMediaInfo(filename);
+		}
+		return mediaInfo;
+	}
+
+	private static void lookupAndAddMetadata(final String filename, final MediaInfo mediaInfo) {
+		File file = new File(filename);
+		try (Connection connection = MediaDatabase.getConnectionIfAvailable()) {
+			if (connection == null) {
+				return;
+			}
+			try {
+				if (mediaInfo == null || !shouldLookupAndAddMetadata(file, mediaInfo)) {
 					return;
 				}
 
@@ -221,7 +441,7 @@ public class TMDB {
 					LOGGER.trace("Lookup recently failed for {}", file.getName());
 					return;
 				}
-				GuiManager.setSecondaryStatusLine(Messages.getString("GettingTMDBInfoFor") + " " + file.getName());
+				GuiManager.setSecondaryStatusLine(Messages.getString("GettingTMDBInfoFor") + " " + file.getName() + " " + getLookupsProgress());
 				connection.setAutoCommit(false);
 				if (mediaInfo.hasVideoMetadata() && mediaInfo.getVideoMetadata().isTvEpisode()) {
 					lookupAndAddTvEpisodeMetadata(connection, file, mediaInfo);
@@ -229,12 +449,35 @@ public class TMDB {
 					lookupAndAddMovieMetadata(connection, file, mediaInfo);
 				}
 				exitLookupAndAddMetadata(connection);
-			} catch (SQLException ex) {
-				LOGGER.trace("Error in TMDB parsing:", ex);
+				LOOKUPS.increment();
+				LOOKUP_TIMES.add(System.currentTimeMillis());
+			} finally {
+				if (!connection.getAutoCommit()) {
+					// The lookup failed, do not retry it before it is queued again
+					connection.rollback();
+					connection.setAutoCommit(true);
+				}
+				if (!LOOKUP_EXECUTOR.isShutdown()) {
+					MediaTableMetadataLookups.remove(connection, filename);
+					QUEUED_LOOKUPS.decrementAndGet();
+				}
 			}
-		};
-		LOGGER.trace("Queuing background TMDB lookup for {}", file.getName());
-		BACKGROUND_EXECUTOR.execute(r);
+		} catch (SQLException ex) {
+			LOGGER.trace("Error in TMDB parsing:", ex);
+		}
+	}
+
+	/**
+	 * @return the number of lookups left and done in the last minute, for the
+	 * status line.
+	 */
+	private static String getLookupsProgress() {
+		long minuteAgo = System.currentTimeMillis() - 60000;
+		Long oldest;
+		while ((oldest = LOOKUP_TIMES.peekFirst()) != null && oldest < minuteAgo) {
+			LOOKUP_TIMES.pollFirst();
+		}
+		return "(" + String.format(Messages.getString("MetadataLookupsProgress"), Math.max(0, QUEUED_LOOKUPS.get()), LOOKUP_TIMES.size()) + ")";
 	}
 
 	private static void exitLookupAndAddMetadata(Connection connection) {
@@ -289,7 +532,7 @@ public class TMDB {
 		//let store know that we change media metadata
 		MediaStoreIds.incrementUpdateIdForFilename(connection, file.getAbsolutePath());
 		//advertise queue size (only when a new real lookup is done to not flood)
-		LOGGER.info("TMDB: {} background task in queue", BACKGROUND_EXECUTOR.getQueue().size());
+		LOGGER.info("TMDB: {} background task in queue", QUEUED_LOOKUPS.get());
 	}
 
 	private static void setMovieMetadata(Connection connection, final Long fileId, final MediaInfo mediaInfo, MovieDetailsSchema movieDetails) throws SQLException {
@@ -515,7 +758,7 @@ public class TMDB {
 		//let store know that we change media metadata
 		MediaStoreIds.incrementUpdateIdForFilename(connection, file.getAbsolutePath());
 		//advertise queue size (only when a new real lookup is done to not flood)
-		LOGGER.info("TMDB: {} background task in queue", BACKGROUND_EXECUTOR.getQueue().size());
+		LOGGER.info("TMDB: {} background task in queue", QUEUED_LOOKUPS.get());
 	}
 
 	private static void setTvEpisodeMetadata(Connection connection, final Long fileId, final MediaInfo mediaInfo, final TvEpisodeDetailsSchema tvEpisodeDetails) throws SQLException {
@@ -796,7 +1039,7 @@ public class TMDB {
 		String titleSimplified = FileUtil.getSimplifiedShowName(title);
 		List<Long> tvShowIds = new ArrayList<>();
 		if (imdbId != null) {
-			FindSchema findResult = CLIENT.find(imdbId, FindExternalSource.IMDB_ID).getResults();
+			FindSchema findResult = client().find(imdbId, FindExternalSource.IMDB_ID).getResults();
 			//look into episode results
 			if (!findResult.getTvEpisodeResults().isEmpty()) {
 				for (TvEpisodeTypedSchema tvEpisodeTyped : findResult.getTvEpisodeResults()) {
@@ -826,7 +1069,7 @@ public class TMDB {
 				}
 			}
 		}
-		SearchTvEndpoint searchTvEndpoint = CLIENT.search(title).forTvShow();
+		SearchTvEndpoint searchTvEndpoint = client().search(title).forTvShow();
 		TvSimpleResultsSchema tvSimpleResultsSchema = searchTvEndpoint.getResults();
 		if (tvSimpleResultsSchema != null && tvSimpleResultsSchema.getTotalResults() > 0) {
 			for (TvSimpleSchema tvSimple : tvSimpleResultsSchema.getResults()) {
@@ -908,7 +1151,7 @@ public class TMDB {
 
 	public static JsonArray getTvShowsFromEpisode(String title, Integer year, String lang, Long currentId) throws IOException {
 		JsonArray result = new JsonArray();
-		SearchTvEndpoint searchTvEndpoint = CLIENT.search(title).forTvShow();
+		SearchTvEndpoint searchTvEndpoint = client().search(title).forTvShow();
 		if (year != null && year > 0) {
 			searchTvEndpoint.setFirstAirDateYear(year);
 		}
@@ -933,7 +1176,7 @@ public class TMDB {
 
 	public static JsonArray getMovies(String title, Integer year, String lang, Long currentId) throws IOException {
 		JsonArray result = new JsonArray();
-		SearchMovieEndpoint searchMovieEndpoint = CLIENT.search(title).forMovie();
+		SearchMovieEndpoint searchMovieEndpoint = client().search(title).forMovie();
 		if (year != null && year != 0) {
 			searchMovieEndpoint.setYear(year);
 		}
@@ -993,7 +1236,7 @@ public class TMDB {
 	 * @param episode media tv series episode.
 	 * @return the VideoMetadataLocalized for the specific language.
 	 */
-	public static synchronized VideoMetadataLocalized getVideoMetadataLocalized(
+	public static VideoMetadataLocalized getVideoMetadataLocalized(
 			final String language,
 			final String mediaType,
 			final String imdbId,
@@ -1028,7 +1271,7 @@ public class TMDB {
 	}
 
 	private static VideoMetadataLocalized getCollectionMetadataLocalized(final Long tmdbId, final String language) {
-		CollectionDetailsSchema collectionDetailsSchema = CLIENT.collection(tmdbId)
+		CollectionDetailsSchema collectionDetailsSchema = client().collection(tmdbId)
 				.setLanguage(language)
 				.getDetails();
 		VideoMetadataLocalized metadata = new VideoMetadataLocalized();
@@ -1043,7 +1286,7 @@ public class TMDB {
 	}
 
 	private static VideoMetadataLocalized getMovieMetadataLocalized(final Long tmdbId, final String language) {
-		MovieDetailsSchema movieDetailsSchema = CLIENT.movie(tmdbId)
+		MovieDetailsSchema movieDetailsSchema = client().movie(tmdbId)
 				.setLanguage(language)
 				.getDetails();
 		VideoMetadataLocalized metadata = new VideoMetadataLocalized();
@@ -1060,7 +1303,7 @@ public class TMDB {
 	}
 
 	private static VideoMetadataLocalized getTvShowMetadataLocalized(final Long tmdbId, final String language) {
-		TvDetailsSchema tvDetailsSchema = CLIENT.tv(tmdbId)
+		TvDetailsSchema tvDetailsSchema = client().tv(tmdbId)
 				.setLanguage(language)
 				.getDetails();
 		VideoMetadataLocalized metadata = new VideoMetadataLocalized();
@@ -1081,7 +1324,7 @@ public class TMDB {
 		if (season == null) {
 			return null;
 		}
-		TvSeasonDetailsSchema tvSeasonDetailsSchema = CLIENT.tvSeason(tmdbId, season)
+		TvSeasonDetailsSchema tvSeasonDetailsSchema = client().tvSeason(tmdbId, season)
 				.setLanguage(language)
 				.getDetails();
 		VideoMetadataLocalized metadata = new VideoMetadataLocalized();
@@ -1103,7 +1346,7 @@ public class TMDB {
 		if (episodeNumber == null) {
 			return null;
 		}
-		TvEpisodeDetailsSchema tvEpisodeDetailsSchema = CLIENT.tvEpisode(tmdbId, season, episodeNumber)
+		TvEpisodeDetailsSchema tvEpisodeDetailsSchema = client().tvEpisode(tmdbId, season, episodeNumber)
 				.setLanguage(language)
 				.getDetails();
 		VideoMetadataLocalized metadata = new VideoMetadataLocalized();
@@ -1122,7 +1365,7 @@ public class TMDB {
 			int seasonNumber,
 			int episodeNumber
 	) throws IOException {
-		return CLIENT.tvEpisode(tvShowId, seasonNumber, episodeNumber)
+		return client().tvEpisode(tvShowId, seasonNumber, episodeNumber)
 				.appendToResponse(TvEpisodeAppendToResponse.CREDITS)
 				.appendToResponse(TvEpisodeAppendToResponse.EXTERNAL_IDS)
 				.appendToResponse(TvEpisodeAppendToResponse.IMAGES)
@@ -1133,7 +1376,7 @@ public class TMDB {
 	private static TvDetailsSchema getTvShowInfo(
 			long tvId
 	) throws IOException {
-		return CLIENT.tv(tvId)
+		return client().tv(tvId)
 				.appendToResponse(TvIdAppendToResponse.ALTERNATIVE_TITLES)
 				.appendToResponse(TvIdAppendToResponse.CONTENT_RATINGS)
 				.appendToResponse(TvIdAppendToResponse.CREDITS)
@@ -1149,7 +1392,7 @@ public class TMDB {
 			String imdbID
 	) throws IOException {
 		if (imdbID != null) {
-			FindSchema findResult = CLIENT.find(imdbID, FindExternalSource.IMDB_ID).getResults();
+			FindSchema findResult = client().find(imdbID, FindExternalSource.IMDB_ID).getResults();
 			if (!findResult.getMovieResults().isEmpty()) {
 				for (MovieTypedSchema movieTyped : findResult.getMovieResults()) {
 					Long tmdbId = movieTyped.getId();
@@ -1166,7 +1409,7 @@ public class TMDB {
 				}
 			}
 		}
-		SearchMovieEndpoint searchMovieEndpoint = CLIENT.search(title).forMovie();
+		SearchMovieEndpoint searchMovieEndpoint = client().search(title).forMovie();
 		if (year != null && year != 0) {
 			searchMovieEndpoint.setYear(year);
 		}
@@ -1193,7 +1436,7 @@ public class TMDB {
 			long tmdbId,
 			String language
 	) throws IOException {
-		MovieIdEndpoint movieIdEndpoint = CLIENT.movie(tmdbId)
+		MovieIdEndpoint movieIdEndpoint = client().movie(tmdbId)
 				.appendToResponse(MovieIdAppendToResponse.ALTERNATIVE_TITLES)
 				.appendToResponse(MovieIdAppendToResponse.CREDITS)
 				.appendToResponse(MovieIdAppendToResponse.EXTERNAL_IDS)
@@ -1343,7 +1586,7 @@ public class TMDB {
 	public static String getTmdbImageBaseURL() {
 		if (tmdbImageBaseURL == null && isReady()) {
 			try {
-				ConfigurationSchema configurationSchema = CLIENT.configuration().getConfiguration();
+				ConfigurationSchema configurationSchema = client().configuration().getConfiguration();
 				tmdbImageBaseURL = configurationSchema.getImages().getBaseUrl();
 			} catch (Exception e) {
 				//let use APIUtils
@@ -18,11 +18,15 @@ package net.pms.formats;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.Locale;
+import java.util.Map;
 import net.pms.formats.audio.*;
 import net.pms.formats.image.*;
 import net.pms.formats.subtitle.*;
+import net.pms.util.FileUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -102,11 +106,12 @@ public final class FormatFactory {
 		new WMA(),
 	};
 
-	private static final ReentrantReadWriteLock FORMATS_LOCK = new ReentrantReadWriteLock();
+	private static final Object FORMATS_LOCK = new Object();
 	/**
-	 * The list of registered formats.
+	 * The registered formats and their lookup index. It is never modified,
+	 * a new one replaces it when a format is added or removed.
 	 */
-	private static final List<Format> REGISTERED_FORMATS = new ArrayList<>(Arrays.asList(FORMATS));
+	private static volatile Registry registry = new Registry(Arrays.asList(FORMATS));
 
 	/**
 	 * This class should not be instantiated.
@@ -118,6 +123,10 @@ public final class FormatFactory {
 	 * of that format. Matching is done by the file extension (e.g. ".gif") or
 	 * protocol (e.g. "http://") of the filename. Will return <code>null</code>
 	 * if no match can be made.
+	 * <p>
+	 * The extensions are looked up in an index, only the formats that override
+	 * {@link Format#match(String)} are asked to match the filename. The result
+	 * is the same as asking every registered format in registration order.
 	 *
 	 * @param filename The filename to match.
 	 * @return The format.
@@ -125,18 +134,41 @@ public final class FormatFactory {
 	 * @since 1.90.0
 	 */
 	public static Format getAssociatedFormat(final String filename) {
-		FORMATS_LOCK.readLock().lock();
-		try {
-			for (Format format : REGISTERED_FORMATS) {
-				if (format.match(filename)) {
-					LOGGER.trace("Matched format {} to \"{}\"", format, filename);
+		if (filename == null) {
+			return null;
+		}
 
-					// Return a fresh instance
-					return format.duplicate();
-				}
+		Registry current = registry;
+		IndexedFormat indexed = null;
+		String extension = null;
+		if (FileUtil.getProtocol(filename) == null) {
+			int dot = filename.lastIndexOf('.');
+			if (dot > -1) {
+				extension = filename.substring(dot + 1).toLowerCase(Locale.ROOT);
+				indexed = current.extensions.get(extension);
+			}
+		}
+
+		int position = indexed == null ? Integer.MAX_VALUE : indexed.position;
+		for (IndexedFormat matcher : current.matchers) {
+			if (matcher.position > position) {
+				break;
+			}
+			if (matcher.format.match(filename)) {
+				LOGGER.trace("Matched format {} to \"{}\"", matcher.format, filename);
+
+				// Return a fresh instance
+				return matcher.format.duplicate();
 			}
-		} finally {
-			FORMATS_LOCK.readLock().unlock();
+		}
+
+		if (indexed != null) {
+			LOGGER.trace("Matched format {} to \"{}\"", indexed.format, filename);
+
+			// Return a fresh instance
+			Format format = indexed.format.duplicate();
+			format.setMatchedExtension(extension);
+			return format;
 		}
 
 		LOGGER.trace("Could not match any format to \"{}\"", filename);
@@ -147,15 +179,10 @@ public final class FormatFactory {
 		if (clazz == null) {
 			return null;
 		}
-		FORMATS_LOCK.readLock().lock();
-		try {
-			for (Format format : REGISTERED_FORMATS) {
-				if (format.getClass().equals(clazz)) {
-					return format.duplicate();
-				}
+		for (Format format : registry.formats) {
+			if (format.getClass().equals(clazz)) {
+				return format.duplicate();
 			}
-		} finally {
-			FORMATS_LOCK.readLock().unlock();
 		}
 		return null;
 	}
@@ -167,12 +194,7 @@ public final class FormatFactory {
 	 * @since 1.90.0
 	 */
 	public static List<Format> getSupportedFormats() {
-		FORMATS_LOCK.readLock().lock();
-		try {
-			return new ArrayList<>(REGISTERED_FORMATS);
-		} finally {
-			FORMATS_LOCK.readLock().unlock();
-		}
+		return new ArrayList<>(registry.formats);
 	}
 
 	/**
@@ -184,11 +206,11 @@ public final class FormatFactory {
 		if (format == null) {
 			throw new NullPointerException("format cannot be null");
 		}
-		FORMATS_LOCK.writeLock().lock();
-		try {
-			return REGISTERED_FORMATS.add(format);
-		} finally {
-			FORMATS_LOCK.writeLock().unlock();
+		synchronized (FORMATS_LOCK) {
+			List<Format> formats = new ArrayList<>(registry.formats);
+			formats.add(format);
+			registry = new Registry(formats);
+			return true;
 		}
 	}
 
@@ -201,11 +223,73 @@ public final class FormatFactory {
 		if (format == null) {
 			throw new NullPointerException("format cannot be null");
 		}
-		FORMATS_LOCK.writeLock().lock();
+		synchronized (FORMATS_LOCK) {
+			List<Format> formats = new ArrayList<>(registry.formats);
+			if (!formats.remove(format)) {
+				return false;
+			}
+			registry = new Registry(formats);
+			return true;
+		}
+	}
+
+	/**
+	 * Returns whether the format matches filenames by something else than
+	 * {@link Format#getSupportedExtensions()}.
+	 */
+	private static boolean hasCustomMatch(Format format) {
 		try {
-			return REGISTERED_FORMATS.remove(format);
-		} finally {
-			FORMATS_LOCK.writeLock().unlock();
+			return format.getClass().getMethod("match", String.class).getDeclaringClass() != Format.class;
+		} catch (NoSuchMethodException e) {
+			return true;
+		}
+	}
+
+	/**
+	 * An immutable snapshot of the registered formats, with the formats
+	 * indexed by their lower case extensions.
+	 */
+	private static class Registry {
+		private final List<Format> formats;
+		private final Map<String, IndexedFormat> extensions = new HashMap<>();
+		/**
+		 * The formats that have to be asked to match, in registration order.
+		 */
+		private final List<IndexedFormat> matchers = new ArrayList<>();
+
+		private Registry(List<Format> formats) {
+			this.formats = Collections.unmodifiableList(new ArrayList<>(formats));
+			for (int i = 0; i < this.formats.size(); i++) {
+				Format format = this.formats.get(i);
+				if (hasCustomMatch(format)) {
+					matchers.add(new IndexedFormat(format, i));
+					continue;
+				}
+				String[] supportedExtensions = format.getSupportedExtensions();
+				if (supportedExtensions == null) {
+					continue;
+				}
+				for (String supportedExtension : supportedExtensions) {
+					String extension = supportedExtension.toLowerCase(Locale.ROOT);
+					if (extension.indexOf('.') > -1) {
+						// Can't be found from the last dot of a filename
+						matchers.add(new IndexedFormat(format, i));
+						break;
+					}
+					// The first registered format wins, like the match loop
+					extensions.putIfAbsent(extension, new IndexedFormat(format, i));
+				}
+			}
+		}
+	}
+
+	private static class IndexedFormat {
+		private final Format format;
+		private final int position;
+
+		private IndexedFormat(Format format, int position) {
+			this.format = format;
+			this.position = position;
 		}
 	}
 }
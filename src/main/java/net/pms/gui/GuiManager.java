@@ -17,18 +17,29 @@
 package net.pms.gui;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 import net.pms.PMS;
 import net.pms.database.MediaDatabase;
+import net.pms.logging.LogRingBuffer;
+import net.pms.metrics.Counter;
+import net.pms.metrics.Metrics;
+import net.pms.network.webguiserver.EventSourceServer;
 import net.pms.network.webguiserver.WebGuiServer;
 import net.pms.renderers.Renderer;
 import net.pms.swing.gui.JavaGui;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class GuiManager {
-
-	private static final List<String> LOG_BUFFER = Collections.synchronizedList(new ArrayList<>());
-	private static final int LOG_BUFFER_SIZE = 5000;
+	private static final Logger LOGGER = LoggerFactory.getLogger(GuiManager.class);
+
+	private static final int LOG_BUFFER_SIZE = 8192;
+	private static final LogRingBuffer LOG_BUFFER = new LogRingBuffer(LOG_BUFFER_SIZE);
+	private static final int LOG_BATCH_SIZE = 500;
+	private static final long LOG_DISPATCH_INTERVAL = 100;
+	private static final Counter SWING_DROPPED_LOG_LINES = Metrics.counter("ums_gui_log_dropped_lines_total", "Log lines overwritten before a GUI read them", "gui", "swing");
+	private static final Counter WEB_DROPPED_LOG_LINES = Metrics.counter("ums_gui_log_dropped_lines_total", "Log lines overwritten before a GUI read them", "gui", "web");
 	private static final int BYTES_TO_MBYTES = 1024 * 1024;
 
 	private static IGui swingFrame;
@@ -44,9 +55,21 @@ public class GuiManager {
 	private static int bufferMemory;
 	private static boolean reloadable = false;
 	private static boolean serverReady = false;
-	private static boolean needLogFile = false;
 	private static boolean mediaScanRunning = false;
 
+	/**
+	 * The position of the Swing GUI in the log buffer, only read by the log
+	 * dispatcher thread. The web clients have their own position, taken when
+	 * they connect.
+	 */
+	private static volatile LogRingBuffer.Cursor swingLogCursor;
+
+	/**
+	 * Whether the last log dispatch failed, only used by the log dispatcher
+	 * thread.
+	 */
+	private static boolean logDispatchFailed;
+
 	/**
 	 * This class is not meant to be instantiated.
 	 */
@@ -57,14 +80,16 @@ public class GuiManager {
 		if (gui != null) {
 			if (gui instanceof JavaGui) {
 				// fill the log
-				dumpCurrentLog(gui);
+				swingLogCursor = LOG_BUFFER.cursorAtFirst();
 				swingFrame = gui;
 			} else if (gui instanceof WebGuiServer) {
+				// the web clients get the current log from the logs api
 				webGui = gui;
 			} else {
 				return;
 			}
 			startMemoryThread();
+			startLogDispatcherThread();
 			gui.setConnectionState(connectionState);
 			gui.setCurrentBitrate(currentBitrate);
 			gui.setPeakBitrate(peakBitrate);
@@ -93,41 +118,26 @@ public class GuiManager {
 		return (webGui != null || swingFrame != null);
 	}
 
-	// fill gui with current log
-	private static void dumpCurrentLog(IGui gui) {
-		synchronized (LOG_BUFFER) {
-			if (!LOG_BUFFER.isEmpty()) {
-				for (String buffered : LOG_BUFFER) { // drain the buffer
-					gui.appendLog(buffered);
-				}
-			}
-		}
-	}
-
+	/**
+	 * Adds a log line to the buffer read by the GUIs. This never waits for
+	 * the GUIs, the lines are delivered in batches by the log dispatcher
+	 * thread.
+	 *
+	 * @param msg the formatted log line.
+	 */
 	public static void appendLog(String msg) {
-		synchronized (LOG_BUFFER) {
-			LOG_BUFFER.add(msg);
-			if (LOG_BUFFER.size() > LOG_BUFFER_SIZE) {
-				needLogFile = true;
-				LOG_BUFFER.remove(0);
-			}
-		}
-		if (swingFrame != null) {
-			swingFrame.appendLog(msg);
-		}
-		if (webGui != null) {
-			webGui.appendLog(msg);
-		}
+		LOG_BUFFER.add(msg);
 	}
 
-	public static String[] getLogLines() {
-		synchronized (LOG_BUFFER) {
-			return LOG_BUFFER.toArray(String[]::new);
-		}
+	/**
+	 * @return the buffer of the last log lines.
+	 */
+	public static LogRingBuffer getLogBuffer() {
+		return LOG_BUFFER;
 	}
 
 	public static boolean hasMoreLogLines() {
-		return needLogFile;
+		return LOG_BUFFER.hasOverwritten();
 	}
 
 	public static void setConnectionState(EConnectionState value) {
@@ -360,4 +370,81 @@ public class GuiManager {
 
 	private static final Thread UPDATE_MEMORY_USAGE_THREAD = new Thread(UPDATE_MEMORY_USAGE_RUNNABLE, "GuiManager Memory Usage Updater");
 
+	private static synchronized void startLogDispatcherThread() {
+		if (!LOG_DISPATCHER_THREAD.isAlive()) {
+			LOG_DISPATCHER_THREAD.setDaemon(true);
+			LOG_DISPATCHER_THREAD.start();
+		}
+	}
+
+	/**
+	 * Delivers the new log lines of a cursor, in batches.
+	 *
+	 * @param cursor the position of the reader in the log buffer.
+	 * @param appender the receiver of the batches.
+	 */
+	public static void dispatchLog(LogRingBuffer.Cursor cursor, Consumer<List<String>> appender) {
+		dispatchLog(cursor, appender, WEB_DROPPED_LOG_LINES);
+	}
+
+	private static void dispatchLog(LogRingBuffer.Cursor cursor, Consumer<List<String>> appender, Counter droppedCounter) {
+		if (cursor == null) {
+			return;
+		}
+		List<String> lines = new ArrayList<>();
+		long dropped = cursor.getDropped();
+		while (cursor.read(lines, LOG_BATCH_SIZE) > 0) {
+			if (cursor.getDropped() > dropped) {
+				long count = cursor.getDropped() - dropped;
+				dropped = cursor.getDropped();
+				droppedCounter.add(count);
+				lines.add(0, String.format("%tT WARN  %d log lines were dropped%n", System.currentTimeMillis(), count));
+			}
+			appender.accept(lines);
+			lines = new ArrayList<>();
+		}
+	}
+
+	private static final Runnable LOG_DISPATCHER_RUNNABLE = () -> {
+		while (true) {
+			try {
+				Thread.sleep(LOG_DISPATCH_INTERVAL);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			boolean failed = false;
+			IGui gui = swingFrame;
+			if (gui != null) {
+				failed = !dispatchLogSafely(() -> dispatchLog(swingLogCursor, gui::appendLogs, SWING_DROPPED_LOG_LINES));
+			}
+			if (webGui != null) {
+				failed |= !dispatchLogSafely(EventSourceServer::dispatchLogs);
+			}
+			logDispatchFailed = failed;
+		}
+	};
+
+	/**
+	 * Runs a log dispatch and logs its failure, unless the previous dispatch
+	 * failed too: the error line is dispatched as well, so a failing GUI
+	 * would otherwise feed itself.
+	 *
+	 * @return whether the dispatch succeeded.
+	 */
+	private static boolean dispatchLogSafely(Runnable dispatch) {
+		try {
+			dispatch.run();
+			return true;
+		} catch (RuntimeException e) {
+			if (!logDispatchFailed) {
+				LOGGER.error("Failed to dispatch the log lines: {}", e.getMessage());
+				LOGGER.trace("", e);
+			}
+			return false;
+		}
+	}
+
+	private static final Thread LOG_DISPATCHER_THREAD = new Thread(LOG_DISPATCHER_RUNNABLE, "GuiManager Log Dispatcher");
+
 }
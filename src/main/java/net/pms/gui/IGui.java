@@ -16,10 +16,11 @@
  */
 package net.pms.gui;
 
+import java.util.List;
 import net.pms.renderers.Renderer;
 
 public interface IGui {
-	public void appendLog(String msg);
+	public void appendLogs(List<String> lines);
 	public void setCurrentBitrate(int sizeinMb);
 	public void setPeakBitrate(int sizeinMb);
 	public void setMemoryUsage(int maxMemory, int usedMemory, int dbCacheMemory, int bufferMemory);
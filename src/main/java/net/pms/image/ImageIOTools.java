@@ -24,10 +24,12 @@ import java.io.OutputStream;
 import java.util.Iterator;
 import javax.imageio.IIOException;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
 import javax.imageio.ImageReader;
 import javax.imageio.spi.IIORegistry;
 import javax.imageio.spi.ImageInputStreamSpi;
 import javax.imageio.stream.ImageInputStream;
+import net.pms.image.ImagesUtil.ScaleType;
 import net.pms.util.UnknownFormatException;
 
 /**
@@ -128,6 +130,134 @@ public class ImageIOTools {
 		}
 	}
 
+	/**
+	 * Like {@link #read(ImageInputStream)} but decodes the image directly near
+	 * the size it will be scaled to, which avoids allocating the full
+	 * resolution image when only a small version is needed.
+	 * <p>
+	 * If the source has an embedded thumbnail with the same aspect ratio that
+	 * is large enough, it is used. Otherwise the source is decoded with
+	 * subsampling, keeping at least twice the needed resolution so that the
+	 * final scaling quality is preserved. As the Exif orientation is applied
+	 * afterwards, the needed resolution is computed for both orientations.
+	 * <p>
+	 * {@link ImageReaderResult#width} and {@link ImageReaderResult#height}
+	 * are always the resolution of the source, which may differ from the
+	 * resolution of {@link ImageReaderResult#bufferedImage}.
+	 *
+	 * <b>
+	 * This method consumes and closes {@code stream}.
+	 * </b>
+	 *
+	 * @param stream an {@link ImageInputStream} to read from.
+	 * @param width the width the image will be scaled to, or 0 to decode
+	 *            the full resolution.
+	 * @param height the height the image will be scaled to, or 0 to decode
+	 *            the full resolution.
+	 * @param scaleType the {@link ScaleType} that will be used.
+	 * @return The {@link ImageReaderResult} or {@code null}.
+	 * @throws IOException if an error occurs during the operation.
+	 */
+	public static ImageReaderResult read(ImageInputStream stream, int width, int height, ScaleType scaleType) throws IOException {
+		if (width < 1 || height < 1) {
+			return read(stream);
+		}
+		if (stream == null) {
+			throw new IllegalArgumentException("stream == null!");
+		}
+
+		try (stream) {
+			Iterator<?> iter = ImageIO.getImageReaders(stream);
+			if (!iter.hasNext()) {
+				throw new UnknownFormatException("Unable to find a suitable image reader");
+			}
+
+			ImageReader reader = (ImageReader) iter.next();
+			try {
+				ImageFormat inputFormat = ImageFormat.toImageFormat(reader.getFormatName());
+				reader.setInput(stream, false, false);
+				int sourceWidth = reader.getWidth(0);
+				int sourceHeight = reader.getHeight(0);
+				double scale = getScale(sourceWidth, sourceHeight, width, height, scaleType);
+				if (scale >= 1) {
+					return toResult(reader.read(0, reader.getDefaultReadParam()), inputFormat, sourceWidth, sourceHeight);
+				}
+				int neededWidth = (int) Math.ceil(sourceWidth * scale);
+				int neededHeight = (int) Math.ceil(sourceHeight * scale);
+
+				BufferedImage bufferedImage = readThumbnail(reader, sourceWidth, sourceHeight, neededWidth, neededHeight);
+				if (bufferedImage == null) {
+					ImageReadParam param = reader.getDefaultReadParam();
+					int subsampling = Math.min(sourceWidth / neededWidth, sourceHeight / neededHeight) / 2;
+					if (subsampling > 1) {
+						param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+					}
+					bufferedImage = reader.read(0, param);
+				}
+				return toResult(bufferedImage, inputFormat, sourceWidth, sourceHeight);
+			} finally {
+				reader.dispose();
+			}
+		} catch (RuntimeException e) {
+			throw new ImageIORuntimeException("An error occurred while trying to read image: " + e.getMessage(), e);
+		}
+	}
+
+	private static ImageReaderResult toResult(BufferedImage bufferedImage, ImageFormat inputFormat, int sourceWidth, int sourceHeight) {
+		return bufferedImage != null ? new ImageReaderResult(bufferedImage, inputFormat, sourceWidth, sourceHeight) : null;
+	}
+
+	/**
+	 * Calculates the largest scale factor needed for a source to fit the
+	 * target resolution in either orientation.
+	 */
+	private static double getScale(int sourceWidth, int sourceHeight, int width, int height, ScaleType scaleType) {
+		if (sourceWidth < 1 || sourceHeight < 1) {
+			return 1;
+		}
+		double horizontal = (double) width / sourceWidth;
+		double vertical = (double) height / sourceHeight;
+		double swappedHorizontal = (double) height / sourceWidth;
+		double swappedVertical = (double) width / sourceHeight;
+		if (scaleType == ScaleType.EXACT) {
+			return Math.max(Math.max(horizontal, vertical), Math.max(swappedHorizontal, swappedVertical));
+		}
+		return Math.max(Math.min(horizontal, vertical), Math.min(swappedHorizontal, swappedVertical));
+	}
+
+	/**
+	 * Reads the smallest embedded thumbnail with the aspect ratio of the
+	 * source that is at least the needed resolution, if any.
+	 */
+	private static BufferedImage readThumbnail(ImageReader reader, int sourceWidth, int sourceHeight, int neededWidth, int neededHeight) {
+		try {
+			if (!reader.readerSupportsThumbnails() || !reader.hasThumbnails(0)) {
+				return null;
+			}
+			int best = -1;
+			long bestSize = Long.MAX_VALUE;
+			double sourceAspect = (double) sourceWidth / sourceHeight;
+			for (int i = 0; i < reader.getNumThumbnails(0); i++) {
+				int thumbnailWidth = reader.getThumbnailWidth(0, i);
+				int thumbnailHeight = reader.getThumbnailHeight(0, i);
+				long size = (long) thumbnailWidth * thumbnailHeight;
+				if (
+					thumbnailWidth >= neededWidth &&
+					thumbnailHeight >= neededHeight &&
+					Math.abs((double) thumbnailWidth / thumbnailHeight - sourceAspect) < sourceAspect * 0.01 &&
+					size < bestSize
+				) {
+					best = i;
+					bestSize = size;
+				}
+			}
+			return best < 0 ? null : reader.readThumbnail(0, best);
+		} catch (IOException | RuntimeException e) {
+			// Fall back to decoding the image itself
+			return null;
+		}
+	}
+
 	/**
 	 * Tries to detect the input image file format using {@link ImageIO} and
 	 * returns the result.
@@ -224,10 +354,27 @@ public class ImageIOTools {
 		public final int height;
 
 		public ImageReaderResult(BufferedImage bufferedImage, ImageFormat imageFormat) {
+			this(
+				bufferedImage,
+				imageFormat,
+				bufferedImage == null ? -1 : bufferedImage.getWidth(),
+				bufferedImage == null ? -1 : bufferedImage.getHeight()
+			);
+		}
+
+		public ImageReaderResult(BufferedImage bufferedImage, ImageFormat imageFormat, int width, int height) {
 			this.bufferedImage = bufferedImage;
 			this.imageFormat = imageFormat;
-			this.width = bufferedImage == null ? -1 : bufferedImage.getWidth();
-			this.height = bufferedImage == null ? -1 : bufferedImage.getHeight();
+			this.width = width;
+			this.height = height;
+		}
+
+		/**
+		 * @return Whether {@link #bufferedImage} has a lower resolution than
+		 *         the source.
+		 */
+		public boolean isReduced() {
+			return bufferedImage != null && (bufferedImage.getWidth() != width || bufferedImage.getHeight() != height);
 		}
 	}
 }
@@ -1087,7 +1087,12 @@ public class ImagesUtil {
 
 		ImageReaderResult inputResult;
 		try {
-			inputResult = ImageIOTools.read(new ByteArrayInputStream(inputByteArray));
+			inputResult = ImageIOTools.read(
+				ImageIOTools.createImageInputStream(new ByteArrayInputStream(inputByteArray)),
+				width,
+				height,
+				scaleType
+			);
 		} catch (IIOException e) {
 			throw new UnknownFormatException("Unable to read image format", e);
 		}
@@ -1101,7 +1106,8 @@ public class ImagesUtil {
 		}
 
 		BufferedImage bufferedImage = inputResult.bufferedImage;
-		boolean reencode = filterChain != null && !filterChain.isEmpty();
+		// The source bytes can't be returned as is if it was decoded at a lower resolution
+		boolean reencode = inputResult.isReduced() || filterChain != null && !filterChain.isEmpty();
 
 		if (outputProfile == null && dlnaCompliant) {
 			// Override output format to one valid for DLNA, defaulting to PNG
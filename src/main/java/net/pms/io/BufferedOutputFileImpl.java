@@ -26,9 +26,11 @@ import java.util.Arrays;
 import java.util.Locale;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.atomic.AtomicLong;
 import net.pms.PMS;
 import net.pms.configuration.UmsConfiguration;
 import net.pms.gui.GuiManager;
+import net.pms.metrics.Metrics;
 import net.pms.renderers.Renderer;
 import net.pms.util.UMSUtils;
 import org.slf4j.Logger;
@@ -50,6 +52,15 @@ public class BufferedOutputFileImpl extends OutputStream implements BufferedOutp
 	private static final Logger LOGGER = LoggerFactory.getLogger(BufferedOutputFileImpl.class);
 	private static final NumberFormat FORMATTER = NumberFormat.getInstance(Locale.US);
 
+	/**
+	 * The bytes of all the memory buffers not destroyed yet.
+	 */
+	private static final AtomicLong ALLOCATED_BYTES = new AtomicLong();
+
+	static {
+		Metrics.gauge("ums_transcode_buffer_bytes", "Memory allocated to the transcoding buffers", ALLOCATED_BYTES::get);
+	}
+
 	/**
 	 * Initial size for the buffer in bytes.
 	 * The current value is 50MB.
@@ -169,6 +180,7 @@ public class BufferedOutputFileImpl extends OutputStream implements BufferedOutp
 			}
 		}
 
+		ALLOCATED_BYTES.addAndGet(copy.length - buffer.length);
 		return copy;
 	}
 
@@ -872,6 +884,7 @@ public class BufferedOutputFileImpl extends OutputStream implements BufferedOutp
 
 		if (buffer != null) {
 			LOGGER.trace("Destroying buffer");
+			ALLOCATED_BYTES.addAndGet(-buffer.length);
 			buffer = null;
 		}
 
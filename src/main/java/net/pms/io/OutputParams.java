@@ -59,6 +59,7 @@ public final class OutputParams {
 	private boolean shiftScr;
 	private boolean cleanup;
 	private HlsConfiguration hlsConfiguration;
+	private boolean lowPriority;
 
 	public OutputParams(UmsConfiguration configuration) {
 		if (configuration != null) {
@@ -377,4 +378,16 @@ public final class OutputParams {
 	public void setHlsConfiguration(HlsConfiguration hlsConfiguration) {
 		this.hlsConfiguration = hlsConfiguration;
 	}
+
+	/**
+	 * @return Whether the process runs below the normal priority, for the
+	 *         background tasks.
+	 */
+	public boolean isLowPriority() {
+		return lowPriority;
+	}
+
+	public void setLowPriority(boolean lowPriority) {
+		this.lowPriority = lowPriority;
+	}
 }
@@ -27,6 +27,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import net.pms.encoders.AviDemuxerInputStream;
+import net.pms.metrics.Metrics;
+import net.pms.platform.PlatformUtils;
 import net.pms.util.ProcessUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,6 +41,10 @@ public class ProcessWrapperImpl extends Thread implements ProcessWrapper {
 	private static final AtomicInteger PROCESS_COUNTER = new AtomicInteger(1);
 	private static final List<Process> CURRENT_PROCESSES = Collections.synchronizedList(new ArrayList<>());
 
+	static {
+		Metrics.gauge("ums_processes_running", "External processes running, mostly transcodes", CURRENT_PROCESSES::size);
+	}
+
 	private Process process;
 	private OutputConsumer stdoutConsumer;
 	private OutputConsumer stderrConsumer;
@@ -186,6 +192,9 @@ public class ProcessWrapperImpl extends Thread implements ProcessWrapper {
 			// pb.redirectErrorStream(true);
 			process = pb.start();
 			CURRENT_PROCESSES.add(process);
+			if (params != null && params.isLowPriority()) {
+				PlatformUtils.INSTANCE.setLowPriority(process);
+			}
 
 			if (stderrConsumer == null) {
 				stderrConsumer = keepStderr ?
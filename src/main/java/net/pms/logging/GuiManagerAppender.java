@@ -54,11 +54,14 @@ public class GuiManagerAppender<E> extends UnsynchronizedAppenderBase<E> {
 		}
 	}
 
-	/* (non-Javadoc)
-	 * @see ch.qos.logback.core.UnsynchronizedAppenderBase#append(java.lang.Object)
+	/**
+	 * Encodes the event and adds it to the GUI log buffer. Nothing is locked,
+	 * the lines are delivered to the GUIs by the log dispatcher thread.
+	 *
+	 * @see GuiManager#appendLog(String)
 	 */
 	@Override
-	protected synchronized void append(E eventObject) {
+	protected void append(E eventObject) {
 		String msg = new String(encoder.encode(eventObject), StandardCharsets.UTF_8);
 		GuiManager.appendLog(msg);
 	}
@@ -0,0 +1,192 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.logging;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free buffer of the last log lines.
+ * <p>
+ * Every line gets a sequence number. Writers never wait: when the buffer is
+ * full the oldest lines are overwritten. Readers keep their own position in
+ * a {@link Cursor}, and count the lines that were overwritten before they
+ * could read them.
+ */
+public class LogRingBuffer {
+
+	private final int capacity;
+	private final int mask;
+	private final AtomicReferenceArray<Entry> entries;
+	private final AtomicLong nextSequence = new AtomicLong();
+
+	/**
+	 * Creates a buffer.
+	 *
+	 * @param capacity the minimum number of lines kept, rounded up to a power
+	 *            of two.
+	 */
+	public LogRingBuffer(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("capacity must be positive");
+		}
+		int size = 1;
+		while (size < capacity) {
+			size <<= 1;
+		}
+		this.capacity = size;
+		this.mask = size - 1;
+		this.entries = new AtomicReferenceArray<>(size);
+	}
+
+	/**
+	 * @return the number of lines kept.
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Adds a line, overwriting the oldest one if the buffer is full.
+	 *
+	 * @param line the line.
+	 * @return The sequence number of the line.
+	 */
+	public long add(String line) {
+		long sequence = nextSequence.getAndIncrement();
+		entries.set((int) (sequence & mask), new Entry(sequence, line));
+		return sequence;
+	}
+
+	/**
+	 * @return the sequence number the next line will get.
+	 */
+	public long getNextSequence() {
+		return nextSequence.get();
+	}
+
+	/**
+	 * @return the sequence number of the oldest line still in the buffer.
+	 */
+	public long getFirstSequence() {
+		return Math.max(0, nextSequence.get() - capacity);
+	}
+
+	/**
+	 * @return whether lines were already overwritten.
+	 */
+	public boolean hasOverwritten() {
+		return nextSequence.get() > capacity;
+	}
+
+	/**
+	 * Creates a reader starting at the oldest line in the buffer.
+	 *
+	 * @return The {@link Cursor}.
+	 */
+	public Cursor cursorAtFirst() {
+		return new Cursor(getFirstSequence());
+	}
+
+	/**
+	 * Creates a reader starting at the next line added.
+	 *
+	 * @return The {@link Cursor}.
+	 */
+	public Cursor cursorAtNext() {
+		return new Cursor(getNextSequence());
+	}
+
+	/**
+	 * Creates a reader starting at the given sequence number, or at the oldest
+	 * line in the buffer if it was overwritten.
+	 *
+	 * @param sequence the sequence number of the first line to read.
+	 * @return The {@link Cursor}.
+	 */
+	public Cursor cursorAt(long sequence) {
+		return new Cursor(Math.max(sequence, getFirstSequence()));
+	}
+
+	/**
+	 * A reader position in the buffer. A cursor must only be used by one
+	 * thread at a time.
+	 */
+	public class Cursor {
+		private long sequence;
+		private long dropped;
+
+		private Cursor(long sequence) {
+			this.sequence = sequence;
+		}
+
+		/**
+		 * Reads the available lines.
+		 *
+		 * @param lines the list the lines are added to.
+		 * @param max the maximum number of lines read.
+		 * @return The number of lines read.
+		 */
+		public int read(List<String> lines, int max) {
+			int read = 0;
+			while (read < max) {
+				Entry entry = entries.get((int) (sequence & mask));
+				if (entry == null || entry.sequence < sequence) {
+					// Not written yet
+					break;
+				}
+				if (entry.sequence > sequence) {
+					// Overwritten, skip to the oldest line still there
+					long first = Math.max(sequence + 1, getFirstSequence());
+					dropped += first - sequence;
+					sequence = first;
+					continue;
+				}
+				lines.add(entry.line);
+				sequence++;
+				read++;
+			}
+			return read;
+		}
+
+		/**
+		 * @return the sequence number of the next line read.
+		 */
+		public long getSequence() {
+			return sequence;
+		}
+
+		/**
+		 * @return the number of lines overwritten before this cursor read them.
+		 */
+		public long getDropped() {
+			return dropped;
+		}
+	}
+
+	private static class Entry {
+		private final long sequence;
+		private final String line;
+
+		private Entry(long sequence, String line) {
+			this.sequence = sequence;
+			this.line = line;
+		}
+	}
+
+}
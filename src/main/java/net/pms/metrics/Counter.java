@@ -0,0 +1,54 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonic counter, cheap to increment from many threads.
+ */
+public class Counter {
+
+	private final LongAdder value = new LongAdder();
+
+	Counter() {
+	}
+
+	/**
+	 * Increments the counter by one.
+	 */
+	public void increment() {
+		value.increment();
+	}
+
+	/**
+	 * Increments the counter.
+	 *
+	 * @param amount the amount to add, which should not be negative.
+	 */
+	public void add(long amount) {
+		value.add(amount);
+	}
+
+	/**
+	 * @return The current value.
+	 */
+	public long get() {
+		return value.sum();
+	}
+
+}
@@ -0,0 +1,266 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import javax.annotation.concurrent.GuardedBy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The registry of the server metrics, written in the Prometheus text
+ * exposition format.
+ * <p>
+ * Metrics are registered once, usually in a static field of the measured
+ * class, and then updated without any lookup. Registering a metric that
+ * already exists returns the existing one. A metric may have a single label,
+ * all the metrics sharing a name must have the same type.
+ */
+public class Metrics {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(Metrics.class);
+
+	/**
+	 * The percentiles written for the timers.
+	 */
+	private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+	@GuardedBy("FAMILIES")
+	private static final Map<String, Family> FAMILIES = new LinkedHashMap<>();
+
+	/**
+	 * This class is not meant to be instantiated.
+	 */
+	private Metrics() {
+	}
+
+	/**
+	 * Registers a counter.
+	 *
+	 * @param name the metric name, ending with "_total".
+	 * @param help the metric description.
+	 * @return The {@link Counter}.
+	 */
+	public static Counter counter(String name, String help) {
+		return counter(name, help, null, null);
+	}
+
+	/**
+	 * Registers a labeled counter.
+	 *
+	 * @param name the metric name, ending with "_total".
+	 * @param help the metric description.
+	 * @param labelName the label name.
+	 * @param labelValue the label value.
+	 * @return The {@link Counter}.
+	 */
+	public static Counter counter(String name, String help, String labelName, String labelValue) {
+		return (Counter) register(name, help, Type.COUNTER, labelName, labelValue, new Counter());
+	}
+
+	/**
+	 * Registers a counter whose value is maintained elsewhere, like the hits
+	 * of a cache.
+	 *
+	 * @param name the metric name, ending with "_total".
+	 * @param help the metric description.
+	 * @param value the supplier of the current value.
+	 */
+	public static void counter(String name, String help, LongSupplier value) {
+		register(name, help, Type.COUNTER, null, null, value);
+	}
+
+	/**
+	 * Registers a timer.
+	 *
+	 * @param name the metric name, ending with "_seconds".
+	 * @param help the metric description.
+	 * @return The {@link Timer}.
+	 */
+	public static Timer timer(String name, String help) {
+		return timer(name, help, null, null);
+	}
+
+	/**
+	 * Registers a labeled timer.
+	 *
+	 * @param name the metric name, ending with "_seconds".
+	 * @param help the metric description.
+	 * @param labelName the label name.
+	 * @param labelValue the label value.
+	 * @return The {@link Timer}.
+	 */
+	public static Timer timer(String name, String help, String labelName, String labelValue) {
+		return (Timer) register(name, help, Type.SUMMARY, labelName, labelValue, new Timer());
+	}
+
+	/**
+	 * Registers a gauge, read when the metrics are written.
+	 *
+	 * @param name the metric name.
+	 * @param help the metric description.
+	 * @param value the supplier of the current value.
+	 */
+	public static void gauge(String name, String help, DoubleSupplier value) {
+		register(name, help, Type.GAUGE, null, null, value);
+	}
+
+	/**
+	 * Registers a labeled gauge, read when the metrics are written.
+	 *
+	 * @param name the metric name.
+	 * @param help the metric description.
+	 * @param labelName the label name.
+	 * @param labelValue the label value.
+	 * @param value the supplier of the current value.
+	 */
+	public static void gauge(String name, String help, String labelName, String labelValue, DoubleSupplier value) {
+		register(name, help, Type.GAUGE, labelName, labelValue, value);
+	}
+
+	/**
+	 * Writes all the metrics in the Prometheus text exposition format.
+	 *
+	 * @return The metrics text.
+	 */
+	public static String toPrometheusText() {
+		Family[] families;
+		synchronized (FAMILIES) {
+			families = FAMILIES.values().toArray(Family[]::new);
+		}
+		StringBuilder sb = new StringBuilder(8192);
+		for (Family family : families) {
+			family.write(sb);
+		}
+		return sb.toString();
+	}
+
+	private static Object register(String name, String help, Type type, String labelName, String labelValue, Object metric) {
+		String labels = labelName == null ? "" : labelName + "=\"" + escapeLabelValue(labelValue) + "\"";
+		synchronized (FAMILIES) {
+			Family family = FAMILIES.computeIfAbsent(name, k -> new Family(name, help, type));
+			if (family.type != type) {
+				throw new IllegalArgumentException("Metric \"" + name + "\" is already registered as a " + family.type.text);
+			}
+			Object existing = family.metrics.putIfAbsent(labels, metric);
+			if (existing != null) {
+				LOGGER.trace("Metric \"{}\" {} is already registered", name, labels);
+				return existing;
+			}
+			return metric;
+		}
+	}
+
+	private static String escapeLabelValue(String value) {
+		if (value == null) {
+			return "";
+		}
+		return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+	}
+
+	private static void appendValue(StringBuilder sb, double value) {
+		if (Double.isNaN(value)) {
+			sb.append("NaN");
+		} else if (Double.isInfinite(value)) {
+			sb.append(value > 0 ? "+Inf" : "-Inf");
+		} else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+			sb.append((long) value);
+		} else {
+			sb.append(value);
+		}
+	}
+
+	private enum Type {
+		COUNTER("counter"),
+		GAUGE("gauge"),
+		SUMMARY("summary");
+
+		private final String text;
+
+		Type(String text) {
+			this.text = text;
+		}
+	}
+
+	private static class Family {
+
+		private final String name;
+		private final String help;
+		private final Type type;
+		@GuardedBy("FAMILIES")
+		private final Map<String, Object> metrics = new LinkedHashMap<>();
+
+		private Family(String name, String help, Type type) {
+			this.name = name;
+			this.help = help;
+			this.type = type;
+		}
+
+		private void write(StringBuilder sb) {
+			Object[] labels;
+			Object[] values;
+			synchronized (FAMILIES) {
+				labels = metrics.keySet().toArray();
+				values = metrics.values().toArray();
+			}
+			sb.append("# HELP ").append(name).append(' ').append(help.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+			sb.append("# TYPE ").append(name).append(' ').append(type.text).append('\n');
+			for (int i = 0; i < values.length; i++) {
+				String label = (String) labels[i];
+				try {
+					writeMetric(sb, label, values[i]);
+				} catch (RuntimeException e) {
+					// A failing gauge must not break the whole response
+					LOGGER.debug("Error while reading the metric \"{}\": {}", name, e.getMessage());
+					LOGGER.trace("", e);
+				}
+			}
+		}
+
+		private void writeMetric(StringBuilder sb, String label, Object metric) {
+			if (metric instanceof Counter counter) {
+				writeSample(sb, name, label, counter.get());
+			} else if (metric instanceof LongSupplier supplier) {
+				writeSample(sb, name, label, supplier.getAsLong());
+			} else if (metric instanceof DoubleSupplier supplier) {
+				writeSample(sb, name, label, supplier.getAsDouble());
+			} else if (metric instanceof Timer timer) {
+				for (double quantile : QUANTILES) {
+					String quantileLabel = "quantile=\"" + quantile + "\"";
+					writeSample(sb, name, label.isEmpty() ? quantileLabel : label + "," + quantileLabel, timer.getPercentile(quantile) / 1e9);
+				}
+				writeSample(sb, name + "_sum", label, timer.getTotalNanos() / 1e9);
+				writeSample(sb, name + "_count", label, timer.getCount());
+			}
+		}
+
+		private static void writeSample(StringBuilder sb, String name, String label, double value) {
+			sb.append(name);
+			if (!label.isEmpty()) {
+				sb.append('{').append(label).append('}');
+			}
+			sb.append(' ');
+			appendValue(sb, value);
+			sb.append('\n');
+		}
+
+	}
+
+}
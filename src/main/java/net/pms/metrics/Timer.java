@@ -0,0 +1,174 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the durations of an operation.
+ * <p>
+ * The count and the total duration are kept since startup. The percentiles
+ * are estimated from a histogram of the durations recorded during the last
+ * one or two minutes, so they follow the current load. The histogram buckets
+ * are a quarter of a power of two wide, which bounds the error of the
+ * percentiles to 25%.
+ * <p>
+ * Recording is lock free and doesn't allocate.
+ */
+public class Timer {
+
+	/**
+	 * The duration of a percentile window.
+	 */
+	private static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+	/**
+	 * Four buckets for each power of two.
+	 */
+	private static final int SUB_BUCKET_BITS = 2;
+	private static final int BUCKETS = 64 << SUB_BUCKET_BITS;
+
+	private final LongAdder count = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private volatile AtomicLongArray current = new AtomicLongArray(BUCKETS);
+	private volatile AtomicLongArray previous = new AtomicLongArray(BUCKETS);
+	private volatile long windowStart = System.nanoTime();
+
+	Timer() {
+	}
+
+	/**
+	 * Returns the start time of an operation, to be given back to
+	 * {@link #stop(long)} when it ends.
+	 *
+	 * @return The start time.
+	 */
+	public long start() {
+		return System.nanoTime();
+	}
+
+	/**
+	 * Records the duration of an operation started with {@link #start()}.
+	 *
+	 * @param start the start time from {@link #start()}.
+	 */
+	public void stop(long start) {
+		record(System.nanoTime() - start);
+	}
+
+	/**
+	 * Records the duration of an operation.
+	 *
+	 * @param nanos the duration in nanoseconds.
+	 */
+	public void record(long nanos) {
+		if (nanos < 0) {
+			return;
+		}
+		count.increment();
+		totalNanos.add(nanos);
+		rotateIfNeeded();
+		current.incrementAndGet(getBucket(nanos));
+	}
+
+	/**
+	 * @return The number of recorded durations since startup.
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * @return The total of the recorded durations since startup, in
+	 *         nanoseconds.
+	 */
+	public long getTotalNanos() {
+		return totalNanos.sum();
+	}
+
+	/**
+	 * Estimates a percentile of the recent durations.
+	 *
+	 * @param quantile the percentile, between 0 and 1.
+	 * @return The estimated duration in nanoseconds, or 0 if nothing was
+	 *         recorded recently.
+	 */
+	public long getPercentile(double quantile) {
+		rotateIfNeeded();
+		AtomicLongArray recent = current;
+		AtomicLongArray older = previous;
+		long[] counts = new long[BUCKETS];
+		long total = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = recent.get(i) + older.get(i);
+			total += counts[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long rank = (long) Math.ceil(quantile * total);
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= rank && counts[i] > 0) {
+				return getBucketUpperBound(i);
+			}
+		}
+		return getBucketUpperBound(BUCKETS - 1);
+	}
+
+	private void rotateIfNeeded() {
+		long now = System.nanoTime();
+		if (now - windowStart < WINDOW_NANOS) {
+			return;
+		}
+		synchronized (this) {
+			if (now - windowStart < WINDOW_NANOS) {
+				return;
+			}
+			// After two windows without any record, the previous one is stale too
+			previous = now - windowStart < 2 * WINDOW_NANOS ? current : new AtomicLongArray(BUCKETS);
+			current = new AtomicLongArray(BUCKETS);
+			windowStart = now;
+		}
+	}
+
+	static int getBucket(long nanos) {
+		if (nanos <= 0) {
+			return 0;
+		}
+		int msb = 63 - Long.numberOfLeadingZeros(nanos);
+		if (msb < SUB_BUCKET_BITS) {
+			return msb << SUB_BUCKET_BITS;
+		}
+		int sub = (int) (nanos >>> (msb - SUB_BUCKET_BITS)) & ((1 << SUB_BUCKET_BITS) - 1);
+		return (msb << SUB_BUCKET_BITS) | sub;
+	}
+
+	static long getBucketUpperBound(int bucket) {
+		int msb = bucket >>> SUB_BUCKET_BITS;
+		if (msb < SUB_BUCKET_BITS) {
+			return (1L << (msb + 1)) - 1;
+		}
+		int sub = bucket & ((1 << SUB_BUCKET_BITS) - 1);
+		long upper = ((long) ((1 << SUB_BUCKET_BITS) + sub + 1) << (msb - SUB_BUCKET_BITS)) - 1;
+		return upper < 0 ? Long.MAX_VALUE : upper;
+	}
+
+}
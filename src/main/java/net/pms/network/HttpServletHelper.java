@@ -34,11 +34,15 @@ import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
 import java.util.Enumeration;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.TransformerException;
 import javax.xml.xpath.XPathExpressionException;
 import net.pms.PMS;
 import net.pms.configuration.UmsConfiguration;
+import net.pms.metrics.Counter;
+import net.pms.metrics.Metrics;
+import net.pms.metrics.Timer;
 import net.pms.network.mediaserver.MediaServer;
 import net.pms.network.mediaserver.servlets.StartStopListener;
 import net.pms.util.StringUtil;
@@ -60,6 +64,13 @@ public abstract class HttpServletHelper extends HttpServlet {
 	private static final String LOG_REQUEST_END = " REQUEST END ==================================";
 	private static final String LOG_RESPONSE_BEGIN = " RESPONSE BEGIN ===============================";
 	private static final String LOG_RESPONSE_END = " RESPONSE END =================================";
+	private static final AtomicInteger ACTIVE_STREAMS = new AtomicInteger();
+	private static final Counter STREAM_BYTES = Metrics.counter("ums_stream_sent_bytes_total", "Bytes sent by the stream copies");
+	private static final Timer STREAM_TIMER = Metrics.timer("ums_stream_duration_seconds", "Duration of the stream copies");
+
+	static {
+		Metrics.gauge("ums_streams_active", "Streams being sent", ACTIVE_STREAMS::get);
+	}
 
 	protected static final UmsConfiguration CONFIGURATION = PMS.getConfiguration();
 
@@ -253,15 +264,25 @@ public abstract class HttpServletHelper extends HttpServlet {
 		byte[] buffer = new byte[32 * 1024];
 		int bytes;
 		long sendBytes = 0;
+		ThroughputEstimator.Sampler sampler = ThroughputEstimator.getSampler(context.getRequest().getRemoteAddr());
+		long start = STREAM_TIMER.start();
+		ACTIVE_STREAMS.incrementAndGet();
 
 		try {
 			if (startStopListener != null) {
 				startStopListener.start();
 			}
+			long readStart = System.nanoTime();
 			while ((bytes = in.read(buffer)) != -1) {
+				long writeStart = System.nanoTime();
 				os.write(buffer, 0, bytes);
 				sendBytes += bytes;
 				os.flush();
+				long writeEnd = System.nanoTime();
+				if (sampler != null) {
+					sampler.onWrite(bytes, writeEnd - writeStart, writeEnd - readStart);
+				}
+				readStart = writeEnd;
 				if (umsAsyncListener != null) {
 					umsAsyncListener.setBytesSent(sendBytes);
 				}
@@ -280,6 +301,9 @@ public abstract class HttpServletHelper extends HttpServlet {
 				startStopListener.stop();
 			}
 		} finally {
+			ACTIVE_STREAMS.decrementAndGet();
+			STREAM_BYTES.add(sendBytes);
+			STREAM_TIMER.stop(start);
 			try {
 				in.close();
 			} catch (IOException e) {
@@ -32,6 +32,7 @@ import net.pms.io.ProcessWrapperImpl;
 import net.pms.platform.IPlatformUtils;
 import net.pms.platform.PlatformUtils;
 import net.pms.util.SimpleThreadFactory;
+import net.pms.util.VirtualThreadExecutors;
 import net.pms.util.UMSUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,9 +51,7 @@ import org.slf4j.LoggerFactory;
  */
 public class SpeedStats {
 
-	private static final ExecutorService BACKGROUND_EXECUTOR = Executors.newCachedThreadPool(
-			new SimpleThreadFactory("SpeedStats background worker", "SpeedStats background workers group", Thread.NORM_PRIORITY)
-	);
+	private static final ExecutorService BACKGROUND_EXECUTOR = createExecutorService();
 
 	static {
 		Runtime.getRuntime().addShutdownHook(new Thread("SpeedStats Executor Shutdown Hook") {
@@ -73,6 +72,16 @@ public class SpeedStats {
 	private SpeedStats() {
 	}
 
+	private static ExecutorService createExecutorService() {
+		ExecutorService virtualThreadExecutor = VirtualThreadExecutors.newThreadPerTaskExecutor("SpeedStats background worker");
+		if (virtualThreadExecutor != null) {
+			return virtualThreadExecutor;
+		}
+		return Executors.newCachedThreadPool(
+			new SimpleThreadFactory("SpeedStats background worker", "SpeedStats background workers group", Thread.NORM_PRIORITY)
+		);
+	}
+
 	/**
 	 * Returns the estimated networks throughput for the given IP address in
 	 * Mb/s from the cache as a {@link Future}.
@@ -0,0 +1,170 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.network;
+
+import java.net.InetAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Passive network throughput estimator, fed by the media responses sent to
+ * the renderers.
+ * <p>
+ * A renderer reads as fast as the network allows while it fills its buffer,
+ * at the start of a response. During that burst, the time spent blocked
+ * writing to the socket measures the network throughput. Windows where most
+ * of the time was spent reading the source are dropped, since the source was
+ * then slower than the network. The samples of each address are smoothed
+ * with an exponentially weighted moving average.
+ */
+public class ThroughputEstimator {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ThroughputEstimator.class);
+
+	/**
+	 * The weight of a new sample in the moving average.
+	 */
+	private static final double ALPHA = 0.3;
+
+	/**
+	 * The bytes written before sampling, which fill the socket buffers
+	 * without blocking.
+	 */
+	private static final long WARMUP_BYTES = 512 * 1024;
+
+	/**
+	 * The bytes of each sample window.
+	 */
+	private static final long WINDOW_BYTES = 1024 * 1024;
+
+	/**
+	 * The bytes sampled per response, after which the renderer buffer is
+	 * likely full and the reads paced by the playback.
+	 */
+	private static final long MAX_SAMPLED_BYTES = 16 * 1024 * 1024;
+
+	/**
+	 * The minimum time of a window, below which the timer resolution makes
+	 * the sample unreliable.
+	 */
+	private static final long MIN_WINDOW_NANOS = 1_000_000L;
+
+	private static final Map<String, Double> ESTIMATES = new ConcurrentHashMap<>();
+
+	/**
+	 * This class is not meant to be instantiated.
+	 */
+	private ThroughputEstimator() {
+	}
+
+	/**
+	 * Returns a new {@link Sampler} for a response sent to the given address.
+	 *
+	 * @param address the remote IP address.
+	 * @return The {@link Sampler}, or {@code null} if the address is unknown.
+	 */
+	public static Sampler getSampler(String address) {
+		return address == null ? null : new Sampler(address);
+	}
+
+	/**
+	 * Returns the estimated network throughput of the given address.
+	 *
+	 * @param addr the {@link InetAddress} to lookup.
+	 * @return The estimated throughput in Mb/s, or {@code null} if no response
+	 *         was measured yet.
+	 */
+	public static Integer getThroughputInMBits(InetAddress addr) {
+		if (addr == null) {
+			return null;
+		}
+		Double estimate = ESTIMATES.get(addr.getHostAddress());
+		return estimate == null ? null : (int) Math.round(estimate);
+	}
+
+	/**
+	 * Adds a throughput sample for the given address.
+	 *
+	 * @param address the remote IP address.
+	 * @param bytes the number of bytes sent.
+	 * @param nanos the time spent sending them.
+	 */
+	static void addSample(String address, long bytes, long nanos) {
+		if (bytes <= 0 || nanos <= 0) {
+			return;
+		}
+		double sample = bytes * 8000.0 / nanos;
+		double estimate = ESTIMATES.merge(address, sample, (previous, value) -> previous + ALPHA * (value - previous));
+		LOGGER.trace("Throughput sample for {}: {} Mb/s, estimate: {} Mb/s", address, Math.round(sample), Math.round(estimate));
+	}
+
+	/**
+	 * Forgets all the estimates.
+	 */
+	static void clear() {
+		ESTIMATES.clear();
+	}
+
+	/**
+	 * Measures the writes of one response.
+	 */
+	public static class Sampler {
+
+		private final String address;
+		private long totalBytes;
+		private long windowBytes;
+		private long windowWriteNanos;
+		private long windowTotalNanos;
+
+		private Sampler(String address) {
+			this.address = address;
+		}
+
+		/**
+		 * Records a write to the response.
+		 *
+		 * @param bytes the number of bytes written.
+		 * @param writeNanos the time spent writing and flushing them.
+		 * @param totalNanos the time spent reading and writing them.
+		 */
+		public void onWrite(int bytes, long writeNanos, long totalNanos) {
+			if (totalBytes >= MAX_SAMPLED_BYTES) {
+				return;
+			}
+			totalBytes += bytes;
+			if (totalBytes <= WARMUP_BYTES) {
+				return;
+			}
+			windowBytes += bytes;
+			windowWriteNanos += writeNanos;
+			windowTotalNanos += totalNanos;
+			if (windowBytes >= WINDOW_BYTES) {
+				// Only network bound windows are meaningful
+				if (windowWriteNanos >= MIN_WINDOW_NANOS && windowWriteNanos * 2 >= windowTotalNanos) {
+					addSample(address, windowBytes, windowTotalNanos);
+				}
+				windowBytes = 0;
+				windowWriteNanos = 0;
+				windowTotalNanos = 0;
+			}
+		}
+
+	}
+
+}
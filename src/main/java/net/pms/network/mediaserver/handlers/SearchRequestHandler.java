@@ -131,7 +131,7 @@ public class SearchRequestHandler {
 		String sqlFiles = convertToFilesSql(requestMessage, requestType);
 		for (StoreResource resource : getLibraryResourceFromSQL(renderer, sqlFiles, requestType)) {
 			numberReturned++;
-			dlnaItems.append(DidlHelper.getDidlString(resource));
+			DidlHelper.appendDidlString(dlnaItems, resource);
 		}
 
 		// Build response message
@@ -35,6 +35,7 @@ import net.pms.network.mediaserver.jupnp.transport.impl.UmsMulticastReceiver;
 import net.pms.network.mediaserver.jupnp.transport.impl.UmsNetworkAddressFactory;
 import net.pms.network.mediaserver.jupnp.transport.impl.jetty.JettyTransportConfiguration;
 import net.pms.util.SimpleThreadFactory;
+import net.pms.util.VirtualThreadExecutors;
 import org.apache.commons.configuration.event.ConfigurationEvent;
 import org.jupnp.UpnpServiceConfiguration;
 import org.jupnp.binding.xml.DeviceDescriptorBinder;
@@ -131,6 +132,9 @@ public class UmsUpnpServiceConfiguration implements UpnpServiceConfiguration {
 		deviceDescriptorBinderUDA10 = new RecoveringUDA10DeviceDescriptorBinderImpl();
 		serviceDescriptorBinderUDA10 = new RecoveringUDA10ServiceDescriptorBinderImpl();
 		namespace = new Namespace();
+		// Virtual threads are cheap to create, so there is no need for pools
+		// but the executors are shared like the pooled ones
+		useThreadPool = useThreadPool || VirtualThreadExecutors.isEnabled();
 		createExecutorServices();
 	}
 
@@ -235,6 +239,10 @@ public class UmsUpnpServiceConfiguration implements UpnpServiceConfiguration {
 	}
 
 	private ExecutorService createDefaultExecutorService(String name) {
+		ExecutorService virtualThreadExecutor = VirtualThreadExecutors.newThreadPerTaskExecutor(name);
+		if (virtualThreadExecutor != null) {
+			return virtualThreadExecutor;
+		}
 		return new JUPnPExecutor(name);
 	}
 
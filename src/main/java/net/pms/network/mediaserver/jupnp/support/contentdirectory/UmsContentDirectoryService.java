@@ -29,6 +29,7 @@ import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.TransformerException;
 import javax.xml.xpath.XPathExpressionException;
 import net.pms.dlna.DidlHelper;
+import net.pms.metrics.Metrics;
 import net.pms.network.mediaserver.handlers.SearchRequestHandler;
 import net.pms.network.mediaserver.jupnp.model.meta.UmsRemoteClientInfo;
 import net.pms.network.mediaserver.jupnp.support.contentdirectory.result.Parser;
@@ -167,6 +168,8 @@ public class UmsContentDirectoryService {
 	public final static String EMPTY_FILE_CONTENT = "<UPLOAD RESOURCE>";
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(UmsContentDirectoryService.class);
+	private static final net.pms.metrics.Timer BROWSE_TIMER = Metrics.timer("ums_content_directory_duration_seconds", "Time to answer a ContentDirectory action", "action", "Browse");
+	private static final net.pms.metrics.Timer SEARCH_TIMER = Metrics.timer("ums_content_directory_duration_seconds", "Time to answer a ContentDirectory action", "action", "Search");
 	private static final List<String> CAPS_SEARCH = List.of();
 	private static final List<String> CAPS_SORT = List.of("upnp:class", "dc:title", "dc:creator", "upnp:artist", "upnp:album", "upnp:genre");
 	private static final String CRLF = "\r\n";
@@ -288,6 +291,7 @@ public class UmsContentDirectoryService {
 			throw new ContentDirectoryException(ContentDirectoryErrorCode.UNSUPPORTED_SORT_CRITERIA, ex.toString());
 		}
 
+		long start = BROWSE_TIMER.start();
 		try {
 			return browse(
 					objectId,
@@ -303,6 +307,8 @@ public class UmsContentDirectoryService {
 		} catch (Exception ex) {
 			LOGGER.error("Exception in result creation \"{}\"", ex.getMessage(), ex);
 			throw new ContentDirectoryException(ErrorCode.ACTION_FAILED, ex.toString());
+		} finally {
+			BROWSE_TIMER.stop(start);
 		}
 	}
 
@@ -338,6 +344,7 @@ public class UmsContentDirectoryService {
 			throw new ContentDirectoryException(ContentDirectoryErrorCode.UNSUPPORTED_SORT_CRITERIA, ex.toString());
 		}
 
+		long start = SEARCH_TIMER.start();
 		try {
 			return search(
 					containerId,
@@ -352,6 +359,8 @@ public class UmsContentDirectoryService {
 			throw ex;
 		} catch (Exception ex) {
 			throw new ContentDirectoryException(ErrorCode.ACTION_FAILED, ex.toString());
+		} finally {
+			SEARCH_TIMER.stop(start);
 		}
 	}
 
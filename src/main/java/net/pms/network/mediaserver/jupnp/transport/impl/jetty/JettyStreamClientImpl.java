@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import net.pms.network.mediaserver.jupnp.transport.impl.StreamsLoggerHelper;
+import net.pms.util.VirtualThreadExecutors;
 import org.eclipse.jetty.client.BytesRequestContent;
 import org.eclipse.jetty.client.ContentResponse;
 import org.eclipse.jetty.client.HttpClient;
@@ -242,6 +243,7 @@ public class JettyStreamClientImpl extends AbstractStreamClient<StreamClientConf
 		QueuedThreadPool queuedThreadPool = new QueuedThreadPool(maxThreads, minThreads, keepAliveTimeout);
 		queuedThreadPool.setName(consumerName);
 		queuedThreadPool.setDaemon(true);
+		queuedThreadPool.setVirtualThreadsExecutor(VirtualThreadExecutors.getJettyExecutor(consumerName));
 		return queuedThreadPool;
 	}
 
@@ -25,6 +25,7 @@ import net.pms.network.mediaserver.jupnp.transport.spi.JakartaServletContainerAd
 import net.pms.network.mediaserver.servlets.MediaServerImportResourceServlet;
 import net.pms.network.mediaserver.servlets.MediaServerServlet;
 import net.pms.network.mediaserver.servlets.NextcpApiServlet;
+import net.pms.util.VirtualThreadExecutors;
 import org.eclipse.jetty.ee10.servlet.ServletContextHandler;
 import org.eclipse.jetty.ee10.servlet.ServletHolder;
 import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
@@ -152,6 +153,7 @@ public class JettyServletContainer implements JakartaServletContainerAdapter {
 	private void resetServer() {
 		QueuedThreadPool threadPool = new QueuedThreadPool();
 		threadPool.setName("jupnp-stream-server");
+		threadPool.setVirtualThreadsExecutor(VirtualThreadExecutors.getJettyExecutor("jupnp-stream-server"));
 		server = new Server(threadPool);
 	}
 
@@ -21,6 +21,7 @@ import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -47,6 +48,8 @@ import net.pms.io.ProcessWrapper;
 import net.pms.media.MediaInfo;
 import net.pms.media.MediaType;
 import net.pms.media.subtitle.MediaSubtitle;
+import net.pms.metrics.Metrics;
+import net.pms.metrics.Timer;
 import net.pms.network.HTTPResource;
 import net.pms.network.mediaserver.MediaServer;
 import net.pms.network.mediaserver.MediaServerRequest;
@@ -58,6 +61,7 @@ import net.pms.service.sleep.SleepManager;
 import net.pms.store.MediaStoreIds;
 import net.pms.store.StoreItem;
 import net.pms.store.StoreResource;
+import net.pms.store.ThumbnailVariantCache;
 import net.pms.util.ByteRange;
 import net.pms.util.FullyPlayed;
 import net.pms.util.Range;
@@ -82,6 +86,7 @@ public class MediaServerServlet extends MediaServerHttpServlet {
 	private static final String HEAD = "HEAD";
 	private static final int BUFFER_SIZE = 8 * 1024;
 	private static final String HTTP_HEADER_RANGE_PREFIX = "bytes=";
+	private static final Timer THUMBNAIL_TRANSCODE_TIMER = Metrics.timer("ums_thumbnail_transcode_duration_seconds", "Time to transcode a thumbnail for a renderer");
 
 	@Override
 	protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
@@ -731,24 +736,45 @@ public class MediaServerServlet extends MediaServerHttpServlet {
 			resp.setHeader("Cache-Control", "max-age=86400");
 		}
 
-		DLNAThumbnailInputStream thumbInputStream;
+		BufferedImageFilterChain filterChain = null;
+		if (renderer.isThumbnails() && resource.isFullyPlayedMark()) {
+			filterChain = new BufferedImageFilterChain(FullyPlayed.getOverlayFilter());
+		}
+		filterChain = resource.addFlagFilters(filterChain);
+
+		DLNAThumbnailInputStream thumbInputStream = null;
+		String cacheKey = null;
+		byte[] cachedThumbnail = null;
 		if (!CONFIGURATION.isShowCodeThumbs() && !resource.isCodeValid(resource)) {
 			thumbInputStream = resource.getGenericThumbnailInputStream(null);
 		} else {
 			resource.checkThumbnail();
-			thumbInputStream = resource.fetchThumbnailInputStream();
+			// Only thumbnails stored with an id can be cached, others may change without notice
+			Long thumbnailId = resource.getMediaInfo() != null ? resource.getMediaInfo().getThumbnailId() : null;
+			if (updateId != null && thumbnailId != null) {
+				cacheKey = ThumbnailVariantCache.getKey(resource.getLongId(), updateId, thumbnailId, imageProfile, renderer.isThumbnailPadding(), filterChain);
+				cachedThumbnail = ThumbnailVariantCache.get(cacheKey);
+			}
+			if (cachedThumbnail == null) {
+				thumbInputStream = resource.fetchThumbnailInputStream();
+			}
 		}
 
-		BufferedImageFilterChain filterChain = null;
-		if (renderer.isThumbnails() && resource.isFullyPlayedMark()) {
-			filterChain = new BufferedImageFilterChain(FullyPlayed.getOverlayFilter());
+		if (cachedThumbnail != null) {
+			inputStream = new ByteArrayInputStream(cachedThumbnail);
+		} else {
+			long start = THUMBNAIL_TRANSCODE_TIMER.start();
+			DLNAThumbnailInputStream transcoded = thumbInputStream.transcode(
+					imageProfile,
+					renderer.isThumbnailPadding(),
+					filterChain
+			);
+			THUMBNAIL_TRANSCODE_TIMER.stop(start);
+			if (cacheKey != null && transcoded != null) {
+				ThumbnailVariantCache.put(cacheKey, transcoded.getBytes(false));
+			}
+			inputStream = transcoded;
 		}
-		filterChain = resource.addFlagFilters(filterChain);
-		inputStream = thumbInputStream.transcode(
-				imageProfile,
-				renderer.isThumbnailPadding(),
-				filterChain
-		);
 		if (contentFeatures != null) {
 			resp.setHeader("ContentFeatures.DLNA.ORG", DlnaHelper.getDlnaImageContentFeatures(resource, imageProfile, true));
 		}
@@ -16,15 +16,19 @@
  */
 package net.pms.network.webguiserver;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import net.pms.gui.GuiManager;
 import net.pms.iam.Account;
 import net.pms.iam.AccountService;
 import net.pms.iam.Permissions;
+import net.pms.logging.LogRingBuffer;
 import net.pms.network.webguiserver.servlets.SettingsApiServlet;
 import net.pms.network.webguiserver.servlets.WebGuiServlet;
 import org.apache.commons.lang3.StringUtils;
@@ -37,7 +41,10 @@ public class EventSourceServer {
 	private static final Map<Integer, ArrayList<EventSourceClient>> SSE_INSTANCES = new HashMap<>();
 	private static final List<EventSourceClient> SSE_ABOUT_INSTANCES = new ArrayList<>();
 	private static final List<EventSourceClient> SSE_HOME_INSTANCES = new ArrayList<>();
-	private static final List<EventSourceClient> SSE_LOGS_INSTANCES = new ArrayList<>();
+	/**
+	 * The logs page clients, with their position in the log buffer.
+	 */
+	private static final Map<EventSourceClient, LogRingBuffer.Cursor> SSE_LOGS_INSTANCES = new LinkedHashMap<>();
 	private static final List<EventSourceClient> SSE_SETTINGS_INSTANCES = new ArrayList<>();
 	private static final List<EventSourceClient> SSE_SHARED_INSTANCES = new ArrayList<>();
 
@@ -62,8 +69,9 @@ public class EventSourceServer {
 							}
 						}
 						case WebGuiServlet.LOGS_BASE_PATH -> {
+							// the client gets the current log from the logs api
 							synchronized (SSE_LOGS_INSTANCES) {
-								SSE_LOGS_INSTANCES.add(sse);
+								SSE_LOGS_INSTANCES.put(sse, GuiManager.getLogBuffer().cursorAtNext());
 							}
 						}
 						case WebGuiServlet.SETTINGS_BASE_PATH -> {
@@ -202,7 +210,7 @@ public class EventSourceServer {
 	 */
 	public static void broadcastLogsMessage(String message) {
 		synchronized (SSE_LOGS_INSTANCES) {
-			for (Iterator<EventSourceClient> sseIterator = SSE_LOGS_INSTANCES.iterator(); sseIterator.hasNext();) {
+			for (Iterator<EventSourceClient> sseIterator = SSE_LOGS_INSTANCES.keySet().iterator(); sseIterator.hasNext();) {
 				EventSourceClient sse = sseIterator.next();
 				if (sse.isClosed()) {
 					sseIterator.remove();
@@ -341,15 +349,42 @@ public class EventSourceServer {
 		}
 	}
 
-	public static void appendLog(String msg) {
+	public static void appendLogs(List<String> lines) {
 		if (hasLogsServerSentEvents()) {
-			JsonObject result = new JsonObject();
-			result.addProperty("action", "log_line");
-			result.addProperty("value", msg);
-			broadcastLogsMessage(result.toString());
+			broadcastLogsMessage(getLogLinesMessage(lines));
+		}
+	}
+
+	/**
+	 * Sends each logs page client the log lines added since its last
+	 * dispatch.
+	 */
+	public static void dispatchLogs() {
+		synchronized (SSE_LOGS_INSTANCES) {
+			for (Iterator<Map.Entry<EventSourceClient, LogRingBuffer.Cursor>> sseIterator = SSE_LOGS_INSTANCES.entrySet().iterator(); sseIterator.hasNext();) {
+				Map.Entry<EventSourceClient, LogRingBuffer.Cursor> entry = sseIterator.next();
+				EventSourceClient sse = entry.getKey();
+				if (sse.isClosed()) {
+					sseIterator.remove();
+				} else {
+					//never log a log message
+					GuiManager.dispatchLog(entry.getValue(), lines -> sse.sendMessage(getLogLinesMessage(lines), false));
+				}
+			}
 		}
 	}
 
+	private static String getLogLinesMessage(List<String> lines) {
+		JsonArray values = new JsonArray(lines.size());
+		for (String line : lines) {
+			values.add(line);
+		}
+		JsonObject result = new JsonObject();
+		result.addProperty("action", "log_lines");
+		result.add("value", values);
+		return result.toString();
+	}
+
 	public static void setMediaScanStatus(boolean running) {
 		broadcastSettingsMessage("{\"action\":\"set_media_scan_status\",\"running\":" + (running ? "true" : "false") + "}");
 	}
@@ -27,6 +27,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import net.pms.PMS;
 import net.pms.configuration.UmsConfiguration;
 import net.pms.gui.IRendererGuiListener;
+import net.pms.network.ThroughputEstimator;
 import net.pms.renderers.Renderer;
 import net.pms.renderers.devices.players.PlayerState;
 import net.pms.store.StoreItem;
@@ -50,6 +51,7 @@ public class RendererItem implements IRendererGuiListener {
 
 	private String name;
 	private String address;
+	private int throughput;
 	private String uuid;
 	private String icon;
 	private String iconOverlays;
@@ -120,6 +122,7 @@ public class RendererItem implements IRendererGuiListener {
 		time = ((state.isStopped()) || StringUtil.isZeroTime(state.getPosition())) ? " " :
 			UMSUtils.playedDurationStr(state.getPosition(), state.getDuration());
 		progressPercent = (int) (100 * state.getBuffer() / MAX_BUFFER_SIZE);
+		throughput = getThroughput();
 		playing = (state.isStopped() || StringUtils.isBlank(state.getName())) ? " " : state.getName();
 		sendRendererAction(ACTION_UPDATE);
 	}
@@ -191,6 +194,7 @@ public class RendererItem implements IRendererGuiListener {
 	private void updateRendererValues() {
 		name = renderer.getRendererName();
 		address = (renderer.getAddress() != null) ? renderer.getAddress().getHostAddress() : "";
+		throughput = getThroughput();
 		uuid = (renderer.getUUID() != null) ? renderer.getUUID() : "";
 		icon = renderer.getRendererIcon();
 		iconOverlays = renderer.getRendererIconOverlays();
@@ -202,6 +206,11 @@ public class RendererItem implements IRendererGuiListener {
 		state = renderer.getPlayer().getState();
 	}
 
+	private int getThroughput() {
+		Integer value = ThroughputEstimator.getThroughputInMBits(renderer.getAddress());
+		return value != null ? value : 0;
+	}
+
 	private void playerBack() {
 		renderer.getPlayer().rewind();
 	}
@@ -250,6 +259,7 @@ public class RendererItem implements IRendererGuiListener {
 		result.addProperty("id", id);
 		result.addProperty("name", name);
 		result.addProperty("address", address);
+		result.addProperty("throughput", throughput);
 		result.addProperty("uuid", uuid);
 		result.addProperty("icon", icon);
 		result.addProperty("iconOverlays", iconOverlays);
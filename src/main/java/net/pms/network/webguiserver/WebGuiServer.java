@@ -17,6 +17,7 @@
 package net.pms.network.webguiserver;
 
 import java.io.IOException;
+import java.util.List;
 import net.pms.PMS;
 import net.pms.configuration.UmsConfiguration;
 import net.pms.gui.EConnectionState;
@@ -40,8 +41,8 @@ public abstract class WebGuiServer implements IGui {
 	public abstract void stop();
 
 	@Override
-	public void appendLog(String msg) {
-		EventSourceServer.appendLog(msg);
+	public void appendLogs(List<String> lines) {
+		EventSourceServer.appendLogs(lines);
 	}
 
 	@Override
@@ -28,11 +28,13 @@ import net.pms.network.webguiserver.servlets.AuthApiServlet;
 import net.pms.network.webguiserver.servlets.EventSourceServlet;
 import net.pms.network.webguiserver.servlets.I18nApiServlet;
 import net.pms.network.webguiserver.servlets.LogsApiServlet;
+import net.pms.network.webguiserver.servlets.MetricsApiServlet;
 import net.pms.network.webguiserver.servlets.PlayerApiServlet;
 import net.pms.network.webguiserver.servlets.RenderersApiServlet;
 import net.pms.network.webguiserver.servlets.SettingsApiServlet;
 import net.pms.network.webguiserver.servlets.SharedContentApiServlet;
 import net.pms.network.webguiserver.servlets.WebGuiServlet;
+import net.pms.util.VirtualThreadExecutors;
 import org.eclipse.jetty.ee10.servlet.ServletContextHandler;
 import org.eclipse.jetty.ee10.servlet.ServletHolder;
 import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
@@ -60,6 +62,7 @@ public class WebGuiServerJetty extends WebGuiServer {
 		InetSocketAddress address = new InetSocketAddress(InetAddress.getByName("0.0.0.0"), port);
 		QueuedThreadPool threadPool = new QueuedThreadPool();
 		threadPool.setName("webgui-server");
+		threadPool.setVirtualThreadsExecutor(VirtualThreadExecutors.getJettyExecutor("webgui-server"));
 		server = new Server(threadPool);
 		ServerConnector connector = new ServerConnector(server, new HttpConnectionFactory(), new HTTP2CServerConnectionFactory());
 		connector.setHost("0.0.0.0");
@@ -74,6 +77,7 @@ public class WebGuiServerJetty extends WebGuiServer {
 		addServlet(servletHandler, AuthApiServlet.class);
 		addServlet(servletHandler, I18nApiServlet.class);
 		addServlet(servletHandler, LogsApiServlet.class);
+		addServlet(servletHandler, MetricsApiServlet.class);
 		addServlet(servletHandler, PlayerApiServlet.class);
 		addServlet(servletHandler, RenderersApiServlet.class);
 		addServlet(servletHandler, SettingsApiServlet.class);
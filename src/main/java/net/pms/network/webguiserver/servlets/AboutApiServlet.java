@@ -28,6 +28,8 @@ import net.pms.iam.AuthService;
 import net.pms.iam.Permissions;
 import net.pms.network.webguiserver.GuiHttpServlet;
 import net.pms.platform.PlatformUtils;
+import net.pms.service.StartupTasks;
+import net.pms.util.DiskCache;
 import net.pms.util.PropertiesUtil;
 import net.pms.util.StringUtil;
 import org.apache.commons.lang3.StringUtils;
@@ -78,6 +80,9 @@ public class AboutApiServlet extends GuiHttpServlet {
 					jsonResponse.addProperty("operatingSystem", getOperatingSystem());
 					jsonResponse.addProperty("systemMemorySize", getSystemMemorySize());
 					jsonResponse.addProperty("jvmMemoryMax", getJavaMemoryMax());
+					jsonResponse.addProperty("startupTime", StartupTasks.getLastDuration());
+					jsonResponse.add("startupTasks", getStartupTasks());
+					jsonResponse.add("diskCache", getDiskCacheUsage());
 				}
 				respond(req, resp, jsonResponse.toString(), 200, "application/json");
 			} else {
@@ -97,6 +102,32 @@ public class AboutApiServlet extends GuiHttpServlet {
 		return result;
 	}
 
+	private static JsonArray getStartupTasks() {
+		JsonArray result = new JsonArray();
+		for (StartupTasks.Timing timing : StartupTasks.getLastTimings()) {
+			JsonObject task = new JsonObject();
+			task.addProperty("name", timing.getName());
+			task.addProperty("start", timing.getStart());
+			task.addProperty("duration", timing.getDuration());
+			result.add(task);
+		}
+		return result;
+	}
+
+	private static JsonArray getDiskCacheUsage() {
+		JsonArray result = new JsonArray();
+		for (DiskCache.Region region : DiskCache.Region.values()) {
+			JsonObject usage = new JsonObject();
+			long quota = region.getQuota();
+			usage.addProperty("name", region.getName());
+			usage.addProperty("used", StringUtil.formatBytes(DiskCache.getUsedBytes(region), true));
+			usage.addProperty("quota", quota > 0 ? StringUtil.formatBytes(quota, true) : "-");
+			usage.addProperty("files", DiskCache.getFileCount(region));
+			result.add(usage);
+		}
+		return result;
+	}
+
 	private static void initSystemInfo() {
 		if (systemInfo == null) {
 			systemInfo = new SystemInfo();
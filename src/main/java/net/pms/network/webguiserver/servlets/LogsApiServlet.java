@@ -19,12 +19,14 @@ package net.pms.network.webguiserver.servlets;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
 import jakarta.servlet.AsyncContext;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.File;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -36,6 +38,7 @@ import net.pms.gui.GuiManager;
 import net.pms.iam.Account;
 import net.pms.iam.AuthService;
 import net.pms.iam.Permissions;
+import net.pms.logging.LogRingBuffer;
 import net.pms.network.mediaserver.MediaServer;
 import net.pms.network.webguiserver.GuiHttpServlet;
 import net.pms.util.DbgPacker;
@@ -64,19 +67,8 @@ public class LogsApiServlet extends GuiHttpServlet {
 			var path = req.getPathInfo() != null ? req.getPathInfo() : "/";
 			switch (path) {
 				case "/" -> {
-					JsonObject result = new JsonObject();
-					result.addProperty("rootLogLevel", CONFIGURATION.getRootLogLevel());
-					result.addProperty("guiLogLevel", CONFIGURATION.getLoggingFilterLogsTab().toString());
-					result.addProperty("traceMode", PMS.getTraceMode());
-					result.addProperty("hasMoreLogLines", GuiManager.hasMoreLogLines());
-					JsonArray logLines = getLogLines();
-					if (logLines != null) {
-						result.add("logs", logLines);
-					} else {
-						result.add("logs", new JsonArray());
-					}
 					//do not log the logs !!!
-					respond(req, resp, result.toString(), 200, "application/json", false);
+					respond(req, resp, getLogs(req), 200, "application/json", false);
 				}
 				case "/packer" -> {
 					JsonArray itemsArray = new JsonArray();
@@ -167,9 +159,53 @@ public class LogsApiServlet extends GuiHttpServlet {
 		}
 	}
 
-	private static JsonArray getLogLines() {
-		String[] logLines = GuiManager.getLogLines();
-		return getJsonArrayFromStringArray(logLines);
+	/**
+	 * Writes a page of the log lines kept in memory, with the logging
+	 * settings.
+	 * <p>
+	 * The page starts at the sequence number given by the {@code from}
+	 * parameter, or at the oldest line kept, and holds at most {@code limit}
+	 * lines. The {@code next} member is the {@code from} value of the next
+	 * page.
+	 */
+	private static String getLogs(HttpServletRequest req) throws IOException {
+		LogRingBuffer buffer = GuiManager.getLogBuffer();
+		long from = getLongParameter(req, "from", buffer.getFirstSequence());
+		int limit = (int) Math.max(0, Math.min(getLongParameter(req, "limit", buffer.getCapacity()), buffer.getCapacity()));
+		LogRingBuffer.Cursor cursor = buffer.cursorAt(from);
+		long first = cursor.getSequence();
+		List<String> lines = new ArrayList<>(Math.min(limit, 1024));
+		cursor.read(lines, limit);
+
+		StringWriter result = new StringWriter();
+		try (JsonWriter writer = new JsonWriter(result)) {
+			writer.beginObject();
+			writer.name("rootLogLevel").value(CONFIGURATION.getRootLogLevel());
+			writer.name("guiLogLevel").value(CONFIGURATION.getLoggingFilterLogsTab().toString());
+			writer.name("traceMode").value(PMS.getTraceMode());
+			writer.name("hasMoreLogLines").value(GuiManager.hasMoreLogLines());
+			writer.name("first").value(first);
+			writer.name("next").value(cursor.getSequence());
+			writer.name("logs").beginArray();
+			for (String line : lines) {
+				writer.value(line);
+			}
+			writer.endArray();
+			writer.endObject();
+		}
+		return result.toString();
+	}
+
+	private static long getLongParameter(HttpServletRequest req, String name, long defaultValue) {
+		String value = req.getParameter(name);
+		if (value != null) {
+			try {
+				return Long.parseLong(value);
+			} catch (NumberFormatException e) {
+				LOGGER.trace("Invalid {} parameter: {}", name, value);
+			}
+		}
+		return defaultValue;
 	}
 
 }
@@ -0,0 +1,69 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.network.webguiserver.servlets;
+
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import net.pms.iam.Account;
+import net.pms.iam.AuthService;
+import net.pms.iam.Permissions;
+import net.pms.metrics.Metrics;
+import net.pms.network.webguiserver.GuiHttpServlet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Serves the server metrics in the Prometheus text exposition format.
+ * <p>
+ * When the authentication is enabled, the scraper must send the token of an
+ * account allowed to view the settings as a bearer token.
+ */
+@WebServlet(name = "MetricsApiServlet", urlPatterns = {"/v1/api/metrics"}, displayName = "Metrics Api Servlet")
+public class MetricsApiServlet extends GuiHttpServlet {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(MetricsApiServlet.class);
+	private static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+	@Override
+	protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+		Account account = AuthService.getAccountLoggedIn(req);
+		if (account == null) {
+			respondUnauthorized(req, resp);
+			return;
+		}
+		if (!account.havePermission(Permissions.SETTINGS_VIEW | Permissions.SETTINGS_MODIFY)) {
+			respondForbidden(req, resp);
+			return;
+		}
+		try {
+			var path = req.getPathInfo() != null ? req.getPathInfo() : "/";
+			if (path.equals("/")) {
+				//do not log the metrics, they are scraped periodically
+				respond(req, resp, Metrics.toPrometheusText(), 200, PROMETHEUS_CONTENT_TYPE, false);
+			} else {
+				LOGGER.trace("MetricsApiServlet request not available : {}", path);
+				respondNotFound(req, resp);
+			}
+		} catch (RuntimeException e) {
+			LOGGER.error("RuntimeException in MetricsApiServlet: {}", e.getMessage());
+			respondInternalServerError(req, resp);
+		}
+	}
+
+}
@@ -27,6 +27,7 @@ import net.pms.network.webguiserver.servlets.I18nApiServlet;
 import net.pms.network.webguiserver.servlets.PlayerApiServlet;
 import net.pms.network.webplayerserver.servlets.PlayerAuthApiServlet;
 import net.pms.network.webplayerserver.servlets.WebPlayerServlet;
+import net.pms.util.VirtualThreadExecutors;
 import org.eclipse.jetty.ee10.servlet.ServletContextHandler;
 import org.eclipse.jetty.ee10.servlet.ServletHolder;
 import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
@@ -54,6 +55,7 @@ public class WebPlayerServerJetty extends WebPlayerServer {
 		InetSocketAddress address = new InetSocketAddress(InetAddress.getByName("0.0.0.0"), port);
 		QueuedThreadPool threadPool = new QueuedThreadPool();
 		threadPool.setName("webplayer-server");
+		threadPool.setVirtualThreadsExecutor(VirtualThreadExecutors.getJettyExecutor("webplayer-server"));
 		server = new Server(threadPool);
 		ServerConnector connector = new ServerConnector(server, new HttpConnectionFactory(), new HTTP2CServerConnectionFactory());
 		connector.setHost("0.0.0.0");
@@ -247,6 +247,8 @@ public class FFmpegParser {
 		params.setMaxBufferSize(1);
 		params.setStdIn(inputFile.getPush());
 		params.setNoExitCheck(true); // not serious if anything happens during the thumbnailer
+		// the thumbnails must not slow down the transcodes
+		params.setLowPriority(true);
 
 		// true: consume stderr on behalf of the caller i.e. parse()
 		final ProcessWrapperImpl pw = new ProcessWrapperImpl(args.toArray(String[]::new), true, params);
@@ -258,6 +258,8 @@ public class MPlayerParser {
 		params.setStdIn(inputFile.getPush());
 		params.setLog(true);
 		params.setNoExitCheck(true); // not serious if anything happens during the thumbnailer
+		// the thumbnails must not slow down the transcodes
+		params.setLowPriority(true);
 		final ProcessWrapperImpl pw = new ProcessWrapperImpl(args, true, params);
 
 		// FAILSAFE
@@ -32,6 +32,8 @@ import net.pms.image.ImageFormat;
 import net.pms.image.ImagesUtil;
 import net.pms.media.MediaInfo;
 import net.pms.media.MediaLang;
+import net.pms.metrics.Metrics;
+import net.pms.metrics.Timer;
 import net.pms.network.HTTPResource;
 import net.pms.store.ThumbnailSource;
 import net.pms.util.InputFile;
@@ -44,6 +46,7 @@ public class Parser {
 	private static final Logger LOGGER = LoggerFactory.getLogger(Parser.class);
 	private static final UmsConfiguration CONFIGURATION = PMS.getConfiguration();
 	public static final String MANUAL_PARSER = "NO_PARSER";
+	private static final Timer PARSE_TIMER = Metrics.timer("ums_parser_duration_seconds", "Time to parse a media file");
 
 	/**
 	 * This class is not meant to be instantiated.
@@ -55,6 +58,15 @@ public class Parser {
 	 * Chooses which parsing method to parse the file with.
 	 */
 	public static void parse(MediaInfo media, InputFile file, Format ext, int type) {
+		long start = PARSE_TIMER.start();
+		try {
+			parseWithChosenParser(media, file, ext, type);
+		} finally {
+			PARSE_TIMER.stop(start);
+		}
+	}
+
+	private static void parseWithChosenParser(MediaInfo media, InputFile file, Format ext, int type) {
 		//ensure media is not already parsing or is parsed
 		media.waitMediaParsing(5);
 		if (media.isMediaParsed()) {
@@ -177,4 +177,12 @@ public interface IPlatformUtils {
 	public abstract String getJvmExecutableName();
 
 	public abstract void destroyProcess(final Process p);
+
+	/**
+	 * Lowers the priority of a started process, so that a background task
+	 * doesn't slow down the transcodes and the other processes.
+	 *
+	 * @param p the {@link Process}.
+	 */
+	public abstract void setLowPriority(final Process p);
 }
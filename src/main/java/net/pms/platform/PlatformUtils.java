@@ -326,6 +326,24 @@ public class PlatformUtils implements IPlatformUtils {
 		p.destroy();
 	}
 
+	@Override
+	public void setLowPriority(Process p) {
+		try {
+			Process renice = new ProcessBuilder("renice", "-n", "10", "-p", Long.toString(p.pid()))
+				.redirectErrorStream(true)
+				.redirectOutput(ProcessBuilder.Redirect.DISCARD)
+				.start();
+			if (renice.waitFor() != 0) {
+				LOGGER.debug("Unable to lower the priority of process {}", p.pid());
+			}
+		} catch (IOException e) {
+			LOGGER.debug("Unable to lower the priority of process {}: {}", p.pid(), e.getMessage());
+			LOGGER.trace("", e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
 	private static PlatformUtils createInstance() {
 		if (Platform.isWindows()) {
 			return new WindowsUtils();
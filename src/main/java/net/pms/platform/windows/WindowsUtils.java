@@ -22,6 +22,7 @@ import com.sun.jna.platform.win32.Advapi32Util;
 import com.sun.jna.platform.win32.Shell32Util;
 import com.sun.jna.platform.win32.VerRsrc;
 import com.sun.jna.platform.win32.VersionUtil;
+import com.sun.jna.platform.win32.WinNT;
 import com.sun.jna.platform.win32.Win32Exception;
 import com.sun.jna.platform.win32.WinReg;
 import com.sun.jna.ptr.LongByReference;
@@ -490,6 +491,23 @@ public class WindowsUtils extends PlatformUtils {
 		return new WindowsPipeProcess(pipeName, params, extras);
 	}
 
+	@Override
+	public void setLowPriority(Process p) {
+		com.sun.jna.platform.win32.Kernel32 kernel32 = com.sun.jna.platform.win32.Kernel32.INSTANCE;
+		WinNT.HANDLE handle = kernel32.OpenProcess(WinNT.PROCESS_SET_INFORMATION, false, (int) p.pid());
+		if (handle == null) {
+			LOGGER.debug("Unable to open process {} to lower its priority", p.pid());
+			return;
+		}
+		try {
+			if (!kernel32.SetPriorityClass(handle, com.sun.jna.platform.win32.Kernel32.BELOW_NORMAL_PRIORITY_CLASS)) {
+				LOGGER.debug("Unable to lower the priority of process {}", p.pid());
+			}
+		} finally {
+			kernel32.CloseHandle(handle);
+		}
+	}
+
 	@Override
 	public void appendErrorString(StringBuilder sb, int exitCode) {
 		NTStatus ntStatus = null;
@@ -41,6 +41,7 @@ import net.pms.gui.IRendererGuiListener;
 import net.pms.iam.Account;
 import net.pms.iam.AccountService;
 import net.pms.network.SpeedStats;
+import net.pms.network.ThroughputEstimator;
 import net.pms.renderers.devices.players.BasicPlayer;
 import net.pms.renderers.devices.players.PlaybackTimer;
 import net.pms.renderers.devices.players.PlayerState;
@@ -308,7 +309,8 @@ public class Renderer extends RendererDeviceConfiguration {
 			!(
 				sa.isLoopbackAddress() ||
 				sa.isAnyLocalAddress()
-			)
+			) &&
+			ThroughputEstimator.getThroughputInMBits(sa) == null
 		) {
 			SpeedStats.getSpeedInMBits(sa, getRendererName());
 		}
@@ -743,8 +745,9 @@ public class Renderer extends RendererDeviceConfiguration {
 	}
 
 	/**
-	 * Returns the actual renderer network speed in Mbits/sec calculated from
-	 * the Ping response.
+	 * Returns the actual renderer network speed in Mbits/sec, measured from
+	 * the media sent to the renderer or else calculated from the Ping
+	 * response.
 	 *
 	 * @return the actual speed or the default MAX_VIDEO_BITRATE when the calculation fails.
 	 * @throws InterruptedException
@@ -754,6 +757,10 @@ public class Renderer extends RendererDeviceConfiguration {
 		int max = super.getMaxVideoBitrate();
 		InetAddress addr = ConnectedRenderers.getRendererInetAddress(this);
 		if (addr != null) {
+			Integer throughput = ThroughputEstimator.getThroughputInMBits(addr);
+			if (throughput != null && throughput > 0) {
+				return max > 0 ? Math.min(throughput, max) : throughput;
+			}
 			Future<Integer> speed = SpeedStats.getSpeedInMBitsStored(addr);
 			if (speed != null) {
 				if (max == 0) {
@@ -0,0 +1,381 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import net.pms.util.SimpleThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A dependency graph of named startup tasks.
+ * <p>
+ * Every task runs as soon as all the tasks it depends on are done, so tasks
+ * that don't depend on each other run in parallel. The start offset and the
+ * duration of each task are recorded, and the timings of the last run are
+ * kept for reporting.
+ * <p>
+ * Steps that must stay on the calling thread, like the dialogs, are declared
+ * as milestones: tasks can depend on them, and the caller marks them as
+ * reached with {@link #reach(String)} while the graph is running.
+ */
+public class StartupTasks {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(StartupTasks.class);
+
+	private static volatile List<Timing> lastTimings = Collections.emptyList();
+	private static volatile long lastDuration;
+
+	private final String name;
+	private final Map<String, Node> nodes = new LinkedHashMap<>();
+	private final List<Timing> timings = Collections.synchronizedList(new ArrayList<>());
+	private final Map<String, CompletableFuture<Void>> futures = new HashMap<>();
+	private ExecutorService executor;
+	private long start;
+
+	/**
+	 * Creates an empty startup graph.
+	 *
+	 * @param name the name used for the worker threads and the logs.
+	 */
+	public StartupTasks(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Adds a task to the graph.
+	 *
+	 * @param taskName the unique name of the task.
+	 * @param task the task.
+	 * @param dependencies the names of the tasks that must be done before
+	 *            this one starts.
+	 * @return this graph.
+	 */
+	public StartupTasks add(String taskName, Task task, String... dependencies) {
+		if (nodes.containsKey(taskName)) {
+			throw new IllegalArgumentException("Startup task \"" + taskName + "\" is already defined");
+		}
+		nodes.put(taskName, new Node(taskName, task, List.of(dependencies)));
+		return this;
+	}
+
+	/**
+	 * Adds a milestone to the graph, reached by the caller with
+	 * {@link #reach(String)}.
+	 *
+	 * @param milestoneName the unique name of the milestone.
+	 * @return this graph.
+	 */
+	public StartupTasks addMilestone(String milestoneName) {
+		return add(milestoneName, null);
+	}
+
+	/**
+	 * Checks whether a task depends on another one, directly or through other
+	 * tasks.
+	 *
+	 * @param taskName the name of the task.
+	 * @param dependency the name of the other task or milestone.
+	 * @return {@code true} if the task can't start before the other one is
+	 *         done.
+	 */
+	public boolean dependsOn(String taskName, String dependency) {
+		Node node = nodes.get(taskName);
+		if (node == null) {
+			return false;
+		}
+		for (String name : node.dependencies) {
+			if (name.equals(dependency) || dependsOn(name, dependency)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the task names in an order where every task comes after all its
+	 * dependencies.
+	 *
+	 * @return The ordered task names.
+	 * @throws IllegalStateException if a dependency is unknown or if the
+	 *             dependencies form a cycle.
+	 */
+	public List<String> getExecutionOrder() {
+		List<String> result = new ArrayList<>(nodes.size());
+		Set<String> done = new HashSet<>();
+		Set<String> visiting = new HashSet<>();
+		for (String taskName : nodes.keySet()) {
+			visit(taskName, done, visiting, new ArrayList<>(), result);
+		}
+		return result;
+	}
+
+	private void visit(String taskName, Set<String> done, Set<String> visiting, List<String> path, List<String> result) {
+		if (done.contains(taskName)) {
+			return;
+		}
+		Node node = nodes.get(taskName);
+		if (node == null) {
+			throw new IllegalStateException("Unknown startup task \"" + taskName + "\" required by " + path);
+		}
+		path.add(taskName);
+		if (!visiting.add(taskName)) {
+			throw new IllegalStateException("Startup tasks dependency cycle: " + String.join(" -> ", path.subList(path.indexOf(taskName), path.size())));
+		}
+		for (String dependency : node.dependencies) {
+			visit(dependency, done, visiting, path, result);
+		}
+		visiting.remove(taskName);
+		path.remove(path.size() - 1);
+		done.add(taskName);
+		result.add(taskName);
+	}
+
+	/**
+	 * Runs all the tasks and waits until they are done.
+	 *
+	 * A failed task prevents the tasks depending on it to run; the first
+	 * failure is thrown once the other tasks are done.
+	 *
+	 * @param threads the maximum number of tasks running at the same time.
+	 * @throws Exception the exception thrown by a failed task.
+	 * @throws IllegalStateException if the graph has milestones.
+	 */
+	public void run(int threads) throws Exception {
+		for (Node node : nodes.values()) {
+			if (node.task == null) {
+				throw new IllegalStateException("Startup milestone \"" + node.name + "\" can't be reached by run()");
+			}
+		}
+		start(threads);
+		await();
+	}
+
+	/**
+	 * Starts the tasks without waiting for them.
+	 *
+	 * @param threads the maximum number of tasks running at the same time.
+	 */
+	public synchronized void start(int threads) {
+		if (executor != null) {
+			throw new IllegalStateException("Startup tasks \"" + name + "\" are already started");
+		}
+		List<String> order = getExecutionOrder();
+		executor = Executors.newFixedThreadPool(Math.max(1, threads), new SimpleThreadFactory(name, name));
+		start = System.currentTimeMillis();
+		for (String taskName : order) {
+			Node node = nodes.get(taskName);
+			if (node.task == null) {
+				futures.put(taskName, new CompletableFuture<>());
+				continue;
+			}
+			CompletableFuture<?>[] dependencies = node.dependencies.stream().map(futures::get).toArray(CompletableFuture[]::new);
+			futures.put(taskName, CompletableFuture.allOf(dependencies).thenRunAsync(() -> runTask(node, start), executor));
+		}
+	}
+
+	/**
+	 * Marks a milestone as reached, so the tasks depending on it can run.
+	 *
+	 * @param milestoneName the name of the milestone.
+	 */
+	public synchronized void reach(String milestoneName) {
+		Node node = nodes.get(milestoneName);
+		if (node == null || node.task != null || executor == null) {
+			throw new IllegalStateException("Unknown or not started startup milestone \"" + milestoneName + "\"");
+		}
+		timings.add(new Timing(milestoneName, System.currentTimeMillis() - start, 0));
+		futures.get(milestoneName).complete(null);
+	}
+
+	/**
+	 * Waits until the given tasks are done.
+	 *
+	 * @param taskNames the names of the tasks to wait for.
+	 * @throws Exception the exception thrown by a failed task.
+	 */
+	public void await(String... taskNames) throws Exception {
+		CompletableFuture<?>[] awaited;
+		synchronized (this) {
+			if (executor == null) {
+				throw new IllegalStateException("Startup tasks \"" + name + "\" are not started");
+			}
+			awaited = new CompletableFuture<?>[taskNames.length];
+			for (int i = 0; i < taskNames.length; i++) {
+				awaited[i] = futures.get(taskNames[i]);
+				if (awaited[i] == null) {
+					throw new IllegalStateException("Unknown startup task \"" + taskNames[i] + "\"");
+				}
+			}
+		}
+		join(awaited);
+	}
+
+	/**
+	 * Waits until all the tasks are done, and logs their timings.
+	 *
+	 * All the milestones must have been reached.
+	 *
+	 * @throws Exception the exception thrown by a failed task.
+	 */
+	public void await() throws Exception {
+		CompletableFuture<?>[] awaited;
+		synchronized (this) {
+			if (executor == null) {
+				throw new IllegalStateException("Startup tasks \"" + name + "\" are not started");
+			}
+			awaited = futures.values().toArray(CompletableFuture[]::new);
+		}
+		try {
+			join(awaited);
+		} finally {
+			executor.shutdown();
+			long duration = System.currentTimeMillis() - start;
+			List<Timing> result = getTimings();
+			lastTimings = result;
+			lastDuration = duration;
+			logTimings(result, duration);
+		}
+	}
+
+	private static void join(CompletableFuture<?>[] awaited) throws Exception {
+		try {
+			CompletableFuture.allOf(awaited).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof Exception exception) {
+				throw exception;
+			}
+			throw e;
+		}
+	}
+
+	private void runTask(Node node, long start) {
+		long taskStart = System.currentTimeMillis();
+		try {
+			node.task.run();
+		} catch (Exception e) {
+			LOGGER.error("Startup task \"{}\" failed: {}", node.name, e.getMessage());
+			throw new CompletionException(e);
+		} finally {
+			timings.add(new Timing(node.name, taskStart - start, System.currentTimeMillis() - taskStart));
+		}
+	}
+
+	/**
+	 * @return the timings of the tasks run so far, ordered by start offset.
+	 */
+	public List<Timing> getTimings() {
+		List<Timing> result;
+		synchronized (timings) {
+			result = new ArrayList<>(timings);
+		}
+		result.sort((t1, t2) -> Long.compare(t1.getStart(), t2.getStart()));
+		return Collections.unmodifiableList(result);
+	}
+
+	private void logTimings(List<Timing> result, long duration) {
+		LOGGER.info("{} took {} ms:", name, duration);
+		for (Timing timing : result) {
+			LOGGER.info(":   {} started at {} ms and took {} ms", timing.getName(), timing.getStart(), timing.getDuration());
+		}
+	}
+
+	/**
+	 * @return the timings of the last run startup graph.
+	 */
+	public static List<Timing> getLastTimings() {
+		return lastTimings;
+	}
+
+	/**
+	 * @return the total duration in milliseconds of the last run startup
+	 * graph.
+	 */
+	public static long getLastDuration() {
+		return lastDuration;
+	}
+
+	/**
+	 * A startup task, that may throw any exception.
+	 */
+	@FunctionalInterface
+	public interface Task {
+		void run() throws Exception;
+	}
+
+	/**
+	 * The timing of a task that was run.
+	 */
+	public static class Timing {
+
+		private final String name;
+		private final long start;
+		private final long duration;
+
+		public Timing(String name, long start, long duration) {
+			this.name = name;
+			this.start = start;
+			this.duration = duration;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return the start offset in milliseconds from the start of the
+		 * graph.
+		 */
+		public long getStart() {
+			return start;
+		}
+
+		/**
+		 * @return the duration in milliseconds.
+		 */
+		public long getDuration() {
+			return duration;
+		}
+
+	}
+
+	private static class Node {
+
+		private final String name;
+		private final Task task;
+		private final List<String> dependencies;
+
+		private Node(String name, Task task, List<String> dependencies) {
+			this.name = name;
+			this.task = task;
+			this.dependencies = dependencies;
+		}
+
+	}
+
+}
@@ -26,22 +26,36 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import net.pms.PMS;
 import net.pms.database.MediaDatabase;
 import net.pms.database.MediaTableFailedLookups;
 import net.pms.database.MediaTableFiles;
 import net.pms.database.MediaTableTVSeries;
 import net.pms.database.MediaTableVideoMetadata;
+import net.pms.database.MediaTableWebStreamProbes;
+import net.pms.external.radiobrowser.RadioBrowser4j;
 import net.pms.external.tmdb.TMDB;
 import net.pms.formats.Format;
 import net.pms.media.MediaInfo;
 import net.pms.media.video.metadata.MediaVideoMetadata;
 import net.pms.media.video.metadata.TvSeriesMetadata;
+import net.pms.metrics.Metrics;
+import net.pms.metrics.Timer;
 import net.pms.parsers.FFmpegParser;
 import net.pms.parsers.Parser;
 import net.pms.parsers.WebStreamParser;
 import net.pms.util.FileNameMetadata;
 import net.pms.util.FileUtil;
 import net.pms.util.InputFile;
+import net.pms.util.SimpleThreadFactory;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,6 +66,24 @@ public class MediaInfoStore {
 	private static final Map<String, WeakReference<MediaInfo>> STORE = new HashMap<>();
 	private static final Map<Long, WeakReference<TvSeriesMetadata>> TV_SERIES_STORE = new HashMap<>();
 	private static final Map<String, Object> LOCKS = new HashMap<>();
+	private static final Map<String, Long> WEB_STREAM_PROBED = new ConcurrentHashMap<>();
+	private static final Map<String, CompletableFuture<MediaInfo>> PENDING_WEB_STREAM_PROBES = new ConcurrentHashMap<>();
+	private static final int WEB_STREAM_PROBE_THREADS = 4;
+	private static final int WEB_STREAM_PROBE_QUEUE_SIZE = 1000;
+	private static final int WEB_STREAM_PROBE_TIMEOUT = 30;
+	private static final ThreadPoolExecutor WEB_STREAM_PROBE_EXECUTOR = new ThreadPoolExecutor(
+		WEB_STREAM_PROBE_THREADS,
+		WEB_STREAM_PROBE_THREADS,
+		60,
+		TimeUnit.SECONDS,
+		new LinkedBlockingQueue<>(WEB_STREAM_PROBE_QUEUE_SIZE),
+		new SimpleThreadFactory("Web Stream Prober", "Web Stream Prober", Thread.MIN_PRIORITY)
+	);
+	private static final Timer GET_MEDIA_INFO_TIMER = Metrics.timer("ums_media_info_duration_seconds", "Time to get the media information of a file, parsing it if needed");
+
+	static {
+		WEB_STREAM_PROBE_EXECUTOR.allowCoreThreadTimeOut(true);
+	}
 
 	private MediaInfoStore() {
 		//should not be instantiated
@@ -112,6 +144,15 @@ public class MediaInfoStore {
 	}
 
 	public static MediaInfo getMediaInfo(String filename, File file, Format format, int type) {
+		long start = GET_MEDIA_INFO_TIMER.start();
+		try {
+			return resolveMediaInfo(filename, file, format, type);
+		} finally {
+			GET_MEDIA_INFO_TIMER.stop(start);
+		}
+	}
+
+	private static MediaInfo resolveMediaInfo(String filename, File file, Format format, int type) {
 		Object lock = getLock(filename);
 		synchronized (lock) {
 			MediaInfo mediaInfo = getMediaInfoStored(filename);
@@ -128,6 +169,10 @@ public class MediaInfoStore {
 					connection.setAutoCommit(false);
 					try {
 						mediaInfo = MediaTableFiles.getMediaInfo(connection, filename, file.lastModified());
+						if (mediaInfo == null && filename.equals(file.getAbsolutePath()) && MediaTableFiles.relinkMovedFile(connection, file)) {
+							// the file was renamed or moved, reuse its stored data
+							mediaInfo = MediaTableFiles.getMediaInfo(connection, filename, file.lastModified());
+						}
 						if (mediaInfo != null) {
 							if (!mediaInfo.isMediaParsed()) {
 								Parser.parse(mediaInfo, input, format, type);
@@ -199,31 +244,149 @@ public class MediaInfoStore {
 		}
 	}
 
-	public static MediaInfo getWebStreamMediaInfo(String url, int type) {
+	/**
+	 * Returns the media information of a web stream without waiting for the
+	 * stream to be probed, for browsing.
+	 * <p>
+	 * Streams that were never probed, or whose probe expired, are probed in
+	 * the background. Until then the cached or the empty media information is
+	 * returned. The probe result is a new {@link MediaInfo} that replaces it
+	 * in the store, and the update ids of the stream are incremented so
+	 * renderers browse it again.
+	 *
+	 * @param url the web stream url.
+	 * @param type the web stream {@link Format} type.
+	 * @param radioBrowserUUID the RadioBrowser station uuid to complete the
+	 *            probe with, or {@code null}.
+	 * @return The {@link MediaInfo}, possibly not parsed yet.
+	 */
+	public static MediaInfo getWebStreamMediaInfo(String url, int type, String radioBrowserUUID) {
 		Object lock = getLock(url);
 		synchronized (lock) {
 			MediaInfo mediaInfo = getMediaInfoStored(url);
-			if (mediaInfo != null) {
-				return mediaInfo;
-			}
-			LOGGER.trace("Store does not yet contain MediaInfo for {}", url);
-			try (Connection connection = MediaDatabase.getConnectionIfAvailable()) {
-				mediaInfo = MediaTableFiles.getMediaInfo(connection, url, 0);
+			if (mediaInfo == null) {
+				LOGGER.trace("Store does not yet contain MediaInfo for {}", url);
+				Long probed = null;
+				try (Connection connection = MediaDatabase.getConnectionIfAvailable()) {
+					if (connection != null) {
+						mediaInfo = MediaTableFiles.getMediaInfo(connection, url, 0);
+						probed = MediaTableWebStreamProbes.getProbed(connection, url);
+					}
+				} catch (IOException | SQLException e) {
+					LOGGER.debug("Error while getting cached information about {}: {}", url, e.getMessage());
+					LOGGER.trace("", e);
+				}
 				if (mediaInfo == null) {
 					mediaInfo = new MediaInfo();
 				}
-				if (!mediaInfo.isMediaParsed()) {
-					WebStreamParser.parse(mediaInfo, url, type);
-					MediaTableFiles.insertOrUpdateData(connection, url, 0, type, mediaInfo);
-				}
-			} catch (Exception e) {
-				LOGGER.error("Database error while trying to add parsed information for \"{}\" to the cache: {}", url, e.getMessage());
-			}
-			if (mediaInfo != null) {
+				WEB_STREAM_PROBED.put(url, probed != null ? probed : 0L);
 				storeMediaInfo(url, mediaInfo);
 			}
+			Long probed = WEB_STREAM_PROBED.get(url);
+			long maxAge = PMS.getConfiguration().getWebStreamProbeCacheTime() * 3600000L;
+			if (!mediaInfo.isMediaParsed() || probed == null || System.currentTimeMillis() - probed > maxAge) {
+				queueWebStreamProbe(url, type, radioBrowserUUID);
+			}
+			return mediaInfo;
+		}
+	}
+
+	/**
+	 * Returns the media information of a web stream for playback.
+	 * <p>
+	 * Unlike {@link #getWebStreamMediaInfo(String, int, String)}, a stream that was
+	 * never probed is waited for, at most {@value #WEB_STREAM_PROBE_TIMEOUT}
+	 * seconds. It is probed by the calling thread when the probe queue is
+	 * full.
+	 *
+	 * @param url the web stream url.
+	 * @param type the web stream {@link Format} type.
+	 * @param radioBrowserUUID the RadioBrowser station uuid to complete the
+	 *            probe with, or {@code null}.
+	 * @return The {@link MediaInfo}, not parsed if the probe timed out.
+	 */
+	public static MediaInfo getProbedWebStreamMediaInfo(String url, int type, String radioBrowserUUID) {
+		MediaInfo mediaInfo = getWebStreamMediaInfo(url, type, radioBrowserUUID);
+		if (mediaInfo.isMediaParsed()) {
 			return mediaInfo;
 		}
+		MediaInfo probed = null;
+		try {
+			probed = queueWebStreamProbe(url, type, radioBrowserUUID).get(WEB_STREAM_PROBE_TIMEOUT, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RejectedExecutionException) {
+				probed = probeWebStream(url, type, radioBrowserUUID);
+			}
+		} catch (TimeoutException e) {
+			LOGGER.debug("Timed out while waiting for the web stream \"{}\" to be probed", url);
+		}
+		return probed != null ? probed : mediaInfo;
+	}
+
+	/**
+	 * Queues a probe of the web stream, unless one is already queued.
+	 *
+	 * @return The pending probe. It fails with a
+	 *         {@link RejectedExecutionException} if the queue is full.
+	 */
+	private static CompletableFuture<MediaInfo> queueWebStreamProbe(String url, int type, String radioBrowserUUID) {
+		CompletableFuture<MediaInfo> probe = new CompletableFuture<>();
+		CompletableFuture<MediaInfo> pending = PENDING_WEB_STREAM_PROBES.putIfAbsent(url, probe);
+		if (pending != null) {
+			return pending;
+		}
+		try {
+			WEB_STREAM_PROBE_EXECUTOR.execute(() -> {
+				MediaInfo mediaInfo = null;
+				try {
+					mediaInfo = probeWebStream(url, type, radioBrowserUUID);
+				} catch (RuntimeException e) {
+					LOGGER.error("Unhandled exception while probing the web stream \"{}\": {}", url, e.getMessage());
+					LOGGER.trace("", e);
+				} finally {
+					PENDING_WEB_STREAM_PROBES.remove(url, probe);
+					probe.complete(mediaInfo);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			LOGGER.trace("Too many web streams waiting to be probed, not probing \"{}\" now", url);
+			PENDING_WEB_STREAM_PROBES.remove(url, probe);
+			probe.completeExceptionally(e);
+		}
+		return probe;
+	}
+
+	/**
+	 * Probes a web stream into a new {@link MediaInfo}, completes it with the
+	 * RadioBrowser metadata, then stores it. The {@link MediaInfo} already
+	 * handed out is never modified.
+	 */
+	private static MediaInfo probeWebStream(String url, int type, String radioBrowserUUID) {
+		LOGGER.trace("Probing the web stream {}", url);
+		MediaInfo mediaInfo = new MediaInfo();
+		WebStreamParser.parse(mediaInfo, url, type);
+		long probed = System.currentTimeMillis();
+		try (Connection connection = MediaDatabase.getConnectionIfAvailable()) {
+			if (connection != null) {
+				// this increments the update ids of the stream
+				MediaTableFiles.insertOrUpdateData(connection, url, 0, type, mediaInfo);
+				// The station thumbnail is stored with the file id
+				if (StringUtils.isNotBlank(radioBrowserUUID) && RadioBrowser4j.getWebStreamMetadata(mediaInfo, url, radioBrowserUUID)) {
+					MediaTableFiles.insertOrUpdateData(connection, url, 0, type, mediaInfo);
+				}
+				MediaTableWebStreamProbes.set(connection, url, probed);
+			}
+		} catch (SQLException e) {
+			LOGGER.error("Database error while trying to add parsed information for \"{}\" to the cache: {}", url, e.getMessage());
+			LOGGER.trace("", e);
+		}
+		synchronized (getLock(url)) {
+			storeMediaInfo(url, mediaInfo);
+			WEB_STREAM_PROBED.put(url, probed);
+		}
+		return mediaInfo;
 	}
 
 	public static MediaVideoMetadata getMediaVideoMetadata(String filename) {
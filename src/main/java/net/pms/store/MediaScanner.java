@@ -22,7 +22,22 @@ import java.nio.file.StandardWatchEventKinds;
 import java.sql.Connection;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.GuardedBy;
@@ -34,6 +49,8 @@ import net.pms.configuration.sharedcontent.SharedContentConfiguration;
 import net.pms.configuration.sharedcontent.SharedContentListener;
 import net.pms.database.MediaDatabase;
 import net.pms.database.MediaTableFiles;
+import net.pms.database.MediaTableScannedFolders;
+import net.pms.database.MediaTableTVSeriesSeasons;
 import net.pms.gui.GuiManager;
 import net.pms.platform.PlatformUtils;
 import net.pms.renderers.ConnectedRenderers;
@@ -42,8 +59,10 @@ import net.pms.renderers.devices.MediaScannerDevice;
 import net.pms.store.container.DVDISOFile;
 import net.pms.store.container.PlaylistFolder;
 import net.pms.store.container.RealFolder;
+import net.pms.util.Debouncer;
 import net.pms.util.FileUtil;
 import net.pms.util.FileWatcher;
+import net.pms.util.SimpleThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -60,11 +79,76 @@ public class MediaScanner implements SharedContentListener {
 	private static final Renderer RENDERER = MediaScannerDevice.getRenderer();
 	private static final MediaScanner INSTANCE = new MediaScanner();
 	private static final List<String> FILES_PARSING = Collections.synchronizedList(new ArrayList<>());
+	private static final long FOLDER_EVENTS_DELAY = 1000;
+	private static final long SCAN_REPORT_INTERVAL = 30000;
+	private static final AtomicInteger PENDING_SCANS = new AtomicInteger();
+	private static final AtomicLong SCANNED_ENTRIES = new AtomicLong();
+	private static final AtomicLong SKIPPED_FOLDERS = new AtomicLong();
+	private static final Debouncer FOLDER_EVENTS_DEBOUNCER = new Debouncer();
+	@GuardedBy("PENDING_FOLDER_EVENTS")
+	private static final Map<File, Map<File, String>> PENDING_FOLDER_EVENTS = new HashMap<>();
+	private static final int FOLDER_EVENTS_QUEUE_SIZE = 256;
+	private static final ThreadPoolExecutor FOLDER_EVENTS_EXECUTOR = new ThreadPoolExecutor(
+		2,
+		2,
+		60,
+		TimeUnit.SECONDS,
+		new LinkedBlockingQueue<>(FOLDER_EVENTS_QUEUE_SIZE),
+		new SimpleThreadFactory("MediaScanner File Parser", "MediaScanner File Parser")
+	);
+	/**
+	 * The reconciliations run one at a time, and there is at most one waiting
+	 * per watched root.
+	 */
+	private static final ThreadPoolExecutor RECONCILE_EXECUTOR = new ThreadPoolExecutor(
+		1,
+		1,
+		60,
+		TimeUnit.SECONDS,
+		new LinkedBlockingQueue<>(),
+		new SimpleThreadFactory("MediaScanner Reconciler", "MediaScanner Reconciler")
+	);
+	private static final Set<File> PENDING_RECONCILES = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * How long the deleted files and folders are kept in the database, in
+	 * milliseconds. It is longer than {@link #FOLDER_EVENTS_DELAY}, so that a
+	 * file moved to another folder or a renamed folder is relinked to its
+	 * stored data before it is removed.
+	 */
+	private static final long DELETES_DELAY = 5000;
+
+	/**
+	 * How long the deletes are postponed at most while the created files are
+	 * still being processed, in milliseconds.
+	 */
+	private static final long MAX_DELETES_DELAY = 60000;
+	private static final ScheduledExecutorService DELETES_EXECUTOR = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread thread = new Thread(r, "MediaScanner Remover");
+		thread.setDaemon(true);
+		return thread;
+	});
+	@GuardedBy("PENDING_DELETES")
+	private static final Map<File, PendingDelete> PENDING_DELETES = new LinkedHashMap<>();
+	@GuardedBy("PENDING_DELETES")
+	private static boolean deletesScheduled;
+
+	/**
+	 * The number of created folders being parsed.
+	 */
+	private static final AtomicInteger ADDING_FOLDERS = new AtomicInteger();
 
 	@GuardedBy("DEFAULT_FOLDERS_LOCK")
 	private static List<String> defaultFolders = null;
 	private static Thread scannerThread;
-	private static boolean running;
+	private static volatile boolean running;
+	private static volatile long scanStart;
+	private static volatile long expectedEntries;
+
+	static {
+		FOLDER_EVENTS_EXECUTOR.allowCoreThreadTimeOut(true);
+		RECONCILE_EXECUTOR.allowCoreThreadTimeOut(true);
+	}
 
 	private MediaScanner() {
 	}
@@ -95,7 +179,7 @@ public class MediaScanner implements SharedContentListener {
 			try {
 				connection = MediaDatabase.getConnectionIfAvailable();
 				if (connection != null) {
-					scan(RENDERER.getMediaStore());
+					scan(connection, RENDERER.getMediaStore());
 					// Running might have been set false during scan
 					if (running) {
 						MediaTableFiles.cleanup(connection);
@@ -111,51 +195,224 @@ public class MediaScanner implements SharedContentListener {
 		GuiManager.setStatusLine(null);
 	}
 
-	private static void scan(StoreContainer resource) {
-		if (running) {
-			for (StoreResource child : resource.getChildren()) {
-				try {
-					// wait until the MediaStore workers release before starting
-					MediaStore.waitWorkers();
-				} catch (InterruptedException ex) {
-					running = false;
-					Thread.currentThread().interrupt();
+	/**
+	 * Scans the children of the root container with a bounded pool of
+	 * workers, one task per real folder, and waits for completion.
+	 */
+	private static void scan(Connection connection, StoreContainer root) {
+		int threads = RENDERER.getUmsConfiguration().getScanThreads();
+		boolean incremental = RENDERER.getUmsConfiguration().isScanIncremental();
+		ExecutorService executor = Executors.newFixedThreadPool(threads, new SimpleThreadFactory("Media Scanner Worker", "Media Scanner", Thread.MIN_PRIORITY));
+		scanStart = System.currentTimeMillis();
+		SCANNED_ENTRIES.set(0);
+		SKIPPED_FOLDERS.set(0);
+		expectedEntries = incremental ? MediaTableScannedFolders.getTotalChildren(connection) : 0;
+		if (!incremental) {
+			MediaTableScannedFolders.clear(connection);
+		}
+		LOGGER.debug("Scanning with {} workers, incremental: {}", threads, incremental);
+		try {
+			for (StoreResource child : root.getChildren()) {
+				if (child instanceof StoreContainer storeContainer && storeContainer.allowScan()) {
+					submitScan(executor, storeContainer, incremental);
 				}
-				if (running && child instanceof StoreContainer storeContainer && storeContainer.allowScan()) {
-
-					// Display and log which folder is being scanned
-					if (storeContainer instanceof RealFolder) {
-						String childName = child.getName();
-						LOGGER.debug("Scanning folder: " + childName);
-						GuiManager.setStatusLine(Messages.getString("ScanningFolder") + " " + childName);
+			}
+			long lastReport = System.currentTimeMillis();
+			synchronized (PENDING_SCANS) {
+				while (running && PENDING_SCANS.get() > 0) {
+					PENDING_SCANS.wait(1000);
+					if (System.currentTimeMillis() - lastReport > SCAN_REPORT_INTERVAL) {
+						lastReport = System.currentTimeMillis();
+						logScanProgress();
 					}
+				}
+			}
+		} catch (InterruptedException e) {
+			running = false;
+			Thread.currentThread().interrupt();
+		} finally {
+			executor.shutdownNow();
+		}
+		logScanProgress();
+	}
 
-					if (storeContainer.isDiscovered()) {
-						storeContainer.refreshChildren();
-					} else {
-						// ugly hack
-						if (storeContainer instanceof DVDISOFile || storeContainer instanceof PlaylistFolder) {
-							storeContainer.syncResolve();
+	private static void submitScan(ExecutorService executor, StoreContainer storeContainer, boolean incremental) {
+		PENDING_SCANS.incrementAndGet();
+		try {
+			executor.execute(() -> {
+				// The seasons of the TV series are counted once per folder
+				boolean batch = MediaTableTVSeriesSeasons.beginBatch();
+				try {
+					scanContainer(executor, storeContainer, incremental);
+				} catch (RuntimeException e) {
+					LOGGER.error("Unhandled exception while scanning \"{}\": {}", storeContainer.getName(), e.getMessage());
+					LOGGER.trace("", e);
+				} finally {
+					if (batch) {
+						MediaTableTVSeriesSeasons.endBatch();
+					}
+					if (PENDING_SCANS.decrementAndGet() == 0) {
+						synchronized (PENDING_SCANS) {
+							PENDING_SCANS.notifyAll();
 						}
-
-						storeContainer.discoverChildren();
-						storeContainer.setDiscovered(true);
 					}
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			// The scan was stopped
+			PENDING_SCANS.decrementAndGet();
+		}
+	}
 
-					int count = storeContainer.getChildren().size();
-					if (count != 0) {
-						scan(storeContainer);
-						storeContainer.getChildren().clear();
+	/**
+	 * Scans a container. Real subfolders are handed to the worker pool, other
+	 * scannable containers (A-Z folders, playlists, DVDs...) are scanned
+	 * inline, so that a real folder is only checkpointed once all its own
+	 * files were scanned.
+	 */
+	private static void scanContainer(ExecutorService executor, StoreContainer storeContainer, boolean incremental) {
+		if (!running) {
+			return;
+		}
+		try {
+			// wait until the MediaStore workers release before starting
+			MediaStore.waitWorkers();
+		} catch (InterruptedException ex) {
+			running = false;
+			Thread.currentThread().interrupt();
+			return;
+		}
+
+		File directory = null;
+		long modified = 0;
+		int entries = 0;
+		if (storeContainer instanceof RealFolder realFolder) {
+			directory = realFolder.getSystemFile();
+			modified = directory.lastModified();
+			File[] files = directory.listFiles();
+			entries = files == null ? 0 : files.length;
+			if (incremental && isUnchangedFolder(directory, modified, entries)) {
+				// Only look for changes deeper in the tree
+				SKIPPED_FOLDERS.incrementAndGet();
+				SCANNED_ENTRIES.addAndGet(entries);
+				LOGGER.trace("Skipping unchanged folder: {}", directory);
+				for (File file : files) {
+					if (file.isDirectory() && RENDERER.getMediaStore().createResourceFromFile(file) instanceof StoreContainer child && child.allowScan()) {
+						// Linked like a discovered child, without rediscovering the folder
+						child.setParent(storeContainer);
+						submitScan(executor, child, incremental);
 					}
-				} else if (!running) {
-					break;
 				}
+				return;
+			}
+
+			// Display and log which folder is being scanned
+			String childName = storeContainer.getName();
+			LOGGER.debug("Scanning folder: " + childName);
+			GuiManager.setStatusLine(Messages.getString("ScanningFolder") + " " + childName);
+		}
+
+		if (storeContainer.isDiscovered()) {
+			storeContainer.refreshChildren();
+		} else {
+			// ugly hack
+			if (storeContainer instanceof DVDISOFile || storeContainer instanceof PlaylistFolder) {
+				storeContainer.syncResolve();
+			}
+
+			storeContainer.discoverChildren();
+			storeContainer.setDiscovered(true);
+		}
+
+		List<StoreResource> children = new ArrayList<>(storeContainer.getChildren());
+		storeContainer.getChildren().clear();
+		for (StoreResource child : children) {
+			if (!running) {
+				return;
+			}
+			if (child instanceof StoreContainer childContainer && childContainer.allowScan()) {
+				if (childContainer instanceof RealFolder) {
+					submitScan(executor, childContainer, incremental);
+				} else {
+					scanContainer(executor, childContainer, incremental);
+				}
+			} else if (child instanceof StoreItem storeItem) {
+				SubtitlesPreExtractor.queue(storeItem);
+				ThumbnailService.queue(storeItem);
+			}
+		}
+
+		if (directory != null && running) {
+			SCANNED_ENTRIES.addAndGet(entries);
+			Connection connection = null;
+			try {
+				connection = MediaDatabase.getConnectionIfAvailable();
+				if (connection != null) {
+					MediaTableScannedFolders.set(connection, directory.getAbsolutePath(), modified, entries);
+				}
+			} finally {
+				MediaDatabase.close(connection);
 			}
+		}
+	}
+
+	private static boolean isUnchangedFolder(File directory, long modified, int entries) {
+		Connection connection = null;
+		try {
+			connection = MediaDatabase.getConnectionIfAvailable();
+			return connection != null && MediaTableScannedFolders.isUnchanged(connection, directory.getAbsolutePath(), modified, entries);
+		} finally {
+			MediaDatabase.close(connection);
+		}
+	}
+
+	private static void logScanProgress() {
+		long entries = SCANNED_ENTRIES.get();
+		double elapsed = (System.currentTimeMillis() - scanStart) / 1000.0;
+		double rate = elapsed > 0 ? entries / elapsed : 0;
+		if (expectedEntries > entries && rate > 0) {
+			LOGGER.info(
+				"Media scan progress: {} entries ({} unchanged folders skipped), {} entries/s, about {} seconds remaining",
+				entries,
+				SKIPPED_FOLDERS.get(),
+				Math.round(rate),
+				Math.round((expectedEntries - entries) / rate)
+			);
 		} else {
-			GuiManager.setStatusLine(null);
+			LOGGER.info("Media scan progress: {} entries ({} unchanged folders skipped), {} entries/s", entries, SKIPPED_FOLDERS.get(), Math.round(rate));
 		}
 	}
 
+	/**
+	 * @return the number of folder entries scanned by the current or last
+	 * media scan.
+	 */
+	public static long getScannedEntries() {
+		return SCANNED_ENTRIES.get();
+	}
+
+	/**
+	 * @return the number of scanned entries per second of the current or last
+	 * media scan.
+	 */
+	public static double getScanRate() {
+		long elapsed = System.currentTimeMillis() - scanStart;
+		return elapsed > 0 ? SCANNED_ENTRIES.get() * 1000.0 / elapsed : 0;
+	}
+
+	/**
+	 * @return the estimated remaining time in seconds of the current media
+	 * scan, or -1 if unknown.
+	 */
+	public static long getScanEta() {
+		double rate = getScanRate();
+		long remaining = expectedEntries - SCANNED_ENTRIES.get();
+		if (!isMediaScanRunning() || rate <= 0 || remaining <= 0) {
+			return -1;
+		}
+		return Math.round(remaining / rate);
+	}
+
 	private static void reset() {
 		RENDERER.getMediaStore().getChildren().clear();
 		RENDERER.getMediaStore().setDiscovered(false);
@@ -346,55 +603,334 @@ public class MediaScanner implements SharedContentListener {
 	}
 
 	/**
-	 * Threaded parses a file so it gets parsed and added to the database along the way.
+	 * Queues a file event for its parent folder.
 	 *
-	 * @param file the file to parse
+	 * Bursts of events in the same folder are coalesced, and processed as a
+	 * single batch once the folder has been quiet for
+	 * {@link #FOLDER_EVENTS_DELAY} milliseconds.
+	 *
+	 * @param file the file that was created, modified or deleted.
+	 * @param event the event kind.
 	 */
-	private static void parseFileEntry(File file, boolean advise) {
+	private static void queueFileEvent(File file, String event) {
+		File folder = file.getParentFile();
+		if (folder == null) {
+			return;
+		}
+		synchronized (PENDING_FOLDER_EVENTS) {
+			Map<File, String> events = PENDING_FOLDER_EVENTS.computeIfAbsent(folder, k -> new LinkedHashMap<>());
+			// A creation followed by modifications is still a creation
+			if (!(ENTRY_MODIFY.equals(event) && ENTRY_CREATE.equals(events.get(file)))) {
+				events.put(file, event);
+			}
+		}
+		FOLDER_EVENTS_DEBOUNCER.debounce(folder, () -> processFolderEvents(folder), FOLDER_EVENTS_DELAY, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Threaded processing of the queued events of a folder, so the created or
+	 * modified files get parsed and added to the database along the way.
+	 *
+	 * Renderers are advised once for the whole batch. When too many batches
+	 * are waiting already, the events are put back and retried later.
+	 *
+	 * @param folder the folder.
+	 */
+	private static void processFolderEvents(File folder) {
+		final Map<File, String> events;
+		synchronized (PENDING_FOLDER_EVENTS) {
+			events = PENDING_FOLDER_EVENTS.remove(folder);
+		}
+		if (events == null || events.isEmpty()) {
+			return;
+		}
+		LOGGER.debug("Processing {} file events in folder {}", events.size(), folder);
+		Runnable r = () -> {
+			File added;
+			// The seasons of the TV series are counted once per batch
+			boolean batch = MediaTableTVSeriesSeasons.beginBatch();
+			try {
+				added = processFolderEvents(events);
+			} finally {
+				if (batch) {
+					MediaTableTVSeriesSeasons.endBatch();
+				}
+			}
+			if (added != null) {
+				//Advise renderers for added files, once per folder.
+				for (Renderer connectedRenderer : ConnectedRenderers.getConnectedRenderers()) {
+					connectedRenderer.getMediaStore().fileAdded(added);
+				}
+			}
+		};
+		try {
+			FOLDER_EVENTS_EXECUTOR.execute(r);
+		} catch (RejectedExecutionException e) {
+			synchronized (PENDING_FOLDER_EVENTS) {
+				Map<File, String> pending = PENDING_FOLDER_EVENTS.computeIfAbsent(folder, k -> new LinkedHashMap<>());
+				// Events received since then are more recent
+				for (Map.Entry<File, String> entry : events.entrySet()) {
+					pending.putIfAbsent(entry.getKey(), entry.getValue());
+				}
+			}
+			FOLDER_EVENTS_DEBOUNCER.debounce(folder, () -> processFolderEvents(folder), FOLDER_EVENTS_DELAY, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Processes the queued events of a folder.
+	 *
+	 * @param events the events by file.
+	 * @return The last file created, or {@code null}.
+	 */
+	private static File processFolderEvents(Map<File, String> events) {
+		File added = null;
+		for (Map.Entry<File, String> entry : events.entrySet()) {
+			File file = entry.getKey();
+			if (ENTRY_DELETE.equals(entry.getValue())) {
+				// Removed later, so moved files can take over their stored data
+				queueDelete(file, false);
+				continue;
+			}
+			boolean advise = ENTRY_CREATE.equals(entry.getValue());
+			if (advise) {
+				LOGGER.debug("File {} was created on the hard drive", file);
+			}
+			try {
+				if (!waitFullyWritten(file)) {
+					continue;
+				}
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return null;
+			}
+			if (file.exists()) {
+				LOGGER.debug("Analyzing file {}", file);
+				if (parseFileEntry(file) && advise) {
+					added = file;
+				}
+			} else {
+				LOGGER.debug("File {} does not more exists", file);
+			}
+		}
+		return added;
+	}
+
+	/**
+	 * Queues the removal of a deleted file or folder from the database.
+	 *
+	 * It is removed after {@link #DELETES_DELAY} milliseconds, unless it exists
+	 * again. Meanwhile the files created elsewhere with the same content are
+	 * relinked to its stored data by {@link MediaTableFiles#relinkMovedFile},
+	 * keeping their metadata, play status and thumbnails.
+	 *
+	 * @param file the deleted file or folder.
+	 * @param isDirectory whether it is a folder.
+	 */
+	static void queueDelete(File file, boolean isDirectory) {
+		synchronized (PENDING_DELETES) {
+			PENDING_DELETES.put(file, new PendingDelete(isDirectory));
+			if (!deletesScheduled) {
+				deletesScheduled = true;
+				DELETES_EXECUTOR.schedule(() -> processDeletes(false), DELETES_DELAY, TimeUnit.MILLISECONDS);
+			}
+		}
+	}
+
+	/**
+	 * Removes the files and folders deleted for {@link #DELETES_DELAY}
+	 * milliseconds, once the created files are processed.
+	 *
+	 * @param all whether to remove all of them now.
+	 */
+	private static void processDeletes(boolean all) {
+		boolean creating = !all && isProcessingCreatedFiles();
+		long now = System.currentTimeMillis();
+		List<Map.Entry<File, PendingDelete>> deletes = new ArrayList<>();
+		synchronized (PENDING_DELETES) {
+			if (!all) {
+				deletesScheduled = false;
+			}
+			Iterator<Map.Entry<File, PendingDelete>> iterator = PENDING_DELETES.entrySet().iterator();
+			while (iterator.hasNext()) {
+				Map.Entry<File, PendingDelete> entry = iterator.next();
+				long age = now - entry.getValue().time;
+				if (all || age >= MAX_DELETES_DELAY || (age >= DELETES_DELAY && !creating)) {
+					deletes.add(Map.entry(entry.getKey(), entry.getValue()));
+					iterator.remove();
+				}
+			}
+			if (!PENDING_DELETES.isEmpty() && !deletesScheduled) {
+				deletesScheduled = true;
+				DELETES_EXECUTOR.schedule(() -> processDeletes(false), DELETES_DELAY, TimeUnit.MILLISECONDS);
+			}
+		}
+		for (Map.Entry<File, PendingDelete> delete : deletes) {
+			File file = delete.getKey();
+			if (file.exists()) {
+				// Created again meanwhile
+				continue;
+			}
+			try {
+				if (delete.getValue().isDirectory) {
+					removeFolderEntry(file.getAbsolutePath());
+				} else {
+					removeFileEntry(file.getAbsolutePath());
+				}
+			} catch (RuntimeException e) {
+				LOGGER.error("Unhandled exception while removing \"{}\" from the database: {}", file, e.getMessage());
+				LOGGER.trace("", e);
+			}
+		}
+	}
+
+	/**
+	 * Removes all the deleted files and folders now.
+	 */
+	//used only from test class
+	static void processAllDeletes() {
+		processDeletes(true);
+	}
+
+	/**
+	 * @return Whether created files are waiting to be processed or being
+	 *         processed.
+	 */
+	private static boolean isProcessingCreatedFiles() {
+		synchronized (PENDING_FOLDER_EVENTS) {
+			if (!PENDING_FOLDER_EVENTS.isEmpty()) {
+				return true;
+			}
+		}
+		return ADDING_FOLDERS.get() > 0 || FOLDER_EVENTS_EXECUTOR.getActiveCount() > 0 || !FOLDER_EVENTS_EXECUTOR.getQueue().isEmpty();
+	}
+
+	/**
+	 * Waits until the file size is not changing anymore and the file is
+	 * unlocked.
+	 *
+	 * @param file the file.
+	 * @return {@code false} if the file is already being waited for by another
+	 *         thread, {@code true} otherwise.
+	 * @throws InterruptedException
+	 */
+	private static boolean waitFullyWritten(File file) throws InterruptedException {
 		String filename = file.getAbsolutePath();
 		synchronized (FILES_PARSING) {
 			if (FILES_PARSING.contains(filename)) {
 				//parsing of this file is already in progress
-				return;
+				return false;
 			} else {
 				FILES_PARSING.add(filename);
 			}
 		}
+		try {
+			long currentSize = file.length();
+			//wait 500 ms
+			Thread.sleep(500);
+			//Check if size changed (copying, downloading)
+			while (file.exists() && (currentSize != file.length() || FileUtil.isLocked(file))) {
+				//loop until file size is not changing anymore and file is unlocked.
+				LOGGER.trace("Waiting file {} is fully written", filename);
+				currentSize = file.length();
+				Thread.sleep(500);
+			}
+			//here the file should be fully written, deleted or moved.
+			return true;
+		} finally {
+			synchronized (FILES_PARSING) {
+				FILES_PARSING.remove(filename);
+			}
+		}
+	}
+
+	/**
+	 * Queues the reconciliation of a watched root with the database after the
+	 * file system reported lost events under it.
+	 *
+	 * A root already waiting for its reconciliation is not queued twice.
+	 *
+	 * @param root the watched root.
+	 */
+	private static void reconcileFolderEntry(File root) {
+		if (!PENDING_RECONCILES.add(root)) {
+			return;
+		}
 		Runnable r = () -> {
+			// Events lost from now on need another pass
+			PENDING_RECONCILES.remove(root);
+			LOGGER.info("File system events were lost under folder {}, reconciling it with the database", root);
+			if (!root.isDirectory()) {
+				queueDelete(root, true);
+				return;
+			}
+			Connection connection = null;
 			try {
-				if (advise) {
-					LOGGER.debug("File {} was created on the hard drive", filename);
-				}
-				long currentSize = file.length();
-				//wait 500 ms
-				Thread.sleep(500);
-				//Check if size changed (copying, downloading)
-				while (file.exists() && (currentSize != file.length() || FileUtil.isLocked(file))) {
-					//loop until file size is not changing anymore and file is unlocked.
-					LOGGER.trace("Waiting file {} is fully written", filename);
-					currentSize = file.length();
-					Thread.sleep(500);
-				}
-				//here the file should be fully written, deleted or moved.
-				synchronized (FILES_PARSING) {
-					FILES_PARSING.remove(filename);
-				}
-				if (file.exists()) {
-					LOGGER.debug("Analyzing file {}", filename);
-					if (parseFileEntry(file) && advise) {
-						//Advise renderers for added file.
-						for (Renderer connectedRenderer : ConnectedRenderers.getConnectedRenderers()) {
-							connectedRenderer.getMediaStore().fileAdded(file);
-						}
-					}
-				} else {
-					LOGGER.debug("File {} does not more exists", filename);
+				connection = MediaDatabase.getConnectionIfAvailable();
+				if (connection != null) {
+					reconcileFolderEntry(connection, root, RENDERER.getUmsConfiguration().getIgnoredFolderNames());
 				}
-			} catch (InterruptedException ex) {
-				Thread.currentThread().interrupt();
+			} finally {
+				MediaDatabase.close(connection);
 			}
+			LOGGER.debug("Folder {} reconciled", root);
 		};
-		new Thread(r, "MediaScanner File Parser").start();
+		RECONCILE_EXECUTOR.execute(r);
+	}
+
+	/**
+	 * Walks a folder and its subfolders once, comparing the files of each
+	 * folder with the ones stored for it.
+	 */
+	private static void reconcileFolderEntry(Connection connection, File folder, List<String> ignoredFolderNames) {
+		File[] children = folder.listFiles();
+		if (children == null) {
+			return;
+		}
+		List<File> files = new ArrayList<>();
+		List<File> folders = new ArrayList<>();
+		for (File child : children) {
+			if (child.isDirectory()) {
+				if (!ignoredFolderNames.contains(child.getName())) {
+					folders.add(child);
+				}
+			} else if (SystemFilesHelper.isPotentialMediaFile(child.getAbsolutePath())) {
+				files.add(child);
+			}
+		}
+		Map<String, Long> stored = MediaTableFiles.getModifiedInFolder(connection, folder.getAbsolutePath());
+		for (Map.Entry<File, String> event : getFolderChanges(files, stored).entrySet()) {
+			queueFileEvent(event.getKey(), event.getValue());
+		}
+		for (File subfolder : folders) {
+			reconcileFolderEntry(connection, subfolder, ignoredFolderNames);
+		}
+	}
+
+	/**
+	 * Compares the files found in a folder with the ones stored for it.
+	 *
+	 * @param files the files found in the folder.
+	 * @param stored the stored modification times of the files of the folder,
+	 *            by full path.
+	 * @return the event to process for each file that was created, modified
+	 *         or deleted, deletions last.
+	 */
+	static Map<File, String> getFolderChanges(List<File> files, Map<String, Long> stored) {
+		Map<File, String> result = new LinkedHashMap<>();
+		Map<String, Long> remaining = new HashMap<>(stored);
+		for (File file : files) {
+			Long modified = remaining.remove(file.getAbsolutePath());
+			if (modified == null) {
+				result.put(file, ENTRY_CREATE);
+			} else if (modified != file.lastModified()) {
+				result.put(file, ENTRY_MODIFY);
+			}
+		}
+		for (String filename : remaining.keySet()) {
+			result.put(new File(filename), ENTRY_DELETE);
+		}
+		return result;
 	}
 
 	/**
@@ -432,6 +968,10 @@ public class MediaScanner implements SharedContentListener {
 			if (rf.isValid()) {
 				LOGGER.info("New file {} was detected and added to the media store", file.getName());
 				MediaStoreIds.incrementSystemUpdateId();
+				if (rf instanceof StoreItem storeItem) {
+					SubtitlesPreExtractor.queue(storeItem);
+					ThumbnailService.queue(storeItem);
+				}
 
 				/*
 				 * Something about this process causes Java to hold onto the
@@ -485,7 +1025,9 @@ public class MediaScanner implements SharedContentListener {
 		for (Renderer connectedRenderer : ConnectedRenderers.getConnectedRenderers()) {
 			connectedRenderer.getMediaStore().fileRemoved(folder);
 		}
-		if (MediaInfoStore.removeMediaEntriesInFolder(filename)) {
+		// Not the files of a sibling folder whose name starts with the same one
+		String pathToFolder = filename.endsWith(File.separator) ? filename : filename + File.separator;
+		if (MediaInfoStore.removeMediaEntriesInFolder(pathToFolder)) {
 			MediaStoreIds.incrementSystemUpdateId();
 		}
 	}
@@ -506,7 +1048,11 @@ public class MediaScanner implements SharedContentListener {
 	 * or deleted on the hard drive.
 	 */
 	private static final FileWatcher.Listener MEDIA_RESCANNER = (String filename, String event, FileWatcher.Watch watch, boolean isDir) -> {
-		if ((ENTRY_DELETE.equals(event) || ENTRY_CREATE.equals(event) || ENTRY_MODIFY.equals(event))) {
+		if (FileWatcher.OVERFLOW.equals(event)) {
+			SidecarIndex.invalidate(new File(filename));
+			reconcileFolderEntry(new File(filename));
+		} else if ((ENTRY_DELETE.equals(event) || ENTRY_CREATE.equals(event) || ENTRY_MODIFY.equals(event))) {
+			SidecarIndex.invalidate(new File(filename));
 			/**
 			 * If a new directory is created with files, the listener may not
 			 * give us information about those new files, as it wasn't listening
@@ -514,18 +1060,18 @@ public class MediaScanner implements SharedContentListener {
 			 */
 			if (isDir) {
 				if (ENTRY_CREATE.equals(event)) {
-					addFolderEntry(new File(filename));
+					ADDING_FOLDERS.incrementAndGet();
+					try {
+						addFolderEntry(new File(filename));
+					} finally {
+						ADDING_FOLDERS.decrementAndGet();
+					}
 				} else if (ENTRY_DELETE.equals(event)) {
-					removeFolderEntry(filename);
+					// Removed later, so a renamed folder can take over the stored data
+					queueDelete(new File(filename), true);
 				}
 			} else {
-				if (ENTRY_CREATE.equals(event)) {
-					parseFileEntry(new File(filename), true);
-				} else if (ENTRY_DELETE.equals(event)) {
-					removeFileEntry(filename);
-				} else {
-					parseFileEntry(new File(filename), false);
-				}
+				queueFileEvent(new File(filename), event);
 			}
 		}
 	};
@@ -568,4 +1114,18 @@ public class MediaScanner implements SharedContentListener {
 		}
 	}
 
+	/**
+	 * A file or folder waiting to be removed from the database.
+	 */
+	private static class PendingDelete {
+
+		private final boolean isDirectory;
+		private final long time = System.currentTimeMillis();
+
+		private PendingDelete(boolean isDirectory) {
+			this.isDirectory = isDirectory;
+		}
+
+	}
+
 }
@@ -21,9 +21,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import net.pms.Messages;
-import net.pms.database.MediaDatabase;
 import net.pms.database.MediaTableFiles;
-import net.pms.database.MediaTableFilesStatus;
 import net.pms.gui.GuiManager;
 import net.pms.media.MediaStatus;
 
@@ -40,24 +38,13 @@ public class MediaStatusStore {
 			if (STORE.containsKey(userId) && STORE.get(userId) != null && STORE.get(userId).containsKey(filename)) {
 				return STORE.get(userId).get(filename);
 			}
-			MediaStatus mediaStatus = null;
-			Connection connection = null;
-			try {
-				connection = MediaDatabase.getConnectionIfAvailable();
-				if (connection != null) {
-					mediaStatus = MediaTableFilesStatus.getMediaStatus(connection, filename, userId);
-				}
-			} finally {
-				MediaDatabase.close(connection);
-			}
-			if (mediaStatus == null) {
-				mediaStatus = new MediaStatus();
-			}
-			if (!STORE.containsKey(userId)) {
-				STORE.put(userId, new HashMap<>());
-			}
-			STORE.get(userId).put(filename, mediaStatus);
-			return mediaStatus;
+		}
+		// Read without the store lock, the database may be busy writing
+		MediaStatus read = MediaStatusWriter.getMediaStatus(userId, filename);
+		MediaStatus mediaStatus = read != null ? read : new MediaStatus();
+		synchronized (STORE) {
+			// Another thread may have read or changed it meanwhile
+			return STORE.computeIfAbsent(userId, k -> new HashMap<>()).computeIfAbsent(filename, k -> mediaStatus);
 		}
 	}
 
@@ -74,8 +61,8 @@ public class MediaStatusStore {
 	}
 
 	/**
-	 * Sets the fully played status of the given {@code filename} both in
-	 * the memory cache and in the database.
+	 * Sets the fully played status of the given {@code filename} in the memory
+	 * cache, and queues it for the database.
 	 *
 	 * @param filename the full path to the file in question.
 	 * @param isFullyPlayed {@code true} if {@code fullPathToFile} is fully
@@ -83,6 +70,12 @@ public class MediaStatusStore {
 	 * @param lastPlaybackPosition how many seconds were played
 	 */
 	public static void setFullyPlayed(String filename, int userId, boolean isFullyPlayed, Double lastPlaybackPosition) {
+		setFullyPlayedInternal(filename, userId, isFullyPlayed, lastPlaybackPosition);
+		//the cached DIDL-Lite of the file shows its status
+		MediaStoreIds.incrementUpdateIdForFilename(filename);
+	}
+
+	private static void setFullyPlayedInternal(String filename, int userId, boolean isFullyPlayed, Double lastPlaybackPosition) {
 		//update store
 		MediaStatus mediaStatus = getMediaStatus(userId, filename);
 		mediaStatus.setFullyPlayed(isFullyPlayed);
@@ -91,24 +84,15 @@ public class MediaStatusStore {
 			mediaStatus.setPlaybackCount(mediaStatus.getPlaybackCount() + 1);
 		}
 		//update db
-		Connection connection = null;
-		try {
-			connection = MediaDatabase.getConnectionIfAvailable();
-			if (connection != null) {
-				MediaTableFilesStatus.setFullyPlayed(connection, filename, userId, isFullyPlayed);
-				if (lastPlaybackPosition != null) {
-					MediaTableFilesStatus.setLastPlayed(connection, filename, userId, lastPlaybackPosition);
-				}
-			}
-			MediaStoreIds.incrementUpdateIdForFilename(connection, filename);
-		} finally {
-			MediaDatabase.close(connection);
+		MediaStatusWriter.setFullyPlayed(userId, filename, isFullyPlayed);
+		if (lastPlaybackPosition != null) {
+			MediaStatusWriter.addPlayback(userId, filename, lastPlaybackPosition);
 		}
 	}
 
 	/**
-	 * Sets the last played position of the given {@code filename} both in
-	 * the memory cache and in the database.
+	 * Sets the last played position of the given {@code filename} in the
+	 * memory cache, and queues it for the database.
 	 *
 	 * @param filename the full path to the file in question.
 	 * @param lastPlaybackPosition how many seconds were played
@@ -120,16 +104,8 @@ public class MediaStatusStore {
 			mediaStatus.setLastPlaybackPosition(lastPlaybackPosition);
 			mediaStatus.setPlaybackCount(mediaStatus.getPlaybackCount() + 1);
 			//update db
-			Connection connection = null;
-			try {
-				connection = MediaDatabase.getConnectionIfAvailable();
-				if (connection != null) {
-					MediaTableFilesStatus.setLastPlayed(connection, filename, userId, lastPlaybackPosition);
-				}
-				MediaStoreIds.incrementUpdateIdForFilename(connection, filename);
-			} finally {
-				MediaDatabase.close(connection);
-			}
+			MediaStatusWriter.addPlayback(userId, filename, lastPlaybackPosition);
+			MediaStoreIds.incrementUpdateIdForFilename(filename);
 		}
 	}
 
@@ -138,15 +114,8 @@ public class MediaStatusStore {
 		MediaStatus mediaStatus = getMediaStatus(userId, filename);
 		mediaStatus.setBookmark(bookmark);
 		//update db
-		Connection connection = null;
-		try {
-			connection = MediaDatabase.getConnectionIfAvailable();
-			if (connection != null) {
-				MediaTableFilesStatus.setBookmark(connection, filename, userId, bookmark);
-			}
-		} finally {
-			MediaDatabase.close(connection);
-		}
+		MediaStatusWriter.setBookmark(userId, filename, bookmark);
+		MediaStoreIds.incrementUpdateIdForFilename(filename);
 	}
 
 	/**
@@ -163,8 +132,11 @@ public class MediaStatusStore {
 
 		try {
 			for (String fullPathToFile : MediaTableFiles.getFilenamesInFolder(connection, fullPathToFolder)) {
-				setFullyPlayed(fullPathToFile, userId, isFullyPlayed, null);
+				setFullyPlayedInternal(fullPathToFile, userId, isFullyPlayed, null);
+				MediaStoreIds.incrementUpdateIdForFilename(connection, fullPathToFile);
 			}
+			// Write the whole folder in a single transaction
+			MediaStatusWriter.flush();
 		} finally {
 			GuiManager.setStatusLine(null);
 		}
@@ -0,0 +1,385 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.store;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.GuardedBy;
+import net.pms.database.MediaDatabase;
+import net.pms.database.MediaTableFilesStatus;
+import net.pms.media.MediaStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Write-behind queue of the playback status changes.
+ * <p>
+ * The changes of a file are coalesced per user until they are written, in a
+ * single transaction, shortly after the first change or on shutdown. This
+ * keeps renderers reporting their progress and whole folders being marked as
+ * played from contending with the media scanner for the database.
+ * <p>
+ * The changes not written yet are applied to the statuses read from the
+ * database, so the {@link MediaStatusStore} always returns the last values.
+ * When the transaction fails, the changes are written one by one, and the
+ * ones that could not be written are queued again, under the ones made since.
+ * A change that fails {@value #MAX_WRITE_ATTEMPTS} times is dropped.
+ */
+public class MediaStatusWriter {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(MediaStatusWriter.class);
+
+	/**
+	 * The delay between the first queued change and the write.
+	 */
+	private static final long FLUSH_DELAY = 2000;
+
+	/**
+	 * The number of failed writes after which a change is dropped.
+	 */
+	private static final int MAX_WRITE_ATTEMPTS = 3;
+
+	private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread thread = new Thread(r, "Media Status Writer");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	@GuardedBy("PENDING")
+	private static final Map<Integer, Map<String, Change>> PENDING = new HashMap<>();
+	@GuardedBy("PENDING")
+	private static boolean scheduled;
+
+	/**
+	 * The changes being written, until they are committed.
+	 */
+	@GuardedBy("PENDING")
+	private static Map<Integer, Map<String, Change>> writing = Collections.emptyMap();
+
+	/**
+	 * The number of committed writes, for the readers to detect a commit
+	 * while they read the database.
+	 */
+	@GuardedBy("PENDING")
+	private static long commits;
+
+	/**
+	 * Held while the changes are written, so only one write runs at a time.
+	 */
+	private static final Object FLUSH_LOCK = new Object();
+
+	/**
+	 * This class is not meant to be instantiated.
+	 */
+	private MediaStatusWriter() {
+	}
+
+	/**
+	 * Queues a fully played status change.
+	 *
+	 * @param userId the user id.
+	 * @param filename the full path to the file.
+	 * @param isFullyPlayed whether the file is fully played.
+	 */
+	public static void setFullyPlayed(int userId, String filename, boolean isFullyPlayed) {
+		synchronized (PENDING) {
+			getChange(userId, filename).fullyPlayed = isFullyPlayed;
+		}
+	}
+
+	/**
+	 * Queues a playback, which increments the play count.
+	 *
+	 * @param userId the user id.
+	 * @param filename the full path to the file.
+	 * @param lastPlaybackPosition how many seconds were played.
+	 */
+	public static void addPlayback(int userId, String filename, Double lastPlaybackPosition) {
+		synchronized (PENDING) {
+			Change change = getChange(userId, filename);
+			change.playbackCount++;
+			change.lastPlaybackPosition = lastPlaybackPosition;
+		}
+	}
+
+	/**
+	 * Queues a bookmark change.
+	 *
+	 * @param userId the user id.
+	 * @param filename the full path to the file.
+	 * @param bookmark the bookmark position in seconds.
+	 */
+	public static void setBookmark(int userId, String filename, int bookmark) {
+		synchronized (PENDING) {
+			getChange(userId, filename).bookmark = bookmark;
+		}
+	}
+
+	/**
+	 * Reads the status of a file from the database, with the changes not
+	 * written yet applied.
+	 *
+	 * @param userId the user id.
+	 * @param filename the full path to the file.
+	 * @return The {@link MediaStatus}, or {@code null} if the file has no
+	 *         status.
+	 */
+	public static MediaStatus getMediaStatus(int userId, String filename) {
+		while (true) {
+			long readCommits;
+			synchronized (PENDING) {
+				readCommits = commits;
+			}
+			MediaStatus mediaStatus = null;
+			Connection connection = null;
+			try {
+				connection = MediaDatabase.getConnectionIfAvailable();
+				if (connection != null) {
+					mediaStatus = MediaTableFilesStatus.getMediaStatus(connection, filename, userId);
+				}
+			} finally {
+				MediaDatabase.close(connection);
+			}
+			synchronized (PENDING) {
+				if (readCommits != commits) {
+					// The read may or may not include the committed changes
+					continue;
+				}
+				Change writingChange = getChange(writing, userId, filename);
+				Change pendingChange = getChange(PENDING, userId, filename);
+				if (mediaStatus == null && (writingChange != null || pendingChange != null)) {
+					mediaStatus = new MediaStatus();
+				}
+				if (writingChange != null) {
+					writingChange.applyTo(mediaStatus);
+				}
+				if (pendingChange != null) {
+					pendingChange.applyTo(mediaStatus);
+				}
+				return mediaStatus;
+			}
+		}
+	}
+
+	/**
+	 * Writes all the queued changes in a single transaction, or one by one if
+	 * the transaction fails.
+	 */
+	public static void flush() {
+		synchronized (FLUSH_LOCK) {
+			Map<Integer, Map<String, Change>> changes;
+			synchronized (PENDING) {
+				scheduled = false;
+				if (PENDING.isEmpty()) {
+					return;
+				}
+				changes = new HashMap<>(PENDING);
+				PENDING.clear();
+				writing = changes;
+			}
+			Map<Integer, Map<String, Change>> failed = changes;
+			Connection connection = null;
+			try {
+				connection = MediaDatabase.getConnectionIfAvailable();
+				if (connection == null) {
+					LOGGER.debug("The database is not available, the playback status changes will be written later");
+					return;
+				}
+				connection.setAutoCommit(false);
+				try {
+					int count = 0;
+					for (Map.Entry<Integer, Map<String, Change>> userChanges : changes.entrySet()) {
+						int userId = userChanges.getKey();
+						for (Map.Entry<String, Change> entry : userChanges.getValue().entrySet()) {
+							write(connection, userId, entry.getKey(), entry.getValue());
+							count++;
+						}
+					}
+					synchronized (PENDING) {
+						connection.commit();
+						commits++;
+						writing = Collections.emptyMap();
+					}
+					failed = Collections.emptyMap();
+					LOGGER.trace("Wrote {} playback status changes", count);
+				} catch (SQLException e) {
+					LOGGER.debug("Error while writing the playback status changes, writing them one by one: {}", e.getMessage());
+					LOGGER.trace("", e);
+					rollback(connection);
+					failed = writeOneByOne(connection, changes);
+				}
+			} catch (SQLException e) {
+				LOGGER.error("Error while writing the playback status changes: {}", e.getMessage());
+				LOGGER.trace("", e);
+			} finally {
+				try {
+					if (connection != null) {
+						connection.setAutoCommit(true);
+					}
+				} catch (SQLException e) {
+					LOGGER.error("Error while restoring auto commit: {}", e.getMessage());
+					LOGGER.trace("", e);
+				}
+				MediaDatabase.close(connection);
+				requeue(failed);
+			}
+		}
+	}
+
+	/**
+	 * Writes the changes in a transaction each, so that a change that can't be
+	 * written does not hold the others back.
+	 *
+	 * @return The changes to write again.
+	 */
+	private static Map<Integer, Map<String, Change>> writeOneByOne(Connection connection, Map<Integer, Map<String, Change>> changes) {
+		Map<Integer, Map<String, Change>> failed = new HashMap<>();
+		for (Map.Entry<Integer, Map<String, Change>> userChanges : changes.entrySet()) {
+			int userId = userChanges.getKey();
+			List<Map.Entry<String, Change>> entries;
+			synchronized (PENDING) {
+				entries = new ArrayList<>(userChanges.getValue().entrySet());
+			}
+			for (Map.Entry<String, Change> entry : entries) {
+				String filename = entry.getKey();
+				Change change = entry.getValue();
+				try {
+					write(connection, userId, filename, change);
+					synchronized (PENDING) {
+						connection.commit();
+						commits++;
+						userChanges.getValue().remove(filename);
+					}
+				} catch (SQLException e) {
+					rollback(connection);
+					change.failures++;
+					if (change.failures < MAX_WRITE_ATTEMPTS) {
+						LOGGER.debug("Error while writing the playback status of \"{}\", it will be written later: {}", filename, e.getMessage());
+						failed.computeIfAbsent(userId, k -> new LinkedHashMap<>()).put(filename, change);
+					} else {
+						LOGGER.error("Dropping the playback status change of \"{}\" after {} failed writes: {}", filename, change.failures, e.getMessage());
+						LOGGER.trace("", e);
+					}
+				}
+			}
+		}
+		return failed;
+	}
+
+	private static void write(Connection connection, int userId, String filename, Change change) throws SQLException {
+		MediaTableFilesStatus.setStatus(connection, filename, userId, change.fullyPlayed, change.playbackCount, change.lastPlaybackPosition, change.bookmark);
+	}
+
+	private static void rollback(Connection connection) {
+		try {
+			connection.rollback();
+		} catch (SQLException e) {
+			LOGGER.error("Error while rolling back the playback status changes: {}", e.getMessage());
+			LOGGER.trace("", e);
+		}
+	}
+
+	/**
+	 * Queues again the changes that could not be written, under the changes
+	 * queued since.
+	 */
+	private static void requeue(Map<Integer, Map<String, Change>> changes) {
+		synchronized (PENDING) {
+			writing = Collections.emptyMap();
+			for (Map.Entry<Integer, Map<String, Change>> userChanges : changes.entrySet()) {
+				int userId = userChanges.getKey();
+				for (Map.Entry<String, Change> entry : userChanges.getValue().entrySet()) {
+					getChange(userId, entry.getKey()).supersede(entry.getValue());
+				}
+			}
+		}
+	}
+
+	@GuardedBy("PENDING")
+	private static Change getChange(Map<Integer, Map<String, Change>> changes, int userId, String filename) {
+		Map<String, Change> userChanges = changes.get(userId);
+		return userChanges != null ? userChanges.get(filename) : null;
+	}
+
+	@GuardedBy("PENDING")
+	private static Change getChange(int userId, String filename) {
+		if (!scheduled) {
+			scheduled = true;
+			EXECUTOR.schedule(MediaStatusWriter::flush, FLUSH_DELAY, TimeUnit.MILLISECONDS);
+		}
+		return PENDING.computeIfAbsent(userId, k -> new LinkedHashMap<>()).computeIfAbsent(filename, k -> new Change());
+	}
+
+	/**
+	 * The coalesced changes of a file.
+	 */
+	private static class Change {
+
+		private Boolean fullyPlayed;
+		private int playbackCount;
+		private Double lastPlaybackPosition;
+		private Integer bookmark;
+
+		/**
+		 * The number of failed writes of the values of this change.
+		 */
+		private int failures;
+
+		/**
+		 * Keeps the older values this change does not replace.
+		 */
+		private void supersede(Change older) {
+			if (fullyPlayed == null) {
+				fullyPlayed = older.fullyPlayed;
+			}
+			playbackCount += older.playbackCount;
+			if (lastPlaybackPosition == null) {
+				lastPlaybackPosition = older.lastPlaybackPosition;
+			}
+			if (bookmark == null) {
+				bookmark = older.bookmark;
+			}
+			failures = Math.max(failures, older.failures);
+		}
+
+		private void applyTo(MediaStatus mediaStatus) {
+			if (fullyPlayed != null) {
+				mediaStatus.setFullyPlayed(fullyPlayed);
+			}
+			if (playbackCount > 0) {
+				mediaStatus.setPlaybackCount(mediaStatus.getPlaybackCount() + playbackCount);
+			}
+			if (lastPlaybackPosition != null) {
+				mediaStatus.setLastPlaybackPosition(lastPlaybackPosition);
+			}
+			if (bookmark != null) {
+				mediaStatus.setBookmark(bookmark);
+			}
+		}
+
+	}
+
+}
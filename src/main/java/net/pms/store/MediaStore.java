@@ -24,6 +24,7 @@ import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 import net.pms.Messages;
 import net.pms.PMS;
 import net.pms.configuration.sharedcontent.ApertureContent;
@@ -42,6 +43,8 @@ import net.pms.configuration.sharedcontent.StreamVideoContent;
 import net.pms.configuration.sharedcontent.VirtualFolderContent;
 import net.pms.iam.AccountService;
 import net.pms.media.audio.metadata.MediaAudioMetadata;
+import net.pms.metrics.Metrics;
+import net.pms.metrics.Timer;
 import net.pms.renderers.Renderer;
 import net.pms.store.container.ApertureLibraries;
 import net.pms.store.container.AudiosFeed;
@@ -90,10 +93,11 @@ public class MediaStore extends StoreContainer {
 	 * any realtime task to finish.
 	 */
 	private static final AtomicInteger WORKERS = new AtomicInteger(0);
+	private static final Timer GET_RESOURCES_TIMER = Metrics.timer("ums_store_get_resources_duration_seconds", "Time to get the resources of a store object, discovering them if needed");
 	private static final String TEMP_TAG = "$Temp$";
 
 	private final Map<Long, WeakReference<StoreResource>> weakResources = new HashMap<>();
-	private final Map<Long, Object> idLocks = new HashMap<>();
+	private final Map<Long, ReentrantLock> idLocks = new HashMap<>();
 	// A temp folder for non-xmb items
 	private final UnattachedFolder tempFolder;
 	private final MediaLibrary mediaLibrary;
@@ -158,7 +162,16 @@ public class MediaStore extends StoreContainer {
 	}
 
 	@Override
-	public synchronized void discoverChildren() {
+	public void discoverChildren() {
+		discoverLock.lock();
+		try {
+			discoverRootChildren();
+		} finally {
+			discoverLock.unlock();
+		}
+	}
+
+	private void discoverRootChildren() {
 		if (isDiscovered()) {
 			return;
 		}
@@ -474,16 +487,16 @@ public class MediaStore extends StoreContainer {
 			String[] ids = objectId.split("\\.");
 			return getWeakResource(ids[ids.length - 1]);
 		} finally {
-			WORKERS.decrementAndGet();
+			releaseWorker();
 		}
 	}
 
-	private Object getIdLock(Long id) {
+	private ReentrantLock getIdLock(Long id) {
 		synchronized (idLocks) {
 			if (idLocks.containsKey(id)) {
 				return idLocks.get(id);
 			}
-			Object idLock = new Object();
+			ReentrantLock idLock = new ReentrantLock();
 			idLocks.put(id, idLock);
 			return idLock;
 		}
@@ -494,8 +507,10 @@ public class MediaStore extends StoreContainer {
 		if (id == null) {
 			return null;
 		}
-		Object idLock = getIdLock(id);
-		synchronized (idLock) {
+		// Recreating the resource does I/O, a monitor would pin a virtual thread
+		ReentrantLock idLock = getIdLock(id);
+		idLock.lock();
+		try {
 			StoreResource res = getWeakResource(id);
 			if (res != null) {
 				return res;
@@ -503,6 +518,8 @@ public class MediaStore extends StoreContainer {
 				// object id not found, try recreate
 				return recreateResource(id);
 			}
+		} finally {
+			idLock.unlock();
 		}
 	}
 
@@ -616,6 +633,7 @@ public class MediaStore extends StoreContainer {
 	 * @throws IOException
 	 */
 	public List<StoreResource> getResources(String objectId, boolean returnChildren) {
+		long start = GET_RESOURCES_TIMER.start();
 		try {
 			WORKERS.incrementAndGet();
 			ArrayList<StoreResource> resources = new ArrayList<>();
@@ -707,7 +725,8 @@ public class MediaStore extends StoreContainer {
 
 			return resources;
 		} finally {
-			WORKERS.decrementAndGet();
+			releaseWorker();
+			GET_RESOURCES_TIMER.stop(start);
 		}
 	}
 
@@ -976,8 +995,19 @@ public class MediaStore extends StoreContainer {
 	}
 
 	public static void waitWorkers() throws InterruptedException {
-		while (WORKERS.get() > 0) {
-			Thread.sleep(100);
+		synchronized (WORKERS) {
+			while (WORKERS.get() > 0) {
+				// Notified when the last worker ends, timed in case of a missed notification
+				WORKERS.wait(100);
+			}
+		}
+	}
+
+	private static void releaseWorker() {
+		if (WORKERS.decrementAndGet() == 0) {
+			synchronized (WORKERS) {
+				WORKERS.notifyAll();
+			}
 		}
 	}
 
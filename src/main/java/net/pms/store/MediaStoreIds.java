@@ -279,8 +279,10 @@ public class MediaStoreIds {
 	 */
 	public static synchronized Long incrementUpdateId(Long id) {
 		long updateId = getSystemUpdateId().increment(false).getValue();
-		if (id != null && id != -1 && UPDATE_IDS.containsKey(id)) {
-			UPDATE_IDS.put(id, new UnsignedIntegerFourBytes(updateId));
+		if (id != null && id != -1) {
+			if (UPDATE_IDS.containsKey(id)) {
+				UPDATE_IDS.put(id, new UnsignedIntegerFourBytes(updateId));
+			}
 		}
 		Connection connection = null;
 		try {
@@ -0,0 +1,271 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.store;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.concurrent.GuardedBy;
+import net.pms.formats.v2.SubtitleType;
+import net.pms.util.FileUtil;
+import net.pms.util.SubtitleUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A per-directory index of the "sidecar" files that belong to media files:
+ * file thumbnails/covers, the folder thumbnail and external subtitles files.
+ * <p>
+ * Each directory is listed once, and the result is kept until the directory
+ * (or one of its subtitles subfolders) is modified on disk, until it is
+ * invalidated by a {@link net.pms.util.FileWatcher} event or until it is
+ * evicted because the index is full.
+ */
+public class SidecarIndex {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(SidecarIndex.class);
+	private static final int MAX_DIRECTORIES = 500;
+
+	@GuardedBy("INDEX")
+	private static final Map<File, DirectoryEntry> INDEX = new LinkedHashMap<>(64, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<File, DirectoryEntry> eldest) {
+			return size() > MAX_DIRECTORIES;
+		}
+	};
+
+	/**
+	 * This class is not meant to be instantiated.
+	 */
+	private SidecarIndex() {
+	}
+
+	/**
+	 * Returns the thumbnail file belonging to the specified audio or video
+	 * file, using the naming conventions from
+	 * {@link SystemFilesHelper#getPotentialFileThumbnails}.
+	 *
+	 * @param folder the folder to look in, or {@code null} to use the parent
+	 *            folder of {@code audioVideoFile}.
+	 * @param audioVideoFile the audio or video file.
+	 * @return The thumbnail {@link File} or {@code null} if none was found.
+	 */
+	public static File getFileThumbnail(File folder, File audioVideoFile) {
+		if (audioVideoFile == null) {
+			return null;
+		}
+		DirectoryEntry entry = getEntry(folder == null ? audioVideoFile.getParentFile() : folder);
+		if (entry == null) {
+			return null;
+		}
+		String name = audioVideoFile.getName().toLowerCase(Locale.ROOT);
+		File result = entry.thumbnails.get(FileUtil.getFileNameWithoutExtension(name));
+		return result != null ? result : entry.covers.get(name);
+	}
+
+	/**
+	 * Returns the first file in the specified folder that is considered a
+	 * "folder thumbnail" by naming convention.
+	 *
+	 * @param folder the folder.
+	 * @return The "folder thumbnail" {@link File} or {@code null} if none was
+	 *         found.
+	 */
+	public static File getFolderThumbnail(File folder) {
+		DirectoryEntry entry = getEntry(folder);
+		return entry == null ? null : entry.folderThumbnail;
+	}
+
+	/**
+	 * Returns the subtitles files found in the specified folder.
+	 *
+	 * @param folder the folder.
+	 * @param includeSubtitlesFolders whether to include the content of "subs"
+	 *            or "subtitles" subfolders.
+	 * @return The {@link List} of subtitles files, never {@code null}.
+	 */
+	public static List<File> getSubtitles(File folder, boolean includeSubtitlesFolders) {
+		DirectoryEntry entry = getEntry(folder);
+		if (entry == null) {
+			return Collections.emptyList();
+		}
+		if (!includeSubtitlesFolders || entry.subtitlesFolders.isEmpty()) {
+			return entry.subtitles;
+		}
+		List<File> result = new ArrayList<>(entry.subtitles);
+		for (SubtitlesFolder subtitlesFolder : entry.subtitlesFolders) {
+			result.addAll(subtitlesFolder.subtitles);
+		}
+		return result;
+	}
+
+	/**
+	 * Drops the cached information for the folder containing the specified
+	 * file or folder, and for the folder itself.
+	 *
+	 * @param file the changed file or folder.
+	 */
+	public static void invalidate(File file) {
+		if (file == null) {
+			return;
+		}
+		synchronized (INDEX) {
+			INDEX.remove(file);
+			File parent = file.getParentFile();
+			if (parent != null) {
+				INDEX.remove(parent);
+				if (SubtitleUtils.isSubtitlesFolder(parent.getParentFile(), parent.getName()) != null) {
+					INDEX.remove(parent.getParentFile());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Drops all cached information.
+	 */
+	public static void clear() {
+		synchronized (INDEX) {
+			INDEX.clear();
+		}
+	}
+
+	private static DirectoryEntry getEntry(File folder) {
+		if (folder == null) {
+			return null;
+		}
+		DirectoryEntry entry;
+		synchronized (INDEX) {
+			entry = INDEX.get(folder);
+		}
+		if (entry != null && entry.isCurrent()) {
+			return entry;
+		}
+		if (!folder.isDirectory()) {
+			return null;
+		}
+		entry = new DirectoryEntry(folder);
+		synchronized (INDEX) {
+			INDEX.put(folder, entry);
+		}
+		return entry;
+	}
+
+	private static List<File> listSubtitles(File folder, String[] names, Set<String> supportedExtensions) {
+		List<File> result = new ArrayList<>();
+		if (names != null) {
+			for (String name : names) {
+				File file = new File(folder, name);
+				if (SubtitleUtils.isSubtitlesFile(file, supportedExtensions) && file.isFile() && !file.isHidden()) {
+					result.add(file);
+				}
+			}
+		}
+		return result;
+	}
+
+	private static class SubtitlesFolder {
+
+		private final File folder;
+		private final long lastModified;
+		private final List<File> subtitles;
+
+		public SubtitlesFolder(File folder, Set<String> supportedExtensions) {
+			this.folder = folder;
+			this.lastModified = folder.lastModified();
+			this.subtitles = Collections.unmodifiableList(listSubtitles(folder, folder.list(), supportedExtensions));
+		}
+
+	}
+
+	private static class DirectoryEntry {
+
+		private final File folder;
+		private final long lastModified;
+		private final Map<String, File> thumbnails = new HashMap<>();
+		private final Map<String, File> covers = new HashMap<>();
+		private final List<SubtitlesFolder> subtitlesFolders = new ArrayList<>(1);
+		private final List<File> subtitles;
+		private File folderThumbnail;
+
+		public DirectoryEntry(File folder) {
+			this.folder = folder;
+			this.lastModified = folder.lastModified();
+			String[] names = folder.list();
+			Set<String> supportedExtensions = SubtitleType.getSupportedFileExtensions();
+			if (names != null) {
+				for (String name : names) {
+					String lowerName = name.toLowerCase(Locale.ROOT);
+					if (SystemFilesHelper.isPotentialThumbnail(lowerName)) {
+						addThumbnail(name, lowerName);
+					} else {
+						File subtitlesFolder = SubtitleUtils.isSubtitlesFolder(folder, name);
+						if (subtitlesFolder != null) {
+							subtitlesFolders.add(new SubtitlesFolder(subtitlesFolder, supportedExtensions));
+						}
+					}
+				}
+			}
+			subtitles = Collections.unmodifiableList(listSubtitles(folder, names, supportedExtensions));
+			LOGGER.trace(
+				"Indexed folder \"{}\": {} thumbnails, {} subtitles, folder thumbnail: {}",
+				folder,
+				thumbnails.size() + covers.size(),
+				subtitles.size(),
+				folderThumbnail
+			);
+		}
+
+		private void addThumbnail(String name, String lowerName) {
+			if ((lowerName.startsWith("folder.") || lowerName.contains("albumart")) && folderThumbnail == null) {
+				// We don't have any rule to prioritize between them; keep the first
+				folderThumbnail = new File(folder, name);
+			}
+			String baseName = FileUtil.getFileNameWithoutExtension(lowerName);
+			if (baseName.endsWith(".cover")) {
+				covers.putIfAbsent(baseName.substring(0, baseName.length() - 6), new File(folder, name));
+			}
+			thumbnails.putIfAbsent(baseName, new File(folder, name));
+		}
+
+		/**
+		 * @return {@code true} if neither the folder nor any of its subtitles
+		 *         subfolders have been modified since this entry was built.
+		 */
+		public boolean isCurrent() {
+			if (folder.lastModified() != lastModified) {
+				return false;
+			}
+			for (SubtitlesFolder subtitlesFolder : subtitlesFolders) {
+				if (subtitlesFolder.folder.lastModified() != subtitlesFolder.lastModified) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+	}
+
+}
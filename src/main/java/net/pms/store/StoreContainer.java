@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.StringTokenizer;
+import java.util.concurrent.locks.ReentrantLock;
 import net.pms.PMS;
 import net.pms.dlna.DLNAThumbnailInputStream;
 import net.pms.encoders.TranscodingSettings;
@@ -61,6 +62,13 @@ public class StoreContainer extends StoreResource {
 	 */
 	private final List<StoreResource> children = new ArrayList<>();
 
+	/**
+	 * Guards the discovery of the children and their addition. Discovery does
+	 * I/O, so a lock is used instead of a monitor, which would pin a virtual
+	 * thread. Subclasses use it for their own discovery and refresh.
+	 */
+	protected final ReentrantLock discoverLock = new ReentrantLock();
+
 	/**
 	 * The numerical ID (1-based index) assigned to the last child of this
 	 * folder. The next child is assigned this ID + 1.
@@ -415,7 +423,7 @@ public class StoreContainer extends StoreResource {
 	 *
 	 * @param child the LibraryResource to add to this node's list of children
 	 */
-	protected synchronized void addChildInternal(StoreResource child) {
+	protected void addChildInternal(StoreResource child) {
 		addChildInternal(child, true);
 	}
 
@@ -428,18 +436,23 @@ public class StoreContainer extends StoreResource {
 	 * @param isAddGlobally whether to store a reference to this child in the
 	 * global ID repository.
 	 */
-	protected synchronized void addChildInternal(StoreResource child, boolean isAddGlobally) {
-		if (child.getId() != null) {
-			LOGGER.debug("Node ({}) already has an ID ({}), which is overridden now. The previous parent node was: {}",
-					new Object[]{child.getClass().getName(), child.getResourceId(), child.getParent()});
-		}
+	protected void addChildInternal(StoreResource child, boolean isAddGlobally) {
+		discoverLock.lock();
+		try {
+			if (child.getId() != null) {
+				LOGGER.debug("Node ({}) already has an ID ({}), which is overridden now. The previous parent node was: {}",
+						new Object[]{child.getClass().getName(), child.getResourceId(), child.getParent()});
+			}
 
-		children.add(child);
-		child.setParent(this);
+			children.add(child);
+			child.setParent(this);
 
-		if (isAddGlobally && this.getLongId() != null) {
-			//if this is not yet linked to parent, child will be added when it will.
-			addGlobalRepo(child);
+			if (isAddGlobally && this.getLongId() != null) {
+				//if this is not yet linked to parent, child will be added when it will.
+				addGlobalRepo(child);
+			}
+		} finally {
+			discoverLock.unlock();
 		}
 	}
 
@@ -681,49 +694,54 @@ public class StoreContainer extends StoreResource {
 		discoverChildren();
 	}
 
-	protected final synchronized void discover(boolean forced) {
-		// Discover children if it hasn't been done already
-		if (!isDiscovered()) {
-			LOGGER.trace("Initial discovering children for container: {}", getDisplayName());
-			if (renderer.getUmsConfiguration().getFolderLimit() && depthLimit()) {
-				if (renderer.isPS3() || renderer.isXbox360()) {
-					LOGGER.info("Depth limit potentionally hit for " + getDisplayName());
-				}
-
-				renderer.addFolderLimit(this);
-			}
+	protected final void discover(boolean forced) {
+		discoverLock.lock();
+		try {
+			// Discover children if it hasn't been done already
+			if (!isDiscovered()) {
+				LOGGER.trace("Initial discovering children for container: {}", getDisplayName());
+				if (renderer.getUmsConfiguration().getFolderLimit() && depthLimit()) {
+					if (renderer.isPS3() || renderer.isXbox360()) {
+						LOGGER.info("Depth limit potentionally hit for " + getDisplayName());
+					}
 
-			discoverChildren();
-			setDiscovered(true);
-			notifyRefresh();
-		} else {
-			// if forced, then call the old 'refreshChildren' method
-			LOGGER.trace("discover {} refresh forced: {}", getResourceId(), forced);
-			/*
-			 * if (forced && shouldRefresh(searchStr)) {
-			 * doRefreshChildren(searchStr); notifyRefresh(); }
-			 */
-			if (forced) {
-				// This seems to follow the same code path as the else below in
-				// the case of VirtualFile, because
-				// refreshChildren calls shouldRefresh -> isRefreshNeeded ->
-				// doRefreshChildren, which is what happens below
-				// (refreshChildren is not overridden in VirtualFile)
-				if (refreshChildren()) {
-					notifyRefresh();
-				} else {
-					sortChildrenIfNeeded();
+					renderer.addFolderLimit(this);
 				}
+
+				discoverChildren();
+				setDiscovered(true);
+				notifyRefresh();
 			} else {
-				// if not, then the regular isRefreshNeeded/doRefreshChildren
-				// pair.
-				if (isRefreshNeeded()) {
-					doRefreshChildren();
-					notifyRefresh();
+				// if forced, then call the old 'refreshChildren' method
+				LOGGER.trace("discover {} refresh forced: {}", getResourceId(), forced);
+				/*
+				 * if (forced && shouldRefresh(searchStr)) {
+				 * doRefreshChildren(searchStr); notifyRefresh(); }
+				 */
+				if (forced) {
+					// This seems to follow the same code path as the else below in
+					// the case of VirtualFile, because
+					// refreshChildren calls shouldRefresh -> isRefreshNeeded ->
+					// doRefreshChildren, which is what happens below
+					// (refreshChildren is not overridden in VirtualFile)
+					if (refreshChildren()) {
+						notifyRefresh();
+					} else {
+						sortChildrenIfNeeded();
+					}
 				} else {
-					sortChildrenIfNeeded();
+					// if not, then the regular isRefreshNeeded/doRefreshChildren
+					// pair.
+					if (isRefreshNeeded()) {
+						doRefreshChildren();
+						notifyRefresh();
+					} else {
+						sortChildrenIfNeeded();
+					}
 				}
 			}
+		} finally {
+			discoverLock.unlock();
 		}
 	}
 
@@ -824,6 +824,11 @@ public abstract class StoreItem extends StoreResource {
 		if (!isTranscoded() && !isResume()) {
 			// No transcoding
 			if (this instanceof IPushOutput iPushOutput) {
+				InputStream seekable = iPushOutput.getSeekableInputStream(low);
+				if (seekable != null) {
+					setLastStartSystemTime(System.currentTimeMillis());
+					return wrap(seekable, high, low);
+				}
 				PipedOutputStream out = new PipedOutputStream();
 				InputStream fis = new PipedInputStream(out);
 				iPushOutput.push(out);
@@ -1340,17 +1345,33 @@ public abstract class StoreItem extends StoreResource {
 				}
 			}
 
-			DLNAThumbnail thumbnail = Parser.getThumbnail(mediaInfo, inputFile, getFormat(), getType(), seekPosition);
-			if (thumbnail != null) {
-				if (!isResume && mediaInfo.getFileId() != null) {
-					mediaInfo.setThumbnailId(ThumbnailStore.getId(thumbnail, mediaInfo.getFileId(), mediaInfo.getThumbnailSource()));
-				} else {
-					mediaInfo.setThumbnailId(ThumbnailStore.getTempId(thumbnail));
-				}
+			Long thumbnailId = ThumbnailService.getThumbnailId(this, inputFile, seekPosition, !isResume);
+			if (thumbnailId != null) {
+				mediaInfo.setThumbnailId(thumbnailId);
 			}
 		}
 	}
 
+	/**
+	 * Generates the thumbnail, on a {@link ThumbnailService} thread.
+	 *
+	 * @param inputFile File to generate the thumbnail for.
+	 * @param seekPosition the position of the thumbnail in seconds, or
+	 *            {@code null} for the default position.
+	 * @param persistent whether the thumbnail is stored with the file.
+	 * @return The thumbnail id, or {@code null} if none was generated.
+	 */
+	protected Long generateThumbnail(InputFile inputFile, Double seekPosition, boolean persistent) {
+		DLNAThumbnail thumbnail = Parser.getThumbnail(mediaInfo, inputFile, getFormat(), getType(), seekPosition);
+		if (thumbnail == null) {
+			return null;
+		}
+		if (persistent && mediaInfo.getFileId() != null) {
+			return ThumbnailStore.getId(thumbnail, mediaInfo.getFileId(), mediaInfo.getThumbnailSource());
+		}
+		return ThumbnailStore.getTempId(thumbnail);
+	}
+
 	/**
 	 * Returns the input stream for this resource's generic thumbnail, which is
 	 * the first of:
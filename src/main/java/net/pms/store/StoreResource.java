@@ -23,6 +23,7 @@ import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Objects;
 import net.pms.PMS;
 import net.pms.configuration.UmsConfiguration;
 import net.pms.dlna.DLNAImageProfile;
@@ -37,6 +38,7 @@ import net.pms.renderers.Renderer;
 import net.pms.store.container.ChapterFileTranscodeVirtualFolder;
 import net.pms.store.container.CodeEnter;
 import net.pms.store.container.FileTranscodeVirtualFolder;
+import net.pms.store.utils.StoreResourceSorter;
 import net.pms.util.FullyPlayedAction;
 import net.pms.util.GenericIcons;
 import net.pms.util.StringUtil;
@@ -99,6 +101,11 @@ public abstract class StoreResource implements Cloneable, Runnable {
 	private long lastRefreshTime;
 	protected boolean isSortable = false;
 
+	/**
+	 * The key used to sort by title, kept until the display name changes.
+	 */
+	private volatile TitleSortKey titleSortKey;
+
 	protected HashMap<String, Object> attachments = null;
 
 	protected StoreResource(Renderer renderer) {
@@ -848,6 +855,26 @@ public abstract class StoreResource implements Cloneable, Runnable {
 		this.isSortable = isSortable;
 	}
 
+	/**
+	 * Returns the key used to sort this resource by title.
+	 * <p>
+	 * The key is computed from the localized display name the first time and
+	 * reused until the display name changes, for instance after a rename.
+	 *
+	 * @param lang the language of the display name.
+	 * @param ignoreArticles whether the leading "A" and "The" are ignored.
+	 * @return The title sort key, or {@code null} if there is no display name.
+	 */
+	public String getTitleSortKey(String lang, boolean ignoreArticles) {
+		String displayName = getLocalizedDisplayName(lang);
+		TitleSortKey sortKey = titleSortKey;
+		if (sortKey == null || sortKey.ignoreArticles != ignoreArticles || !Objects.equals(sortKey.displayName, displayName)) {
+			sortKey = new TitleSortKey(displayName, ignoreArticles, StoreResourceSorter.getTitleSortKey(displayName, ignoreArticles));
+			titleSortKey = sortKey;
+		}
+		return sortKey.key;
+	}
+
 	/**
 	 * Returns an InputStream associated with the fileName.
 	 *
@@ -948,4 +975,18 @@ public abstract class StoreResource implements Cloneable, Runnable {
 		return null;
 	}
 
+	private static class TitleSortKey {
+
+		private final String displayName;
+		private final boolean ignoreArticles;
+		private final String key;
+
+		private TitleSortKey(String displayName, boolean ignoreArticles, String key) {
+			this.displayName = displayName;
+			this.ignoreArticles = ignoreArticles;
+			this.key = key;
+		}
+
+	}
+
 }
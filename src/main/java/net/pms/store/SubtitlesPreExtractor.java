@@ -0,0 +1,214 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.store;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import net.pms.PMS;
+import net.pms.configuration.UmsConfiguration;
+import net.pms.encoders.EngineFactory;
+import net.pms.encoders.StandardEngineId;
+import net.pms.formats.v2.SubtitleType;
+import net.pms.io.OutputParams;
+import net.pms.media.MediaInfo;
+import net.pms.media.subtitle.MediaSubtitle;
+import net.pms.renderers.devices.MediaScannerDevice;
+import net.pms.store.item.RealFile;
+import net.pms.util.SimpleThreadFactory;
+import net.pms.util.SubtitleUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Extracts the embedded text subtitles of the scanned videos to the converted
+ * subtitles cache, one video at a time and with a low priority FFmpeg
+ * process, so that {@link SubtitleUtils#getSubtitles} and the engines only
+ * have to look them up when the video is played.
+ * <p>
+ * Only the first track of each language of the subtitles language priority
+ * is extracted, and only for the new or changed videos. The queue holds the
+ * file names and is bounded, the videos left out are queued again by the
+ * next scan.
+ */
+public class SubtitlesPreExtractor {
+	private static final Logger LOGGER = LoggerFactory.getLogger(SubtitlesPreExtractor.class);
+
+	private static final int MAX_QUEUED = 1000;
+
+	/**
+	 * The file names of the videos waiting to be extracted.
+	 */
+	private static final Set<String> QUEUED = ConcurrentHashMap.newKeySet();
+	private static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(
+		1,
+		1,
+		60,
+		TimeUnit.SECONDS,
+		new LinkedBlockingQueue<>(MAX_QUEUED),
+		new SimpleThreadFactory("Subtitles Pre-extractor", "Subtitles Pre-extractor", Thread.MIN_PRIORITY)
+	);
+
+	static {
+		EXECUTOR.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * This class is not meant to be instantiated.
+	 */
+	private SubtitlesPreExtractor() {
+	}
+
+	/**
+	 * Queues the extraction of the embedded text subtitles of a video, if
+	 * enabled.
+	 *
+	 * @param item the scanned {@link StoreItem}.
+	 */
+	public static void queue(StoreItem item) {
+		UmsConfiguration configuration = PMS.getConfiguration();
+		if (
+			!configuration.isScanExtractSubtitles() ||
+			configuration.isDisableSubtitles() ||
+			!(item instanceof RealFile) ||
+			item.getMediaInfo() == null ||
+			!item.getMediaInfo().isVideo() ||
+			!isExtractionNeeded(item, item.getMediaInfo(), configuration)
+		) {
+			return;
+		}
+
+		String fileName = item.getFileName();
+		if (!QUEUED.add(fileName)) {
+			return;
+		}
+
+		try {
+			EXECUTOR.execute(() -> {
+				try {
+					extract(fileName, configuration);
+				} catch (RuntimeException e) {
+					LOGGER.error("Unhandled exception while extracting the subtitles of \"{}\": {}", fileName, e.getMessage());
+					LOGGER.trace("", e);
+				} finally {
+					QUEUED.remove(fileName);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			QUEUED.remove(fileName);
+			LOGGER.trace("The subtitles pre-extraction queue is full, skipping \"{}\"", fileName);
+		}
+	}
+
+	/**
+	 * @return Whether a preferred track of the video was not extracted yet,
+	 *         which is the case of the new or changed videos.
+	 */
+	private static boolean isExtractionNeeded(StoreItem item, MediaInfo media, UmsConfiguration configuration) {
+		for (MediaSubtitle track : getPreferredTracks(media, configuration.getSubtitlesLanguages())) {
+			if (!SubtitleUtils.hasCachedSubtitles(item, media, track, configuration)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the first embedded text subtitles track of each language of the
+	 * given language priority.
+	 *
+	 * @param media the {@link MediaInfo} of the video.
+	 * @param languages the comma-separated subtitles language priority.
+	 * @return The tracks in priority order.
+	 */
+	static List<MediaSubtitle> getPreferredTracks(MediaInfo media, String languages) {
+		List<MediaSubtitle> result = new ArrayList<>();
+		if (StringUtils.isBlank(languages)) {
+			return result;
+		}
+
+		List<MediaSubtitle> subtitlesTracks = media.getSubtitlesTracks();
+		for (String language : languages.split(",")) {
+			language = language.trim();
+			if (language.isEmpty()) {
+				continue;
+			}
+			for (MediaSubtitle track : subtitlesTracks) {
+				if (track.isEmbedded() && track.getType().isText() && track.matchCode(language)) {
+					if (!result.contains(track)) {
+						result.add(track);
+					}
+					break;
+				}
+			}
+		}
+		return result;
+	}
+
+	private static void extract(String fileName, UmsConfiguration configuration) {
+		if (EngineFactory.getEngineExecutable(StandardEngineId.FFMPEG_VIDEO) == null) {
+			return;
+		}
+
+		// The item is created again from the database, so that the queue
+		// doesn't keep the scanned items and their media information
+		File file = new File(fileName);
+		if (!file.isFile() || !(MediaScannerDevice.getRenderer().getMediaStore().createResourceFromFile(file) instanceof RealFile item)) {
+			return;
+		}
+		item.resolveFormat();
+		item.syncResolve();
+		MediaInfo media = item.getMediaInfo();
+		if (media == null) {
+			return;
+		}
+
+		for (MediaSubtitle track : getPreferredTracks(media, configuration.getSubtitlesLanguages())) {
+			if (SubtitleUtils.hasCachedSubtitles(item, media, track, configuration)) {
+				continue;
+			}
+
+			// Work on a copy, the conversion changes the type of the track
+			OutputParams params = new OutputParams(configuration);
+			params.setLowPriority(true);
+			try {
+				params.setSid((MediaSubtitle) track.clone());
+			} catch (CloneNotSupportedException e) {
+				return;
+			}
+
+			try {
+				File subtitles = SubtitleUtils.getSubtitles(item, media, params, configuration, SubtitleType.ASS);
+				if (subtitles != null) {
+					LOGGER.debug("Extracted the {} subtitles of \"{}\" to \"{}\"", track.getLangFullName(), item.getFileName(), subtitles);
+				}
+			} catch (IOException e) {
+				LOGGER.debug("Failed to extract the {} subtitles of \"{}\": {}", track.getLangFullName(), item.getFileName(), e.getMessage());
+				LOGGER.trace("", e);
+			}
+		}
+	}
+
+}
@@ -167,7 +167,8 @@ public class SystemFilesHelper {
 	 * otherwise.
 	 */
 	public static boolean isPotentialThumbnail(String fileName) {
-		return THUMBNAIL_EXTENSIONS.contains(FileUtil.getExtension(fileName));
+		String ext = FileUtil.getExtension(fileName);
+		return ext != null && THUMBNAIL_EXTENSIONS.contains(ext);
 	}
 
 	/**
@@ -0,0 +1,286 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.store;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import net.pms.PMS;
+import net.pms.configuration.UmsConfiguration;
+import net.pms.media.MediaInfo;
+import net.pms.metrics.Counter;
+import net.pms.metrics.Metrics;
+import net.pms.renderers.devices.MediaScannerDevice;
+import net.pms.store.item.RealFile;
+import net.pms.util.InputFile;
+import net.pms.util.SimpleThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Generates the thumbnails of the items with a bounded number of threads, so
+ * that a renderer asking for the thumbnails of a whole folder does not start
+ * an external process for each of them at once.
+ * <p>
+ * The requests for the same thumbnail share a single generation. The
+ * thumbnails asked by renderers are generated before the ones queued by the
+ * media scanner.
+ */
+public class ThumbnailService {
+	private static final Logger LOGGER = LoggerFactory.getLogger(ThumbnailService.class);
+	private static final Counter REQUESTED_THUMBNAILS = Metrics.counter("ums_thumbnails_generated_total", "Thumbnails generated", "origin", "request");
+	private static final Counter SCANNED_THUMBNAILS = Metrics.counter("ums_thumbnails_generated_total", "Thumbnails generated", "origin", "scan");
+
+	/**
+	 * The maximum number of thumbnails queued by the media scanner. The
+	 * others are generated when a renderer asks for them.
+	 */
+	private static final int MAX_QUEUED_SCANS = 1000;
+
+	/**
+	 * How long a renderer request waits for its thumbnail, in seconds.
+	 */
+	private static final int REQUEST_TIMEOUT = 60;
+
+	/**
+	 * The thumbnails being generated or waiting to be, by key.
+	 */
+	private static final Map<String, Request> REQUESTS = new ConcurrentHashMap<>();
+	private static final AtomicInteger QUEUED_SCANS = new AtomicInteger();
+	private static final AtomicLong SEQUENCE = new AtomicLong();
+	private static ThreadPoolExecutor executor;
+
+	static {
+		Metrics.gauge("ums_thumbnails_queued", "Thumbnails waiting to be generated", ThumbnailService::getQueuedCount);
+	}
+
+	/**
+	 * This class is not meant to be instantiated.
+	 */
+	private ThumbnailService() {
+	}
+
+	private static synchronized ThreadPoolExecutor getExecutor() {
+		if (executor == null) {
+			int threads = PMS.getConfiguration().getThumbnailThreads();
+			executor = new ThreadPoolExecutor(
+				threads,
+				threads,
+				60,
+				TimeUnit.SECONDS,
+				new PriorityBlockingQueue<>(),
+				new SimpleThreadFactory("Thumbnail Generator", "Thumbnail Generator", Thread.NORM_PRIORITY - 1)
+			);
+			executor.allowCoreThreadTimeOut(true);
+		}
+		return executor;
+	}
+
+	private static synchronized int getQueuedCount() {
+		return executor == null ? 0 : executor.getQueue().size();
+	}
+
+	/**
+	 * Generates the thumbnail of an item before the ones queued by the media
+	 * scanner, and waits for it at most {@value #REQUEST_TIMEOUT} seconds.
+	 *
+	 * @param item the {@link StoreItem}.
+	 * @param inputFile the file to generate the thumbnail from.
+	 * @param seekPosition the position of the thumbnail in seconds, or
+	 *            {@code null} for the default position.
+	 * @param persistent whether the thumbnail is stored with the file.
+	 * @return The thumbnail id, or {@code null} if none was generated.
+	 */
+	public static Long getThumbnailId(StoreItem item, InputFile inputFile, Double seekPosition, boolean persistent) {
+		String key = getKey(item.getSystemName(), seekPosition, persistent);
+		CompletableFuture<Long> result = submit(key, true, () -> item.generateThumbnail(inputFile, seekPosition, persistent));
+		try {
+			return result.get(REQUEST_TIMEOUT, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			LOGGER.debug("Failed to generate the thumbnail of \"{}\": {}", item.getFileName(), e.getMessage());
+			LOGGER.trace("", e);
+		} catch (TimeoutException e) {
+			LOGGER.debug("Timed out while waiting for the thumbnail of \"{}\"", item.getFileName());
+		}
+		return null;
+	}
+
+	/**
+	 * Queues the generation of the missing thumbnail of a scanned video, if
+	 * enabled and if the queue is not full.
+	 *
+	 * @param item the scanned {@link StoreItem}.
+	 */
+	public static void queue(StoreItem item) {
+		UmsConfiguration configuration = PMS.getConfiguration();
+		if (
+			!configuration.isScanGenerateThumbnails() ||
+			!configuration.isThumbnailGenerationEnabled() ||
+			!(item instanceof RealFile)
+		) {
+			return;
+		}
+
+		MediaInfo mediaInfo = item.getMediaInfo();
+		if (mediaInfo == null || !mediaInfo.isVideo() || mediaInfo.getFileId() == null || mediaInfo.getThumbnailId() != null) {
+			return;
+		}
+
+		// Only the file name is kept, not the item and its media information
+		String fileName = item.getFileName();
+		submit(getKey(item.getSystemName(), null, true), false, () -> generateScanned(fileName));
+	}
+
+	/**
+	 * Queues the generation of a thumbnail, unless it is already queued with
+	 * the same or a higher priority.
+	 *
+	 * @param key the thumbnail key.
+	 * @param interactive whether a renderer is waiting for it.
+	 * @param generator the thumbnail generation, returning the thumbnail id.
+	 * @return The result shared by the tasks queued for the thumbnail.
+	 */
+	static CompletableFuture<Long> submit(String key, boolean interactive, Supplier<Long> generator) {
+		Request request = REQUESTS.computeIfAbsent(key, k -> new Request());
+		AtomicBoolean queued = interactive ? request.requested : request.scanned;
+		if (queued.compareAndSet(false, true)) {
+			if (!interactive && QUEUED_SCANS.incrementAndGet() > MAX_QUEUED_SCANS) {
+				QUEUED_SCANS.decrementAndGet();
+				queued.set(false);
+				if (!request.requested.get()) {
+					REQUESTS.remove(key, request);
+				}
+				LOGGER.trace("Too many thumbnails queued, not queuing \"{}\"", key);
+				return request.result;
+			}
+			getExecutor().execute(new Task(key, request, generator, interactive));
+		}
+		return request.result;
+	}
+
+	/**
+	 * Generates the thumbnail of a scanned file.
+	 * <p>
+	 * The item is created again from the database, so that the queue does not
+	 * keep the scanned items and their media information.
+	 */
+	private static Long generateScanned(String fileName) {
+		File file = new File(fileName);
+		if (!file.isFile() || !(MediaScannerDevice.getRenderer().getMediaStore().createResourceFromFile(file) instanceof RealFile item)) {
+			return null;
+		}
+		item.resolveFormat();
+		item.syncResolve();
+		MediaInfo mediaInfo = item.getMediaInfo();
+		if (mediaInfo == null || mediaInfo.getFileId() == null || mediaInfo.getThumbnailId() != null) {
+			// Generated meanwhile
+			return mediaInfo != null ? mediaInfo.getThumbnailId() : null;
+		}
+		InputFile inputFile = new InputFile();
+		inputFile.setFile(file);
+		Long thumbnailId = item.generateThumbnail(inputFile, null, true);
+		if (thumbnailId != null) {
+			mediaInfo.setThumbnailId(thumbnailId);
+		}
+		return thumbnailId;
+	}
+
+	/**
+	 * @return The key of a thumbnail. It is made from the system name, as the
+	 *         titles of a DVD share the file name of the image.
+	 */
+	private static String getKey(String systemName, Double seekPosition, boolean persistent) {
+		if (persistent) {
+			return systemName;
+		}
+		return systemName + "@" + seekPosition;
+	}
+
+	/**
+	 * A thumbnail to generate, shared by the tasks queued for it.
+	 */
+	private static class Request {
+		private final CompletableFuture<Long> result = new CompletableFuture<>();
+		private final AtomicBoolean requested = new AtomicBoolean();
+		private final AtomicBoolean scanned = new AtomicBoolean();
+		private final AtomicBoolean started = new AtomicBoolean();
+	}
+
+	private static class Task implements Runnable, Comparable<Task> {
+		private final String key;
+		private final Request request;
+		private final Supplier<Long> generator;
+		private final boolean interactive;
+		private final long sequence = SEQUENCE.getAndIncrement();
+
+		private Task(String key, Request request, Supplier<Long> generator, boolean interactive) {
+			this.key = key;
+			this.request = request;
+			this.generator = generator;
+			this.interactive = interactive;
+		}
+
+		@Override
+		public void run() {
+			if (!interactive) {
+				QUEUED_SCANS.decrementAndGet();
+			}
+			if (!request.started.compareAndSet(false, true)) {
+				// Already generated by the other task of the request
+				return;
+			}
+			try {
+				Long thumbnailId = generator.get();
+				if (thumbnailId != null) {
+					if (interactive) {
+						REQUESTED_THUMBNAILS.increment();
+					} else {
+						SCANNED_THUMBNAILS.increment();
+					}
+				}
+				request.result.complete(thumbnailId);
+			} catch (RuntimeException e) {
+				LOGGER.error("Unhandled exception while generating the thumbnail of \"{}\": {}", key, e.getMessage());
+				LOGGER.trace("", e);
+				request.result.complete(null);
+			} finally {
+				REQUESTS.remove(key, request);
+			}
+		}
+
+		@Override
+		public int compareTo(Task other) {
+			if (interactive != other.interactive) {
+				return interactive ? -1 : 1;
+			}
+			return Long.compare(sequence, other.sequence);
+		}
+	}
+
+}
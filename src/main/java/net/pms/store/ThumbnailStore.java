@@ -137,6 +137,7 @@ public class ThumbnailStore {
 		synchronized (STORE) {
 			STORE.clear();
 			tempId = Long.MAX_VALUE;
+			ThumbnailVariantCache.clear();
 			Connection connection = null;
 			try {
 				connection = MediaDatabase.getConnectionIfAvailable();
@@ -0,0 +1,254 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.store;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.concurrent.GuardedBy;
+import net.pms.PMS;
+import net.pms.dlna.DLNAImageProfile;
+import net.pms.image.BufferedImageFilterChain;
+import net.pms.util.DiskCache;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded memory and disk cache of the final thumbnail bytes sent to
+ * renderers, after scaling, padding, overlays and encoding.
+ * <p>
+ * Entries are keyed by the resource id, its update id, the thumbnail id,
+ * the image profile, the padding flag and the filter chain, so any change to
+ * the resource or to the requested variant is a cache miss. The entries of an
+ * older update id are never served again and the least recently used entries
+ * are evicted when a cache is full. The disk files are in the thumbnails region
+ * of the {@link DiskCache}, which sets their quota.
+ */
+public class ThumbnailVariantCache {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ThumbnailVariantCache.class);
+	private static final long MAX_MEMORY_SIZE = 16L * 1024 * 1024;
+	private static final String FOLDER_NAME = "thumbnail_variants";
+	private static final String SEPARATOR = "_";
+
+	@GuardedBy("MEMORY")
+	private static final Map<String, byte[]> MEMORY = new LinkedHashMap<>(64, 0.75f, true);
+	@GuardedBy("MEMORY")
+	private static long memorySize;
+	@GuardedBy("DISK")
+	private static final Set<String> DISK = new HashSet<>();
+	@GuardedBy("DISK")
+	private static File folder;
+	@GuardedBy("DISK")
+	private static File folderLocation;
+
+	/**
+	 * This class is not meant to be instantiated.
+	 */
+	private ThumbnailVariantCache() {
+	}
+
+	/**
+	 * Returns the cache key of a thumbnail variant.
+	 *
+	 * @param resourceId the resource id.
+	 * @param updateId the resource update id.
+	 * @param thumbnailId the thumbnail id, or {@code null} if unknown.
+	 * @param profile the {@link DLNAImageProfile} of the thumbnail.
+	 * @param padding whether the thumbnail is padded to the profile size.
+	 * @param filterChain the filters applied, or {@code null}.
+	 * @return The cache key.
+	 */
+	public static String getKey(long resourceId, String updateId, Long thumbnailId, DLNAImageProfile profile, boolean padding, BufferedImageFilterChain filterChain) {
+		String variant = updateId + "|" + thumbnailId + "|" + profile + "|" + padding + "|" + (filterChain == null ? "" : filterChain.toString());
+		return resourceId + SEPARATOR + DigestUtils.sha1Hex(variant.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Returns the cached bytes for a key, from memory or from disk.
+	 *
+	 * @param key the key from {@link #getKey}.
+	 * @return The thumbnail bytes or {@code null} if not cached.
+	 */
+	public static byte[] get(String key) {
+		synchronized (MEMORY) {
+			byte[] data = MEMORY.get(key);
+			if (data != null) {
+				return data;
+			}
+		}
+		byte[] data = null;
+		synchronized (DISK) {
+			// Indexes the files of the previous run on first use
+			File cacheFolder = getFolder();
+			if (cacheFolder != null && DISK.contains(key)) {
+				File file = new File(cacheFolder, key);
+				try {
+					data = Files.readAllBytes(file.toPath());
+					DiskCache.touch(file);
+				} catch (IOException e) {
+					// Evicted by the disk cache
+					LOGGER.debug("Unable to read cached thumbnail {}: {}", key, e.getMessage());
+					removeFromDisk(key);
+				}
+			}
+		}
+		if (data != null) {
+			putInMemory(key, data);
+		}
+		return data;
+	}
+
+	/**
+	 * Stores the bytes of a thumbnail variant.
+	 *
+	 * @param key the key from {@link #getKey}.
+	 * @param data the thumbnail bytes.
+	 */
+	public static void put(String key, byte[] data) {
+		if (data == null || data.length == 0) {
+			return;
+		}
+		putInMemory(key, data);
+		synchronized (DISK) {
+			File cacheFolder = getFolder();
+			if (cacheFolder == null || DISK.contains(key)) {
+				return;
+			}
+			try {
+				File file = new File(cacheFolder, key);
+				Files.write(file.toPath(), data);
+				DISK.add(key);
+				DiskCache.add(DiskCache.Region.THUMBNAILS, file);
+			} catch (IOException e) {
+				LOGGER.debug("Unable to write cached thumbnail {}: {}", key, e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Drops all the cached variants.
+	 */
+	public static void clear() {
+		synchronized (MEMORY) {
+			MEMORY.clear();
+			memorySize = 0;
+		}
+		synchronized (DISK) {
+			if (getFolder() == null) {
+				return;
+			}
+			for (String key : DISK) {
+				deleteFile(key);
+			}
+			DISK.clear();
+		}
+	}
+
+	/**
+	 * Forgets the cached variants without deleting the disk files, like a
+	 * restart does.
+	 *
+	 * @param cacheFolder the disk cache folder to use from now on, or
+	 *            {@code null} for the default one.
+	 */
+	//used only from test class
+	static void reset(File cacheFolder) {
+		synchronized (MEMORY) {
+			MEMORY.clear();
+			memorySize = 0;
+		}
+		synchronized (DISK) {
+			DISK.clear();
+			folder = null;
+			folderLocation = cacheFolder;
+		}
+	}
+
+	private static void putInMemory(String key, byte[] data) {
+		synchronized (MEMORY) {
+			byte[] previous = MEMORY.put(key, data);
+			if (previous != null) {
+				memorySize -= previous.length;
+			}
+			memorySize += data.length;
+			Iterator<byte[]> iterator = MEMORY.values().iterator();
+			while (memorySize > MAX_MEMORY_SIZE && iterator.hasNext()) {
+				memorySize -= iterator.next().length;
+				iterator.remove();
+			}
+		}
+	}
+
+	@GuardedBy("DISK")
+	private static void removeFromDisk(String key) {
+		DISK.remove(key);
+		deleteFile(key);
+	}
+
+	@GuardedBy("DISK")
+	private static void deleteFile(String key) {
+		if (folder == null) {
+			return;
+		}
+		File file = new File(folder, key);
+		DiskCache.remove(file);
+		if (file.exists() && !file.delete()) {
+			LOGGER.trace("Unable to delete cached thumbnail {}", key);
+		}
+	}
+
+	/**
+	 * Creates the disk cache folder on first use, and indexes the files left
+	 * by the previous run from the oldest to the newest. The files the disk
+	 * cache does not know yet are added to it.
+	 *
+	 * @return The folder, or {@code null} if it can't be used.
+	 */
+	@GuardedBy("DISK")
+	private static File getFolder() {
+		if (folder == null) {
+			File cacheFolder = folderLocation != null ? folderLocation : new File(PMS.getConfiguration().getDataFile(FOLDER_NAME));
+			if (!cacheFolder.isDirectory() && !cacheFolder.mkdirs()) {
+				LOGGER.debug("Unable to create the thumbnails cache folder {}", cacheFolder);
+				return null;
+			}
+			File[] files = cacheFolder.listFiles(File::isFile);
+			if (files != null) {
+				Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+				for (File file : files) {
+					DISK.add(file.getName());
+					if (!DiskCache.contains(file)) {
+						DiskCache.add(DiskCache.Region.THUMBNAILS, file);
+					}
+				}
+			}
+			folder = cacheFolder;
+		}
+		return folder;
+	}
+
+}
@@ -116,10 +116,15 @@ public class CodeEnter extends StoreContainer {
 	}
 
 	@Override
-	public synchronized void doRefreshChildren() {
-		setEnteredCode("");
-		getChildren().clear();
-		discoverChildren();
+	public void doRefreshChildren() {
+		discoverLock.lock();
+		try {
+			setEnteredCode("");
+			getChildren().clear();
+			discoverChildren();
+		} finally {
+			discoverLock.unlock();
+		}
 	}
 
 	public boolean validCode(StoreResource r) {
@@ -238,14 +238,19 @@ public class Feed extends StoreContainer {
 	}
 
 	@Override
-	public synchronized void doRefreshChildren() {
+	public void doRefreshChildren() {
+		discoverLock.lock();
 		try {
-			getChildren().clear();
-			parse();
-		} catch (Exception e) {
-			LOGGER.error("Error in parsing stream: " + url, e);
+			try {
+				getChildren().clear();
+				parse();
+			} catch (Exception e) {
+				LOGGER.error("Error in parsing stream: " + url, e);
+			}
+			sortChildrenIfNeeded();
+		} finally {
+			discoverLock.unlock();
 		}
-		sortChildrenIfNeeded();
 	}
 
 	/**
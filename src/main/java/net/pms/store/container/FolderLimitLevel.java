@@ -44,16 +44,26 @@ public class FolderLimitLevel extends StoreContainer {
 	}
 
 	@Override
-	public synchronized void discoverChildren() {
-		if (start != null) {
-			addChild(start);
-			sortChildrenIfNeeded();
+	public void discoverChildren() {
+		discoverLock.lock();
+		try {
+			if (start != null) {
+				addChild(start);
+				sortChildrenIfNeeded();
+			}
+		} finally {
+			discoverLock.unlock();
 		}
 	}
 
 	@Override
-	public synchronized void resolve() {
-		this.setDiscovered(false);
-		this.getChildren().clear();
+	public void resolve() {
+		discoverLock.lock();
+		try {
+			this.setDiscovered(false);
+			this.getChildren().clear();
+		} finally {
+			discoverLock.unlock();
+		}
 	}
 }
@@ -19,6 +19,8 @@ package net.pms.store.container;
 import net.pms.database.MediaTableAudioMetadata;
 import net.pms.database.MediaTableFiles;
 import net.pms.database.MediaTableFilesStatus;
+import net.pms.database.MediaTableTVSeries;
+import net.pms.database.MediaTableTVSeriesSeasons;
 import net.pms.database.MediaTableVideoMetadata;
 import net.pms.database.MediaTableVideotracks;
 import net.pms.formats.Format;
@@ -95,6 +97,15 @@ abstract class MediaLibraryAbstract extends LocalizedStoreContainer {
 	protected static final String FROM_FILES_STATUS_VIDEOMETA = FROM_FILES_STATUS + MediaTableFiles.SQL_LEFT_JOIN_TABLE_VIDEO_METADATA;
 	protected static final String FROM_FILES_STATUS_VIDEO_TV_SERIES = FROM_FILES_STATUS_VIDEOMETA + MediaTableVideoMetadata.SQL_LEFT_JOIN_TABLE_TV_SERIES;
 
+	/**
+	 * The TV series having episodes, from the summary table.
+	 */
+	protected static final String SELECT_TVSERIES = SELECT_DISTINCT + MediaTableTVSeries.TABLE_COL_ID + ", " + MediaTableTVSeries.TABLE_COL_TITLE + FROM + MediaTableTVSeriesSeasons.TABLE_NAME + MediaTableTVSeriesSeasons.SQL_LEFT_JOIN_TABLE_TV_SERIES + ORDER_BY + MediaTableTVSeries.TABLE_COL_TITLE + ASC;
+	/**
+	 * The TV series having episodes, from the files, for the queries that also
+	 * filter the episodes.
+	 */
+	protected static final String SELECT_TVSERIES_FROM_FILES = SELECT_DISTINCT + MediaTableTVSeries.TABLE_COL_ID + ", " + MediaTableTVSeries.TABLE_COL_TITLE + FROM_FILES_VIDEOMETA_TV_SERIES + WHERE + FORMAT_TYPE_VIDEO + AND + TVEPISODE_CONDITION + ORDER_BY + MediaTableTVSeries.TABLE_COL_TITLE + ASC;
 	protected static final String SELECT_DISTINCT_TVSEASON = SELECT_DISTINCT + MediaTableVideoMetadata.TABLE_COL_TVSEASON + FROM_FILES_STATUS_VIDEOMETA;
 	protected static final String SELECT_FILES_STATUS_WHERE = SELECT_ALL + FROM_FILES_STATUS + WHERE;
 	protected static final String SELECT_FILES_STATUS_VIDEO_WHERE = SELECT_ALL + FROM_FILES_STATUS_VIDEOMETA + WHERE;
@@ -68,6 +68,10 @@ public class MediaLibraryTvSeries extends MediaLibraryFolder {
 		return getLocalizedDisplayName(null);
 	}
 
+	public Long getTvSeriesId() {
+		return tvSeriesId;
+	}
+
 	public synchronized TvSeriesMetadata getTvSeriesMetadata() {
 		if (tvSeriesMetadata == null && tvSeriesId != null) {
 			tvSeriesMetadata = MediaInfoStore.getTvSeriesMetadata(tvSeriesId);
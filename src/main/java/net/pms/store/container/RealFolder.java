@@ -23,8 +23,8 @@ import java.io.IOException;
 import net.pms.dlna.DLNAThumbnailInputStream;
 import net.pms.platform.PlatformUtils;
 import net.pms.renderers.Renderer;
+import net.pms.store.SidecarIndex;
 import net.pms.store.SystemFileResource;
-import net.pms.store.SystemFilesHelper;
 import net.pms.util.ProcessUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -69,7 +69,7 @@ public class RealFolder extends VirtualFolder implements SystemFileResource {
 
 	@Override
 	public DLNAThumbnailInputStream getThumbnailInputStream() throws IOException {
-		File cachedThumbnail = SystemFilesHelper.getFolderThumbnail(directory);
+		File cachedThumbnail = SidecarIndex.getFolderThumbnail(directory);
 
 		DLNAThumbnailInputStream result = null;
 		try {
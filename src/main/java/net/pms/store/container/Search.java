@@ -51,30 +51,45 @@ public class Search extends StoreContainer {
 	}
 
 	@Override
-	public synchronized void resolve() {
-		setDiscovered(false);
+	public void resolve() {
+		discoverLock.lock();
+		try {
+			setDiscovered(false);
+		} finally {
+			discoverLock.unlock();
+		}
 	}
 
-	public synchronized void append(char ch) {
-		switch (ch) {
-			case '\0' -> {
-				sb = new StringBuilder();
-			}
-			case '\b' -> {
-				if (sb.length() != 0) {
-					sb.deleteCharAt(sb.length() - 1);
+	public void append(char ch) {
+		discoverLock.lock();
+		try {
+			switch (ch) {
+				case '\0' -> {
+					sb = new StringBuilder();
 				}
+				case '\b' -> {
+					if (sb.length() != 0) {
+						sb.deleteCharAt(sb.length() - 1);
+					}
+				}
+				default -> sb.append(ch);
 			}
-			default -> sb.append(ch);
+		} finally {
+			discoverLock.unlock();
 		}
 	}
 
 	@Override
-	public synchronized void discoverChildren() {
-		if (searched) {
-			getChildren().clear();
+	public void discoverChildren() {
+		discoverLock.lock();
+		try {
+			if (searched) {
+				getChildren().clear();
+			}
+			sobj.search(sb.toString(), this);
+			searched = true;
+		} finally {
+			discoverLock.unlock();
 		}
-		sobj.search(sb.toString(), this);
-		searched = true;
 	}
 }
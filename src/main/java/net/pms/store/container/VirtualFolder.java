@@ -204,125 +204,130 @@ public class VirtualFolder extends StoreContainer {
 	}
 
 	@Override
-	public synchronized void discoverChildren() {
-		if (discoverable == null) {
-			discoverable = new ArrayList<>();
-		} else {
-			return;
-		}
+	public void discoverChildren() {
+		discoverLock.lock();
+		try {
+			if (discoverable == null) {
+				discoverable = new ArrayList<>();
+			} else {
+				return;
+			}
 
-		getChildren().clear();
-		List<File> childrenFiles = getFilesListForDirectories();
-
-		// Build a map of all files and their corresponding formats
-		Set<File> images = new HashSet<>();
-		Set<File> audioVideo = new HashSet<>();
-		Iterator<File> iterator = childrenFiles.iterator();
-		while (iterator.hasNext()) {
-			File file = iterator.next();
-			if (file.isFile()) {
-				if (SystemFilesHelper.isPotentialThumbnail(file.getName())) {
-					if (SystemFilesHelper.isFolderThumbnail(file, false)) {
-						potentialCover = file;
-						iterator.remove();
+			getChildren().clear();
+			List<File> childrenFiles = getFilesListForDirectories();
+
+			// Build a map of all files and their corresponding formats
+			Set<File> images = new HashSet<>();
+			Set<File> audioVideo = new HashSet<>();
+			Iterator<File> iterator = childrenFiles.iterator();
+			while (iterator.hasNext()) {
+				File file = iterator.next();
+				if (file.isFile()) {
+					if (SystemFilesHelper.isPotentialThumbnail(file.getName())) {
+						if (SystemFilesHelper.isFolderThumbnail(file, false)) {
+							potentialCover = file;
+							iterator.remove();
+						} else {
+							images.add(file);
+						}
 					} else {
-						images.add(file);
-					}
-				} else {
-					Format format = FormatFactory.getAssociatedFormat(file.getAbsolutePath());
-					if (format != null && (format.isAudio() || format.isVideo())) {
-						audioVideo.add(file);
+						Format format = FormatFactory.getAssociatedFormat(file.getAbsolutePath());
+						if (format != null && (format.isAudio() || format.isVideo())) {
+							audioVideo.add(file);
+						}
 					}
 				}
 			}
-		}
 
-		// Remove cover/thumbnails from file list
-		if (!images.isEmpty() && !audioVideo.isEmpty()) {
-			Set<File> potentialMatches;
-			for (File audioVideoFile : audioVideo) {
-				potentialMatches = SystemFilesHelper.getPotentialFileThumbnails(audioVideoFile, false);
-				iterator = images.iterator();
-				while (iterator.hasNext()) {
-					File imageFile = iterator.next();
-					if (potentialMatches.contains(imageFile)) {
-						iterator.remove();
-						childrenFiles.remove(imageFile);
+			// Remove cover/thumbnails from file list
+			if (!images.isEmpty() && !audioVideo.isEmpty()) {
+				Set<File> potentialMatches;
+				for (File audioVideoFile : audioVideo) {
+					potentialMatches = SystemFilesHelper.getPotentialFileThumbnails(audioVideoFile, false);
+					iterator = images.iterator();
+					while (iterator.hasNext()) {
+						File imageFile = iterator.next();
+						if (potentialMatches.contains(imageFile)) {
+							iterator.remove();
+							childrenFiles.remove(imageFile);
+						}
 					}
 				}
 			}
-		}
 
-		// ATZ handling
-		if (childrenFiles.size() > renderer.getUmsConfiguration().getATZLimit() && StringUtils.isEmpty(forcedName)) {
-			/*
-			 * Too many files to display at once, add A-Z folders
-			 * instead and let the filters begin
-			 *
-			 * Note: If we done this at the level directly above we don't do it again
-			 * since all files start with the same letter then
-			 */
-			Map<String, List<File>> map = new TreeMap<>();
-			for (File f : childrenFiles) {
-				if ((!f.isFile() && !f.isDirectory()) || f.isHidden() || !f.canRead()) {
-					// skip these
-					continue;
-				}
-				if (f.isDirectory() && renderer.getUmsConfiguration().isHideEmptyFolders() && !FileUtil.isFolderRelevant(f, renderer.getUmsConfiguration())) {
-					LOGGER.debug("Ignoring empty/non-relevant directory: " + f.getName());
-					// Keep track of the fact that we have empty folders, so when we're asked if we should refresh,
-					// we can re-scan the folders in this list to see if they contain something relevant
-					if (emptyFoldersToRescan == null) {
-						emptyFoldersToRescan = new ArrayList<>();
+			// ATZ handling
+			if (childrenFiles.size() > renderer.getUmsConfiguration().getATZLimit() && StringUtils.isEmpty(forcedName)) {
+				/*
+				 * Too many files to display at once, add A-Z folders
+				 * instead and let the filters begin
+				 *
+				 * Note: If we done this at the level directly above we don't do it again
+				 * since all files start with the same letter then
+				 */
+				Map<String, List<File>> map = new TreeMap<>();
+				for (File f : childrenFiles) {
+					if ((!f.isFile() && !f.isDirectory()) || f.isHidden() || !f.canRead()) {
+						// skip these
+						continue;
 					}
-					if (!emptyFoldersToRescan.contains(f)) {
-						emptyFoldersToRescan.add(f);
+					if (f.isDirectory() && renderer.getUmsConfiguration().isHideEmptyFolders() && !FileUtil.isFolderRelevant(f, renderer.getUmsConfiguration())) {
+						LOGGER.debug("Ignoring empty/non-relevant directory: " + f.getName());
+						// Keep track of the fact that we have empty folders, so when we're asked if we should refresh,
+						// we can re-scan the folders in this list to see if they contain something relevant
+						if (emptyFoldersToRescan == null) {
+							emptyFoldersToRescan = new ArrayList<>();
+						}
+						if (!emptyFoldersToRescan.contains(f)) {
+							emptyFoldersToRescan.add(f);
+						}
+						continue;
 					}
-					continue;
-				}
 
-				String filenameToSort = FileUtil.renameForSorting(f.getName(), false, f.getAbsolutePath());
+					String filenameToSort = FileUtil.renameForSorting(f.getName(), false, f.getAbsolutePath());
 
-				char c = filenameToSort.toUpperCase().charAt(0);
+					char c = filenameToSort.toUpperCase().charAt(0);
 
-				if (!(c >= 'A' && c <= 'Z')) {
-					// "other char"
-					c = '#';
-				}
-				List<File> l = map.get(String.valueOf(c));
-				if (l == null) {
-					// new letter
-					l = new ArrayList<>();
+					if (!(c >= 'A' && c <= 'Z')) {
+						// "other char"
+						c = '#';
+					}
+					List<File> l = map.get(String.valueOf(c));
+					if (l == null) {
+						// new letter
+						l = new ArrayList<>();
+					}
+					l.add(f);
+					map.put(String.valueOf(c), l);
 				}
-				l.add(f);
-				map.put(String.valueOf(c), l);
-			}
 
-			if (map.size() > 1) {
-				for (Entry<String, List<File>> entry : map.entrySet()) {
-					// loop over all letters, this avoids adding
-					// empty letters
-					VirtualFolder mf = new VirtualFolder(renderer, this, entry.getValue(), entry.getKey());
-					addChild(mf, true, true);
+				if (map.size() > 1) {
+					for (Entry<String, List<File>> entry : map.entrySet()) {
+						// loop over all letters, this avoids adding
+						// empty letters
+						VirtualFolder mf = new VirtualFolder(renderer, this, entry.getValue(), entry.getKey());
+						addChild(mf, true, true);
+					}
+					return;
 				}
-				return;
 			}
-		}
 
-		for (File f : childrenFiles) {
-			if (f.isDirectory()) {
-				discoverable.add(f);
+			for (File f : childrenFiles) {
+				if (f.isDirectory()) {
+					discoverable.add(f);
+				}
 			}
-		}
 
-		for (File f : childrenFiles) {
-			if (f.isFile()) {
-				discoverable.add(f);
+			for (File f : childrenFiles) {
+				if (f.isFile()) {
+					discoverable.add(f);
+				}
 			}
+			setDiscovered(analyzeChildren());
+			sortChildrenIfNeeded();
+			setLastRefreshTime(System.currentTimeMillis());
+		} finally {
+			discoverLock.unlock();
 		}
-		setDiscovered(analyzeChildren());
-		sortChildrenIfNeeded();
-		setLastRefreshTime(System.currentTimeMillis());
 	}
 
 	/**
@@ -367,10 +372,15 @@ public class VirtualFolder extends StoreContainer {
 	}
 
 	@Override
-	public synchronized void doRefreshChildren() {
-		emptyFoldersToRescan = null; // Since we're re-scanning, reset this list so it can be built again
-		discoverable = null;
-		discoverChildren();
+	public void doRefreshChildren() {
+		discoverLock.lock();
+		try {
+			emptyFoldersToRescan = null; // Since we're re-scanning, reset this list so it can be built again
+			discoverable = null;
+			discoverChildren();
+		} finally {
+			discoverLock.unlock();
+		}
 	}
 
 	@Override
@@ -88,204 +88,209 @@ public class VirtualFolderDbId extends LocalizedStoreContainer {
 	}
 
 	@Override
-	public synchronized void doRefreshChildren() {
-		Connection connection = null;
+	public void doRefreshChildren() {
+		discoverLock.lock();
 		try {
-			connection = MediaDatabase.getConnectionIfAvailable();
-			if (connection != null) {
-				try (Statement statement = connection.createStatement()) {
-					List<File> filesListFromDb = null;
-					getChildren().clear();
-					String sql;
-					switch (typeIdent.type) {
-						case TYPE_ALBUM -> {
-							sql = String.format("SELECT " + MediaTableFiles.TABLE_COL_FILENAME + ", " + MediaTableFiles.TABLE_COL_ID +
-									", " + MediaTableFiles.TABLE_COL_MODIFIED + " FROM " + MediaTableFiles.TABLE_NAME + " LEFT OUTER JOIN " +
-									MediaTableAudioMetadata.TABLE_NAME + " ON " + MediaTableFiles.TABLE_COL_ID + " = " +
-									MediaTableAudioMetadata.TABLE_COL_FILEID + " WHERE ( " + MediaTableFiles.TABLE_COL_FORMAT_TYPE +
-									" = 1  AND  " + MediaTableAudioMetadata.TABLE_COL_ALBUM + " = '%s')", StringEscapeUtils.escapeSql(typeIdent.ident));
-							if (LOGGER.isTraceEnabled()) {
-								LOGGER.trace(String.format("SQL AUDIO-ALBUM : %s", sql));
+			Connection connection = null;
+			try {
+				connection = MediaDatabase.getConnectionIfAvailable();
+				if (connection != null) {
+					try (Statement statement = connection.createStatement()) {
+						List<File> filesListFromDb = null;
+						getChildren().clear();
+						String sql;
+						switch (typeIdent.type) {
+							case TYPE_ALBUM -> {
+								sql = String.format("SELECT " + MediaTableFiles.TABLE_COL_FILENAME + ", " + MediaTableFiles.TABLE_COL_ID +
+										", " + MediaTableFiles.TABLE_COL_MODIFIED + " FROM " + MediaTableFiles.TABLE_NAME + " LEFT OUTER JOIN " +
+										MediaTableAudioMetadata.TABLE_NAME + " ON " + MediaTableFiles.TABLE_COL_ID + " = " +
+										MediaTableAudioMetadata.TABLE_COL_FILEID + " WHERE ( " + MediaTableFiles.TABLE_COL_FORMAT_TYPE +
+										" = 1  AND  " + MediaTableAudioMetadata.TABLE_COL_ALBUM + " = '%s')", StringEscapeUtils.escapeSql(typeIdent.ident));
+								if (LOGGER.isTraceEnabled()) {
+									LOGGER.trace(String.format("SQL AUDIO-ALBUM : %s", sql));
+								}
+								try (ResultSet resultSet = statement.executeQuery(sql)) {
+									filesListFromDb = new ArrayList<>();
+									while (resultSet.next()) {
+										filesListFromDb.add(new File(resultSet.getString("FILENAME")));
+									}
+								}
 							}
-							try (ResultSet resultSet = statement.executeQuery(sql)) {
-								filesListFromDb = new ArrayList<>();
-								while (resultSet.next()) {
-									filesListFromDb.add(new File(resultSet.getString("FILENAME")));
+							case TYPE_MUSICBRAINZ_RECORDID -> {
+								if (StringUtils.isAllBlank(typeIdent.ident)) {
+									LOGGER.debug("collecting all music albums having a musicBrainzId identifier ...");
+									sql = "SELECT DISTINCT ON (MBID_RECORD) MBID_RECORD, " +
+										MediaTableAudioMetadata.TABLE_COL_ALBUM + ", " + MediaTableAudioMetadata.TABLE_COL_GENRE + ", " +
+										MediaTableAudioMetadata.TABLE_COL_ARTIST + ", " + MediaTableAudioMetadata.TABLE_COL_MEDIA_YEAR + " FROM " +
+										MediaTableAudioMetadata.TABLE_NAME + " WHERE MBID_RECORD IS NOT NULL";
+									if (LOGGER.isTraceEnabled()) {
+										LOGGER.trace(String.format("SQL TYPE_MUSICBRAINZ_RECORDID : %s", sql));
+									}
+									try (ResultSet resultSet = statement.executeQuery(sql)) {
+										while (resultSet.next()) {
+											MusicBrainzAlbum mbAlbum = new MusicBrainzAlbum(resultSet.getString("MBID_RECORD"), resultSet.getString("ALBUM"),
+												resultSet.getString("ARTIST"), Integer.toString(resultSet.getInt("MEDIA_YEAR")), resultSet.getString("GENRE"));
+											addChild(new MusicBrainzAlbumFolder(renderer, mbAlbum));
+										}
+									} catch (Exception e) {
+										LOGGER.error("Error in SQL : " + sql, e);
+									}
+								} else {
+									LOGGER.debug("collecting musicBrainz album {}", typeIdent.toString());
+									sql = String
+										.format("SELECT " + MediaTableFiles.TABLE_COL_FILENAME + ", " + MediaTableAudioMetadata.TABLE_COL_MBID_TRACK +
+												", " + MediaTableFiles.TABLE_COL_ID + ", " + MediaTableAudioMetadata.TABLE_COL_ALBUM + " FROM " +
+												MediaTableFiles.TABLE_NAME + " LEFT OUTER JOIN " + MediaTableAudioMetadata.TABLE_NAME + " ON " +
+												MediaTableFiles.TABLE_COL_ID + " = " + MediaTableAudioMetadata.TABLE_COL_FILEID + " " + "WHERE ( " +
+												MediaTableFiles.TABLE_COL_FORMAT_TYPE + " = 1 and " + MediaTableAudioMetadata.TABLE_COL_MBID_RECORD +
+												" = '%s' ) ORDER BY " + MediaTableAudioMetadata.TABLE_COL_MBID_TRACK, StringEscapeUtils.escapeSql(typeIdent.ident));
+									if (LOGGER.isTraceEnabled()) {
+										LOGGER.trace(String.format("SQL TYPE_MUSICBRAINZ_RECORDID : %s", sql));
+									}
+									try (ResultSet resultSet = statement.executeQuery(sql)) {
+										filesListFromDb = new ArrayList<>();
+										String lastUuidTrack = "";
+										while (resultSet.next()) {
+											// Find "best track" logic should be
+											// optimized !!
+											setName(resultSet.getString(MediaTableAudioMetadata.TABLE_COL_ALBUM));
+											String currentUuidTrack = resultSet.getString("MBID_TRACK");
+											if (!currentUuidTrack.equals(lastUuidTrack)) {
+												lastUuidTrack = currentUuidTrack;
+												filesListFromDb.add(new File(resultSet.getString("FILENAME")));
+											}
+										}
+									} catch (Exception e) {
+										LOGGER.error("Error in SQL : " + sql, e);
+									}
 								}
 							}
-						}
-						case TYPE_MUSICBRAINZ_RECORDID -> {
-							if (StringUtils.isAllBlank(typeIdent.ident)) {
-								LOGGER.debug("collecting all music albums having a musicBrainzId identifier ...");
-								sql = "SELECT DISTINCT ON (MBID_RECORD) MBID_RECORD, " +
-									MediaTableAudioMetadata.TABLE_COL_ALBUM + ", " + MediaTableAudioMetadata.TABLE_COL_GENRE + ", " +
-									MediaTableAudioMetadata.TABLE_COL_ARTIST + ", " + MediaTableAudioMetadata.TABLE_COL_MEDIA_YEAR + " FROM " +
-									MediaTableAudioMetadata.TABLE_NAME + " WHERE MBID_RECORD IS NOT NULL";
+							case TYPE_MYMUSIC_ALBUM -> {
+								clearChildren();
+								sql = "SELECT DISTINCT ON (MBID_RELEASE) " + MediaTableMusicBrainzReleaseLike.TABLE_COL_MBID_RELEASE + ", " +
+										MediaTableAudioMetadata.TABLE_COL_ALBUM + ", " + MediaTableAudioMetadata.TABLE_COL_GENRE + ", " +
+										MediaTableAudioMetadata.TABLE_COL_ARTIST + ", " + MediaTableAudioMetadata.TABLE_COL_MEDIA_YEAR + " FROM " +
+										MediaTableMusicBrainzReleaseLike.TABLE_NAME + " JOIN " + MediaTableAudioMetadata.TABLE_NAME + " ON " +
+										MediaTableMusicBrainzReleaseLike.TABLE_COL_MBID_RELEASE + " = " +
+										MediaTableAudioMetadata.TABLE_COL_MBID_RECORD + ";";
 								if (LOGGER.isTraceEnabled()) {
-									LOGGER.trace(String.format("SQL TYPE_MUSICBRAINZ_RECORDID : %s", sql));
+									LOGGER.trace(String.format("SQL TYPE_MYMUSIC_ALBUM : %s", sql));
 								}
+								DoubleRecordFilter filter = new DoubleRecordFilter();
 								try (ResultSet resultSet = statement.executeQuery(sql)) {
 									while (resultSet.next()) {
-										MusicBrainzAlbum mbAlbum = new MusicBrainzAlbum(resultSet.getString("MBID_RECORD"), resultSet.getString("ALBUM"),
-											resultSet.getString("ARTIST"), Integer.toString(resultSet.getInt("MEDIA_YEAR")), resultSet.getString("GENRE"));
-										addChild(new MusicBrainzAlbumFolder(renderer, mbAlbum));
+										filter.addAlbum(generateMusicBrainzAlbum(resultSet));
+									}
+									for (MusicBrainzAlbum album : filter.getUniqueAlbumSet()) {
+										MusicBrainzAlbumFolder albumFolder = new MusicBrainzAlbumFolder(renderer, album);
+										addChild(albumFolder);
 									}
-								} catch (Exception e) {
-									LOGGER.error("Error in SQL : " + sql, e);
 								}
-							} else {
-								LOGGER.debug("collecting musicBrainz album {}", typeIdent.toString());
-								sql = String
-									.format("SELECT " + MediaTableFiles.TABLE_COL_FILENAME + ", " + MediaTableAudioMetadata.TABLE_COL_MBID_TRACK +
-											", " + MediaTableFiles.TABLE_COL_ID + ", " + MediaTableAudioMetadata.TABLE_COL_ALBUM + " FROM " +
-											MediaTableFiles.TABLE_NAME + " LEFT OUTER JOIN " + MediaTableAudioMetadata.TABLE_NAME + " ON " +
-											MediaTableFiles.TABLE_COL_ID + " = " + MediaTableAudioMetadata.TABLE_COL_FILEID + " " + "WHERE ( " +
-											MediaTableFiles.TABLE_COL_FORMAT_TYPE + " = 1 and " + MediaTableAudioMetadata.TABLE_COL_MBID_RECORD +
-											" = '%s' ) ORDER BY " + MediaTableAudioMetadata.TABLE_COL_MBID_TRACK, StringEscapeUtils.escapeSql(typeIdent.ident));
+							}
+							case TYPE_PERSON_ALL_FILES -> {
+								sql = personAllFilesSql(typeIdent);
 								if (LOGGER.isTraceEnabled()) {
-									LOGGER.trace(String.format("SQL TYPE_MUSICBRAINZ_RECORDID : %s", sql));
+									LOGGER.trace(String.format("SQL PERSON : %s", sql));
 								}
 								try (ResultSet resultSet = statement.executeQuery(sql)) {
 									filesListFromDb = new ArrayList<>();
-									String lastUuidTrack = "";
 									while (resultSet.next()) {
-										// Find "best track" logic should be
-										// optimized !!
-										setName(resultSet.getString(MediaTableAudioMetadata.TABLE_COL_ALBUM));
-										String currentUuidTrack = resultSet.getString("MBID_TRACK");
-										if (!currentUuidTrack.equals(lastUuidTrack)) {
-											lastUuidTrack = currentUuidTrack;
-											filesListFromDb.add(new File(resultSet.getString("FILENAME")));
-										}
+										filesListFromDb.add(new File(resultSet.getString("FILENAME")));
 									}
-								} catch (Exception e) {
-									LOGGER.error("Error in SQL : " + sql, e);
-								}
-							}
-						}
-						case TYPE_MYMUSIC_ALBUM -> {
-							clearChildren();
-							sql = "SELECT DISTINCT ON (MBID_RELEASE) " + MediaTableMusicBrainzReleaseLike.TABLE_COL_MBID_RELEASE + ", " +
-									MediaTableAudioMetadata.TABLE_COL_ALBUM + ", " + MediaTableAudioMetadata.TABLE_COL_GENRE + ", " +
-									MediaTableAudioMetadata.TABLE_COL_ARTIST + ", " + MediaTableAudioMetadata.TABLE_COL_MEDIA_YEAR + " FROM " +
-									MediaTableMusicBrainzReleaseLike.TABLE_NAME + " JOIN " + MediaTableAudioMetadata.TABLE_NAME + " ON " +
-									MediaTableMusicBrainzReleaseLike.TABLE_COL_MBID_RELEASE + " = " +
-									MediaTableAudioMetadata.TABLE_COL_MBID_RECORD + ";";
-							if (LOGGER.isTraceEnabled()) {
-								LOGGER.trace(String.format("SQL TYPE_MYMUSIC_ALBUM : %s", sql));
-							}
-							DoubleRecordFilter filter = new DoubleRecordFilter();
-							try (ResultSet resultSet = statement.executeQuery(sql)) {
-								while (resultSet.next()) {
-									filter.addAlbum(generateMusicBrainzAlbum(resultSet));
-								}
-								for (MusicBrainzAlbum album : filter.getUniqueAlbumSet()) {
-									MusicBrainzAlbumFolder albumFolder = new MusicBrainzAlbumFolder(renderer, album);
-									addChild(albumFolder);
-								}
-							}
-						}
-						case TYPE_PERSON_ALL_FILES -> {
-							sql = personAllFilesSql(typeIdent);
-							if (LOGGER.isTraceEnabled()) {
-								LOGGER.trace(String.format("SQL PERSON : %s", sql));
-							}
-							try (ResultSet resultSet = statement.executeQuery(sql)) {
-								filesListFromDb = new ArrayList<>();
-								while (resultSet.next()) {
-									filesListFromDb.add(new File(resultSet.getString("FILENAME")));
 								}
 							}
-						}
-						case TYPE_PERSON_ALBUM -> {
-							// Add all albums by a person
-							sql = personAlbumSql(typeIdent);
-							try (ResultSet resultSet = statement.executeQuery(sql)) {
-								while (resultSet.next()) {
-									if (resultSet.getString("MBID_RECORD") != null) {
-										addChild(new MusicBrainzAlbumFolder(renderer, generateMusicBrainzAlbum(resultSet)));
-									} else {
-										StoreResource sr = DbIdResourceLocator.getAlbumFromMediaLibrary(renderer, typeIdent.ident);
-										if (sr != null) {
-											addChild(sr);
+							case TYPE_PERSON_ALBUM -> {
+								// Add all albums by a person
+								sql = personAlbumSql(typeIdent);
+								try (ResultSet resultSet = statement.executeQuery(sql)) {
+									while (resultSet.next()) {
+										if (resultSet.getString("MBID_RECORD") != null) {
+											addChild(new MusicBrainzAlbumFolder(renderer, generateMusicBrainzAlbum(resultSet)));
+										} else {
+											StoreResource sr = DbIdResourceLocator.getAlbumFromMediaLibrary(renderer, typeIdent.ident);
+											if (sr != null) {
+												addChild(sr);
+											}
 										}
 									}
 								}
 							}
-						}
-						case TYPE_PERSON_ALBUM_FILES -> {
-							sql = personAlbumFileSql(typeIdent);
-							try (ResultSet resultSet = statement.executeQuery(sql)) {
-								filesListFromDb = new ArrayList<>();
-								while (resultSet.next()) {
-									filesListFromDb.add(new File(resultSet.getString("FILENAME")));
-								}
-							}
-						}
-						case TYPE_PERSON, TYPE_PERSON_COMPOSER, TYPE_PERSON_CONDUCTOR, TYPE_PERSON_ALBUMARTIST -> {
-							if (StringUtils.isAllBlank(typeIdent.ident)) {
-								//
-								// If no ident is given means we seek all known person in respect to its role.
-								// This folder is filled lazy. Entries will be created after a user submits a search request.
-								// Without any submitted search requests with hits this folder will stay empty.
-								//
-								sql = String.format("SELECT ID, NAME FROM " + MediaTableStoreIds.TABLE_NAME + " WHERE PARENT_ID = %s " +
-									"AND name like '%s%s%%'", getLongId(), DbIdMediaType.GENERAL_PREFIX, typeIdent.type.dbidPrefix);
-								LOGGER.debug("All person Folder sql : {}", sql);
+							case TYPE_PERSON_ALBUM_FILES -> {
+								sql = personAlbumFileSql(typeIdent);
 								try (ResultSet resultSet = statement.executeQuery(sql)) {
+									filesListFromDb = new ArrayList<>();
 									while (resultSet.next()) {
-										String name = resultSet.getString("NAME");
-										LOGGER.debug("person name is : {}", name);
-										DbIdTypeAndIdent tiPerson = new DbIdTypeAndIdent(typeIdent.type, name.substring(name.lastIndexOf("$") + 1));
-										MusicBrainzPersonFolder person = new MusicBrainzPersonFolder(renderer, tiPerson.getIdentUnprefixed(), tiPerson);
-										addChild(person);
-										person.discoverChildren();
+										filesListFromDb.add(new File(resultSet.getString("FILENAME")));
 									}
-								} catch (Exception e) {
-									LOGGER.error("TYPE_PERSON, TYPE_PERSON_COMPOSER, TYPE_PERSON_CONDUCTOR, TYPE_PERSON_ALBUMARTIST", e);
 								}
-							} else {
-								// We have a person folder which means, we need to add the two virtual folders "all files" and "by album".
-								LOGGER.debug("Person {}", typeIdent.ident);
-								if (this instanceof MusicBrainzPersonFolder person) {
-									person.discoverChildren();
+							}
+							case TYPE_PERSON, TYPE_PERSON_COMPOSER, TYPE_PERSON_CONDUCTOR, TYPE_PERSON_ALBUMARTIST -> {
+								if (StringUtils.isAllBlank(typeIdent.ident)) {
+									//
+									// If no ident is given means we seek all known person in respect to its role.
+									// This folder is filled lazy. Entries will be created after a user submits a search request.
+									// Without any submitted search requests with hits this folder will stay empty.
+									//
+									sql = String.format("SELECT ID, NAME FROM " + MediaTableStoreIds.TABLE_NAME + " WHERE PARENT_ID = %s " +
+										"AND name like '%s%s%%'", getLongId(), DbIdMediaType.GENERAL_PREFIX, typeIdent.type.dbidPrefix);
+									LOGGER.debug("All person Folder sql : {}", sql);
+									try (ResultSet resultSet = statement.executeQuery(sql)) {
+										while (resultSet.next()) {
+											String name = resultSet.getString("NAME");
+											LOGGER.debug("person name is : {}", name);
+											DbIdTypeAndIdent tiPerson = new DbIdTypeAndIdent(typeIdent.type, name.substring(name.lastIndexOf("$") + 1));
+											MusicBrainzPersonFolder person = new MusicBrainzPersonFolder(renderer, tiPerson.getIdentUnprefixed(), tiPerson);
+											addChild(person);
+											person.discoverChildren();
+										}
+									} catch (Exception e) {
+										LOGGER.error("TYPE_PERSON, TYPE_PERSON_COMPOSER, TYPE_PERSON_CONDUCTOR, TYPE_PERSON_ALBUMARTIST", e);
+									}
 								} else {
-									LOGGER.warn("unknown folder type.");
+									// We have a person folder which means, we need to add the two virtual folders "all files" and "by album".
+									LOGGER.debug("Person {}", typeIdent.ident);
+									if (this instanceof MusicBrainzPersonFolder person) {
+										person.discoverChildren();
+									} else {
+										LOGGER.warn("unknown folder type.");
+									}
 								}
 							}
-						}
-						case TYPE_FOLDER -> {
-							StoreResource res = DbIdResourceLocator.getLibraryResourceFolder(renderer, typeIdent.toString());
-							if (res != null) {
-								addChild(res);
+							case TYPE_FOLDER -> {
+								StoreResource res = DbIdResourceLocator.getLibraryResourceFolder(renderer, typeIdent.toString());
+								if (res != null) {
+									addChild(res);
+								}
 							}
+							default -> throw new RuntimeException("Unknown Type");
 						}
-						default -> throw new RuntimeException("Unknown Type");
-					}
-					if (filesListFromDb != null) {
-						for (File file : filesListFromDb) {
-							if (renderer.hasShareAccess(file)) {
-								StoreResource sr = renderer.getMediaStore().createResourceFromFile(file);
-								if (sr != null) {
-									addChild(sr);
+						if (filesListFromDb != null) {
+							for (File file : filesListFromDb) {
+								if (renderer.hasShareAccess(file)) {
+									StoreResource sr = renderer.getMediaStore().createResourceFromFile(file);
+									if (sr != null) {
+										addChild(sr);
+									} else {
+										LOGGER.trace("createResourceFromFile has failed for {}", file);
+									}
 								} else {
-									LOGGER.trace("createResourceFromFile has failed for {}", file);
+									LOGGER.debug("renderer has no share access to resource {}", file.getAbsolutePath());
 								}
-							} else {
-								LOGGER.debug("renderer has no share access to resource {}", file.getAbsolutePath());
 							}
 						}
 					}
+				} else {
+					LOGGER.error("database not available !");
 				}
-			} else {
-				LOGGER.error("database not available !");
+			} catch (SQLException e) {
+				LOGGER.warn("getLibraryResourceByDBID", e);
+			} finally {
+				MediaDatabase.close(connection);
 			}
-		} catch (SQLException e) {
-			LOGGER.warn("getLibraryResourceByDBID", e);
+			sortChildrenIfNeeded();
 		} finally {
-			MediaDatabase.close(connection);
+			discoverLock.unlock();
 		}
-		sortChildrenIfNeeded();
 	}
 
 	private MusicBrainzAlbum generateMusicBrainzAlbum(ResultSet resultSet) throws SQLException {
@@ -18,17 +18,24 @@ package net.pms.store.item;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import net.pms.dlna.DLNAThumbnailInputStream;
 import net.pms.formats.Format;
 import net.pms.media.MediaInfo;
 import net.pms.parsers.Parser;
 import net.pms.renderers.Renderer;
 import net.pms.store.StoreItem;
+import net.pms.util.ArchiveExtractionCache;
 import net.pms.util.IPushOutput;
 import net.pms.util.InputFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 abstract class ArchiveEntry extends StoreItem implements IPushOutput {
 
+	private static final Logger LOGGER = LoggerFactory.getLogger(ArchiveEntry.class);
+
 	protected final File file;
 	protected final String entryName;
 	protected final long length;
@@ -72,6 +79,48 @@ abstract class ArchiveEntry extends StoreItem implements IPushOutput {
 		return length() < MAX_ARCHIVE_SIZE_SEEK;
 	}
 
+	/**
+	 * Writes the uncompressed content of the entry.
+	 *
+	 * @param out the {@link OutputStream} to write to, it is not closed.
+	 * @throws IOException if the extraction fails.
+	 */
+	protected abstract void extract(OutputStream out) throws IOException;
+
+	/**
+	 * @return the name of the thread pushing the extracted content.
+	 */
+	protected abstract String getExtractorName();
+
+	@Override
+	public void push(final OutputStream out) throws IOException {
+		Runnable r = () -> {
+			try {
+				extract(out);
+			} catch (IOException e) {
+				if (!"Pipe closed".equals(e.getMessage())) {
+					LOGGER.debug("Unpack error of \"{}\", maybe it's normal, as backend can be terminated: {}", getSystemName(), e.getMessage());
+				}
+			} finally {
+				try {
+					out.close();
+				} catch (IOException e) {
+					LOGGER.debug("Caught exception", e);
+				}
+			}
+		};
+		new Thread(r, getExtractorName()).start();
+	}
+
+	/**
+	 * Serves the entry from the archive extraction cache, so that a range
+	 * request doesn't decompress the entry from the start again.
+	 */
+	@Override
+	public InputStream getSeekableInputStream(long position) throws IOException {
+		return ArchiveExtractionCache.getInputStream(file, entryName, length, position, this::extract);
+	}
+
 	@Override
 	protected void resolveOnce() {
 		if (getMediaInfo() == null) {
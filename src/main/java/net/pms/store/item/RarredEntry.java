@@ -26,11 +26,10 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import net.pms.renderers.Renderer;
 import net.pms.util.ArchiveFileInputStream;
-import net.pms.util.IPushOutput;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class RarredEntry extends ArchiveEntry implements IPushOutput {
+public class RarredEntry extends ArchiveEntry {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(RarredEntry.class);
 
@@ -44,32 +43,28 @@ public class RarredEntry extends ArchiveEntry implements IPushOutput {
 	}
 
 	@Override
-	public void push(final OutputStream out) throws IOException {
-		Runnable r = () -> {
-			try (Archive rarFile = new Archive(new FileVolumeManager(file), null, null)) {
-				FileHeader header = null;
-				for (FileHeader fh : rarFile.getFileHeaders()) {
-					if (fh.getFileName().equals(entryName)) {
-						header = fh;
-						break;
-					}
-				}
-				if (header != null) {
-					LOGGER.trace("Starting the extraction of " + header.getFileName());
-					rarFile.extractFile(header, out);
-				}
-			} catch (RarException | IOException e) {
-				LOGGER.debug("Unpack error, maybe it's normal, as backend can be terminated: " + e.getMessage());
-			} finally {
-				try {
-					out.close();
-				} catch (IOException e) {
-					LOGGER.debug("Caught exception", e);
+	protected void extract(OutputStream out) throws IOException {
+		try (Archive rarFile = new Archive(new FileVolumeManager(file), null, null)) {
+			FileHeader header = null;
+			for (FileHeader fh : rarFile.getFileHeaders()) {
+				if (fh.getFileName().equals(entryName)) {
+					header = fh;
+					break;
 				}
 			}
-		};
+			if (header == null) {
+				throw new IOException("Rar entry not found");
+			}
+			LOGGER.trace("Starting the extraction of " + header.getFileName());
+			rarFile.extractFile(header, out);
+		} catch (RarException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+	}
 
-		new Thread(r, "Rar Extractor").start();
+	@Override
+	protected String getExtractorName() {
+		return "Rar Extractor";
 	}
 
 }
@@ -25,7 +25,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.util.ArrayList;
-import java.util.Set;
 import net.pms.database.MediaTableCoverArtArchive;
 import net.pms.dlna.DLNAImageProfile;
 import net.pms.dlna.DLNAThumbnailInputStream;
@@ -40,9 +39,9 @@ import net.pms.platform.PlatformUtils;
 import net.pms.renderers.Renderer;
 import net.pms.store.MediaInfoStore;
 import net.pms.store.MediaStatusStore;
+import net.pms.store.SidecarIndex;
 import net.pms.store.StoreItem;
 import net.pms.store.SystemFileResource;
-import net.pms.store.SystemFilesHelper;
 import net.pms.store.container.ChapterFileTranscodeVirtualFolder;
 import net.pms.store.container.VirtualFolder;
 import net.pms.util.FileUtil;
@@ -274,11 +273,8 @@ public class RealFile extends StoreItem implements SystemFileResource {
 			}
 
 			for (File folder : folders) {
-				File audioVideoFile = folder == null ? file : new File(folder, file.getName());
-				Set<File> potentials = SystemFilesHelper.getPotentialFileThumbnails(audioVideoFile, true);
-				if (!potentials.isEmpty()) {
-					// We have no rules for how to pick a particular one if there's multiple candidates
-					cachedThumbnail = potentials.iterator().next();
+				cachedThumbnail = SidecarIndex.getFileThumbnail(folder, file);
+				if (cachedThumbnail != null) {
 					break;
 				}
 			}
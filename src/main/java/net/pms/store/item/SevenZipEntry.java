@@ -17,14 +17,12 @@
 package net.pms.store.item;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.RandomAccessFile;
 import net.pms.renderers.Renderer;
 import net.pms.util.ArchiveFileInputStream;
-import net.pms.util.IPushOutput;
 import net.sf.sevenzipjbinding.IInArchive;
 import net.sf.sevenzipjbinding.SevenZip;
 import net.sf.sevenzipjbinding.SevenZipException;
@@ -34,7 +32,7 @@ import net.sf.sevenzipjbinding.simple.ISimpleInArchiveItem;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class SevenZipEntry extends ArchiveEntry implements IPushOutput {
+public class SevenZipEntry extends ArchiveEntry {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(SevenZipEntry.class);
 
@@ -48,48 +46,41 @@ public class SevenZipEntry extends ArchiveEntry implements IPushOutput {
 	}
 
 	@Override
-	public void push(final OutputStream out) throws IOException {
-		Runnable r = () -> {
-			try (RandomAccessFile rf = new RandomAccessFile(file, "r");
-					IInArchive arc = SevenZip.openInArchive(null, new RandomAccessFileInStream(rf))) {
-				ISimpleInArchive simpleInArchive = arc.getSimpleInterface();
-				ISimpleInArchiveItem realItem = null;
+	protected void extract(final OutputStream out) throws IOException {
+		try (RandomAccessFile rf = new RandomAccessFile(file, "r");
+				IInArchive arc = SevenZip.openInArchive(null, new RandomAccessFileInStream(rf))) {
+			ISimpleInArchive simpleInArchive = arc.getSimpleInterface();
+			ISimpleInArchiveItem realItem = null;
 
-				for (ISimpleInArchiveItem item : simpleInArchive.getArchiveItems()) {
-					if (item.getPath().equals(entryName)) {
-						realItem = item;
-						break;
-					}
+			for (ISimpleInArchiveItem item : simpleInArchive.getArchiveItems()) {
+				if (item.getPath().equals(entryName)) {
+					realItem = item;
+					break;
 				}
+			}
 
-				if (realItem == null) {
-					LOGGER.trace("No such item " + entryName + " found in archive");
-					return;
-				}
+			if (realItem == null) {
+				LOGGER.trace("No such item " + entryName + " found in archive");
+				throw new IOException("7Zip entry not found");
+			}
 
-				realItem.extractSlow((byte[] data) -> {
-					try {
-						out.write(data);
-					} catch (IOException e) {
-						LOGGER.debug("Caught exception", e);
-						throw new SevenZipException();
-					}
-					return data.length;
-				});
-			} catch (FileNotFoundException | SevenZipException e) {
-				LOGGER.debug("Unpack error. Possibly harmless.", e.getMessage());
-			} catch (IOException e) {
-				LOGGER.error("Unpack error. Possibly harmless.", e.getMessage());
-			} finally {
+			realItem.extractSlow((byte[] data) -> {
 				try {
-					out.close();
+					out.write(data);
 				} catch (IOException e) {
 					LOGGER.debug("Caught exception", e);
+					throw new SevenZipException(e);
 				}
-			}
-		};
+				return data.length;
+			});
+		} catch (SevenZipException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+	}
 
-		new Thread(r, "7Zip Extractor").start();
+	@Override
+	protected String getExtractorName() {
+		return "7Zip Extractor";
 	}
 
 }
@@ -24,13 +24,14 @@ import java.net.URI;
 import java.net.URL;
 import java.util.Map;
 import net.pms.dlna.DLNAThumbnailInputStream;
-import net.pms.external.radiobrowser.RadioBrowser4j;
+import net.pms.encoders.HlsHelper;
 import net.pms.network.HTTPResource;
 import net.pms.network.HTTPResourceAuthenticator;
 import net.pms.renderers.Renderer;
 import net.pms.store.MediaInfoStore;
 import net.pms.store.StoreItem;
 import net.pms.util.FileUtil;
+import net.pms.util.Range;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -181,13 +182,25 @@ public class WebStream extends StoreItem {
 			return;
 		}
 
-		if (getMediaInfo() == null || !getMediaInfo().isMediaParsed()) {
-			setMediaInfo(MediaInfoStore.getWebStreamMediaInfo(url, getSpecificType()));
-		}
-		if (directives != null && directives.containsKey("RADIOBROWSERUUID")) {
-			// Attempt to enhance the metadata via RADIOBROWSER API.
-			RadioBrowser4j.backgroundLookupAndAddMetadata(url, directives.get("RADIOBROWSERUUID"), mediaInfo);
+		// Does not wait for the stream to be probed, and refreshes expired probes
+		setMediaInfo(MediaInfoStore.getWebStreamMediaInfo(url, getSpecificType(), getRadioBrowserUUID()));
+	}
+
+	@Override
+	public synchronized InputStream getInputStream(Range range, HlsHelper.HlsConfiguration hlsConfiguration) throws IOException {
+		if (url != null && (mediaInfo == null || !mediaInfo.isMediaParsed())) {
+			// Playback waits for the probe that browsing did not
+			setMediaInfo(MediaInfoStore.getProbedWebStreamMediaInfo(url, getSpecificType(), getRadioBrowserUUID()));
 		}
+		return super.getInputStream(range, hlsConfiguration);
+	}
+
+	/**
+	 * @return The RadioBrowser station uuid, to enhance the probed metadata
+	 *         via the RADIOBROWSER API, or {@code null}.
+	 */
+	private String getRadioBrowserUUID() {
+		return directives != null ? directives.get("RADIOBROWSERUUID") : null;
 	}
 
 }
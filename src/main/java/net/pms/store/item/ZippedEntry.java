@@ -22,13 +22,9 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import net.pms.renderers.Renderer;
 import net.pms.util.ArchiveFileInputStream;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 public class ZippedEntry extends ArchiveEntry {
 
-	private static final Logger LOGGER = LoggerFactory.getLogger(ZippedEntry.class);
-
 	public ZippedEntry(Renderer renderer, File file, String entryName, long length) {
 		super(renderer, file, entryName, length);
 	}
@@ -39,23 +35,28 @@ public class ZippedEntry extends ArchiveEntry {
 	}
 
 	@Override
-	public void push(final OutputStream out) throws IOException {
-		Runnable r = () -> {
-			try (InputStream in = ArchiveFileInputStream.getZipEntryInputStream(file, entryName)) {
-				in.transferTo(out);
-			} catch (IOException e) {
-				if (!"Pipe closed".equals(e.getMessage())) {
-					LOGGER.error("UnZip error. Possibly harmless.", e);
-				}
-			} finally {
-				try {
-					out.close();
-				} catch (IOException e) {
-					LOGGER.debug("Caught exception", e);
-				}
+	protected void extract(OutputStream out) throws IOException {
+		try (InputStream in = ArchiveFileInputStream.getZipEntryInputStream(file, entryName)) {
+			if (in == null) {
+				throw new IOException("Zip entry not found");
 			}
-		};
-		new Thread(r, "Zip Extractor").start();
+			in.transferTo(out);
+		}
+	}
+
+	@Override
+	protected String getExtractorName() {
+		return "Zip Extractor";
+	}
+
+	/**
+	 * Stored entries are read directly from the zip file at the requested
+	 * position, compressed entries are extracted once to the cache.
+	 */
+	@Override
+	public InputStream getSeekableInputStream(long position) throws IOException {
+		InputStream stored = ArchiveFileInputStream.getStoredZipEntryInputStream(file, entryName, position);
+		return stored != null ? stored : super.getSeekableInputStream(position);
 	}
 
 }
@@ -16,11 +16,13 @@
  */
 package net.pms.store.utils;
 
-import java.io.File;
 import java.text.Normalizer;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Random;
+import java.util.regex.Pattern;
 import net.pms.PMS;
 import net.pms.configuration.UmsConfiguration;
 import net.pms.store.StoreContainer;
@@ -38,6 +40,8 @@ public class StoreResourceSorter {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(StoreResourceSorter.class);
 	private static final UmsConfiguration CONFIGURATION = PMS.getConfiguration();
+	private static final Pattern ARTICLES_PATTERN = Pattern.compile("^(?i)A[ .]|The[ .]");
+	private static final Pattern MULTIPLE_SPACES_PATTERN = Pattern.compile("\\s{2,}");
 
 	// Sort constants
 	// Sort by title ascending, with compatibility decomposition (all accent/special char handled).
@@ -134,7 +138,17 @@ public class StoreResourceSorter {
 	}
 
 	public static void sortResourcesByTitle(List<StoreResource> resources, boolean asc, String lang) {
-		Collections.sort(resources, (StoreResource resources1, StoreResource resources2) -> {
+		// The keys are computed once per resource instead of once per comparison
+		boolean ignoreArticles = PMS.getConfiguration().isIgnoreTheWordAandThe();
+		SortEntry[] entries = new SortEntry[resources.size()];
+		int i = 0;
+		for (StoreResource resource : resources) {
+			String key = resource != null && resource.isSortable() ? resource.getTitleSortKey(lang, ignoreArticles) : null;
+			entries[i++] = new SortEntry(resource, key);
+		}
+		Arrays.sort(entries, (SortEntry entry1, SortEntry entry2) -> {
+			StoreResource resources1 = entry1.resource;
+			StoreResource resources2 = entry2.resource;
 			if (resources1 instanceof StoreResource && resources2 instanceof StoreResource) {
 				if (resources1 instanceof StoreItem && resources2 instanceof StoreContainer) {
 					return 1;
@@ -149,20 +163,16 @@ public class StoreResourceSorter {
 				} else if (!resources2.isSortable()) {
 					return asc ? 1 : -1;
 				}
-				String str1 = resources1.getLocalizedDisplayName(lang);
-				String str2 = resources2.getLocalizedDisplayName(lang);
-				if (PMS.getConfiguration().isIgnoreTheWordAandThe()) {
-					str1 = str1 != null ? str1.replaceAll("^(?i)A[ .]|The[ .]", "").replaceAll("\\s{2,}", " ") : null;
-					str2 = str2 != null ? str2.replaceAll("^(?i)A[ .]|The[ .]", "").replaceAll("\\s{2,}", " ") : null;
-				}
-				return compareToNormalizedString(str1, str2, asc);
+				return compareNormalizedStrings(entry1.key, entry2.key, asc);
 			} else {
 				return 0;
 			}
 		});
+		setSortedEntries(resources, entries);
 	}
 
 	public static void sortResourcesByModifiedDate(List<StoreResource> resources, boolean asc) {
+		// Use the timestamp read at discovery instead of a file system call per comparison
 		Collections.sort(resources, (StoreResource resources1, StoreResource resources2) -> {
 			if (resources1 instanceof SystemFileResource systemFileResource1 && resources2 instanceof SystemFileResource systemFileResource2) {
 				if (resources1 instanceof StoreItem && resources2 instanceof StoreContainer) {
@@ -170,15 +180,13 @@ public class StoreResourceSorter {
 				} else if (resources1 instanceof StoreContainer && resources2 instanceof StoreItem) {
 					return -1;
 				}
-				File file1 = systemFileResource1.getSystemFile();
-				File file2 = systemFileResource2.getSystemFile();
-				if (file1 == null || file2 == null) {
+				if (systemFileResource1.getSystemFile() == null || systemFileResource2.getSystemFile() == null) {
 					return 0;
 				}
 				if (asc) {
-					return Long.compare(file1.lastModified(), file2.lastModified());
+					return Long.compare(resources1.getLastModified(), resources2.getLastModified());
 				} else {
-					return Long.compare(file2.lastModified(), file1.lastModified());
+					return Long.compare(resources2.getLastModified(), resources1.getLastModified());
 				}
 			} else {
 				return 0;
@@ -204,17 +212,45 @@ public class StoreResourceSorter {
 
 	public static void sortResourcesByGenre(List<StoreResource> resources, boolean asc, String lang) {
 		//todo implement lang
-		Collections.sort(resources, (StoreResource resources1, StoreResource resources2) -> compareToNormalizedString(resources1.getGenre(), resources2.getGenre(), asc));
+		SortEntry[] entries = new SortEntry[resources.size()];
+		int i = 0;
+		for (StoreResource resource : resources) {
+			entries[i++] = new SortEntry(resource, normalize(resource.getGenre()));
+		}
+		Arrays.sort(entries, (SortEntry entry1, SortEntry entry2) -> compareNormalizedStrings(entry1.key, entry2.key, asc));
+		setSortedEntries(resources, entries);
+	}
+
+	/**
+	 * Returns the key used to sort a title: the title without the leading "A"
+	 * and "The" if they are ignored, with compatibility decomposition.
+	 *
+	 * @param title the title.
+	 * @param ignoreArticles whether the leading "A" and "The" are ignored.
+	 * @return The title sort key, or {@code null} if the title is
+	 * {@code null}.
+	 */
+	public static String getTitleSortKey(String title, boolean ignoreArticles) {
+		if (title == null) {
+			return null;
+		}
+		if (ignoreArticles) {
+			title = ARTICLES_PATTERN.matcher(title).replaceAll("");
+			title = MULTIPLE_SPACES_PATTERN.matcher(title).replaceAll(" ");
+		}
+		return normalize(title);
+	}
+
+	private static String normalize(String str) {
+		return str == null ? null : Normalizer.normalize(str, Normalizer.Form.NFKD);
 	}
 
-	private static int compareToNormalizedString(String str1, String str2, boolean asc) {
+	private static int compareNormalizedStrings(String str1, String str2, boolean asc) {
 		if (str2 == null) {
 			return 1;
 		} else if (str1 == null) {
 			return -1;
 		}
-		str1 = Normalizer.normalize(str1, Normalizer.Form.NFKD);
-		str2 = Normalizer.normalize(str2, Normalizer.Form.NFKD);
 		if (asc) {
 			return str1.compareToIgnoreCase(str2);
 		} else {
@@ -222,4 +258,27 @@ public class StoreResourceSorter {
 		}
 	}
 
+	private static void setSortedEntries(List<StoreResource> resources, SortEntry[] entries) {
+		ListIterator<StoreResource> iterator = resources.listIterator();
+		for (SortEntry entry : entries) {
+			iterator.next();
+			iterator.set(entry.resource);
+		}
+	}
+
+	/**
+	 * A resource with its sort key.
+	 */
+	private static class SortEntry {
+
+		private final StoreResource resource;
+		private final String key;
+
+		private SortEntry(StoreResource resource, String key) {
+			this.resource = resource;
+			this.key = key;
+		}
+
+	}
+
 }
@@ -30,6 +30,7 @@ import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
 import javax.swing.Timer;
 import net.pms.Messages;
 import net.pms.configuration.GuiConfiguration;
@@ -42,7 +43,7 @@ import org.slf4j.LoggerFactory;
 public class Splash extends JFrame {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(Splash.class);
-	private static Splash instance = null;
+	private static volatile Splash instance = null;
 
 	private final transient Object optionLock = new Object();
 	private JLabel imageLabel;
@@ -125,12 +126,20 @@ public class Splash extends JFrame {
 		timer.start();
 	}
 
+	/**
+	 * Sets the status text. Startup tasks call it from their own threads, so
+	 * the change is handed to the event dispatch thread like the animation.
+	 *
+	 * @param text the status text.
+	 */
 	public void setText(String text) {
-		status = text;
-		dots = "";
-		if (statusLabel != null) {
-			statusLabel.setText(status);
-		}
+		SwingUtilities.invokeLater(() -> {
+			status = text;
+			dots = "";
+			if (statusLabel != null) {
+				statusLabel.setText(status);
+			}
+		});
 	}
 
 	@Override
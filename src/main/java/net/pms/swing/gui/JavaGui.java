@@ -27,6 +27,7 @@ import java.awt.event.WindowEvent;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.List;
 import java.util.Timer;
 import javax.annotation.Nonnull;
 import javax.swing.*;
@@ -590,7 +591,8 @@ public class JavaGui extends JFrame implements IGui {
 	}
 
 	@Override
-	public void appendLog(final String msg) {
+	public void appendLogs(final List<String> lines) {
+		final String msg = String.join("", lines);
 		SwingUtilities.invokeLater(() -> tracesTab.append(msg));
 	}
 
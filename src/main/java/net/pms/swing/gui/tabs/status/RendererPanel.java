@@ -30,6 +30,7 @@ import javax.swing.JPanel;
 import javax.swing.SwingUtilities;
 import net.pms.Messages;
 import net.pms.gui.IRendererGuiListener;
+import net.pms.network.ThroughputEstimator;
 import net.pms.renderers.Renderer;
 import net.pms.renderers.devices.players.BasicPlayer;
 import net.pms.renderers.devices.players.PlayerState;
@@ -54,12 +55,14 @@ public class RendererPanel implements ActionListener, IRendererGuiListener {
 	private final JLabel time;
 	private final int bufferSize;
 	private final SmoothProgressBar rendererProgressBar;
+	private final Renderer renderer;
 
 	private RendererFrame rendererFrame;
 	private String name = " ";
 	private JPanel panel = null;
 
 	public RendererPanel(Renderer renderer) {
+		this.renderer = renderer;
 		rendererImage = new RendererImage(renderer);
 		String rendererName = renderer.getRendererName();
 		if ("UnknownRenderer".equals(rendererName)) {
@@ -77,9 +80,7 @@ public class RendererPanel implements ActionListener, IRendererGuiListener {
 		rendererProgressBar = new SmoothProgressBar(0, 100, new SimpleProgressUI(Color.gray, Color.gray));
 		rendererProgressBar.setStringPainted(true);
 		rendererProgressBar.setBorderPainted(false);
-		if (renderer.getAddress() != null) {
-			rendererProgressBar.setString(renderer.getAddress().getHostAddress());
-		}
+		updateAddress();
 		rendererProgressBar.setForeground(BUF_COLOR);
 		rendererImage.enableRollover();
 		rendererImage.setAction(new AbstractAction() {
@@ -128,8 +129,23 @@ public class RendererPanel implements ActionListener, IRendererGuiListener {
 		}
 	}
 
+	/**
+	 * Shows the renderer address with its measured network throughput.
+	 */
+	private void updateAddress() {
+		if (renderer.getAddress() != null) {
+			Integer throughput = ThroughputEstimator.getThroughputInMBits(renderer.getAddress());
+			String address = renderer.getAddress().getHostAddress();
+			if (throughput != null) {
+				address += " - " + throughput + " Mb/s";
+			}
+			rendererProgressBar.setString(address);
+		}
+	}
+
 	@Override
 	public void refreshPlayerState(final PlayerState state) {
+		updateAddress();
 		time.setText((state.isStopped() || StringUtil.isZeroTime(state.getPosition())) ? " " :
 				UMSUtils.playedDurationStr(state.getPosition(), state.getDuration()));
 		rendererProgressBar.setValue((int) (100 * state.getBuffer() / bufferSize));
@@ -87,6 +87,7 @@ public class TranscodingTab {
 	private JTextField notranscode;
 	private JTextField maxbuffer;
 	private DefaultMutableTreeNode[] parent;
+	private boolean enginesAdded;
 	private JPanel tabbedPanel;
 	private CardLayout cardLayout;
 	private JTextField abitrate;
@@ -145,6 +146,7 @@ public class TranscodingTab {
 			builder.add(buildLeft()).at(FormLayoutUtil.flip(cc.xy(2, 1), colSpec, orientation));
 		}
 
+		enginesAdded = false;
 		addEngines();
 
 		JPanel panel = builder.getPanel();
@@ -322,9 +324,11 @@ public class TranscodingTab {
 	}
 
 	public void addEngines() {
-		if (!EngineFactory.isInitialized()) {
+		// Engines may already be registered when the tab is built
+		if (!EngineFactory.isInitialized() || enginesAdded) {
 			return;
 		}
+		enginesAdded = true;
 		for (Engine engine : EngineFactory.getEngines(false, true)) {
 			if (videoHWacceleration != null && engine.isGPUAccelerationReady()) {
 				videoHWacceleration.setEnabled(true);
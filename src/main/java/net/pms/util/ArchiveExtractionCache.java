@@ -0,0 +1,400 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.GuardedBy;
+import net.pms.PMS;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded on-disk cache of extracted compressed archive entries.
+ * <p>
+ * An entry is extracted once in the background by a small pool of threads,
+ * and every stream reads the extracted file, waiting for the extraction to reach the requested position
+ * when needed. Renderers seeking in an archive entry therefore no longer
+ * decompress it from the start for every range request. The least recently
+ * used entries that are not being read are deleted when the cache exceeds
+ * {@link net.pms.configuration.UmsConfiguration#getArchiveExtractionCacheSize()}.
+ */
+public class ArchiveExtractionCache {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ArchiveExtractionCache.class);
+	private static final String FOLDER_NAME = "archives";
+	private static final int MAX_QUEUED = 100;
+	private static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(
+		2,
+		2,
+		60,
+		TimeUnit.SECONDS,
+		new LinkedBlockingQueue<>(MAX_QUEUED),
+		new SimpleThreadFactory("Archive Extractor", "Archive Extractor", Thread.NORM_PRIORITY - 1)
+	);
+
+	@GuardedBy("ENTRIES")
+	private static final Map<String, Entry> ENTRIES = new LinkedHashMap<>(16, 0.75f, true);
+	@GuardedBy("ENTRIES")
+	private static boolean initialized;
+
+	static {
+		EXECUTOR.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * This class is not meant to be instantiated.
+	 */
+	private ArchiveExtractionCache() {
+	}
+
+	/**
+	 * Returns a stream of an archive entry starting at the given position,
+	 * starting its extraction if it is not cached yet.
+	 *
+	 * @param archive the archive file.
+	 * @param entryName the name of the entry in the archive.
+	 * @param length the uncompressed length of the entry.
+	 * @param position the position of the first byte to read.
+	 * @param extractor writes the uncompressed entry to an
+	 *            {@link OutputStream}.
+	 * @return The {@link InputStream}, or {@code null} if the entry can't be
+	 *         cached.
+	 */
+	public static InputStream getInputStream(File archive, String entryName, long length, long position, Extractor extractor) {
+		long maxSize = PMS.getConfiguration().getArchiveExtractionCacheSize() * 1024L * 1024L;
+		if (length <= 0 || length > maxSize) {
+			return null;
+		}
+		String key = DigestUtils.sha1Hex((archive.getAbsolutePath() + "#" + entryName + "#" + archive.lastModified() + "#" + length).getBytes(StandardCharsets.UTF_8));
+		Entry entry;
+		boolean start = false;
+		synchronized (ENTRIES) {
+			entry = ENTRIES.get(key);
+			if (entry != null && entry.failed) {
+				ENTRIES.remove(key);
+				entry = null;
+			}
+			if (entry == null) {
+				File folder = getFolder();
+				if (folder == null) {
+					return null;
+				}
+				entry = new Entry(new File(folder, key), length);
+				ENTRIES.put(key, entry);
+				start = true;
+			}
+			entry.readers++;
+			evict(maxSize);
+		}
+		if (start && !startExtraction(entry, archive.getName() + "#" + entryName, extractor)) {
+			synchronized (ENTRIES) {
+				ENTRIES.remove(key, entry);
+			}
+			release(entry);
+			return null;
+		}
+		try {
+			return new EntryInputStream(entry, position);
+		} catch (IOException e) {
+			LOGGER.debug("Unable to read the extracted archive entry \"{}\": {}", entryName, e.getMessage());
+			release(entry);
+			return null;
+		}
+	}
+
+	/**
+	 * Deletes all the extracted entries that are not being read.
+	 */
+	public static void clear() {
+		synchronized (ENTRIES) {
+			evict(-1);
+		}
+	}
+
+	/**
+	 * Queues the extraction of an entry.
+	 *
+	 * @return {@code false} if the extraction can't be queued.
+	 */
+	private static boolean startExtraction(Entry entry, String name, Extractor extractor) {
+		OutputStream out;
+		try {
+			out = new EntryOutputStream(entry);
+		} catch (IOException e) {
+			LOGGER.debug("Unable to create the extracted archive entry {}: {}", entry.file, e.getMessage());
+			entry.setDone(true);
+			return false;
+		}
+		Runnable r = () -> {
+			try (out) {
+				if (!hasReaders(entry)) {
+					// Nobody waits for it anymore, the next stream extracts it again
+					entry.setDone(true);
+					return;
+				}
+				LOGGER.trace("Extracting archive entry {} to {}", name, entry.file);
+				extractor.extract(out);
+				entry.setDone(entry.extracted < entry.length);
+			} catch (IOException | RuntimeException e) {
+				LOGGER.debug("Unable to extract archive entry {}: {}", name, e.getMessage());
+				LOGGER.trace("", e);
+				entry.setDone(true);
+			}
+		};
+		try {
+			EXECUTOR.execute(r);
+			return true;
+		} catch (RejectedExecutionException e) {
+			LOGGER.trace("The archive extraction queue is full, not caching {}", name);
+			try {
+				out.close();
+			} catch (IOException ex) {
+				LOGGER.trace("", ex);
+			}
+			entry.setDone(true);
+			return false;
+		}
+	}
+
+	@GuardedBy("ENTRIES")
+	private static void evict(long maxSize) {
+		long size = 0;
+		for (Entry entry : ENTRIES.values()) {
+			size += entry.length;
+		}
+		Iterator<Entry> iterator = ENTRIES.values().iterator();
+		while (size > maxSize && iterator.hasNext()) {
+			Entry entry = iterator.next();
+			if (entry.readers == 0 && entry.isDone()) {
+				if (entry.file.delete() || !entry.file.exists()) {
+					iterator.remove();
+					size -= entry.length;
+				}
+			}
+		}
+	}
+
+	private static boolean hasReaders(Entry entry) {
+		synchronized (ENTRIES) {
+			return entry.readers > 0;
+		}
+	}
+
+	private static void release(Entry entry) {
+		synchronized (ENTRIES) {
+			entry.readers--;
+		}
+	}
+
+	@GuardedBy("ENTRIES")
+	private static File getFolder() {
+		try {
+			File folder = new File(PMS.getConfiguration().getTempFolder(), FOLDER_NAME);
+			if (!initialized && folder.isDirectory()) {
+				// Entries extracted by a previous run are unknown
+				File[] files = folder.listFiles(File::isFile);
+				if (files != null) {
+					for (File file : files) {
+						if (!file.delete()) {
+							LOGGER.trace("Unable to delete stale archive extraction file {}", file);
+						}
+					}
+				}
+			}
+			initialized = true;
+			if (folder.isDirectory() || folder.mkdirs()) {
+				return folder;
+			}
+			LOGGER.debug("Unable to create the archive extraction folder {}", folder);
+		} catch (IOException e) {
+			LOGGER.debug("Unable to get the temporary folder: {}", e.getMessage());
+		}
+		return null;
+	}
+
+	/**
+	 * Writes an uncompressed archive entry.
+	 */
+	@FunctionalInterface
+	public interface Extractor {
+		void extract(OutputStream out) throws IOException;
+	}
+
+	private static class Entry {
+
+		private final File file;
+		private final long length;
+		private volatile long extracted;
+		private volatile boolean done;
+		private volatile boolean failed;
+		@GuardedBy("ENTRIES")
+		private int readers;
+
+		private Entry(File file, long length) {
+			this.file = file;
+			this.length = length;
+		}
+
+		private synchronized void setExtracted(long extracted) {
+			this.extracted = extracted;
+			notifyAll();
+		}
+
+		private synchronized void setDone(boolean failed) {
+			this.failed = failed;
+			this.done = true;
+			notifyAll();
+		}
+
+		private boolean isDone() {
+			return done;
+		}
+
+		/**
+		 * Waits until the given position is extracted or the extraction is
+		 * over.
+		 *
+		 * @return The number of bytes extracted so far.
+		 */
+		private synchronized long waitFor(long position) throws IOException {
+			while (extracted <= position && !done) {
+				try {
+					wait(1000);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IOException("Interrupted while waiting for the archive extraction", e);
+				}
+			}
+			return extracted;
+		}
+
+	}
+
+	/**
+	 * Writes an extracted entry and notifies its readers.
+	 */
+	private static class EntryOutputStream extends FileOutputStream {
+
+		private final Entry entry;
+
+		private EntryOutputStream(Entry entry) throws IOException {
+			super(entry.file);
+			this.entry = entry;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			super.write(b);
+			entry.setExtracted(entry.extracted + 1);
+		}
+
+		@Override
+		public void write(byte[] b) throws IOException {
+			write(b, 0, b.length);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			super.write(b, off, len);
+			entry.setExtracted(entry.extracted + len);
+		}
+
+	}
+
+	/**
+	 * Reads an extracted entry, even while it is being extracted.
+	 */
+	private static class EntryInputStream extends InputStream {
+
+		private final Entry entry;
+		private final RandomAccessFile file;
+		private long position;
+		private boolean closed;
+
+		private EntryInputStream(Entry entry, long position) throws IOException {
+			this.entry = entry;
+			this.position = Math.max(0, position);
+			this.file = new RandomAccessFile(entry.file, "r");
+		}
+
+		@Override
+		public int read() throws IOException {
+			byte[] b = new byte[1];
+			return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			long available = entry.waitFor(position) - position;
+			if (available <= 0) {
+				if (entry.failed) {
+					throw new IOException("The archive entry extraction failed");
+				}
+				return -1;
+			}
+			file.seek(position);
+			int read = file.read(b, off, (int) Math.min(len, available));
+			if (read > 0) {
+				position += read;
+			}
+			return read;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			if (n <= 0) {
+				return 0;
+			}
+			long skipped = Math.min(n, entry.length - position);
+			position += skipped;
+			return skipped;
+		}
+
+		@Override
+		public int available() throws IOException {
+			return (int) Math.max(0, Math.min(Integer.MAX_VALUE, entry.extracted - position));
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (!closed) {
+				closed = true;
+				file.close();
+				release(entry);
+			}
+		}
+
+	}
+
+}
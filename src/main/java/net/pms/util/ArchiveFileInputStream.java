@@ -159,6 +159,42 @@ public class ArchiveFileInputStream extends InputStream {
 		return null;
 	}
 
+	/**
+	 * Returns a stream of a stored (uncompressed) zip entry starting at the
+	 * given position. The entry data is read directly from the zip file, so
+	 * skipping doesn't read the preceding content.
+	 *
+	 * @param file the zip file.
+	 * @param name the entry name.
+	 * @param position the position of the first byte to read.
+	 * @return The stream, or {@code null} if the entry is compressed or not
+	 *         found.
+	 */
+	public static ArchiveFileInputStream getStoredZipEntryInputStream(File file, String name, long position) {
+		ZipFile zipFile = null;
+		try {
+			zipFile = new ZipFile(file);
+			ZipEntry ze = zipFile.getEntry(name);
+			if (ze != null && ze.getMethod() == ZipEntry.STORED) {
+				InputStream inputStream = zipFile.getInputStream(ze);
+				if (position > 0) {
+					inputStream.skipNBytes(position);
+				}
+				return new ArchiveFileInputStream(file, name, inputStream, zipFile);
+			}
+		} catch (IOException e) {
+			LOGGER.debug("Unable to read stored zip entry '{}': {}", name, e.getMessage());
+		}
+		if (zipFile != null) {
+			try {
+				zipFile.close();
+			} catch (IOException e) {
+				//ignore
+			}
+		}
+		return null;
+	}
+
 	public static ArchiveFileInputStream getSevenZipEntryInputStream(File file, String name) {
 		IInArchive arc = null;
 		try {
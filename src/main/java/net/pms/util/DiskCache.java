@@ -0,0 +1,553 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.util;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
+import javax.annotation.concurrent.GuardedBy;
+import net.pms.PMS;
+import net.pms.configuration.UmsConfiguration;
+import net.pms.metrics.Metrics;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps track of the files written to disk to be reused later, like the
+ * converted subtitles, the resume files and the thumbnails, and deletes them when they have
+ * not been used for too long or when their {@link Region} exceeds its quota.
+ * <p>
+ * When a region is full, its least recently used files are deleted first.
+ * The index is kept in an append-only journal in the profile folder, which is
+ * compacted when it holds too many obsolete lines.
+ */
+public class DiskCache {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(DiskCache.class);
+	private static final String JOURNAL_NAME = "UMS.diskcache";
+	private static final String LEGACY_INDEX_NAME = "UMS.tmpmgr";
+	private static final String ADDED = "+";
+	private static final String REMOVED = "-";
+	private static final long SCAN_INTERVAL = 24L * 3600 * 1000;
+	private static final int MIN_JOURNAL_LINES_TO_COMPACT = 100;
+
+	/**
+	 * The default time in milliseconds a file is kept after its last use.
+	 */
+	public static final long DEFAULT_MAX_AGE = 14L * 24 * 3600 * 1000;
+
+	@GuardedBy("ENTRIES")
+	private static final Map<File, Entry> ENTRIES = new LinkedHashMap<>(64, 0.75f, true);
+	@GuardedBy("ENTRIES")
+	private static final long[] USED_BYTES = new long[Region.values().length];
+	@GuardedBy("ENTRIES")
+	private static final int[] FILE_COUNTS = new int[Region.values().length];
+	@GuardedBy("ENTRIES")
+	private static boolean loaded;
+	@GuardedBy("ENTRIES")
+	private static int journalLines;
+	@GuardedBy("DiskCache.class")
+	private static Timer timer;
+
+	static {
+		for (Region region : Region.values()) {
+			Metrics.gauge("ums_disk_cache_bytes", "Disk space used by the cached files", "region", region.getName(), () -> getUsedBytes(region));
+		}
+	}
+
+	/**
+	 * The groups of cached files, each with its own quota.
+	 */
+	public enum Region {
+
+		/**
+		 * The subtitles converted for the renderers.
+		 */
+		SUBTITLES("subtitles"),
+
+		/**
+		 * The resume files, only deleted when they expire.
+		 */
+		RESUME("resume"),
+
+		/**
+		 * The thumbnails sent to the renderers, kept by the
+		 * {@link net.pms.store.ThumbnailVariantCache}.
+		 */
+		THUMBNAILS("thumbnails");
+
+		private final String name;
+
+		Region(String name) {
+			this.name = name;
+		}
+
+		/**
+		 * @return The name of this region.
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return The maximum size in bytes of the files of this region, 0
+		 *         for no limit.
+		 */
+		public long getQuota() {
+			UmsConfiguration configuration = PMS.getConfiguration();
+			if (configuration == null) {
+				return 0;
+			}
+			return switch (this) {
+				case SUBTITLES -> configuration.getDiskCacheSubtitlesSize() * 1024L * 1024L;
+				case THUMBNAILS -> configuration.getDiskCacheThumbnailsSize() * 1024L * 1024L;
+				default -> 0;
+			};
+		}
+
+	}
+
+	/**
+	 * This class is not meant to be instantiated.
+	 */
+	private DiskCache() {
+	}
+
+	/**
+	 * Adds a file to the cache, to be deleted after
+	 * {@link #DEFAULT_MAX_AGE} without use.
+	 *
+	 * @param region the region of the file.
+	 * @param file the file.
+	 */
+	public static void add(Region region, File file) {
+		add(region, file, DEFAULT_MAX_AGE);
+	}
+
+	/**
+	 * Adds a file to the cache, or updates it if it's already there. The
+	 * least recently used files of the region are deleted if it's over its
+	 * quota.
+	 *
+	 * @param region the region of the file.
+	 * @param file the file.
+	 * @param maxAge the time in milliseconds the file is kept after its last
+	 *            use.
+	 */
+	public static void add(Region region, File file, long maxAge) {
+		if (region == null || file == null) {
+			return;
+		}
+		File key = file.getAbsoluteFile();
+		if (maxAge <= 0) {
+			maxAge = DEFAULT_MAX_AGE;
+		}
+		synchronized (ENTRIES) {
+			load();
+			Entry entry = new Entry(region, file.length(), maxAge);
+			Entry previous = put(key, entry);
+			if (previous == null || previous.region != region || previous.maxAge != maxAge) {
+				appendToJournal(ADDED + "\t" + region + "\t" + maxAge + "\t" + key.getPath());
+			}
+			evict(region, key);
+		}
+	}
+
+	/**
+	 * @param file the file.
+	 * @return Whether the file is in the cache.
+	 */
+	public static boolean contains(File file) {
+		if (file == null) {
+			return false;
+		}
+		synchronized (ENTRIES) {
+			load();
+			return ENTRIES.containsKey(file.getAbsoluteFile());
+		}
+	}
+
+	/**
+	 * Marks a cached file as used, so it's the last one of its region to be
+	 * deleted and its age starts over.
+	 *
+	 * @param file the file.
+	 */
+	public static void touch(File file) {
+		if (file == null) {
+			return;
+		}
+		synchronized (ENTRIES) {
+			load();
+			if (ENTRIES.get(file.getAbsoluteFile()) == null) {
+				return;
+			}
+		}
+		if (!file.setLastModified(System.currentTimeMillis())) {
+			LOGGER.trace("Unable to update the last modified time of \"{}\"", file);
+		}
+	}
+
+	/**
+	 * Deletes a cached file.
+	 *
+	 * @param file the file.
+	 */
+	public static void remove(File file) {
+		if (file == null) {
+			return;
+		}
+		synchronized (ENTRIES) {
+			load();
+			File key = file.getAbsoluteFile();
+			if (removeEntry(key) != null) {
+				delete(key);
+				appendToJournal(REMOVED + "\t" + key.getPath());
+			}
+		}
+	}
+
+	/**
+	 * Deletes all the cached files of a region.
+	 *
+	 * @param region the region.
+	 */
+	public static void clear(Region region) {
+		synchronized (ENTRIES) {
+			load();
+			for (Iterator<Map.Entry<File, Entry>> iterator = ENTRIES.entrySet().iterator(); iterator.hasNext();) {
+				Map.Entry<File, Entry> mapEntry = iterator.next();
+				if (mapEntry.getValue().region == region) {
+					iterator.remove();
+					removeUsage(mapEntry.getValue());
+					delete(mapEntry.getKey());
+					appendToJournal(REMOVED + "\t" + mapEntry.getKey().getPath());
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param region the region.
+	 * @return The size in bytes of the cached files of the region.
+	 */
+	public static long getUsedBytes(Region region) {
+		synchronized (ENTRIES) {
+			return USED_BYTES[region.ordinal()];
+		}
+	}
+
+	/**
+	 * @param region the region.
+	 * @return The number of cached files of the region.
+	 */
+	public static int getFileCount(Region region) {
+		synchronized (ENTRIES) {
+			return FILE_COUNTS[region.ordinal()];
+		}
+	}
+
+	/**
+	 * Loads the index and deletes the expired files once a day.
+	 */
+	public static synchronized void schedule() {
+		if (timer != null) {
+			return;
+		}
+		timer = new Timer("Disk Cache Cleaner", true);
+		timer.scheduleAtFixedRate(new TimerTask() {
+			@Override
+			public void run() {
+				scan();
+			}
+		}, 0, SCAN_INTERVAL);
+	}
+
+	/**
+	 * Forgets the files that no longer exist, deletes the expired ones and
+	 * updates the sizes of the others.
+	 */
+	static void scan() {
+		long now = System.currentTimeMillis();
+		synchronized (ENTRIES) {
+			load();
+			for (Iterator<Map.Entry<File, Entry>> iterator = ENTRIES.entrySet().iterator(); iterator.hasNext();) {
+				Map.Entry<File, Entry> mapEntry = iterator.next();
+				File file = mapEntry.getKey();
+				Entry entry = mapEntry.getValue();
+				long lastModified = file.lastModified();
+				if (lastModified == 0 || now - lastModified > entry.maxAge) {
+					iterator.remove();
+					removeUsage(entry);
+					if (lastModified != 0) {
+						LOGGER.debug("Deleting expired cached file \"{}\"", file);
+						delete(file);
+					}
+					appendToJournal(REMOVED + "\t" + file.getPath());
+				} else {
+					long length = file.length();
+					USED_BYTES[entry.region.ordinal()] += length - entry.size;
+					entry.size = length;
+				}
+			}
+			for (Region region : Region.values()) {
+				evict(region, null);
+			}
+		}
+	}
+
+	/**
+	 * Deletes the least recently used files of a region until it's within its
+	 * quota.
+	 *
+	 * @param region the region.
+	 * @param keep a file that is not deleted, or {@code null}.
+	 */
+	@GuardedBy("ENTRIES")
+	private static void evict(Region region, File keep) {
+		long quota = region.getQuota();
+		if (quota <= 0 || USED_BYTES[region.ordinal()] <= quota) {
+			return;
+		}
+		for (Iterator<Map.Entry<File, Entry>> iterator = ENTRIES.entrySet().iterator(); iterator.hasNext();) {
+			if (USED_BYTES[region.ordinal()] <= quota) {
+				break;
+			}
+			Map.Entry<File, Entry> mapEntry = iterator.next();
+			if (mapEntry.getValue().region == region && !mapEntry.getKey().equals(keep)) {
+				LOGGER.debug("Deleting cached file \"{}\" to keep the {} cache within {}", mapEntry.getKey(), region.getName(), StringUtil.formatBytes(quota, true));
+				iterator.remove();
+				removeUsage(mapEntry.getValue());
+				delete(mapEntry.getKey());
+				appendToJournal(REMOVED + "\t" + mapEntry.getKey().getPath());
+			}
+		}
+	}
+
+	@GuardedBy("ENTRIES")
+	private static Entry put(File file, Entry entry) {
+		Entry previous = removeEntry(file);
+		ENTRIES.put(file, entry);
+		USED_BYTES[entry.region.ordinal()] += entry.size;
+		FILE_COUNTS[entry.region.ordinal()]++;
+		return previous;
+	}
+
+	@GuardedBy("ENTRIES")
+	private static Entry removeEntry(File file) {
+		Entry previous = ENTRIES.remove(file);
+		if (previous != null) {
+			removeUsage(previous);
+		}
+		return previous;
+	}
+
+	@GuardedBy("ENTRIES")
+	private static void removeUsage(Entry entry) {
+		USED_BYTES[entry.region.ordinal()] -= entry.size;
+		FILE_COUNTS[entry.region.ordinal()]--;
+	}
+
+	private static void delete(File file) {
+		if (file.exists() && !file.delete()) {
+			LOGGER.warn("Failed to delete cached file \"{}\"", file.getAbsolutePath());
+		}
+	}
+
+	private static File getDataFile(String name) {
+		UmsConfiguration configuration = PMS.getConfiguration();
+		return configuration == null ? null : new File(configuration.getDataFile(name));
+	}
+
+	/**
+	 * Replays the journal, imports the index of the previous versions, then
+	 * writes a compacted journal. The files are ordered by their last use.
+	 */
+	@GuardedBy("ENTRIES")
+	private static void load() {
+		if (loaded) {
+			return;
+		}
+		loaded = true;
+		File journal = getDataFile(JOURNAL_NAME);
+		if (journal == null) {
+			return;
+		}
+		Map<File, Entry> entries = new LinkedHashMap<>();
+		readJournal(journal, entries);
+		File legacyIndex = getDataFile(LEGACY_INDEX_NAME);
+		boolean migrated = readLegacyIndex(legacyIndex, entries);
+
+		List<Map.Entry<File, Long>> files = new ArrayList<>(entries.size());
+		for (File file : entries.keySet()) {
+			long lastModified = file.lastModified();
+			if (lastModified != 0) {
+				files.add(Map.entry(file, lastModified));
+			}
+		}
+		files.sort(Comparator.comparingLong(Map.Entry::getValue));
+		for (Map.Entry<File, Long> file : files) {
+			Entry entry = entries.get(file.getKey());
+			entry.size = file.getKey().length();
+			put(file.getKey(), entry);
+		}
+		compact();
+		if (migrated && !legacyIndex.delete()) {
+			LOGGER.debug("Unable to delete the previous temporary files index \"{}\"", legacyIndex);
+		}
+	}
+
+	private static void readJournal(File journal, Map<File, Entry> entries) {
+		if (!journal.isFile()) {
+			return;
+		}
+		try (BufferedReader reader = Files.newBufferedReader(journal.toPath(), StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String[] fields = line.split("\t", 4);
+				try {
+					if (fields.length == 4 && ADDED.equals(fields[0])) {
+						entries.put(new File(fields[3]), new Entry(Region.valueOf(fields[1]), 0, Long.parseLong(fields[2])));
+					} else if (fields.length == 2 && REMOVED.equals(fields[0])) {
+						entries.remove(new File(fields[1]));
+					}
+				} catch (IllegalArgumentException e) {
+					LOGGER.debug("Ignoring invalid disk cache journal line \"{}\"", line);
+				}
+			}
+		} catch (IOException e) {
+			LOGGER.error("An error occurred while reading the disk cache journal \"{}\": {}", journal.getAbsolutePath(), e.getMessage());
+			LOGGER.trace("", e);
+		}
+	}
+
+	private static boolean readLegacyIndex(File legacyIndex, Map<File, Entry> entries) {
+		if (legacyIndex == null || !legacyIndex.isFile()) {
+			return false;
+		}
+		String resumePath = getDataFile("resume").getAbsolutePath() + File.separator;
+		String subtitlesPath = getDataFile("subs").getAbsolutePath() + File.separator;
+		try (BufferedReader reader = Files.newBufferedReader(legacyIndex.toPath(), StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (StringUtils.isEmpty(line) || line.startsWith("#")) {
+					continue;
+				}
+				String[] fields = line.split(",");
+				File file = new File(fields[0]).getAbsoluteFile();
+				long maxAge = DEFAULT_MAX_AGE;
+				if (fields.length > 1) {
+					try {
+						maxAge = Long.parseLong(fields[1]);
+					} catch (NumberFormatException e) {
+						// Use the default
+					}
+				}
+				Region region;
+				if (file.getPath().startsWith(resumePath)) {
+					region = Region.RESUME;
+				} else if (file.getPath().startsWith(subtitlesPath)) {
+					region = Region.SUBTITLES;
+				} else {
+					// The previous versions only tracked these two
+					continue;
+				}
+				entries.put(file, new Entry(region, 0, maxAge > 0 ? maxAge : DEFAULT_MAX_AGE));
+			}
+			return true;
+		} catch (IOException e) {
+			LOGGER.error("An error occurred while reading the previous temporary files index \"{}\": {}", legacyIndex.getAbsolutePath(), e.getMessage());
+			LOGGER.trace("", e);
+			return false;
+		}
+	}
+
+	@GuardedBy("ENTRIES")
+	private static void appendToJournal(String line) {
+		File journal = getDataFile(JOURNAL_NAME);
+		if (journal == null) {
+			return;
+		}
+		journalLines++;
+		if (journalLines > MIN_JOURNAL_LINES_TO_COMPACT && journalLines > 2 * ENTRIES.size()) {
+			compact();
+			return;
+		}
+		try (Writer writer = Files.newBufferedWriter(journal.toPath(), StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+			writer.write(line);
+			writer.write('\n');
+		} catch (IOException e) {
+			LOGGER.error("An error occurred while writing the disk cache journal \"{}\": {}", journal.getAbsolutePath(), e.getMessage());
+			LOGGER.trace("", e);
+		}
+	}
+
+	/**
+	 * Rewrites the journal with only the current files.
+	 */
+	@GuardedBy("ENTRIES")
+	private static void compact() {
+		File journal = getDataFile(JOURNAL_NAME);
+		if (journal == null) {
+			return;
+		}
+		File temp = new File(journal.getPath() + ".tmp");
+		try {
+			try (BufferedWriter writer = Files.newBufferedWriter(temp.toPath(), StandardCharsets.UTF_8)) {
+				for (Map.Entry<File, Entry> mapEntry : ENTRIES.entrySet()) {
+					writer.write(ADDED + "\t" + mapEntry.getValue().region + "\t" + mapEntry.getValue().maxAge + "\t" + mapEntry.getKey().getPath());
+					writer.write('\n');
+				}
+			}
+			Files.move(temp.toPath(), journal.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			journalLines = ENTRIES.size();
+		} catch (IOException e) {
+			LOGGER.error("An error occurred while compacting the disk cache journal \"{}\": {}", journal.getAbsolutePath(), e.getMessage());
+			LOGGER.trace("", e);
+		}
+	}
+
+	private static class Entry {
+
+		private final Region region;
+		private final long maxAge;
+		private long size;
+
+		private Entry(Region region, long size, long maxAge) {
+			this.region = region;
+			this.size = size;
+			this.maxAge = maxAge;
+		}
+
+	}
+
+}
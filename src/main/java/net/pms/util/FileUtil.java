@@ -23,6 +23,9 @@ import java.io.*;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.IllegalCharsetNameException;
 import java.nio.charset.StandardCharsets;
@@ -70,6 +73,12 @@ public class FileUtil {
 
 	// Signal an invalid parameter in getFileLocation() without raising an exception or returning null
 	private static final String DEFAULT_BASENAME = "NO_DEFAULT_BASENAME_SUPPLIED.conf";
+	private static final Pattern URL_PATTERN = Pattern.compile("\\S+://.*");
+
+	/**
+	 * The size of each block read by {@link #getFingerprint(File)}.
+	 */
+	public static final int FINGERPRINT_BLOCK_SIZE = 64 * 1024;
 
 	static {
 		char separator = File.separatorChar;
@@ -271,7 +280,7 @@ public class FileUtil {
 	public static boolean isUrl(String filename) {
 		// We're intentionally avoiding stricter URI() methods, which can throw
 		// URISyntaxException for psuedo-urls (e.g. librtmp-style urls containing spaces)
-		return filename != null && filename.matches("\\S+://.*");
+		return filename != null && filename.contains("://") && URL_PATTERN.matcher(filename).matches();
 	}
 
 	public static String getProtocol(String filename) {
@@ -2599,4 +2608,50 @@ public class FileUtil {
 			return true;
 		}
 	}
+
+	/**
+	 * Computes a cheap content fingerprint of a file, in the spirit of the
+	 * OpenSubtitles hash: the file size plus the 64-bit little-endian sums of
+	 * its first, middle and last {@link #FINGERPRINT_BLOCK_SIZE} bytes.
+	 * <p>
+	 * At most three blocks are read whatever the file size, so it can be used
+	 * to recognize a file that was renamed or moved without reading it all.
+	 *
+	 * @param file the file.
+	 * @return The 16 hex digits fingerprint or {@code null} if the file can't
+	 *         be read.
+	 */
+	@Nullable
+	public static String getFingerprint(File file) {
+		if (file == null || !file.isFile()) {
+			return null;
+		}
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+			long size = raf.length();
+			long hash = size;
+			hash += sumBlock(raf, 0, size);
+			if (size > FINGERPRINT_BLOCK_SIZE) {
+				hash += sumBlock(raf, Math.max(FINGERPRINT_BLOCK_SIZE, size / 2 - FINGERPRINT_BLOCK_SIZE / 2), size);
+				hash += sumBlock(raf, Math.max(0, size - FINGERPRINT_BLOCK_SIZE), size);
+			}
+			return String.format("%016x", hash);
+		} catch (IOException e) {
+			LOGGER.debug("Unable to compute the fingerprint of \"{}\": {}", file, e.getMessage());
+			LOGGER.trace("", e);
+			return null;
+		}
+	}
+
+	private static long sumBlock(RandomAccessFile raf, long offset, long size) throws IOException {
+		int length = (int) Math.min(FINGERPRINT_BLOCK_SIZE, size - offset);
+		byte[] buffer = new byte[length];
+		raf.seek(offset);
+		raf.readFully(buffer);
+		LongBuffer longs = ByteBuffer.wrap(buffer).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+		long sum = 0;
+		while (longs.hasRemaining()) {
+			sum += longs.get();
+		}
+		return sum;
+	}
 }
@@ -44,6 +44,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.commons.io.FilenameUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -60,6 +61,18 @@ public class FileWatcher {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(FileWatcher.class);
 
+	/**
+	 * The event name given to recursive watch {@link Listener}s when events
+	 * were lost for a watched directory. The listener receives the root of the
+	 * watch, once per burst of lost events, and should reconcile its content.
+	 */
+	public static final String OVERFLOW = StandardWatchEventKinds.OVERFLOW.name();
+
+	private static final AtomicLong EVENT_COUNT = new AtomicLong();
+	private static final AtomicLong OVERFLOW_COUNT = new AtomicLong();
+	private static final AtomicLong COALESCED_COUNT = new AtomicLong();
+	private static final long OVERFLOW_DELAY = 2000;
+
 	private static Notifier notifier = new Notifier("File event");
 	private static WatchMap keys = new WatchMap();
 	private static WatchService watchService = null;
@@ -258,22 +271,15 @@ public class FileWatcher {
 	private static void processNextWatchKey() throws ClosedWatchServiceException, InterruptedException {
 		// take() will block until events occur in our subscribed directories
 		WatchKey key = watchService.take();
+		Path path = (Path) key.watchable();
 		// Filter the received directory event(s)
 		for (WatchEvent<?> e : key.pollEvents()) {
 			final WatchEvent.Kind<?> kind = e.kind();
-			if (kind != StandardWatchEventKinds.OVERFLOW) {
-				WatchEvent<Path> event = (WatchEvent<Path>) e;
-				// Determine the actual file
-				Path path = (Path) key.watchable();
-				final Path filename = path.resolve(event.context());
-				final boolean isDir;
-				if (!Files.exists(filename)) {
-					isDir = FileUtil.isDirectory(filename.toString());
-				} else {
-					isDir = Files.isDirectory(filename/* , NOFOLLOW_LINKS */);
-				}
-
-				// See if we're watching for this specific file
+			EVENT_COUNT.incrementAndGet();
+			if (kind == StandardWatchEventKinds.OVERFLOW) {
+				// Events were lost, let the listeners reconcile the whole directory
+				OVERFLOW_COUNT.incrementAndGet();
+				LOGGER.debug("{} (ct={}): {}", kind, e.count(), path);
 				for (Iterator<Watch> iterator = keys.get(key).iterator(); iterator.hasNext();) {
 					final Watch w = iterator.next();
 					if (!Watch.isValid(w)) {
@@ -281,21 +287,43 @@ public class FileWatcher {
 						iterator.remove();
 						continue;
 					}
-					if (w.matcher.matches(filename)) {
-						// We have an event of interest
-						LOGGER.debug("{} (ct={}): {}", kind, event.count(), filename);
-						if (isDir && Watch.isRecursive(w) && kind == StandardWatchEventKinds.ENTRY_CREATE) {
-							// Traverse subdirs within new directory in a recursive scope
-							addRecursive(w, filename);
-						}
-						// It's a regular event, schedule a notice
-						notifier.schedule(
-								new Notice(filename.toString(), kind.toString(), w, isDir),
-								kind == StandardWatchEventKinds.ENTRY_MODIFY ? 500 : 0
-						);
-						if (isDir && kind == StandardWatchEventKinds.ENTRY_DELETE) {
-							cancelWatchKey(filename);
-						}
+					if (Watch.isRecursive(w)) {
+						scheduleOverflow(w);
+					}
+				}
+				continue;
+			}
+			WatchEvent<Path> event = (WatchEvent<Path>) e;
+			// Determine the actual file
+			final Path filename = path.resolve(event.context());
+			Boolean isDir = null;
+
+			// See if we're watching for this specific file
+			for (Iterator<Watch> iterator = keys.get(key).iterator(); iterator.hasNext();) {
+				final Watch w = iterator.next();
+				if (!Watch.isValid(w)) {
+					LOGGER.debug("Deleting expired file watch at {}: {}", path, w.getFileSpec());
+					iterator.remove();
+					continue;
+				}
+				if (w.matcher.matches(filename)) {
+					// We have an event of interest
+					LOGGER.debug("{} (ct={}): {}", kind, event.count(), filename);
+					if (isDir == null) {
+						// Only look at the file system once per event
+						isDir = isDirectory(filename);
+					}
+					if (isDir && Watch.isRecursive(w) && kind == StandardWatchEventKinds.ENTRY_CREATE) {
+						// Traverse subdirs within new directory in a recursive scope
+						addRecursive(w, filename);
+					}
+					// It's a regular event, schedule a notice
+					notifier.schedule(
+							new Notice(filename.toString(), kind.toString(), w, isDir),
+							kind == StandardWatchEventKinds.ENTRY_MODIFY ? 500 : 0
+					);
+					if (isDir && kind == StandardWatchEventKinds.ENTRY_DELETE) {
+						cancelWatchKey(filename);
 					}
 				}
 			}
@@ -306,6 +334,56 @@ public class FileWatcher {
 		}
 	}
 
+	/**
+	 * Schedules a single reconciliation of the root of a recursive watch once
+	 * the file system stopped reporting lost events for it.
+	 *
+	 * A burst of lost events is usually reported by many directories of the
+	 * same tree at once, so the notices are keyed by watched root and the
+	 * later ones supersede the earlier ones.
+	 *
+	 * @param w the recursive watch.
+	 */
+	static void scheduleOverflow(Watch w) {
+		Path root = Paths.get(FilenameUtils.getFullPath(w.getFileSpec()));
+		notifier.schedule(new Notice(root.toString(), OVERFLOW, w, true), OVERFLOW_DELAY);
+	}
+
+	/**
+	 * Determines whether the path is a directory with a single file system
+	 * access, falling back to the naming convention if it no longer exists.
+	 */
+	private static boolean isDirectory(Path filename) {
+		try {
+			return Files.readAttributes(filename, BasicFileAttributes.class).isDirectory();
+		} catch (IOException e) {
+			return FileUtil.isDirectory(filename.toString());
+		}
+	}
+
+	/**
+	 * @return the number of file system events received since startup.
+	 */
+	public static long getEventCount() {
+		return EVENT_COUNT.get();
+	}
+
+	/**
+	 * @return the number of times the file system reported lost events since
+	 * startup.
+	 */
+	public static long getOverflowCount() {
+		return OVERFLOW_COUNT.get();
+	}
+
+	/**
+	 * @return the number of notices that were superseded by a later identical
+	 * notice before being delivered.
+	 */
+	public static long getCoalescedCount() {
+		return COALESCED_COUNT.get();
+	}
+
 	public static interface Listener {
 
 		/**
@@ -313,8 +391,9 @@ public class FileWatcher {
 		 *
 		 * @param filename The changed filepath, relative or absolute depending
 		 * on the original filespec.
-		 * @param event The change itself: 'ENTRY_CREATE' 'ENTRY_MODIFY' or
-		 * 'ENTRY_DELETE'.
+		 * @param event The change itself: 'ENTRY_CREATE' 'ENTRY_MODIFY',
+		 * 'ENTRY_DELETE' or 'OVERFLOW' (events were lost somewhere under the
+		 * watched root {@code filename}).
 		 * @param watch The original user-supplied watch object that triggered
 		 * the match.
 		 * @param isDir Whether the changed file is a directory.
@@ -440,7 +519,9 @@ public class FileWatcher {
 			if (!containsKey(k)) {
 				put(k, new ArrayList<>());
 			}
-			get(k).add(w);
+			if (!get(k).contains(w)) {
+				get(k).add(w);
+			}
 		}
 
 		public boolean contains(Watch w) {
@@ -482,6 +563,10 @@ public class FileWatcher {
 
 		@Override
 		public void run() {
+			if (OVERFLOW.equals(kind)) {
+				// Subdirectories created while events were lost are not watched yet
+				addRecursive(watch, Paths.get(filename));
+			}
 			watch.listener.get().notify(filename, kind, watch, isDir);
 			notifierQueue.remove(this);
 		}
@@ -531,8 +616,8 @@ public class FileWatcher {
 			notice.notifierQueue = queue;
 			ScheduledFuture<?> superceded = queue.put(notice, schedule(notice, delay, TimeUnit.MILLISECONDS));
 			// And cancel its previous instance, if any
-			if (superceded != null) {
-				superceded.cancel(false);
+			if (superceded != null && superceded.cancel(false)) {
+				COALESCED_COUNT.incrementAndGet();
 			}
 		}
 	}
@@ -17,10 +17,24 @@
 package net.pms.util;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 
 public interface IPushOutput {
 	public void push(OutputStream out) throws IOException;
 
 	public boolean isUnderlyingSeekSupported();
+
+	/**
+	 * Returns a stream starting at the given position without reading the
+	 * preceding content, if the source allows it.
+	 *
+	 * @param position the position of the first byte to read.
+	 * @return The {@link InputStream}, or {@code null} if {@link #push} must
+	 *         be used.
+	 * @throws IOException if an IO error occurs.
+	 */
+	public default InputStream getSeekableInputStream(long position) throws IOException {
+		return null;
+	}
 }
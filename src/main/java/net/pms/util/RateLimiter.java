@@ -0,0 +1,90 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A token bucket limiting the rate of the requests sent to an external API.
+ * <p>
+ * Up to {@code burst} requests are allowed at once, then one every
+ * {@code 1 / permitsPerSecond} seconds. Callers are served in the order they
+ * asked.
+ */
+public class RateLimiter {
+
+	private final double permitsPerNano;
+	private final double burst;
+	private final LongSupplier nanoClock;
+	private double permits;
+	private long lastRefill;
+
+	/**
+	 * Creates a limiter, with all its permits available.
+	 *
+	 * @param permitsPerSecond the sustained number of requests per second.
+	 * @param burst the number of requests allowed at once.
+	 */
+	public RateLimiter(double permitsPerSecond, int burst) {
+		this(permitsPerSecond, burst, System::nanoTime);
+	}
+
+	RateLimiter(double permitsPerSecond, int burst, LongSupplier nanoClock) {
+		if (permitsPerSecond <= 0 || burst < 1) {
+			throw new IllegalArgumentException("permitsPerSecond and burst must be positive");
+		}
+		this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+		this.burst = burst;
+		this.nanoClock = nanoClock;
+		this.permits = burst;
+		this.lastRefill = nanoClock.getAsLong();
+	}
+
+	/**
+	 * Takes a permit, waiting until it is available. If the thread is
+	 * interrupted while waiting, it returns early with the interrupt status
+	 * set.
+	 */
+	public void acquire() {
+		long wait = reserve();
+		if (wait > 0) {
+			try {
+				TimeUnit.NANOSECONDS.sleep(wait);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Takes a permit, possibly in advance.
+	 *
+	 * @return The time to wait before using it, in nanoseconds.
+	 */
+	synchronized long reserve() {
+		long now = nanoClock.getAsLong();
+		permits = Math.min(burst, permits + (now - lastRefill) * permitsPerNano);
+		lastRefill = now;
+		permits--;
+		if (permits >= 0) {
+			return 0;
+		}
+		return (long) Math.ceil(-permits / permitsPerNano);
+	}
+
+}
@@ -41,7 +41,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -58,6 +57,7 @@ import net.pms.media.MediaLang;
 import net.pms.media.subtitle.MediaSubtitle;
 import net.pms.media.video.MediaVideo.Mode3D;
 import net.pms.renderers.Renderer;
+import net.pms.store.SidecarIndex;
 import net.pms.store.StoreResource;
 import static net.pms.util.Constants.*;
 import net.pms.util.FileUtil.BufferedReaderDetectCharsetResult;
@@ -71,7 +71,6 @@ import org.slf4j.LoggerFactory;
 public class SubtitleUtils {
 	private static final UmsConfiguration CONFIGURATION = PMS.getConfiguration();
 	private static final Logger LOGGER = LoggerFactory.getLogger(SubtitleUtils.class);
-	private static final long FOLDER_CACHE_EXPIRATION_TIME = 300000; // Milliseconds
 	private static final char[] SUBTITLES_UPPER_CASE;
 	private static final char[] SUBTITLES_LOWER_CASE;
 	private static final File ALTERNATIVE_SUBTITLES_FOLDER;
@@ -270,43 +269,7 @@ public class SubtitleUtils {
 		}
 
 		String filename = isEmbeddedSource ? resource.getFileName() : params.getSid().getExternalFile().getAbsolutePath();
-
-		String basename;
-
-		long modId = new File(filename).lastModified();
-		if (modId != 0) {
-			// We have a real file
-			basename = FilenameUtils.getBaseName(filename).replaceAll("[<>:\"\\\\/|?*+\\[\\]\n\r ']", "").trim();
-		} else {
-			// It's something else, e.g. a url or psuedo-url without meaningful
-			// lastmodified and (maybe) basename characteristics.
-			basename = resource.getName().replaceAll("[<>:\"\\\\/|?*+\\[\\]\n\r ']", "").trim();
-			modId = filename.hashCode();
-		}
-
-		File convertedSubs;
-		StringBuilder nameBuilder = new StringBuilder(subsPath.getAbsolutePath());
-		nameBuilder.append(File.separator).append(basename);
-		if (isEmbeddedSource) {
-			nameBuilder.append("_ID").append(params.getSid().getId());
-		}
-		if (applyFontConfig) {
-			nameBuilder.append("_FB");
-		}
-		if (is3D) {
-			nameBuilder.append("_3D");
-		}
-		nameBuilder.append("_").append(modId);
-		String extension;
-		if (subtitleType != null && StringUtils.isNotBlank(subtitleType.getExtension())) {
-			extension = subtitleType.getExtension();
-		} else {
-			extension = FileUtil.getExtension(basename);
-		}
-		if (StringUtils.isNotBlank(extension)) {
-			nameBuilder.append(".").append(extension);
-		}
-		convertedSubs = new File(nameBuilder.toString());
+		File convertedSubs = getConvertedSubtitlesFile(subsPath, filename, resource, params.getSid(), applyFontConfig, is3D, subtitleType);
 
 		File converted3DSubs = new File(FileUtil.getFileNameWithoutExtension(convertedSubs.getAbsolutePath()) + "_3D.ass");
 		if (convertedSubs.canRead() || converted3DSubs.canRead()) {
@@ -319,6 +282,7 @@ public class SubtitleUtils {
 				}
 			}
 
+			DiskCache.touch(convertedSubs);
 			params.getSid().setConvertedFile(convertedSubs);
 			return convertedSubs;
 		}
@@ -385,11 +349,128 @@ public class SubtitleUtils {
 			params.getSid().setType(SubtitleType.ASS);
 		}
 
-		PMS.get().addTempFile(tempSubs, 30 * 24 * 3600 * 1000);
+		DiskCache.add(DiskCache.Region.SUBTITLES, tempSubs, 30L * 24 * 3600 * 1000);
 		params.getSid().setConvertedFile(tempSubs);
 		return tempSubs;
 	}
 
+	/**
+	 * Returns the subtitles converted to SSA/ASS format by a previous call to
+	 * {@link #getSubtitles} for the given embedded track, without extracting
+	 * them.
+	 *
+	 * @param resource the resource containing the subtitles track.
+	 * @param media the {@link MediaInfo} of the resource.
+	 * @param sid the embedded subtitles track.
+	 * @param configuration the configuration used for the conversion.
+	 * @return The converted subtitles file, or {@code null} if the track was
+	 *         not converted yet.
+	 */
+	public static File getCachedSubtitles(
+		StoreResource resource,
+		MediaInfo media,
+		MediaSubtitle sid,
+		UmsConfiguration configuration
+	) {
+		File convertedSubs = findCachedSubtitles(resource, media, sid, configuration);
+		if (convertedSubs != null) {
+			DiskCache.touch(convertedSubs);
+		}
+		return convertedSubs;
+	}
+
+	/**
+	 * Checks whether an embedded track was already converted to SSA/ASS
+	 * format, without marking it as used. The name of the converted file
+	 * contains the modification time of the video, so the track of a new or
+	 * changed video is never converted.
+	 *
+	 * @param resource the resource containing the subtitles track.
+	 * @param media the {@link MediaInfo} of the resource.
+	 * @param sid the embedded subtitles track.
+	 * @param configuration the configuration used for the conversion.
+	 * @return Whether the converted subtitles file exists.
+	 */
+	public static boolean hasCachedSubtitles(
+		StoreResource resource,
+		MediaInfo media,
+		MediaSubtitle sid,
+		UmsConfiguration configuration
+	) {
+		return findCachedSubtitles(resource, media, sid, configuration) != null;
+	}
+
+	private static File findCachedSubtitles(
+		StoreResource resource,
+		MediaInfo media,
+		MediaSubtitle sid,
+		UmsConfiguration configuration
+	) {
+		if (media == null || sid == null || !sid.isEmbedded() || !sid.getType().isText()) {
+			return null;
+		}
+
+		boolean is3D = media.getDefaultVideoTrack() != null && media.getDefaultVideoTrack().is3d() && !media.getDefaultVideoTrack().multiViewIsAnaglyph();
+		File subsPath = new File(configuration.getDataFile(SUB_DIR));
+		File convertedSubs = getConvertedSubtitlesFile(subsPath, resource.getFileName(), resource, sid, configuration.isFFmpegFontConfig(), is3D, SubtitleType.ASS);
+		File converted3DSubs = new File(FileUtil.getFileNameWithoutExtension(convertedSubs.getAbsolutePath()) + "_3D.ass");
+		if (converted3DSubs.canRead()) {
+			convertedSubs = converted3DSubs;
+		} else if (!convertedSubs.canRead()) {
+			return null;
+		}
+		return convertedSubs;
+	}
+
+	/**
+	 * Returns the file in the subtitles folder for the converted subtitles.
+	 */
+	private static File getConvertedSubtitlesFile(
+		File subsPath,
+		String filename,
+		StoreResource resource,
+		MediaSubtitle sid,
+		boolean applyFontConfig,
+		boolean is3D,
+		SubtitleType subtitleType
+	) {
+		String basename;
+
+		long modId = new File(filename).lastModified();
+		if (modId != 0) {
+			// We have a real file
+			basename = FilenameUtils.getBaseName(filename).replaceAll("[<>:\"\\\\/|?*+\\[\\]\n\r ']", "").trim();
+		} else {
+			// It's something else, e.g. a url or psuedo-url without meaningful
+			// lastmodified and (maybe) basename characteristics.
+			basename = resource.getName().replaceAll("[<>:\"\\\\/|?*+\\[\\]\n\r ']", "").trim();
+			modId = filename.hashCode();
+		}
+
+		StringBuilder nameBuilder = new StringBuilder(subsPath.getAbsolutePath());
+		nameBuilder.append(File.separator).append(basename);
+		if (sid.isEmbedded()) {
+			nameBuilder.append("_ID").append(sid.getId());
+		}
+		if (applyFontConfig) {
+			nameBuilder.append("_FB");
+		}
+		if (is3D) {
+			nameBuilder.append("_3D");
+		}
+		nameBuilder.append("_").append(modId);
+		String extension;
+		if (subtitleType != null && StringUtils.isNotBlank(subtitleType.getExtension())) {
+			extension = subtitleType.getExtension();
+		} else {
+			extension = FileUtil.getExtension(basename);
+		}
+		if (StringUtils.isNotBlank(extension)) {
+			nameBuilder.append(".").append(extension);
+		}
+		return new File(nameBuilder.toString());
+	}
+
 	/**
 	 * Converts external subtitles or extract embedded subs to the requested
 	 * subtitle type
@@ -728,6 +809,7 @@ public class SubtitleUtils {
 	}
 
 	public static void deleteSubs() {
+		DiskCache.clear(DiskCache.Region.SUBTITLES);
 		FileUtils.deleteQuietly(new File(CONFIGURATION.getDataFile(SUB_DIR)));
 	}
 
@@ -766,70 +848,6 @@ public class SubtitleUtils {
 		}
 	}
 
-	private static final HashMap<File, CacheFolder> FOLDER_CACHE = new HashMap<>();
-
-	private static class CacheFolder {
-
-		private File[] items;
-		private final long birth;
-		private boolean populated;
-
-		public CacheFolder() {
-			birth = System.currentTimeMillis();
-		}
-
-		public boolean isPopulated() {
-			return populated;
-		}
-
-		public long getBirth() {
-			return birth;
-		}
-
-		public File[] getItems() {
-			if (!populated) {
-				throw new IllegalStateException("Instance hasn't been populated yet");
-			}
-			return items;
-		}
-
-		public void setItems(List<File> items) {
-			setItems(items == null ? null : items.toArray(File[]::new));
-		}
-
-		public void setItems(File[] items) {
-			populated = true;
-			if (items == null) {
-				this.items = new File[0];
-			} else {
-				this.items = items;
-			}
-		}
-
-		@Override
-		public String toString() {
-			StringBuilder sb = new StringBuilder(getClass().getSimpleName());
-			sb.append(" [Age=");
-			sb.append((System.currentTimeMillis() - birth) / 1000).append(" s");
-			sb.append(", Populated=").append(populated ? "Yes" : "No");
-			if (items == null || items.length == 0) {
-				sb.append(", Empty");
-			} else {
-				sb.append(", Items: ");
-				boolean first = true;
-				for (File item : items) {
-					if (!first) {
-						sb.append(", ");
-					}
-					sb.append(item.getName());
-					first = false;
-				}
-			}
-			sb.append("]");
-			return sb.toString();
-		}
-	}
-
 	/**
 	 * Evaluates if the given combination of folder and name represents a
 	 * subtitles subfolder.
@@ -840,7 +858,7 @@ public class SubtitleUtils {
 	 *         subtitles subfolder, exists and is a folder, {@code null}
 	 *         otherwise.
 	 */
-	private static File isSubtitlesFolder(File folder, CharSequence name) {
+	public static File isSubtitlesFolder(File folder, CharSequence name) {
 		if (folder == null || name == null) {
 			return null;
 		}
@@ -870,7 +888,7 @@ public class SubtitleUtils {
 	 * @return {@code true} if {@code file} is considered a subtitles file,
 	 *         {@code false} otherwise.
 	 */
-	private static boolean isSubtitlesFile(File file, Set<String> supportedExtensions) {
+	public static boolean isSubtitlesFile(File file, Set<String> supportedExtensions) {
 		String extension = FileUtil.getExtension(file.getPath(), LetterCase.LOWER, Locale.ROOT);
 		if ("sub".equals(extension)) {
 			// Avoid microdvd/vobsub confusion by ignoring sub+idx pairs here
@@ -886,17 +904,17 @@ public class SubtitleUtils {
 	 * creating {@link MediaSubtitle} instances and attaching them to the
 	 * specified {@link MediaInfo} instance.
 	 * <p>
-	 * A folder cache is used for performance optimization, and the parent
-	 * folder of {@code file}, any "subs" or "subtitles" (case insensitive)
-	 * subfolders of this folder and an alternative subtitles folder (if
-	 * configured) will be scanned for matching subtitles files. Already
+	 * The shared {@link SidecarIndex} is used for performance optimization,
+	 * and the parent folder of {@code file}, any "subs" or "subtitles" (case
+	 * insensitive) subfolders of this folder and an alternative subtitles
+	 * folder (if configured) will be scanned for matching subtitles files. Already
 	 * "registered" files (files that already has a corresponding
 	 * {@link MediaSubtitle} instance in {@code media}) will not be
 	 * re-parsed.
 	 * <p>
-	 * If {@code forceRefresh} is {@code true}, the content of the folder cache
+	 * If {@code forceRefresh} is {@code true}, the content of the sidecar index
 	 * will be ignored and the folder content will be reacquired from disk. The
-	 * folder cache will be updated with the fresh results.
+	 * sidecar index will be updated with the fresh results.
 	 *
 	 * @param file the {@link File} for which to scan for external subtitles
 	 *            files. It does not have to point to an existing file, the
@@ -953,79 +971,12 @@ public class SubtitleUtils {
 			return false;
 		}
 
-		final Set<String> supportedFileExtensions = SubtitleType.getSupportedFileExtensions();
-
-		boolean cleaned = false;
 		List<File> folderSubtitles = new ArrayList<>();
 		for (File folder : folders) {
-			CacheFolder cacheFolder = null;
-			synchronized (FOLDER_CACHE) {
-				// Clean cache for expired entries and fetch or insert the entry
-				// for the folder under examination
-				if (cleaned) {
-					if (forceRefresh) {
-						FOLDER_CACHE.remove(folder);
-					}
-					cacheFolder = FOLDER_CACHE.get(folder);
-				} else {
-					long earliestBirth = System.currentTimeMillis() - FOLDER_CACHE_EXPIRATION_TIME;
-					for (Iterator<Entry<File, CacheFolder>> iterator = FOLDER_CACHE.entrySet().iterator(); iterator.hasNext();) {
-						Entry<File, CacheFolder> entry = iterator.next();
-						if (entry.getValue().getBirth() < earliestBirth) {
-							iterator.remove();
-						} else if (folder.equals(entry.getKey())) {
-							if (forceRefresh) {
-								iterator.remove();
-							} else {
-								cacheFolder = entry.getValue();
-							}
-						}
-					}
-					cleaned = true;
-				}
-				if (cacheFolder == null) {
-					cacheFolder = new CacheFolder();
-					FOLDER_CACHE.put(folder, cacheFolder);
-				}
-			}
-
-			// Populate the CacheFolder if it isn't already and get the files
-			synchronized (cacheFolder) {
-				if (!cacheFolder.isPopulated()) {
-					List<File> folderSubtitlesList = new ArrayList<>();
-					String[] folderContent = folder.list();
-					if (folderContent != null && folderContent.length > 0) {
-						for (String fileNameEntry : folderContent) {
-							File fileEntry = subFolder.equals(folder) ? isSubtitlesFolder(folder, fileNameEntry) : null;
-							if (fileEntry != null) {
-								// Subtitles subfolder
-								String[] subsFolderContent = fileEntry.list();
-								if (subsFolderContent != null && subsFolderContent.length > 0) {
-									for (String subsFileNameEntry : subsFolderContent) {
-										File subsFileEntry = new File(fileEntry, subsFileNameEntry);
-										if (
-											isSubtitlesFile(subsFileEntry, supportedFileExtensions) &&
-											subsFileEntry.isFile() &&
-											!subsFileEntry.isHidden()
-										) {
-											folderSubtitlesList.add(subsFileEntry);
-										}
-									}
-								}
-								continue;
-							}
-							fileEntry = new File(folder, fileNameEntry);
-							if (isSubtitlesFile(fileEntry, supportedFileExtensions) && fileEntry.isFile() && !fileEntry.isHidden()) {
-								folderSubtitlesList.add(fileEntry);
-							}
-						}
-					}
-					cacheFolder.setItems(folderSubtitlesList);
-					folderSubtitles.addAll(folderSubtitlesList);
-				} else {
-					folderSubtitles.addAll(Arrays.asList(cacheFolder.getItems()));
-				}
+			if (forceRefresh) {
+				SidecarIndex.invalidate(folder);
 			}
+			folderSubtitles.addAll(SidecarIndex.getSubtitles(folder, subFolder.equals(folder)));
 		}
 
 		// Find already parsed subtitles
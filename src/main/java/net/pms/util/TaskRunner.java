@@ -45,20 +45,28 @@ public class TaskRunner {
 		return instance;
 	}
 
-	private final ExecutorService executors = Executors.newCachedThreadPool(new ThreadFactory() {
+	private final ExecutorService executors = createExecutorService();
 
-		int counter = 0;
+	private final Map<String, Integer> counters = new HashMap<>();
+	private final Map<String, Lock> uniquenessLock = new HashMap<>();
 
-		@Override
-		public Thread newThread(Runnable r) {
-			Thread t = new Thread(r, "background-task-" + (counter++));
-			t.setDaemon(true);
-			return t;
+	private static ExecutorService createExecutorService() {
+		ExecutorService virtualThreadExecutor = VirtualThreadExecutors.newThreadPerTaskExecutor("background-task");
+		if (virtualThreadExecutor != null) {
+			return virtualThreadExecutor;
 		}
-	});
+		return Executors.newCachedThreadPool(new ThreadFactory() {
 
-	private final Map<String, Integer> counters = new HashMap<>();
-	private final Map<String, Lock> uniquenessLock = new HashMap<>();
+			int counter = 0;
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread t = new Thread(r, "background-task-" + (counter++));
+				t.setDaemon(true);
+				return t;
+			}
+		});
+	}
 
 	public void submit(Runnable runnable) {
 		executors.execute(runnable);
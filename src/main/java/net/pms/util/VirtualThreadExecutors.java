@@ -0,0 +1,132 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import net.pms.PMS;
+import org.eclipse.jetty.util.VirtualThreads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates the executors running blocking I/O tasks on virtual threads, when
+ * {@link net.pms.configuration.UmsConfiguration#isUseVirtualThreads()} is
+ * enabled and the Java runtime supports them.
+ * <p>
+ * The build targets a Java release without virtual threads, so they are
+ * created by reflection. Every method returns {@code null} when virtual
+ * threads are not used, and the callers keep their thread pools.
+ */
+public class VirtualThreadExecutors {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadExecutors.class);
+	private static Boolean enabled;
+
+	/**
+	 * This class is not meant to be instantiated.
+	 */
+	private VirtualThreadExecutors() {
+	}
+
+	/**
+	 * @return Whether the blocking tasks run on virtual threads.
+	 */
+	public static synchronized boolean isEnabled() {
+		if (enabled == null) {
+			if (PMS.getConfiguration() == null) {
+				// Not configured yet, decide once it is
+				return false;
+			}
+			enabled = PMS.getConfiguration().isUseVirtualThreads();
+			if (enabled && !VirtualThreads.areSupported()) {
+				LOGGER.warn("Virtual threads are not supported by Java {}, using thread pools", System.getProperty("java.version"));
+				enabled = false;
+			} else if (enabled) {
+				LOGGER.info("Using virtual threads for the network and background tasks");
+			}
+		}
+		return enabled;
+	}
+
+	//used only from test class
+	static synchronized void reset() {
+		enabled = null;
+	}
+
+	/**
+	 * Returns an executor starting a new named virtual thread for each task.
+	 *
+	 * @param name the thread name prefix.
+	 * @return The {@link ExecutorService}, or {@code null} if virtual threads
+	 *         are not used.
+	 */
+	public static ExecutorService newThreadPerTaskExecutor(String name) {
+		ThreadFactory factory = newThreadFactory(name);
+		if (factory == null) {
+			return null;
+		}
+		try {
+			Method method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+			return (ExecutorService) method.invoke(null, factory);
+		} catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+			LOGGER.debug("Unable to create a virtual thread executor: {}", e.getMessage());
+			LOGGER.trace("", e);
+			return null;
+		}
+	}
+
+	/**
+	 * Returns a factory of named virtual threads.
+	 *
+	 * @param name the thread name prefix.
+	 * @return The {@link ThreadFactory}, or {@code null} if virtual threads
+	 *         are not used.
+	 */
+	public static ThreadFactory newThreadFactory(String name) {
+		if (!isEnabled()) {
+			return null;
+		}
+		try {
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, name + "-", 0L);
+			return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+		} catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+			LOGGER.debug("Unable to create a virtual thread factory: {}", e.getMessage());
+			LOGGER.trace("", e);
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the executor a Jetty thread pool uses to run its blocking tasks
+	 * on virtual threads.
+	 *
+	 * @param name the thread name prefix.
+	 * @return The {@link Executor}, or {@code null} if virtual threads are not
+	 *         used.
+	 */
+	public static Executor getJettyExecutor(String name) {
+		return isEnabled() ? VirtualThreads.getNamedVirtualThreadsExecutor(name) : null;
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.configuration;
+
+import java.util.List;
+import net.pms.TestHelper;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class FormatConfigurationTest {
+
+	private static final List<String> SUPPORTED = List.of(
+		"f:mp4|mov v:h264|h265 a:aac-lc|ac3 n:6 w:1920 h:1080 m:video/mp4",
+		"f:mp4 v:mpeg4 m:video/mp4-sp",
+		"f:mkv v:h264 a:aac-lc|ac3|dts si:ASS|SUBRIP se:SUBRIP m:video/x-matroska",
+		"f:mp3 n:2 m:audio/mpeg",
+		"f:.+ m:application/octet-stream"
+	);
+
+	@BeforeEach
+	public void setUp() {
+		TestHelper.SetLoggingOff();
+	}
+
+	@Test
+	public void testMatchedMimeType() {
+		FormatConfiguration formatConfiguration = new FormatConfiguration(SUPPORTED);
+		// The lines are tried in order, including the ones matching all formats
+		assertEquals("video/mp4", formatConfiguration.getMatchedMIMEtype("mp4", "h264", "aac-lc"));
+		assertEquals("video/mp4-sp", formatConfiguration.getMatchedMIMEtype("mp4", "mpeg4", null));
+		assertEquals("video/mp4", formatConfiguration.getMatchedMIMEtype("mov", "h265", null));
+		assertEquals("application/octet-stream", formatConfiguration.getMatchedMIMEtype("mov", "vp9", null));
+		assertEquals("application/octet-stream", formatConfiguration.getMatchedMIMEtype("avi", null, null));
+		assertNull(formatConfiguration.getMatchedMIMEtype(null, null, null));
+
+		// Limits
+		assertEquals("video/mp4", getMatchedMimeType(formatConfiguration, "mp4", 6, 1920, 1080, null, false));
+		assertEquals("application/octet-stream", getMatchedMimeType(formatConfiguration, "mp4", 8, 1920, 1080, null, false));
+		assertEquals("application/octet-stream", getMatchedMimeType(formatConfiguration, "mp4", 2, 3840, 2160, null, false));
+
+		// Subtitles
+		assertEquals("video/x-matroska", getMatchedMimeType(formatConfiguration, "mkv", 2, 0, 0, "ASS", false));
+		assertEquals("video/x-matroska", getMatchedMimeType(formatConfiguration, "mkv", 2, 0, 0, "SUBRIP", true));
+		assertNull(getMatchedMimeType(formatConfiguration, "mkv", 2, 0, 0, "ASS", true));
+	}
+
+	@Test
+	public void testCachedMatchedMimeType() {
+		FormatConfiguration formatConfiguration = new FormatConfiguration(SUPPORTED.subList(0, 4));
+		for (int i = 0; i < 3; i++) {
+			assertEquals("audio/mpeg", formatConfiguration.getMatchedMIMEtype("mp3", null, "mp3"));
+			assertNull(getMatchedMimeType(formatConfiguration, "mp3", 6, 0, 0, null, false));
+			assertNull(formatConfiguration.getMatchedMIMEtype("avi", "h264", null));
+			assertEquals("video/mp4", getMatchedMimeType(formatConfiguration, "mp4", 2, 1280, 720, null, false));
+		}
+	}
+
+	private static String getMatchedMimeType(
+		FormatConfiguration formatConfiguration,
+		String container,
+		int nbAudioChannels,
+		int videoWidth,
+		int videoHeight,
+		String subsFormat,
+		boolean isExternalSubs
+	) {
+		return formatConfiguration.getMatchedMIMEtype(
+			container,
+			"h264",
+			"aac-lc",
+			nbAudioChannels,
+			0,
+			0,
+			0,
+			videoWidth,
+			videoHeight,
+			0,
+			null,
+			null,
+			null,
+			subsFormat,
+			isExternalSubs,
+			null
+		);
+	}
+
+}
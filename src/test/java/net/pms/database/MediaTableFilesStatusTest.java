@@ -20,6 +20,7 @@ import java.sql.Connection;
 import net.pms.PMS;
 import net.pms.TestHelper;
 import net.pms.configuration.UmsConfiguration;
+import net.pms.media.MediaStatus;
 import org.apache.commons.configuration.ConfigurationException;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -93,4 +94,20 @@ public class MediaTableFilesStatusTest {
 			assertFalse(MediaTableFilesStatus.isFullyPlayed(connection, "FileThatHasBeenMarkedNotPlayed", 0));
 		}
 	}
+
+	@Test
+	public void testSetStatus() throws Exception {
+		MediaDatabase.init();
+		MediaDatabase database = MediaDatabase.get();
+		try (Connection connection = database.getConnection()) {
+			MediaTableFilesStatus.setStatus(connection, "FileWithCoalescedStatus", 0, null, 2, 42.0, null);
+			MediaTableFilesStatus.setStatus(connection, "FileWithCoalescedStatus", 0, true, 1, null, 30);
+			MediaStatus status = MediaTableFilesStatus.getMediaStatus(connection, "FileWithCoalescedStatus", 0);
+			assertNotNull(status);
+			assertTrue(status.isFullyPlayed());
+			assertEquals(3, status.getPlaybackCount());
+			assertEquals(42.0, status.getLastPlaybackPosition());
+			assertEquals(30, status.getBookmark());
+		}
+	}
 }
@@ -0,0 +1,113 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.database;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.Map;
+import net.pms.PMS;
+import net.pms.TestHelper;
+import net.pms.configuration.UmsConfiguration;
+import net.pms.util.FileUtil;
+import org.apache.commons.io.FileUtils;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MediaTableFilesTest {
+
+	@TempDir
+	File folder;
+
+	@BeforeEach
+	public final void setUp() throws Exception {
+		TestHelper.SetLoggingOff();
+		PMS.get();
+		PMS.setConfiguration(new UmsConfiguration(false));
+	}
+
+	@Test
+	public void testModifiedInFolder() throws Exception {
+		MediaDatabase.init();
+		MediaDatabase database = MediaDatabase.get();
+		try (Connection connection = database.getConnection()) {
+			MediaDatabase.dropAllTables(connection);
+			database.checkTables(true);
+			String folder = File.separator + "media" + File.separator + "TV_Shows";
+			String episode = folder + File.separator + "Episode.mkv";
+			insertFile(connection, episode, 1000);
+			insertFile(connection, folder + File.separator + "Season 1" + File.separator + "Episode.mkv", 2000);
+			insertFile(connection, File.separator + "media" + File.separator + "TVxShows" + File.separator + "Episode.mkv", 3000);
+			insertFile(connection, folder + ".mkv", 4000);
+
+			assertEquals(Map.of(episode, 1000L), MediaTableFiles.getModifiedInFolder(connection, folder));
+			assertEquals(Map.of(episode, 1000L), MediaTableFiles.getModifiedInFolder(connection, folder + File.separator));
+			assertTrue(MediaTableFiles.getModifiedInFolder(connection, folder + File.separator + "Season 2").isEmpty());
+		}
+	}
+
+	@Test
+	public void testRelinkMovedFile() throws Exception {
+		MediaDatabase.init();
+		MediaDatabase database = MediaDatabase.get();
+		try (Connection connection = database.getConnection()) {
+			MediaDatabase.dropAllTables(connection);
+			database.checkTables(true);
+			File movie = new File(folder, "Movie.mkv");
+			FileUtils.writeStringToFile(movie, "movie content", StandardCharsets.UTF_8);
+			String fingerprint = FileUtil.getFingerprint(movie);
+
+			// The disk of the old path is not mounted
+			File mountPoint = new File(folder, "disk");
+			assertTrue(mountPoint.mkdir());
+			String unmounted = new File(mountPoint, "Movies" + File.separator + "Movie.mkv").getAbsolutePath();
+			insertFile(connection, unmounted, 1000, fingerprint);
+			MediaTableFilesStatus.setFullyPlayed(connection, unmounted, 0, true);
+			assertFalse(MediaTableFiles.relinkMovedFile(connection, movie));
+			assertNull(MediaTableFiles.getFileId(connection, movie.getAbsolutePath()));
+
+			// The old path is gone from a mounted disk
+			String moved = new File(folder, "Old" + File.separator + "Movie.mkv").getAbsolutePath();
+			MediaTableFiles.removeMedia(connection, unmounted, false, true);
+			insertFile(connection, moved, 1000, fingerprint);
+			MediaTableFilesStatus.setFullyPlayed(connection, moved, 0, true);
+			assertTrue(MediaTableFiles.relinkMovedFile(connection, movie));
+			assertNotNull(MediaTableFiles.getFileId(connection, movie.getAbsolutePath()));
+			assertNull(MediaTableFiles.getFileId(connection, moved));
+			assertTrue(MediaTableFilesStatus.isFullyPlayed(connection, movie.getAbsolutePath(), 0));
+			assertNull(MediaTableFilesStatus.isFullyPlayed(connection, moved, 0));
+		}
+	}
+
+	private static void insertFile(Connection connection, String filename, long modified) throws Exception {
+		insertFile(connection, filename, modified, null);
+	}
+
+	private static void insertFile(Connection connection, String filename, long modified, String fingerprint) throws Exception {
+		try (PreparedStatement ps = connection.prepareStatement("INSERT INTO " + MediaTableFiles.TABLE_NAME + " (FILENAME, MODIFIED, FINGERPRINT) VALUES (?, ?, ?)")) {
+			ps.setString(1, filename);
+			ps.setTimestamp(2, new Timestamp(modified));
+			ps.setString(3, fingerprint);
+			ps.executeUpdate();
+		}
+	}
+
+}
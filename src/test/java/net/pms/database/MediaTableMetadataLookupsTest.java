@@ -0,0 +1,67 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.database;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.Set;
+import net.pms.PMS;
+import net.pms.TestHelper;
+import net.pms.configuration.UmsConfiguration;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MediaTableMetadataLookupsTest {
+
+	@BeforeEach
+	public final void setUp() throws Exception {
+		TestHelper.SetLoggingOff();
+		PMS.get();
+		PMS.setConfiguration(new UmsConfiguration(false));
+	}
+
+	@Test
+	public void testGroups() throws Exception {
+		MediaDatabase.init();
+		MediaDatabase database = MediaDatabase.get();
+		try (Connection connection = database.getConnection()) {
+			MediaDatabase.dropAllTables(connection);
+			database.checkTables(true);
+			assertNull(MediaTableMetadataLookups.getNextGroup(connection, Set.of()));
+
+			MediaTableMetadataLookups.add(connection, "/tv/Show.S01E01.mkv", "tv:show");
+			MediaTableMetadataLookups.add(connection, "/movies/Movie.mkv", "/movies/Movie.mkv");
+			MediaTableMetadataLookups.add(connection, "/tv/Show.S01E02.mkv", "tv:show");
+			// Queuing again keeps the place
+			MediaTableMetadataLookups.add(connection, "/tv/Show.S01E01.mkv", "tv:show");
+			assertEquals(3, MediaTableMetadataLookups.getCount(connection));
+			assertEquals(2, MediaTableMetadataLookups.getGroupCount(connection));
+
+			assertEquals("tv:show", MediaTableMetadataLookups.getNextGroup(connection, Set.of()));
+			assertEquals("/movies/Movie.mkv", MediaTableMetadataLookups.getNextGroup(connection, Set.of("tv:show")));
+			assertNull(MediaTableMetadataLookups.getNextGroup(connection, Set.of("tv:show", "/movies/Movie.mkv")));
+			assertEquals(List.of("/tv/Show.S01E01.mkv", "/tv/Show.S01E02.mkv"), MediaTableMetadataLookups.getFilenames(connection, "tv:show"));
+
+			MediaTableMetadataLookups.remove(connection, "/tv/Show.S01E01.mkv");
+			MediaTableMetadataLookups.remove(connection, "/tv/Show.S01E02.mkv");
+			assertEquals("/movies/Movie.mkv", MediaTableMetadataLookups.getNextGroup(connection, Set.of()));
+			assertEquals(1, MediaTableMetadataLookups.getCount(connection));
+		}
+	}
+
+}
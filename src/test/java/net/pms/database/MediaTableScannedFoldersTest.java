@@ -0,0 +1,83 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.database;
+
+import java.io.File;
+import java.sql.Connection;
+import net.pms.PMS;
+import net.pms.TestHelper;
+import net.pms.configuration.UmsConfiguration;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MediaTableScannedFoldersTest {
+
+	@BeforeEach
+	public final void setUp() throws Exception {
+		TestHelper.SetLoggingOff();
+		PMS.get();
+		PMS.setConfiguration(new UmsConfiguration(false));
+	}
+
+	@Test
+	public void testCheckpoints() throws Exception {
+		MediaDatabase.init();
+		MediaDatabase database = MediaDatabase.get();
+		try (Connection connection = database.getConnection()) {
+			MediaDatabase.dropAllTables(connection);
+			database.checkTables(true);
+			String folder = File.separator + "media" + File.separator + "Movies";
+			assertFalse(MediaTableScannedFolders.isUnchanged(connection, folder, 1000, 2));
+			MediaTableScannedFolders.set(connection, folder, 1000, 2);
+			assertTrue(MediaTableScannedFolders.isUnchanged(connection, folder, 1000, 2));
+			assertFalse(MediaTableScannedFolders.isUnchanged(connection, folder, 2000, 2));
+			assertFalse(MediaTableScannedFolders.isUnchanged(connection, folder, 1000, 3));
+			MediaTableScannedFolders.set(connection, folder, 2000, 3);
+			assertTrue(MediaTableScannedFolders.isUnchanged(connection, folder, 2000, 3));
+			assertEquals(3, MediaTableScannedFolders.getTotalChildren(connection));
+		}
+	}
+
+	@Test
+	public void testRemove() throws Exception {
+		MediaDatabase.init();
+		MediaDatabase database = MediaDatabase.get();
+		try (Connection connection = database.getConnection()) {
+			MediaDatabase.dropAllTables(connection);
+			database.checkTables(true);
+			String folder = File.separator + "media" + File.separator + "Movies";
+			String subfolder = folder + File.separator + "Classics";
+			String sibling = folder + " 4K";
+			MediaTableScannedFolders.set(connection, folder, 1000, 1);
+			MediaTableScannedFolders.set(connection, subfolder, 1000, 1);
+			MediaTableScannedFolders.set(connection, sibling, 1000, 1);
+
+			MediaTableScannedFolders.remove(connection, folder);
+			assertFalse(MediaTableScannedFolders.isUnchanged(connection, folder, 1000, 1));
+			assertFalse(MediaTableScannedFolders.isUnchanged(connection, subfolder, 1000, 1));
+			assertTrue(MediaTableScannedFolders.isUnchanged(connection, sibling, 1000, 1));
+
+			// Same with the trailing separator used by folder removals
+			MediaTableScannedFolders.set(connection, subfolder, 1000, 1);
+			MediaTableScannedFolders.remove(connection, folder + File.separator);
+			assertFalse(MediaTableScannedFolders.isUnchanged(connection, subfolder, 1000, 1));
+			assertTrue(MediaTableScannedFolders.isUnchanged(connection, sibling, 1000, 1));
+		}
+	}
+
+}
@@ -0,0 +1,89 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.database;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import net.pms.PMS;
+import net.pms.TestHelper;
+import net.pms.configuration.UmsConfiguration;
+import net.pms.media.video.metadata.ApiStringArray;
+import net.pms.media.video.metadata.TvSeriesMetadata;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MediaTableTVSeriesFacetsTest {
+
+	@BeforeEach
+	public final void setUp() throws Exception {
+		TestHelper.SetLoggingOff();
+		PMS.get();
+		PMS.setConfiguration(new UmsConfiguration(false));
+	}
+
+	@Test
+	public void testUpdateAPIMetadata() throws Exception {
+		MediaDatabase.init();
+		MediaDatabase database = MediaDatabase.get();
+		try (Connection connection = database.getConnection()) {
+			MediaDatabase.dropAllTables(connection);
+			database.checkTables(true);
+			try (Statement statement = connection.createStatement()) {
+				statement.executeUpdate("INSERT INTO TV_SERIES (ID, TITLE) VALUES (1, 'Show')");
+			}
+			MediaTableTVSeriesFacets.refresh(connection, 1L);
+			assertEquals(List.of(), getFacets(connection, MediaTableTVSeriesFacets.FACET_GENRE));
+			assertEquals(List.of("null"), getFacets(connection, MediaTableTVSeriesFacets.FACET_RATED));
+
+			TvSeriesMetadata seriesMetadata = new TvSeriesMetadata();
+			seriesMetadata.setTitle("Show");
+			ApiStringArray genres = new ApiStringArray();
+			genres.add("Comedy");
+			genres.add("Drama");
+			seriesMetadata.setGenres(genres);
+			seriesMetadata.setRated("TV-14");
+			seriesMetadata.setRating(7.8);
+			MediaTableTVSeries.updateAPIMetadata(connection, seriesMetadata, 1L);
+			assertEquals(List.of("Comedy", "Drama"), getFacets(connection, MediaTableTVSeriesFacets.FACET_GENRE));
+			assertEquals(List.of("TV-14"), getFacets(connection, MediaTableTVSeriesFacets.FACET_RATED));
+			assertEquals(List.of("7"), getFacets(connection, MediaTableTVSeriesFacets.FACET_RATING));
+
+			genres.remove("Drama");
+			MediaTableTVSeries.updateAPIMetadata(connection, seriesMetadata, 1L);
+			assertEquals(List.of("Comedy"), getFacets(connection, MediaTableTVSeriesFacets.FACET_GENRE));
+		}
+	}
+
+	private static List<String> getFacets(Connection connection, String facet) throws SQLException {
+		List<String> result = new ArrayList<>();
+		try (
+			Statement statement = connection.createStatement();
+			ResultSet rs = statement.executeQuery("SELECT VAL FROM TV_SERIES_FACETS WHERE TVSERIESID = 1 AND FACET = '" + facet + "' ORDER BY VAL")
+		) {
+			while (rs.next()) {
+				result.add(String.valueOf(rs.getString(1)));
+			}
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,121 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.database;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import net.pms.PMS;
+import net.pms.TestHelper;
+import net.pms.configuration.UmsConfiguration;
+import net.pms.formats.Format;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MediaTableTVSeriesSeasonsTest {
+
+	@BeforeEach
+	public final void setUp() throws Exception {
+		TestHelper.SetLoggingOff();
+		PMS.get();
+		PMS.setConfiguration(new UmsConfiguration(false));
+	}
+
+	@Test
+	public void testRefresh() throws Exception {
+		MediaDatabase.init();
+		MediaDatabase database = MediaDatabase.get();
+		try (Connection connection = database.getConnection()) {
+			MediaDatabase.dropAllTables(connection);
+			database.checkTables(true);
+			try (Statement statement = connection.createStatement()) {
+				// Not dropped with the other tables
+				statement.executeUpdate("DELETE FROM VIDEO_METADATA");
+				statement.executeUpdate("INSERT INTO TV_SERIES (ID, TITLE) VALUES (1, 'Show')");
+				for (int i = 1; i <= 3; i++) {
+					statement.executeUpdate("INSERT INTO FILES (ID, FILENAME, MODIFIED, FORMAT_TYPE) VALUES (" + i + ", '/tv/Show.S0" + (i < 3 ? 1 : 2) + "E0" + i + ".mkv', CURRENT_TIMESTAMP, " + Format.VIDEO + ")");
+					statement.executeUpdate("INSERT INTO VIDEO_METADATA (FILEID, TVSERIESID, TVSEASON, ISTVEPISODE) VALUES (" + i + ", 1, " + (i < 3 ? 1 : 2) + ", TRUE)");
+				}
+			}
+			MediaTableTVSeriesSeasons.refresh(connection, 1L);
+			assertEquals(List.of("1:2", "2:1"), getSeasons(connection));
+			assertEquals(1L, MediaTableTVSeriesSeasons.getTvSeriesId(connection, 3));
+
+			try (Statement statement = connection.createStatement()) {
+				statement.executeUpdate("DELETE FROM FILES WHERE ID = 3");
+			}
+			MediaTableTVSeriesSeasons.refresh(connection, 1L);
+			assertEquals(List.of("1:2"), getSeasons(connection));
+
+			try (Statement statement = connection.createStatement()) {
+				statement.executeUpdate("DELETE FROM TV_SERIES_SEASONS");
+			}
+			MediaTableTVSeriesSeasons.rebuild(connection);
+			assertEquals(List.of("1:2"), getSeasons(connection));
+		}
+	}
+
+	@Test
+	public void testBatch() throws Exception {
+		MediaDatabase.init();
+		MediaDatabase database = MediaDatabase.get();
+		try (Connection connection = database.getConnection()) {
+			MediaDatabase.dropAllTables(connection);
+			database.checkTables(true);
+			try (Statement statement = connection.createStatement()) {
+				// Not dropped with the other tables
+				statement.executeUpdate("DELETE FROM VIDEO_METADATA");
+				statement.executeUpdate("INSERT INTO TV_SERIES (ID, TITLE) VALUES (1, 'Show')");
+				statement.executeUpdate("INSERT INTO FILES (ID, FILENAME, MODIFIED, FORMAT_TYPE) VALUES (1, '/tv/Show.S01E01.mkv', CURRENT_TIMESTAMP, " + Format.VIDEO + ")");
+				statement.executeUpdate("INSERT INTO VIDEO_METADATA (FILEID, TVSERIESID, TVSEASON, ISTVEPISODE) VALUES (1, 1, 1, TRUE)");
+			}
+
+			assertTrue(MediaTableTVSeriesSeasons.beginBatch());
+			// Nested batches are part of the outer one
+			assertFalse(MediaTableTVSeriesSeasons.beginBatch());
+			MediaTableTVSeriesSeasons.refreshOrDefer(connection, 1L);
+			assertEquals(List.of(), getSeasons(connection));
+			MediaTableTVSeriesSeasons.endBatch();
+			assertEquals(List.of("1:1"), getSeasons(connection));
+
+			// Without a batch, refreshed straight away
+			try (Statement statement = connection.createStatement()) {
+				statement.executeUpdate("UPDATE VIDEO_METADATA SET TVSEASON = 2");
+			}
+			MediaTableTVSeriesSeasons.refreshOrDefer(connection, 1L);
+			assertEquals(List.of("2:1"), getSeasons(connection));
+		}
+	}
+
+	private static List<String> getSeasons(Connection connection) throws SQLException {
+		List<String> result = new ArrayList<>();
+		try (
+			Statement statement = connection.createStatement();
+			ResultSet rs = statement.executeQuery("SELECT TVSEASON, EPISODES FROM TV_SERIES_SEASONS ORDER BY TVSEASON")
+		) {
+			while (rs.next()) {
+				result.add(rs.getInt(1) + ":" + rs.getInt(2));
+			}
+		}
+		return result;
+	}
+
+}
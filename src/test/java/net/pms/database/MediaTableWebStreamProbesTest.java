@@ -0,0 +1,54 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.database;
+
+import java.sql.Connection;
+import net.pms.PMS;
+import net.pms.TestHelper;
+import net.pms.configuration.UmsConfiguration;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MediaTableWebStreamProbesTest {
+
+	@BeforeEach
+	public final void setUp() throws Exception {
+		TestHelper.SetLoggingOff();
+		PMS.get();
+		PMS.setConfiguration(new UmsConfiguration(false));
+	}
+
+	@Test
+	public void testProbeTimes() throws Exception {
+		MediaDatabase.init();
+		MediaDatabase database = MediaDatabase.get();
+		try (Connection connection = database.getConnection()) {
+			MediaDatabase.dropAllTables(connection);
+			database.checkTables(true);
+			String url = "http://radio.example.com/stream.mp3";
+			assertNull(MediaTableWebStreamProbes.getProbed(connection, url));
+			MediaTableWebStreamProbes.set(connection, url, 1000000L);
+			assertEquals(1000000L, MediaTableWebStreamProbes.getProbed(connection, url));
+			MediaTableWebStreamProbes.set(connection, url, 2000000L);
+			assertEquals(2000000L, MediaTableWebStreamProbes.getProbed(connection, url));
+			MediaTableWebStreamProbes.clear(connection);
+			assertNull(MediaTableWebStreamProbes.getProbed(connection, url));
+		}
+	}
+
+}
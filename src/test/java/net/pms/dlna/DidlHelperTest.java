@@ -0,0 +1,131 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.dlna;
+
+import java.sql.Connection;
+import java.util.List;
+import net.pms.PMS;
+import net.pms.TestHelper;
+import net.pms.configuration.RendererConfigurations;
+import net.pms.configuration.UmsConfiguration;
+import net.pms.database.MediaDatabase;
+import net.pms.formats.Format;
+import net.pms.network.mediaserver.HTTPXMLHelper;
+import net.pms.store.MediaStatusStore;
+import net.pms.store.MediaStoreIds;
+import net.pms.store.StoreContainer;
+import net.pms.store.item.WebStream;
+import org.apache.commons.configuration.ConfigurationException;
+import org.apache.commons.text.StringEscapeUtils;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class DidlHelperTest {
+
+	@BeforeAll
+	public static void setUpClass() throws ConfigurationException, InterruptedException {
+		PMS.setConfiguration(new UmsConfiguration(false));
+		RendererConfigurations.loadRendererConfigurations();
+	}
+
+	@BeforeEach
+	public void setUp() {
+		TestHelper.SetLoggingOff();
+	}
+
+	@Test
+	public void testWriterEscaping() {
+		StringBuilder sb = new StringBuilder();
+		DidlWriter writer = new DidlWriter(sb, false);
+		writer.addTextElement("upnp:artist role=\"Composer\"", "Tom & Jerry <\"1\">");
+		assertEquals("<upnp:artist role=\"Composer\">Tom &amp; Jerry &lt;\"1\"&gt;</upnp:artist>", sb.toString());
+
+		sb.setLength(0);
+		writer = new DidlWriter(sb, true);
+		writer.addTextElement("dc:title", "Tom & Jerry <1>");
+		assertEquals("&lt;dc:title&gt;Tom &amp;amp; Jerry &amp;lt;1&amp;gt;&lt;/dc:title&gt;", sb.toString());
+	}
+
+	@Test
+	public void testResultsMatchEmbeddedString() {
+		WebStream resource = new WebStream(RendererConfigurations.getDefaultRenderer(), "Tom & Jerry <1>", "http://example.com/test.mp3", "", Format.AUDIO, null);
+		resource.isValid();
+		String results = DidlHelper.getDidlResults(List.of(resource));
+		assertTrue(results.startsWith("<DIDL-Lite "));
+		assertTrue(results.endsWith("</DIDL-Lite>"));
+		assertTrue(results.contains("Tom &amp; Jerry &lt;1&gt;"));
+		// The reused buffer must not leak into the next document
+		assertEquals(results, DidlHelper.getDidlResults(List.of(resource)));
+		String embedded = DidlHelper.getDidlString(resource);
+		assertEquals(results, StringEscapeUtils.unescapeXml(HTTPXMLHelper.DIDL_HEADER + embedded + HTTPXMLHelper.DIDL_FOOTER));
+	}
+
+	@Test
+	public void testFragmentCache() {
+		WebStream resource = new WebStream(RendererConfigurations.getDefaultRenderer(), "Cached", "http://example.com/test.mp3", "", Format.AUDIO, null);
+		resource.isValid();
+		resource.setId("987654");
+		DidlFragmentCache.clear();
+		String first = DidlHelper.getDidlResults(List.of(resource));
+		long hits = DidlFragmentCache.getHits();
+		assertEquals(first, DidlHelper.getDidlResults(List.of(resource)));
+		assertEquals(hits + 1, DidlFragmentCache.getHits());
+
+		// An update id change must regenerate the fragment
+		long misses = DidlFragmentCache.getMisses();
+		MediaStoreIds.incrementUpdateId(987654L);
+		DidlHelper.getDidlResults(List.of(resource));
+		assertEquals(misses + 1, DidlFragmentCache.getMisses());
+		DidlFragmentCache.clear();
+	}
+
+	@Test
+	public void testFragmentCacheStatusChange() throws Exception {
+		MediaDatabase.init();
+		MediaDatabase database = MediaDatabase.get();
+		try (Connection connection = database.getConnection()) {
+			MediaDatabase.dropAllTables(connection);
+			database.checkTables(true);
+		}
+		String url = "http://example.com/status.mp3";
+		WebStream resource = new WebStream(RendererConfigurations.getDefaultRenderer(), "Status", url, "", Format.AUDIO, null);
+		resource.isValid();
+		StoreContainer parent = new StoreContainer(RendererConfigurations.getDefaultRenderer(), "Parent", null);
+		parent.setId("0");
+		resource.setParent(parent);
+		Long id = MediaStoreIds.getMediaStoreResourceId(resource);
+		assertNotNull(id);
+		DidlFragmentCache.clear();
+		DidlHelper.getDidlResults(List.of(resource));
+		String updateId = MediaStoreIds.getObjectUpdateIdAsString(id);
+
+		// A play status change must not serve the stale fragment
+		long misses = DidlFragmentCache.getMisses();
+		MediaStatusStore.setBookmark(url, 0, 60);
+		assertNotEquals(updateId, MediaStoreIds.getObjectUpdateIdAsString(id));
+		DidlHelper.getDidlResults(List.of(resource));
+		assertEquals(misses + 1, DidlFragmentCache.getMisses());
+
+		updateId = MediaStoreIds.getObjectUpdateIdAsString(id);
+		MediaStatusStore.setFullyPlayed(url, 0, true, null);
+		assertNotEquals(updateId, MediaStoreIds.getObjectUpdateIdAsString(id));
+		DidlFragmentCache.clear();
+	}
+
+}
@@ -0,0 +1,70 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.external.tmdb;
+
+import java.sql.Connection;
+import net.pms.PMS;
+import net.pms.TestHelper;
+import net.pms.configuration.UmsConfiguration;
+import net.pms.database.MediaDatabase;
+import net.pms.database.MediaTableMetadataLookups;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TMDBTest {
+
+	@BeforeEach
+	public final void setUp() throws Exception {
+		TestHelper.SetLoggingOff();
+		PMS.get();
+		PMS.setConfiguration(new UmsConfiguration(false));
+		MediaDatabase.init();
+		MediaDatabase database = MediaDatabase.get();
+		try (Connection connection = database.getConnection()) {
+			MediaDatabase.dropAllTables(connection);
+			database.checkTables(true);
+		}
+	}
+
+	@Test
+	public void testResumeQueuedLookups() throws Exception {
+		try (Connection connection = MediaDatabase.get().getConnection()) {
+			MediaTableMetadataLookups.add(connection, "/tv/Show.S01E01.mkv", "tv:show");
+			MediaTableMetadataLookups.add(connection, "/tv/Show.S01E02.mkv", "tv:show");
+			MediaTableMetadataLookups.add(connection, "/tv/Other.S01E01.mkv", "tv:other");
+			MediaTableMetadataLookups.add(connection, "/movies/Movie.mkv", "/movies/Movie.mkv");
+		}
+		long started = TMDB.getStartedLookupWorkers();
+		TMDB.resumeQueuedLookups();
+
+		// The queued groups are looked up in parallel after a restart
+		assertTrue(TMDB.getStartedLookupWorkers() - started > 1);
+
+		// The files that do not exist are dropped from the queue
+		for (int i = 0; i < 100; i++) {
+			try (Connection connection = MediaDatabase.get().getConnection()) {
+				if (MediaTableMetadataLookups.getCount(connection) == 0) {
+					return;
+				}
+			}
+			Thread.sleep(50);
+		}
+		fail("The queued lookups were not done");
+	}
+
+}
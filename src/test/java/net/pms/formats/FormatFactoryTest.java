@@ -237,6 +237,70 @@ public class FormatFactoryTest {
 	}
 
 
+	/**
+	 * Test that the extension index of {@link FormatFactory} gives the same
+	 * result as asking every registered format to match, and is rebuilt when
+	 * formats are added and removed.
+	 */
+	@Test
+	public final void testIndexMatchesFormats() {
+		String[] filenames = {
+			"/media/Movie (2020).MKV",
+			"C:\\Music\\Album\\01 - Track.flac",
+			"/media/series/Show.S01E01.dvr-ms",
+			"image.Jpeg",
+			"subs.en.srt",
+			".mp3",
+			"noextension",
+			"dots.in.the.name.",
+			"https://example.com/stream.mp3",
+		};
+		for (String filename : filenames) {
+			Format expected = null;
+			for (Format format : FormatFactory.getSupportedFormats()) {
+				if (format.match(filename)) {
+					expected = format;
+					break;
+				}
+			}
+			Format result = FormatFactory.getAssociatedFormat(filename);
+			if (expected == null) {
+				assertNull(result, "\"" + filename + "\" is expected to match nothing");
+			} else {
+				assertNotNull(result, "\"" + filename + "\" is expected to match");
+				assertEquals(expected.getClass(), result.getClass());
+				assertEquals(expected.getMatchedExtension(), result.getMatchedExtension());
+			}
+		}
+
+		Format custom = new Format() {
+			@Override
+			public String[] getSupportedExtensions() {
+				return new String[] {"Bogus"};
+			}
+
+			@Override
+			public boolean transcodable() {
+				return false;
+			}
+
+			@Override
+			public Identifier getIdentifier() {
+				return Identifier.CUSTOM;
+			}
+		};
+		assertTrue(FormatFactory.addFormat(custom));
+		try {
+			Format result = FormatFactory.getAssociatedFormat("test.bogus");
+			assertNotNull(result);
+			assertEquals(custom.getClass(), result.getClass());
+			assertEquals("bogus", result.getMatchedExtension());
+		} finally {
+			assertTrue(FormatFactory.removeFormat(custom));
+		}
+		assertNull(FormatFactory.getAssociatedFormat("test.bogus"));
+	}
+
 	/**
 	 * Verify if a filename is recognized as a given format. Use
 	 * <code>null</code> as formatName when no match is expected.
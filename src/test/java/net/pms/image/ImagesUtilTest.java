@@ -0,0 +1,79 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.image;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import javax.imageio.ImageIO;
+import net.pms.TestHelper;
+import net.pms.dlna.DLNAImageProfile;
+import net.pms.image.ImageIOTools.ImageReaderResult;
+import net.pms.image.ImagesUtil.ScaleType;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class ImagesUtilTest {
+
+	private static byte[] jpeg;
+
+	@BeforeAll
+	public static void setUpClass() throws IOException {
+		TestHelper.SetLoggingOff();
+		BufferedImage image = new BufferedImage(4000, 3000, BufferedImage.TYPE_3BYTE_BGR);
+		Graphics2D graphics = image.createGraphics();
+		graphics.setColor(Color.BLUE);
+		graphics.fillRect(0, 0, 2000, 3000);
+		graphics.dispose();
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		assertTrue(ImageIO.write(image, "jpg", outputStream));
+		jpeg = outputStream.toByteArray();
+	}
+
+	@Test
+	public void testSubsampledRead() throws IOException {
+		ImageReaderResult result = ImageIOTools.read(
+			ImageIOTools.createImageInputStream(new ByteArrayInputStream(jpeg)),
+			160,
+			160,
+			ScaleType.MAX
+		);
+		assertEquals(ImageFormat.JPEG, result.imageFormat);
+		assertEquals(4000, result.width);
+		assertEquals(3000, result.height);
+		assertTrue(result.isReduced());
+		assertTrue(result.bufferedImage.getWidth() >= 320);
+		assertTrue(result.bufferedImage.getHeight() >= 240);
+		assertTrue(result.bufferedImage.getWidth() < 4000);
+
+		result = ImageIOTools.read(ImageIOTools.createImageInputStream(new ByteArrayInputStream(jpeg)), 0, 0, ScaleType.MAX);
+		assertFalse(result.isReduced());
+	}
+
+	@Test
+	public void testTranscodeToThumbnail() throws IOException {
+		Image thumbnail = ImagesUtil.transcodeImage(jpeg, 0, 0, null, DLNAImageProfile.JPEG_TN, true, true, false, null);
+		assertEquals(160, thumbnail.getWidth());
+		assertEquals(120, thumbnail.getHeight());
+		assertEquals(ImageFormat.JPEG, thumbnail.getFormat());
+	}
+
+}
@@ -0,0 +1,88 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.logging;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class LogRingBufferTest {
+
+	@Test
+	public void testReadAndOverwrite() {
+		LogRingBuffer buffer = new LogRingBuffer(6);
+		assertEquals(8, buffer.getCapacity());
+		LogRingBuffer.Cursor cursor = buffer.cursorAtNext();
+		for (int i = 0; i < 5; i++) {
+			buffer.add("line " + i);
+		}
+
+		List<String> lines = new ArrayList<>();
+		assertEquals(3, cursor.read(lines, 3));
+		assertEquals(List.of("line 0", "line 1", "line 2"), lines);
+		assertEquals(2, cursor.read(lines, 10));
+		assertEquals(0, cursor.read(lines, 10));
+		assertEquals(5, cursor.getSequence());
+		assertFalse(buffer.hasOverwritten());
+
+		// The cursor lags more than the capacity
+		for (int i = 5; i < 20; i++) {
+			buffer.add("line " + i);
+		}
+		assertTrue(buffer.hasOverwritten());
+		lines.clear();
+		assertEquals(8, cursor.read(lines, 100));
+		assertEquals("line 12", lines.get(0));
+		assertEquals("line 19", lines.get(7));
+		assertEquals(7, cursor.getDropped());
+
+		lines.clear();
+		buffer.cursorAt(2).read(lines, 100);
+		assertEquals(8, lines.size());
+		assertEquals("line 12", lines.get(0));
+		assertEquals(12, buffer.getFirstSequence());
+	}
+
+	@Test
+	public void testConcurrentWriters() throws InterruptedException {
+		LogRingBuffer buffer = new LogRingBuffer(4096);
+		Thread[] writers = new Thread[4];
+		for (int i = 0; i < writers.length; i++) {
+			int writer = i;
+			writers[i] = new Thread(() -> {
+				for (int j = 0; j < 1000; j++) {
+					buffer.add(writer + ":" + j);
+				}
+			});
+			writers[i].start();
+		}
+		for (Thread writer : writers) {
+			writer.join();
+		}
+
+		List<String> lines = new ArrayList<>();
+		LogRingBuffer.Cursor cursor = buffer.cursorAtFirst();
+		assertEquals(4000, cursor.read(lines, 5000));
+		assertEquals(0, cursor.getDropped());
+		Set<String> unique = new HashSet<>(lines);
+		assertEquals(4000, unique.size());
+	}
+
+}
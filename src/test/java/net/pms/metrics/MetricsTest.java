@@ -0,0 +1,76 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.metrics;
+
+import net.pms.TestHelper;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MetricsTest {
+
+	@BeforeEach
+	public void setUp() {
+		TestHelper.SetLoggingOff();
+	}
+
+	@Test
+	public void testTimerPercentiles() {
+		Timer timer = new Timer();
+		assertEquals(0, timer.getPercentile(0.5));
+		for (int i = 1; i <= 100; i++) {
+			timer.record(i * 1_000_000L);
+		}
+		assertEquals(100, timer.getCount());
+		assertEquals(5050_000_000L, timer.getTotalNanos());
+		// The buckets are a quarter of a power of two wide
+		long median = timer.getPercentile(0.5);
+		assertTrue(median >= 50_000_000L && median <= 50_000_000L * 5 / 4, "median: " + median);
+		long p99 = timer.getPercentile(0.99);
+		assertTrue(p99 >= 99_000_000L && p99 <= 99_000_000L * 5 / 4, "p99: " + p99);
+	}
+
+	@Test
+	public void testBuckets() {
+		for (long value : new long[] {1, 2, 3, 4, 5, 7, 8, 1000, 123_456_789L, Long.MAX_VALUE}) {
+			int bucket = Timer.getBucket(value);
+			assertTrue(value <= Timer.getBucketUpperBound(bucket), "value " + value);
+			assertTrue(bucket == 0 || value > Timer.getBucketUpperBound(bucket - 1), "value " + value);
+		}
+	}
+
+	@Test
+	public void testPrometheusText() {
+		Counter counter = Metrics.counter("ums_test_requests_total", "Test requests", "kind", "a\"b");
+		counter.add(3);
+		assertSame(counter, Metrics.counter("ums_test_requests_total", "Test requests", "kind", "a\"b"));
+		Metrics.gauge("ums_test_gauge", "Test gauge", () -> 1.5);
+		Timer timer = Metrics.timer("ums_test_duration_seconds", "Test duration");
+		timer.record(2_000_000_000L);
+		assertThrows(IllegalArgumentException.class, () -> Metrics.timer("ums_test_gauge", "Test gauge"));
+
+		String text = Metrics.toPrometheusText();
+		assertTrue(text.contains("# HELP ums_test_requests_total Test requests\n# TYPE ums_test_requests_total counter\n"));
+		assertTrue(text.contains("ums_test_requests_total{kind=\"a\\\"b\"} 3\n"));
+		assertTrue(text.contains("# TYPE ums_test_gauge gauge\nums_test_gauge 1.5\n"));
+		assertTrue(text.contains("# TYPE ums_test_duration_seconds summary\n"));
+		assertTrue(text.contains("ums_test_duration_seconds_sum 2\n"));
+		assertTrue(text.contains("ums_test_duration_seconds_count 1\n"));
+		assertTrue(text.contains("ums_test_duration_seconds{quantile=\"0.5\"} "));
+	}
+
+}
@@ -0,0 +1,64 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.network;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import net.pms.TestHelper;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ThroughputEstimatorTest {
+
+	private static final int CHUNK = 32 * 1024;
+
+	@BeforeEach
+	public void setUp() {
+		TestHelper.SetLoggingOff();
+		ThroughputEstimator.clear();
+	}
+
+	@Test
+	public void testNetworkBoundResponse() throws UnknownHostException {
+		ThroughputEstimator.Sampler sampler = ThroughputEstimator.getSampler("192.168.1.10");
+		// 32 KiB written in 6.5536 ms is 40 Mb/s
+		for (int i = 0; i < 256; i++) {
+			sampler.onWrite(CHUNK, 6_500_000L, 6_553_600L);
+		}
+		assertEquals(40, ThroughputEstimator.getThroughputInMBits(InetAddress.getByName("192.168.1.10")));
+	}
+
+	@Test
+	public void testSourceBoundResponse() throws UnknownHostException {
+		ThroughputEstimator.Sampler sampler = ThroughputEstimator.getSampler("192.168.1.11");
+		// The writes don't block, the source is the bottleneck
+		for (int i = 0; i < 256; i++) {
+			sampler.onWrite(CHUNK, 100_000L, 6_553_600L);
+		}
+		assertNull(ThroughputEstimator.getThroughputInMBits(InetAddress.getByName("192.168.1.11")));
+	}
+
+	@Test
+	public void testMovingAverage() throws UnknownHostException {
+		ThroughputEstimator.addSample("192.168.1.12", 10_000_000L, 1_000_000_000L);
+		ThroughputEstimator.addSample("192.168.1.12", 20_000_000L, 1_000_000_000L);
+		// 80 + 0.3 * (160 - 80)
+		assertEquals(104, ThroughputEstimator.getThroughputInMBits(InetAddress.getByName("192.168.1.12")));
+	}
+
+}
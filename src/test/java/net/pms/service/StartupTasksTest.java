@@ -0,0 +1,120 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import net.pms.PMS;
+import net.pms.TestHelper;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class StartupTasksTest {
+
+	@BeforeEach
+	public void setUp() {
+		TestHelper.SetLoggingOff();
+	}
+
+	@Test
+	public void testServerStartupHasNoCycle() {
+		List<String> order = PMS.getStartupTasks(null).getExecutionOrder();
+		assertTrue(order.indexOf("MediaDatabase") < order.indexOf("PostUpgrade"));
+		assertTrue(order.indexOf("PostUpgrade") < order.indexOf("MediaScanner"));
+	}
+
+	@Test
+	public void testServerStartupDependencies() {
+		StartupTasks tasks = PMS.getStartupTasks(null);
+		// The engines and the renderer configurations wait for the steps run by the server itself
+		for (String milestone : List.of("Gui", "CodeDb", "Fontconfig", "SystemErr")) {
+			assertTrue(tasks.dependsOn("Engines", milestone), "Engines after " + milestone);
+			assertTrue(tasks.dependsOn("RendererConfigurations", milestone), "RendererConfigurations after " + milestone);
+		}
+		// The tasks changing the configuration don't run at the same time
+		assertTrue(tasks.dependsOn("GPUAcceleration", "PostUpgrade"));
+		assertTrue(tasks.dependsOn("GPUAcceleration", "Gui"));
+		assertTrue(tasks.dependsOn("Engines", "GPUAcceleration"));
+		assertTrue(tasks.dependsOn("Filters", "Network"));
+		// The server waits for these before showing the wizard and the GUI
+		for (String task : List.of("Network", "Filters", "PostUpgrade", "MediaScanner")) {
+			for (String milestone : List.of("Gui", "CodeDb", "Fontconfig", "SystemErr")) {
+				assertFalse(tasks.dependsOn(task, milestone), task + " before " + milestone);
+			}
+		}
+	}
+
+	@Test
+	public void testMilestones() throws Exception {
+		List<String> done = Collections.synchronizedList(new ArrayList<>());
+		StartupTasks tasks = new StartupTasks("Test")
+			.addMilestone("Dialog")
+			.add("Before", () -> done.add("Before"))
+			.add("After", () -> done.add("After"), "Before", "Dialog");
+		assertThrows(IllegalStateException.class, () -> tasks.run(2));
+		tasks.start(2);
+		tasks.await("Before");
+		Thread.sleep(100);
+		assertEquals(List.of("Before"), done);
+		tasks.reach("Dialog");
+		tasks.await();
+		assertEquals(List.of("Before", "After"), done);
+		assertEquals(3, tasks.getTimings().size());
+	}
+
+	@Test
+	public void testCycleIsDetected() {
+		StartupTasks tasks = new StartupTasks("Test")
+			.add("A", () -> { }, "C")
+			.add("B", () -> { }, "A")
+			.add("C", () -> { }, "B");
+		IllegalStateException e = assertThrows(IllegalStateException.class, tasks::getExecutionOrder);
+		assertTrue(e.getMessage().contains("cycle"));
+		assertThrows(IllegalStateException.class, new StartupTasks("Test").add("A", () -> { }, "Unknown")::getExecutionOrder);
+	}
+
+	@Test
+	public void testRun() throws Exception {
+		List<String> done = Collections.synchronizedList(new ArrayList<>());
+		StartupTasks tasks = new StartupTasks("Test")
+			.add("Last", () -> done.add("Last"), "First", "Second")
+			.add("First", () -> done.add("First"))
+			.add("Second", () -> done.add("Second"));
+		tasks.run(2);
+		assertEquals(3, done.size());
+		assertEquals("Last", done.get(2));
+		assertEquals(3, tasks.getTimings().size());
+	}
+
+	@Test
+	public void testFailure() {
+		List<String> done = Collections.synchronizedList(new ArrayList<>());
+		StartupTasks tasks = new StartupTasks("Test")
+			.add("Failing", () -> {
+				throw new IOException("failed");
+			})
+			.add("Dependent", () -> done.add("Dependent"), "Failing")
+			.add("Independent", () -> done.add("Independent"));
+		IOException e = assertThrows(IOException.class, () -> tasks.run(2));
+		assertEquals("failed", e.getMessage());
+		assertEquals(List.of("Independent"), done);
+	}
+
+}
@@ -0,0 +1,156 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.store;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardWatchEventKinds;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import net.pms.PMS;
+import net.pms.TestHelper;
+import net.pms.configuration.UmsConfiguration;
+import net.pms.database.MediaDatabase;
+import net.pms.database.MediaTableFiles;
+import net.pms.database.MediaTableFilesStatus;
+import net.pms.util.FileUtil;
+import org.apache.commons.configuration.ConfigurationException;
+import org.apache.commons.io.FileUtils;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MediaScannerTest {
+
+	@TempDir
+	File folder;
+
+	@BeforeEach
+	public void setUp() throws ConfigurationException, InterruptedException {
+		TestHelper.SetLoggingOff();
+		PMS.get();
+		PMS.setConfiguration(new UmsConfiguration(false));
+	}
+
+	@Test
+	public void testFolderChanges() throws IOException {
+		File unchanged = createFile("Unchanged.mkv");
+		File modified = createFile("Modified.mkv");
+		File created = createFile("Created.mkv");
+		File deleted = new File(folder, "Deleted.mkv");
+		Map<String, Long> stored = Map.of(
+			unchanged.getAbsolutePath(), unchanged.lastModified(),
+			modified.getAbsolutePath(), modified.lastModified() - 1000,
+			deleted.getAbsolutePath(), 0L
+		);
+
+		Map<File, String> changes = MediaScanner.getFolderChanges(List.of(unchanged, modified, created), stored);
+		assertEquals(3, changes.size());
+		assertFalse(changes.containsKey(unchanged));
+		assertEquals(StandardWatchEventKinds.ENTRY_MODIFY.name(), changes.get(modified));
+		assertEquals(StandardWatchEventKinds.ENTRY_CREATE.name(), changes.get(created));
+		assertEquals(StandardWatchEventKinds.ENTRY_DELETE.name(), changes.get(deleted));
+		// Deletions come last, so moved files can take over their stored data
+		assertEquals(deleted, List.copyOf(changes.keySet()).get(2));
+	}
+
+	@Test
+	public void testUnchangedFolder() throws IOException {
+		File file = createFile("Movie.mkv");
+		assertTrue(MediaScanner.getFolderChanges(List.of(file), Map.of(file.getAbsolutePath(), file.lastModified())).isEmpty());
+		assertTrue(MediaScanner.getFolderChanges(List.of(), Map.of()).isEmpty());
+	}
+
+	@Test
+	public void testMovedFilesAreRelinked() throws Exception {
+		MediaDatabase.init();
+		MediaDatabase database = MediaDatabase.get();
+		try (Connection connection = database.getConnection()) {
+			MediaDatabase.dropAllTables(connection);
+			database.checkTables(true);
+		}
+		File oldFolder = new File(folder, "Old");
+		File newFolder = new File(folder, "New");
+		File oldShowFolder = new File(folder, "Show");
+		File newShowFolder = new File(folder, "Show 2");
+		assertTrue(oldFolder.mkdir());
+		assertTrue(newFolder.mkdir());
+		assertTrue(newShowFolder.mkdir());
+		FileUtils.writeStringToFile(new File(oldFolder, "Other.mkv"), "other content", StandardCharsets.UTF_8);
+
+		// A file moved to another folder and a renamed folder, as found on disk
+		File movie = new File(newFolder, "Movie.mkv");
+		FileUtils.writeStringToFile(movie, "movie content", StandardCharsets.UTF_8);
+		File episode = new File(newShowFolder, "Episode.mkv");
+		FileUtils.writeStringToFile(episode, "episode content", StandardCharsets.UTF_8);
+		File oldMovie = new File(oldFolder, "Movie.mkv");
+		File oldEpisode = new File(oldShowFolder, "Episode.mkv");
+		File deleted = new File(oldFolder, "Deleted.mkv");
+		try (Connection connection = database.getConnection()) {
+			insertFile(connection, oldMovie, FileUtil.getFingerprint(movie));
+			insertFile(connection, oldEpisode, FileUtil.getFingerprint(episode));
+			insertFile(connection, deleted, null);
+			MediaTableFilesStatus.setFullyPlayed(connection, oldMovie.getAbsolutePath(), 0, true);
+		}
+
+		// The deletes are seen first, in their own batches
+		MediaScanner.queueDelete(oldMovie, false);
+		MediaScanner.queueDelete(deleted, false);
+		MediaScanner.queueDelete(oldShowFolder, true);
+		assertNotNull(MediaTableFiles.getFileId(oldMovie.getAbsolutePath()));
+		assertNotNull(MediaTableFiles.getFileId(oldEpisode.getAbsolutePath()));
+
+		// Then the created files take over the stored data
+		try (Connection connection = database.getConnection()) {
+			assertTrue(MediaTableFiles.relinkMovedFile(connection, movie));
+			assertTrue(MediaTableFiles.relinkMovedFile(connection, episode));
+		}
+
+		// And the files really deleted are removed
+		MediaScanner.processAllDeletes();
+		assertNull(MediaTableFiles.getFileId(deleted.getAbsolutePath()));
+		assertNull(MediaTableFiles.getFileId(oldMovie.getAbsolutePath()));
+		assertNotNull(MediaTableFiles.getFileId(movie.getAbsolutePath()));
+		// The folder removal is done in the same pass, and leaves the renamed one
+		assertNull(MediaTableFiles.getFileId(oldEpisode.getAbsolutePath()));
+		assertNotNull(MediaTableFiles.getFileId(episode.getAbsolutePath()));
+		try (Connection connection = database.getConnection()) {
+			assertTrue(MediaTableFilesStatus.getMediaStatus(connection, movie.getAbsolutePath(), 0).isFullyPlayed());
+		}
+	}
+
+	private static void insertFile(Connection connection, File file, String fingerprint) throws Exception {
+		try (PreparedStatement ps = connection.prepareStatement("INSERT INTO " + MediaTableFiles.TABLE_NAME + " (FILENAME, MODIFIED, FINGERPRINT) VALUES (?, ?, ?)")) {
+			ps.setString(1, file.getAbsolutePath());
+			ps.setTimestamp(2, new Timestamp(1000));
+			ps.setString(3, fingerprint);
+			ps.executeUpdate();
+		}
+	}
+
+	private File createFile(String name) throws IOException {
+		File file = new File(folder, name);
+		assertTrue(file.createNewFile());
+		return file;
+	}
+
+}
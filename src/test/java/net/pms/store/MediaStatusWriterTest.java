@@ -0,0 +1,117 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.store;
+
+import java.sql.Connection;
+import net.pms.PMS;
+import net.pms.TestHelper;
+import net.pms.configuration.UmsConfiguration;
+import net.pms.database.MediaDatabase;
+import net.pms.database.MediaTableFilesStatus;
+import net.pms.media.MediaStatus;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MediaStatusWriterTest {
+
+	@BeforeEach
+	public final void setUp() throws Exception {
+		TestHelper.SetLoggingOff();
+		PMS.get();
+		PMS.setConfiguration(new UmsConfiguration(false));
+		MediaDatabase.init();
+		MediaDatabase database = MediaDatabase.get();
+		try (Connection connection = database.getConnection()) {
+			MediaDatabase.dropAllTables(connection);
+			database.checkTables(true);
+		}
+	}
+
+	@Test
+	public void testCoalescing() throws Exception {
+		String filename = "FileWithQueuedChanges";
+		MediaStatusWriter.addPlayback(0, filename, 10.0);
+		MediaStatusWriter.setBookmark(0, filename, 5);
+		MediaStatusWriter.addPlayback(0, filename, 42.0);
+		MediaStatusWriter.setFullyPlayed(0, filename, false);
+		MediaStatusWriter.setFullyPlayed(0, filename, true);
+		MediaStatusWriter.setBookmark(0, filename, 30);
+		MediaStatusWriter.flush();
+
+		try (Connection connection = MediaDatabase.get().getConnection()) {
+			MediaStatus status = MediaTableFilesStatus.getMediaStatus(connection, filename, 0);
+			assertNotNull(status);
+			assertTrue(status.isFullyPlayed());
+			assertEquals(2, status.getPlaybackCount());
+			assertEquals(42.0, status.getLastPlaybackPosition());
+			assertEquals(30, status.getBookmark());
+			assertNull(MediaTableFilesStatus.getMediaStatus(connection, filename, 1));
+		}
+	}
+
+	@Test
+	public void testReadYourWrites() throws Exception {
+		String filename = "FileReadBeforeWrite";
+		assertNull(MediaStatusWriter.getMediaStatus(0, filename));
+		MediaStatusWriter.addPlayback(0, filename, 12.0);
+		MediaStatusWriter.setBookmark(0, filename, 7);
+
+		// The queued changes are returned before they are written
+		MediaStatus status = MediaStatusWriter.getMediaStatus(0, filename);
+		assertNotNull(status);
+		assertEquals(1, status.getPlaybackCount());
+		assertEquals(12.0, status.getLastPlaybackPosition());
+		assertEquals(7, status.getBookmark());
+
+		// and are not applied twice once written
+		MediaStatusWriter.flush();
+		status = MediaStatusWriter.getMediaStatus(0, filename);
+		assertEquals(1, status.getPlaybackCount());
+		assertEquals(7, status.getBookmark());
+
+		MediaStatusWriter.addPlayback(0, filename, 20.0);
+		status = MediaStatusWriter.getMediaStatus(0, filename);
+		assertEquals(2, status.getPlaybackCount());
+		assertEquals(20.0, status.getLastPlaybackPosition());
+		MediaStatusWriter.flush();
+		assertEquals(2, MediaStatusWriter.getMediaStatus(0, filename).getPlaybackCount());
+	}
+
+	@Test
+	public void testFailedChange() throws Exception {
+		String filename = "FileWrittenBesideAFailedOne";
+		// Longer than the FILENAME column
+		String failing = "F".repeat(2000);
+		MediaStatusWriter.setBookmark(0, failing, 3);
+		MediaStatusWriter.setBookmark(0, filename, 5);
+		MediaStatusWriter.flush();
+
+		// The other changes are written
+		try (Connection connection = MediaDatabase.get().getConnection()) {
+			assertEquals(5, MediaTableFilesStatus.getMediaStatus(connection, filename, 0).getBookmark());
+		}
+
+		// The failed change is kept for a few more writes, then dropped
+		assertEquals(3, MediaStatusWriter.getMediaStatus(0, failing).getBookmark());
+		MediaStatusWriter.flush();
+		assertNotNull(MediaStatusWriter.getMediaStatus(0, failing));
+		MediaStatusWriter.flush();
+		assertNull(MediaStatusWriter.getMediaStatus(0, failing));
+	}
+
+}
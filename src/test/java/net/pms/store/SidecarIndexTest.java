@@ -0,0 +1,79 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.store;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import net.pms.TestHelper;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SidecarIndexTest {
+
+	@TempDir
+	File folder;
+
+	@BeforeEach
+	public void setUp() {
+		TestHelper.SetLoggingOff();
+		SidecarIndex.clear();
+	}
+
+	@Test
+	public void testSidecarFiles() throws IOException {
+		File episode1 = createFile(folder, "Episode 1.mkv");
+		File episode2 = createFile(folder, "Episode 2.mkv");
+		File thumbnail1 = createFile(folder, "Episode 1.jpg");
+		File cover2 = createFile(folder, "Episode 2.mkv.cover.png");
+		File folderThumbnail = createFile(folder, "folder.jpg");
+		File subtitles1 = createFile(folder, "Episode 1.en.srt");
+		File subsFolder = new File(folder, "Subs");
+		assertTrue(subsFolder.mkdir());
+		File subtitles2 = createFile(subsFolder, "Episode 2.fr.srt");
+
+		assertEquals(thumbnail1, SidecarIndex.getFileThumbnail(null, episode1));
+		assertEquals(cover2, SidecarIndex.getFileThumbnail(null, episode2));
+		assertEquals(folderThumbnail, SidecarIndex.getFolderThumbnail(folder));
+		assertNull(SidecarIndex.getFileThumbnail(null, new File(folder, "Episode 3.mkv")));
+
+		List<File> subtitles = SidecarIndex.getSubtitles(folder, true);
+		assertEquals(2, subtitles.size());
+		assertTrue(subtitles.contains(subtitles1));
+		assertTrue(subtitles.contains(subtitles2));
+		assertEquals(List.of(subtitles1), SidecarIndex.getSubtitles(folder, false));
+	}
+
+	@Test
+	public void testInvalidate() throws IOException {
+		File episode = createFile(folder, "Episode.mkv");
+		assertNull(SidecarIndex.getFileThumbnail(null, episode));
+
+		File thumbnail = createFile(folder, "Episode.png");
+		SidecarIndex.invalidate(thumbnail);
+		assertEquals(thumbnail, SidecarIndex.getFileThumbnail(null, episode));
+	}
+
+	private static File createFile(File folder, String name) throws IOException {
+		File file = new File(folder, name);
+		assertTrue(file.createNewFile());
+		return file;
+	}
+
+}
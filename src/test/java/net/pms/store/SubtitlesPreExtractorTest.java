@@ -0,0 +1,65 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.store;
+
+import java.io.File;
+import java.util.List;
+import net.pms.TestHelper;
+import net.pms.formats.v2.SubtitleType;
+import net.pms.media.MediaInfo;
+import net.pms.media.subtitle.MediaSubtitle;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SubtitlesPreExtractorTest {
+
+	@BeforeEach
+	public void setUp() {
+		TestHelper.SetLoggingOff();
+	}
+
+	@Test
+	public void testPreferredTracks() throws Exception {
+		MediaInfo media = new MediaInfo();
+		MediaSubtitle frenchPicture = createTrack(0, "fre", SubtitleType.PGS);
+		MediaSubtitle english = createTrack(1, "eng", SubtitleType.SUBRIP);
+		MediaSubtitle englishCommentary = createTrack(2, "eng", SubtitleType.ASS);
+		MediaSubtitle french = createTrack(3, "fre", SubtitleType.ASS);
+		MediaSubtitle germanExternal = createTrack(4, "ger", SubtitleType.SUBRIP);
+		germanExternal.setExternalFileOnly(new File("movie.de.srt"));
+		media.addSubtitlesTrack(frenchPicture);
+		media.addSubtitlesTrack(english);
+		media.addSubtitlesTrack(englishCommentary);
+		media.addSubtitlesTrack(french);
+		media.addSubtitlesTrack(germanExternal);
+
+		assertEquals(List.of(french, english), SubtitlesPreExtractor.getPreferredTracks(media, "fre, eng,ger"));
+		assertEquals(List.of(english), SubtitlesPreExtractor.getPreferredTracks(media, "jpn,eng"));
+		assertTrue(SubtitlesPreExtractor.getPreferredTracks(media, "ger").isEmpty());
+		assertTrue(SubtitlesPreExtractor.getPreferredTracks(media, "").isEmpty());
+	}
+
+	private static MediaSubtitle createTrack(int id, String lang, SubtitleType type) {
+		MediaSubtitle track = new MediaSubtitle();
+		track.setId(id);
+		track.setLang(lang);
+		track.setType(type);
+		return track;
+	}
+
+}
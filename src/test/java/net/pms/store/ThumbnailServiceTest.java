@@ -0,0 +1,121 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.store;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.pms.PMS;
+import net.pms.TestHelper;
+import net.pms.configuration.UmsConfiguration;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ThumbnailServiceTest {
+
+	@BeforeEach
+	public final void setUp() throws Exception {
+		TestHelper.SetLoggingOff();
+		PMS.get();
+		PMS.setConfiguration(new UmsConfiguration(false));
+	}
+
+	@Test
+	public void testDedupe() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger generated = new AtomicInteger();
+		CompletableFuture<Long> first = ThumbnailService.submit("dedupe", false, () -> {
+			generated.incrementAndGet();
+			await(release);
+			return 1L;
+		});
+		CompletableFuture<Long> second = ThumbnailService.submit("dedupe", true, () -> {
+			generated.incrementAndGet();
+			return 2L;
+		});
+		CompletableFuture<Long> third = ThumbnailService.submit("dedupe", true, () -> {
+			generated.incrementAndGet();
+			return 3L;
+		});
+		assertSame(first, second);
+		assertSame(first, third);
+		release.countDown();
+		Long result = first.get(10, TimeUnit.SECONDS);
+		// Generated once, by whichever task of the request ran first
+		assertNotNull(result);
+		assertEquals(1, generated.get());
+
+		// Done, the next request generates it again
+		CompletableFuture<Long> next = ThumbnailService.submit("dedupe", true, () -> 4L);
+		assertEquals(4L, next.get(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testInteractiveBeforeScan() throws Exception {
+		// Keep all the generator threads busy
+		int threads = PMS.getConfiguration().getThumbnailThreads();
+		CountDownLatch busy = new CountDownLatch(threads);
+		List<CountDownLatch> releases = new ArrayList<>();
+		for (int i = 0; i < threads; i++) {
+			CountDownLatch release = new CountDownLatch(1);
+			releases.add(release);
+			ThumbnailService.submit("blocker" + i, true, () -> {
+				busy.countDown();
+				await(release);
+				return 0L;
+			});
+		}
+		assertTrue(busy.await(10, TimeUnit.SECONDS));
+
+		List<String> order = new ArrayList<>();
+		List<CompletableFuture<Long>> results = new ArrayList<>();
+		results.add(ThumbnailService.submit("scan1", false, () -> generate(order, "scan1")));
+		results.add(ThumbnailService.submit("scan2", false, () -> generate(order, "scan2")));
+		results.add(ThumbnailService.submit("request1", true, () -> generate(order, "request1")));
+		results.add(ThumbnailService.submit("request2", true, () -> generate(order, "request2")));
+
+		// A single thread runs the queued tasks, by priority
+		releases.get(0).countDown();
+		for (CompletableFuture<Long> result : results) {
+			result.get(10, TimeUnit.SECONDS);
+		}
+		for (CountDownLatch release : releases) {
+			release.countDown();
+		}
+		assertEquals(List.of("request1", "request2", "scan1", "scan2"), order);
+	}
+
+	private static Long generate(List<String> order, String name) {
+		synchronized (order) {
+			order.add(name);
+		}
+		return 1L;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
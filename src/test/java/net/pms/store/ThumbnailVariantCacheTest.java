@@ -0,0 +1,94 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.store;
+
+import java.io.File;
+import net.pms.PMS;
+import net.pms.TestHelper;
+import net.pms.configuration.UmsConfiguration;
+import net.pms.dlna.DLNAImageProfile;
+import net.pms.util.DiskCache;
+import org.apache.commons.configuration.ConfigurationException;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ThumbnailVariantCacheTest {
+
+	@TempDir
+	File folder;
+
+	@BeforeEach
+	public void setUp() throws ConfigurationException, InterruptedException {
+		TestHelper.SetLoggingOff();
+		PMS.setConfiguration(new UmsConfiguration(false));
+		DiskCache.clear(DiskCache.Region.THUMBNAILS);
+		ThumbnailVariantCache.reset(folder);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		ThumbnailVariantCache.clear();
+		ThumbnailVariantCache.reset(null);
+	}
+
+	@Test
+	public void testMemoryDiskAndRestart() {
+		String key = ThumbnailVariantCache.getKey(42, "1", 7L, DLNAImageProfile.JPEG_TN, false, null);
+		byte[] data = new byte[] {1, 2, 3};
+		assertNull(ThumbnailVariantCache.get(key));
+
+		ThumbnailVariantCache.put(key, data);
+		assertArrayEquals(data, ThumbnailVariantCache.get(key));
+		assertTrue(new File(folder, key).isFile());
+
+		// The disk files of the previous run are found after a restart
+		ThumbnailVariantCache.reset(folder);
+		assertArrayEquals(data, ThumbnailVariantCache.get(key));
+
+		// A new update id of the resource is a miss
+		assertNull(ThumbnailVariantCache.get(ThumbnailVariantCache.getKey(42, "2", 7L, DLNAImageProfile.JPEG_TN, false, null)));
+	}
+
+	@Test
+	public void testDiskQuota() {
+		PMS.getConfiguration().setDiskCacheThumbnailsSize(1);
+		String first = ThumbnailVariantCache.getKey(42, "1", 7L, DLNAImageProfile.JPEG_TN, false, null);
+		String second = ThumbnailVariantCache.getKey(43, "1", 8L, DLNAImageProfile.JPEG_TN, false, null);
+		byte[] data = new byte[600 * 1024];
+		ThumbnailVariantCache.put(first, data);
+		ThumbnailVariantCache.put(second, data);
+
+		// The disk cache evicted the first one to stay within its quota
+		ThumbnailVariantCache.reset(folder);
+		assertNull(ThumbnailVariantCache.get(first));
+		assertArrayEquals(data, ThumbnailVariantCache.get(second));
+		assertEquals(1, DiskCache.getFileCount(DiskCache.Region.THUMBNAILS));
+	}
+
+	@Test
+	public void testVariantKeys() {
+		String key = ThumbnailVariantCache.getKey(42, "1", 7L, DLNAImageProfile.JPEG_TN, false, null);
+		assertEquals(key, ThumbnailVariantCache.getKey(42, "1", 7L, DLNAImageProfile.JPEG_TN, false, null));
+		assertNotEquals(key, ThumbnailVariantCache.getKey(42, "2", 7L, DLNAImageProfile.JPEG_TN, false, null));
+		assertNotEquals(key, ThumbnailVariantCache.getKey(42, "1", 7L, DLNAImageProfile.JPEG_TN, true, null));
+		assertNotEquals(key, ThumbnailVariantCache.getKey(43, "1", 7L, DLNAImageProfile.JPEG_TN, false, null));
+	}
+
+}
@@ -0,0 +1,81 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.store.container;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import net.pms.PMS;
+import net.pms.TestHelper;
+import net.pms.configuration.UmsConfiguration;
+import net.pms.database.MediaDatabase;
+import net.pms.database.MediaTableTVSeriesFacets;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MediaLibraryFolderTest {
+
+	@BeforeEach
+	public final void setUp() throws Exception {
+		TestHelper.SetLoggingOff();
+		PMS.get();
+		PMS.setConfiguration(new UmsConfiguration(false));
+	}
+
+	/**
+	 * The "Unknown" folders of the TV series filters must find the TV series
+	 * having no value in the facets table.
+	 */
+	@Test
+	public void testUnknownTVSeriesFacetQueries() throws Exception {
+		MediaDatabase.init();
+		MediaDatabase database = MediaDatabase.get();
+		try (Connection connection = database.getConnection()) {
+			MediaDatabase.dropAllTables(connection);
+			database.checkTables(true);
+			try (Statement statement = connection.createStatement()) {
+				statement.executeUpdate("INSERT INTO TV_SERIES (ID, TITLE, RATED, RATING, FIRSTAIRDATE) VALUES (1, 'Known', 'TV-14', 7.5, DATE '2020-01-01')");
+				statement.executeUpdate("INSERT INTO TV_SERIES (ID, TITLE) VALUES (2, 'Unknown')");
+			}
+			MediaTableTVSeriesFacets.refresh(connection, 1L);
+			MediaTableTVSeriesFacets.refresh(connection, 2L);
+
+			String[][] filters = {
+				{"Rated", MediaTableTVSeriesFacets.FACET_RATED},
+				{"Rating", MediaTableTVSeriesFacets.FACET_RATING},
+				{"Released", MediaTableTVSeriesFacets.FACET_RELEASED}
+			};
+			for (String[] filter : filters) {
+				List<String> queries = MediaLibraryFolder.getTVSeriesQueries(filter[1], "VAL", "TITLE");
+				String[] sqls = queries.subList(1, queries.size()).toArray(String[]::new);
+				assertTrue(MediaLibraryFolder.setUnknownValueQueries(filter[0], sqls), filter[0]);
+				assertFalse(sqls[0].contains("${0}"), filter[0] + ": " + sqls[0]);
+				try (
+					Statement statement = connection.createStatement();
+					ResultSet rs = statement.executeQuery(sqls[0])
+				) {
+					assertTrue(rs.next(), filter[0]);
+					assertEquals(2, rs.getLong(1), filter[0]);
+					assertFalse(rs.next(), filter[0]);
+				}
+			}
+		}
+	}
+
+}
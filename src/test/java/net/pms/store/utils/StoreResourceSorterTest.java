@@ -0,0 +1,42 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.store.utils;
+
+import net.pms.TestHelper;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class StoreResourceSorterTest {
+
+	@BeforeEach
+	public void setUp() {
+		TestHelper.SetLoggingOff();
+	}
+
+	@Test
+	public void testTitleSortKey() {
+		assertNull(StoreResourceSorter.getTitleSortKey(null, true));
+		assertEquals("The Matrix", StoreResourceSorter.getTitleSortKey("The Matrix", false));
+		assertEquals("Matrix", StoreResourceSorter.getTitleSortKey("The Matrix", true));
+		assertEquals("Bug's Life", StoreResourceSorter.getTitleSortKey("a Bug's Life", true));
+		assertEquals("Star Wars", StoreResourceSorter.getTitleSortKey("Star  Wars", true));
+		assertEquals("Amélie", StoreResourceSorter.getTitleSortKey("Amélie", false));
+		assertEquals("Full", StoreResourceSorter.getTitleSortKey("Ｆｕｌｌ", false));
+	}
+
+}
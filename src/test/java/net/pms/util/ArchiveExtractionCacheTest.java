@@ -0,0 +1,125 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import net.pms.PMS;
+import net.pms.TestHelper;
+import net.pms.configuration.UmsConfiguration;
+import org.apache.commons.configuration.ConfigurationException;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ArchiveExtractionCacheTest {
+
+	private static final byte[] DATA = new byte[300_000];
+
+	static {
+		for (int i = 0; i < DATA.length; i++) {
+			DATA[i] = (byte) (i % 251);
+		}
+	}
+
+	@TempDir
+	File folder;
+
+	@BeforeEach
+	public void setUp() throws ConfigurationException, InterruptedException {
+		TestHelper.SetLoggingOff();
+		PMS.setConfiguration(new UmsConfiguration(false));
+	}
+
+	@Test
+	public void testExtractOnce() throws IOException {
+		File archive = new File(folder, "archive.7z");
+		assertTrue(archive.createNewFile());
+		AtomicInteger extractions = new AtomicInteger();
+		ArchiveExtractionCache.Extractor extractor = out -> {
+			extractions.incrementAndGet();
+			for (int i = 0; i < DATA.length; i += 10_000) {
+				out.write(DATA, i, Math.min(10_000, DATA.length - i));
+			}
+		};
+
+		try (InputStream in = ArchiveExtractionCache.getInputStream(archive, "video.mkv", DATA.length, 0, extractor)) {
+			assertArrayEquals(DATA, in.readAllBytes());
+		}
+		try (InputStream in = ArchiveExtractionCache.getInputStream(archive, "video.mkv", DATA.length, 250_000, extractor)) {
+			assertArrayEquals(Arrays.copyOfRange(DATA, 250_000, DATA.length), in.readAllBytes());
+		}
+		assertEquals(1, extractions.get());
+		ArchiveExtractionCache.clear();
+	}
+
+	@Test
+	public void testConcurrentReaders() throws IOException {
+		File archive = new File(folder, "archive.rar");
+		assertTrue(archive.createNewFile());
+		AtomicInteger extractions = new AtomicInteger();
+		ArchiveExtractionCache.Extractor extractor = out -> {
+			extractions.incrementAndGet();
+			out.write(DATA);
+		};
+
+		// The streams opened before the extraction is over share it
+		try (
+			InputStream first = ArchiveExtractionCache.getInputStream(archive, "video.mkv", DATA.length, 0, extractor);
+			InputStream second = ArchiveExtractionCache.getInputStream(archive, "video.mkv", DATA.length, 100_000, extractor)
+		) {
+			assertArrayEquals(Arrays.copyOfRange(DATA, 100_000, DATA.length), second.readAllBytes());
+			assertArrayEquals(DATA, first.readAllBytes());
+		}
+		assertEquals(1, extractions.get());
+		ArchiveExtractionCache.clear();
+	}
+
+	@Test
+	public void testStoredZipEntry() throws IOException {
+		File zip = new File(folder, "archive.zip");
+		try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(zip))) {
+			ZipEntry entry = new ZipEntry("stored.bin");
+			entry.setMethod(ZipEntry.STORED);
+			entry.setSize(DATA.length);
+			CRC32 crc = new CRC32();
+			crc.update(DATA);
+			entry.setCrc(crc.getValue());
+			out.putNextEntry(entry);
+			out.write(DATA);
+			out.closeEntry();
+			out.putNextEntry(new ZipEntry("deflated.bin"));
+			out.write(DATA);
+			out.closeEntry();
+		}
+
+		try (InputStream in = ArchiveFileInputStream.getStoredZipEntryInputStream(zip, "stored.bin", 100_000)) {
+			assertNotNull(in);
+			assertArrayEquals(Arrays.copyOfRange(DATA, 100_000, DATA.length), in.readAllBytes());
+		}
+		assertNull(ArchiveFileInputStream.getStoredZipEntryInputStream(zip, "deflated.bin", 0));
+	}
+
+}
@@ -0,0 +1,98 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import net.pms.PMS;
+import net.pms.TestHelper;
+import net.pms.configuration.UmsConfiguration;
+import org.apache.commons.configuration.ConfigurationException;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DiskCacheTest {
+
+	private static final int FILE_SIZE = 400 * 1024;
+
+	@TempDir
+	File folder;
+
+	@BeforeEach
+	public void setUp() throws ConfigurationException, InterruptedException {
+		TestHelper.SetLoggingOff();
+		PMS.setConfiguration(new UmsConfiguration(false));
+		PMS.getConfiguration().setDiskCacheThumbnailsSize(1);
+		DiskCache.clear(DiskCache.Region.THUMBNAILS);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		DiskCache.clear(DiskCache.Region.THUMBNAILS);
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEviction() throws IOException {
+		File first = createFile("first.tmp");
+		File second = createFile("second.tmp");
+		File third = createFile("third.tmp");
+		DiskCache.add(DiskCache.Region.THUMBNAILS, first);
+		DiskCache.add(DiskCache.Region.THUMBNAILS, second);
+		assertEquals(2, DiskCache.getFileCount(DiskCache.Region.THUMBNAILS));
+		assertEquals(2L * FILE_SIZE, DiskCache.getUsedBytes(DiskCache.Region.THUMBNAILS));
+
+		// The first file is used again, so the second one is evicted
+		DiskCache.touch(first);
+		DiskCache.add(DiskCache.Region.THUMBNAILS, third);
+		assertTrue(first.exists());
+		assertFalse(second.exists());
+		assertTrue(third.exists());
+		assertEquals(2, DiskCache.getFileCount(DiskCache.Region.THUMBNAILS));
+		assertEquals(2L * FILE_SIZE, DiskCache.getUsedBytes(DiskCache.Region.THUMBNAILS));
+
+		// The other regions are not affected
+		assertEquals(0, DiskCache.getFileCount(DiskCache.Region.SUBTITLES));
+	}
+
+	@Test
+	public void testExpiredFilesAreDeleted() throws IOException {
+		File expired = createFile("expired.tmp");
+		File recent = createFile("recent.tmp");
+		assertTrue(expired.setLastModified(System.currentTimeMillis() - 2 * 3600 * 1000));
+		DiskCache.add(DiskCache.Region.THUMBNAILS, expired, 3600 * 1000);
+		DiskCache.add(DiskCache.Region.THUMBNAILS, recent, 3600 * 1000);
+		DiskCache.scan();
+		assertFalse(expired.exists());
+		assertTrue(recent.exists());
+		assertEquals(1, DiskCache.getFileCount(DiskCache.Region.THUMBNAILS));
+
+		DiskCache.remove(recent);
+		assertFalse(recent.exists());
+		assertEquals(0, DiskCache.getUsedBytes(DiskCache.Region.THUMBNAILS));
+	}
+
+	private File createFile(String name) throws IOException {
+		File file = new File(folder, name);
+		Files.write(file.toPath(), new byte[FILE_SIZE]);
+		return file;
+	}
+
+}
@@ -647,4 +647,29 @@ public class FileUtilTest {
 		assertEquals("foo/bar/", FileUtil.appendPathSeparator("foo/bar"), "AppendMissingSlash");
 		assertEquals("foo/bar/", FileUtil.appendPathSeparator("foo/bar/"), "DontAppendSlash");
 	}
+
+	@Test
+	public void testGetFingerprint() throws IOException {
+		byte[] content = new byte[3 * FileUtil.FINGERPRINT_BLOCK_SIZE + 1000];
+		new Random(42).nextBytes(content);
+		File file = File.createTempFile("ums-fingerprint", ".bin");
+		File moved = new File(file.getParentFile(), file.getName() + ".moved");
+		try {
+			FileUtils.writeByteArrayToFile(file, content);
+			String fingerprint = FileUtil.getFingerprint(file);
+			assertNotNull(fingerprint);
+			assertEquals(16, fingerprint.length());
+			assertTrue(file.renameTo(moved));
+			assertEquals(fingerprint, FileUtil.getFingerprint(moved), "FingerprintSurvivesRename");
+
+			// a change in the middle block
+			content[content.length / 2] ^= 1;
+			FileUtils.writeByteArrayToFile(moved, content);
+			assertNotEquals(fingerprint, FileUtil.getFingerprint(moved), "MiddleChangeIsDetected");
+			assertNull(FileUtil.getFingerprint(file), "MissingFileHasNoFingerprint");
+		} finally {
+			file.delete();
+			moved.delete();
+		}
+	}
 }
@@ -0,0 +1,64 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.util;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import net.pms.TestHelper;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class FileWatcherTest {
+
+	@TempDir
+	File folder;
+
+	@BeforeEach
+	public void setUp() {
+		TestHelper.SetLoggingOff();
+	}
+
+	@Test
+	public void testOverflowCollapsing() throws Exception {
+		File subfolder = new File(folder, "Season 1");
+		assertTrue(subfolder.mkdir());
+		List<String> notified = Collections.synchronizedList(new ArrayList<>());
+		FileWatcher.Listener listener = (String filename, String event, FileWatcher.Watch watch, boolean isDir) -> notified.add(event + " " + filename);
+		FileWatcher.Watch watch = new FileWatcher.Watch(folder.getAbsolutePath() + File.separator + "**", listener);
+		watch.init(folder.toPath());
+
+		long coalesced = FileWatcher.getCoalescedCount();
+		// A burst of lost events reported by the directories of the tree
+		for (int i = 0; i < 20; i++) {
+			FileWatcher.scheduleOverflow(watch);
+		}
+		assertEquals(coalesced + 19, FileWatcher.getCoalescedCount());
+
+		long timeout = System.currentTimeMillis() + 10000;
+		while (notified.isEmpty() && System.currentTimeMillis() < timeout) {
+			Thread.sleep(100);
+		}
+		Thread.sleep(500);
+		assertEquals(List.of(FileWatcher.OVERFLOW + " " + folder.getAbsolutePath()), notified);
+		FileWatcher.remove(watch);
+	}
+
+}
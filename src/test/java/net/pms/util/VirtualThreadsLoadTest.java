@@ -0,0 +1,187 @@
+/*
+ * This file is part of Universal Media Server, based on PS3 Media Server.
+ *
+ * This program is a free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; version 2 of the License only.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package net.pms.util;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import net.pms.PMS;
+import net.pms.configuration.UmsConfiguration;
+import org.eclipse.jetty.io.Content;
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Response;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.util.Callback;
+import org.eclipse.jetty.util.VirtualThreads;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Load test of the HTTP server thread pool with 50 control points, each
+ * sending requests blocked on I/O like the browse requests waiting for the
+ * database.
+ * <p>
+ * Compares the thread count, the heap and the latency of the pooled threads
+ * with the virtual threads. The virtual threads need Java 21 or later, the
+ * server keeps its pool otherwise.
+ */
+public class VirtualThreadsLoadTest {
+	private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadsLoadTest.class.getName());
+	private static final int CONTROL_POINTS = 50;
+	private static final int REQUESTS_PER_CONTROL_POINT = 10;
+	private static final int BLOCKING_MILLIS = 20;
+
+	@AfterEach
+	public void tearDown() {
+		VirtualThreadExecutors.reset();
+	}
+
+	@Test
+	public void testControlPoints() throws Exception {
+		// Warm up the server and the clients
+		run(false);
+		Result pooled = run(false);
+		Result virtual = run(true);
+		LOGGER.info("Pooled threads: {}", pooled);
+		LOGGER.info("Virtual threads: {}", virtual);
+
+		assertEquals(CONTROL_POINTS * REQUESTS_PER_CONTROL_POINT, pooled.responses);
+		assertEquals(CONTROL_POINTS * REQUESTS_PER_CONTROL_POINT, virtual.responses);
+		assertTrue(pooled.averageMillis >= BLOCKING_MILLIS);
+		if (VirtualThreads.areSupported()) {
+			assertTrue(virtual.peakThreads <= pooled.peakThreads);
+		}
+	}
+
+	private static Result run(boolean useVirtualThreads) throws Exception {
+		UmsConfiguration configuration = new UmsConfiguration(false);
+		configuration.setUseVirtualThreads(useVirtualThreads);
+		PMS.setConfiguration(configuration);
+		VirtualThreadExecutors.reset();
+
+		// Like the media server
+		QueuedThreadPool threadPool = new QueuedThreadPool();
+		threadPool.setName("load-test-server");
+		threadPool.setVirtualThreadsExecutor(VirtualThreadExecutors.getJettyExecutor("load-test-server"));
+		Server server = new Server(threadPool);
+		ServerConnector connector = new ServerConnector(server);
+		connector.setHost("127.0.0.1");
+		connector.setPort(0);
+		server.addConnector(connector);
+		server.setHandler(new Handler.Abstract() {
+			@Override
+			public boolean handle(Request request, Response response, Callback callback) throws Exception {
+				Thread.sleep(BLOCKING_MILLIS);
+				response.setStatus(200);
+				Content.Sink.write(response, true, "OK", callback);
+				return true;
+			}
+		});
+
+		ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		ExecutorService controlPoints = Executors.newFixedThreadPool(CONTROL_POINTS);
+		try {
+			System.gc();
+			long heapBefore = getUsedHeap();
+			server.start();
+			URL url = new URL("http://127.0.0.1:" + connector.getLocalPort() + "/browse");
+			threadMXBean.resetPeakThreadCount();
+
+			List<Future<long[]>> latencies = new ArrayList<>(CONTROL_POINTS);
+			for (int i = 0; i < CONTROL_POINTS; i++) {
+				latencies.add(controlPoints.submit(() -> browse(url)));
+			}
+			long[] all = new long[CONTROL_POINTS * REQUESTS_PER_CONTROL_POINT];
+			int responses = 0;
+			for (Future<long[]> controlPointLatencies : latencies) {
+				for (long latency : controlPointLatencies.get()) {
+					if (latency >= 0) {
+						all[responses++] = latency;
+					}
+				}
+			}
+
+			Result result = new Result();
+			result.peakThreads = threadMXBean.getPeakThreadCount();
+			result.heapBytes = getUsedHeap() - heapBefore;
+			result.responses = responses;
+			Arrays.sort(all, 0, responses);
+			result.averageMillis = responses == 0 ? 0 : Arrays.stream(all, 0, responses).average().getAsDouble() / 1_000_000;
+			result.p95Millis = responses == 0 ? 0 : all[(int) (responses * 0.95) - 1] / 1_000_000;
+			return result;
+		} finally {
+			controlPoints.shutdownNow();
+			server.stop();
+		}
+	}
+
+	/**
+	 * Sends the requests of a control point one after the other.
+	 *
+	 * @return The latency of each request in nanoseconds, or -1 if it failed.
+	 */
+	private static long[] browse(URL url) {
+		long[] latencies = new long[REQUESTS_PER_CONTROL_POINT];
+		for (int i = 0; i < REQUESTS_PER_CONTROL_POINT; i++) {
+			long start = System.nanoTime();
+			try {
+				HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+				try (InputStream inputStream = connection.getInputStream()) {
+					inputStream.readAllBytes();
+				}
+				latencies[i] = connection.getResponseCode() == 200 ? System.nanoTime() - start : -1;
+			} catch (Exception e) {
+				latencies[i] = -1;
+			}
+		}
+		return latencies;
+	}
+
+	private static long getUsedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private static class Result {
+		private int peakThreads;
+		private long heapBytes;
+		private int responses;
+		private double averageMillis;
+		private long p95Millis;
+
+		@Override
+		public String toString() {
+			return String.format("%d responses, %d peak threads, %d KiB heap, %.1f ms average, %d ms p95",
+				responses, peakThreads, heapBytes / 1024, averageMillis, p95Millis);
+		}
+	}
+
+}